@@ -221,8 +221,8 @@ public class Query {
     static String evaluateExpression(final Tree tree, final Evaluator<?> rootEvaluator, final String queryText, final EvaluationContext evaluationContext, final AttributeValueDecorator decorator)
                 throws ProcessException {
 
-        Query query = new Query(queryText, tree, rootEvaluator);
-        final Object evaluated = query.evaluate(evaluationContext).getValue();
+        // evaluators are stateless, so the compiled expression is evaluated directly rather than through a single-use Query
+        final Object evaluated = rootEvaluator.evaluate(evaluationContext).getValue();
         if (evaluated == null) {
             return null;
         }
@@ -20,8 +20,25 @@ import org.apache.nifi.expression.AttributeExpression.ResultType;
 
 public class BooleanQueryResult implements QueryResult<Boolean> {
 
+    private static final BooleanQueryResult TRUE = new BooleanQueryResult(Boolean.TRUE);
+    private static final BooleanQueryResult FALSE = new BooleanQueryResult(Boolean.FALSE);
+    private static final BooleanQueryResult NULL = new BooleanQueryResult(null);
+
     private final Boolean value;
 
+    /**
+     * Returns the shared, immutable result for the given value, so that evaluating a boolean function does not allocate.
+     *
+     * @param value the result of the evaluation, may be null
+     * @return the result holding the given value
+     */
+    public static BooleanQueryResult valueOf(final Boolean value) {
+        if (value == null) {
+            return NULL;
+        }
+        return value ? TRUE : FALSE;
+    }
+
     public BooleanQueryResult(final Boolean value) {
         this.value = value;
     }
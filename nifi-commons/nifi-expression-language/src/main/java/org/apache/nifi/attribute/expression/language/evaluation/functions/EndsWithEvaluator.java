@@ -36,11 +36,11 @@ public class EndsWithEvaluator extends BooleanEvaluator {
     public QueryResult<Boolean> evaluate(final EvaluationContext evaluationContext) {
         final String subjectValue = subject.evaluate(evaluationContext).getValue();
         if (subjectValue == null) {
-            return new BooleanQueryResult(false);
+            return BooleanQueryResult.valueOf(false);
         }
 
         final String searchString = search.evaluate(evaluationContext).getValue();
-        return new BooleanQueryResult(searchString == null ? false : subjectValue.endsWith(searchString));
+        return BooleanQueryResult.valueOf(searchString == null ? false : subjectValue.endsWith(searchString));
     }
 
     @Override
@@ -39,29 +39,29 @@ public class EqualsEvaluator extends BooleanEvaluator {
     public QueryResult<Boolean> evaluate(final EvaluationContext evaluationContext) {
         final Object a = subject.evaluate(evaluationContext).getValue();
         if (a == null) {
-            return new BooleanQueryResult(false);
+            return BooleanQueryResult.valueOf(false);
         }
 
         final Object b = compareTo.evaluate(evaluationContext).getValue();
         if (b == null) {
-            return new BooleanQueryResult(false);
+            return BooleanQueryResult.valueOf(false);
         }
 
         if (subject.getResultType() == compareTo.getResultType()) {
-            return new BooleanQueryResult(a.equals(b));
+            return BooleanQueryResult.valueOf(a.equals(b));
         }
 
         final String normalizedSubjectValue = normalizeValue(subject.getResultType(), a);
         if (normalizedSubjectValue == null) {
-            return new BooleanQueryResult(false);
+            return BooleanQueryResult.valueOf(false);
         }
 
         final String normalizedCompareToValue = normalizeValue(compareTo.getResultType(), b);
         if (normalizedCompareToValue == null) {
-            return new BooleanQueryResult(false);
+            return BooleanQueryResult.valueOf(false);
         }
 
-        return new BooleanQueryResult(normalizedSubjectValue.equals(normalizedCompareToValue));
+        return BooleanQueryResult.valueOf(normalizedSubjectValue.equals(normalizedCompareToValue));
     }
 
     private String normalizeValue(final ResultType type, final Object value) {
@@ -51,13 +51,13 @@ public class FindEvaluator extends BooleanEvaluator {
     public QueryResult<Boolean> evaluate(final EvaluationContext evaluationContext) {
         final String subjectValue = subject.evaluate(evaluationContext).getValue();
         if (subjectValue == null) {
-            return new BooleanQueryResult(false);
+            return BooleanQueryResult.valueOf(false);
         }
         final Pattern pattern;
         if (compiledPattern == null) {
             String expression = search.evaluate(evaluationContext).getValue();
             if (expression == null) {
-                return new BooleanQueryResult(false);
+                return BooleanQueryResult.valueOf(false);
             }
             pattern = Pattern.compile(expression);
         } else {
@@ -66,7 +66,7 @@ public class FindEvaluator extends BooleanEvaluator {
 
         final boolean found = pattern.matcher(subjectValue).find();
 
-        return new BooleanQueryResult(found);
+        return BooleanQueryResult.valueOf(found);
     }
 
     @Override
@@ -38,7 +38,7 @@ public class InEvaluator extends BooleanEvaluator {
     public QueryResult<Boolean> evaluate(final EvaluationContext evaluationContext) {
         final String subjectValue = subject.evaluate(evaluationContext).getValue();
         if (subjectValue == null) {
-            return new BooleanQueryResult(false);
+            return BooleanQueryResult.valueOf(false);
         }
 
         boolean isInList = false;
@@ -50,7 +50,7 @@ public class InEvaluator extends BooleanEvaluator {
             }
         }
 
-        return new BooleanQueryResult(isInList);
+        return BooleanQueryResult.valueOf(isInList);
     }
 
     @Override
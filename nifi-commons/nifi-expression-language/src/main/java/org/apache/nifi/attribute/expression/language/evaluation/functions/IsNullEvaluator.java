@@ -33,7 +33,7 @@ public class IsNullEvaluator extends BooleanEvaluator {
     @Override
     public QueryResult<Boolean> evaluate(final EvaluationContext evaluationContext) {
         final Object subjectValue = subject.evaluate(evaluationContext).getValue();
-        return new BooleanQueryResult(subjectValue == null);
+        return BooleanQueryResult.valueOf(subjectValue == null);
     }
 
     @Override
@@ -36,18 +36,18 @@ public class LessThanEvaluator extends BooleanEvaluator {
     public QueryResult<Boolean> evaluate(final EvaluationContext evaluationContext) {
         final Number subjectValue = subject.evaluate(evaluationContext).getValue();
         if (subjectValue == null) {
-            return new BooleanQueryResult(false);
+            return BooleanQueryResult.valueOf(false);
         }
 
         final Number comparisonValue = comparison.evaluate(evaluationContext).getValue();
         if (comparisonValue == null) {
-            return new BooleanQueryResult(false);
+            return BooleanQueryResult.valueOf(false);
         }
 
         if (subjectValue instanceof Double || comparisonValue instanceof Double){
-            return new BooleanQueryResult(subjectValue.doubleValue() < comparisonValue.doubleValue());
+            return BooleanQueryResult.valueOf(subjectValue.doubleValue() < comparisonValue.doubleValue());
         } else {
-            return new BooleanQueryResult(subjectValue.longValue() < comparisonValue.longValue());
+            return BooleanQueryResult.valueOf(subjectValue.longValue() < comparisonValue.longValue());
         }
     }
 
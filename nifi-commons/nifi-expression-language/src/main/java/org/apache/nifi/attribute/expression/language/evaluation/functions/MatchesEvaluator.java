@@ -51,13 +51,13 @@ public class MatchesEvaluator extends BooleanEvaluator {
     public QueryResult<Boolean> evaluate(final EvaluationContext evaluationContext) {
         final String subjectValue = subject.evaluate(evaluationContext).getValue();
         if (subjectValue == null) {
-            return new BooleanQueryResult(false);
+            return BooleanQueryResult.valueOf(false);
         }
         final Pattern pattern;
         if (compiledPattern == null) {
             String expression = search.evaluate(evaluationContext).getValue();
             if (expression == null) {
-                return new BooleanQueryResult(false);
+                return BooleanQueryResult.valueOf(false);
             }
             pattern = Pattern.compile(expression);
         } else {
@@ -65,7 +65,7 @@ public class MatchesEvaluator extends BooleanEvaluator {
         }
 
         final boolean matches = pattern.matcher(subjectValue).matches();
-        return new BooleanQueryResult(matches);
+        return BooleanQueryResult.valueOf(matches);
     }
 
     @Override
@@ -34,10 +34,10 @@ public class NotEvaluator extends BooleanEvaluator {
     public QueryResult<Boolean> evaluate(final EvaluationContext evaluationContext) {
         final QueryResult<Boolean> subjectValue = subjectEvaluator.evaluate(evaluationContext);
         if (subjectValue == null) {
-            return new BooleanQueryResult(null);
+            return BooleanQueryResult.valueOf(null);
         }
 
-        return new BooleanQueryResult(!subjectValue.getValue());
+        return BooleanQueryResult.valueOf(!subjectValue.getValue());
     }
 
     @Override
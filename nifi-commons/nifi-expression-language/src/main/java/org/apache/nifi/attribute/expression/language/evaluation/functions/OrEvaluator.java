@@ -21,26 +21,35 @@ import org.apache.nifi.attribute.expression.language.evaluation.BooleanEvaluator
 import org.apache.nifi.attribute.expression.language.evaluation.BooleanQueryResult;
 import org.apache.nifi.attribute.expression.language.evaluation.Evaluator;
 import org.apache.nifi.attribute.expression.language.evaluation.QueryResult;
+import org.apache.nifi.attribute.expression.language.evaluation.selection.IteratingEvaluator;
 
 public class OrEvaluator extends BooleanEvaluator {
 
     private final Evaluator<Boolean> subjectEvaluator;
     private final Evaluator<Boolean> rhsEvaluator;
+    private final boolean iteratingSubject;
 
     public OrEvaluator(final Evaluator<Boolean> subjectEvaluator, final Evaluator<Boolean> rhsEvaluator) {
         this.subjectEvaluator = subjectEvaluator;
         this.rhsEvaluator = rhsEvaluator;
+        this.iteratingSubject = IteratingEvaluator.isIterating(subjectEvaluator);
     }
 
     @Override
     public QueryResult<Boolean> evaluate(final EvaluationContext evaluationContext) {
         final QueryResult<Boolean> subjectValue = subjectEvaluator.evaluate(evaluationContext);
         if (subjectValue == null) {
-            return new BooleanQueryResult(null);
+            return BooleanQueryResult.valueOf(null);
         }
 
         if (Boolean.TRUE.equals(subjectValue.getValue())) {
-            return new BooleanQueryResult(true);
+            return BooleanQueryResult.valueOf(true);
+        }
+
+        // Unless the subject iterates, this evaluator is evaluated once per evaluation, so there is no point in remembering the result.
+        if (!iteratingSubject) {
+            final QueryResult<Boolean> rhsValue = rhsEvaluator.evaluate(evaluationContext);
+            return BooleanQueryResult.valueOf(rhsValue == null ? Boolean.FALSE : rhsValue.getValue());
         }
 
         // Returning previously evaluated result.
@@ -54,9 +63,9 @@ public class OrEvaluator extends BooleanEvaluator {
         final QueryResult<Boolean> rhsValue = rhsEvaluator.evaluate(evaluationContext);
         BooleanQueryResult result;
         if (rhsValue == null) {
-            result = new BooleanQueryResult(false);
+            result = BooleanQueryResult.valueOf(false);
         } else {
-            result = new BooleanQueryResult(rhsValue.getValue());
+            result = BooleanQueryResult.valueOf(rhsValue.getValue());
         }
         evaluationContext.getEvaluatorState().putState(this, result);
         return result;
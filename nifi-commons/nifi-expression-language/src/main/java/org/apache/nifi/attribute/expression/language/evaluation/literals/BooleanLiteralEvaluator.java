@@ -24,15 +24,15 @@ import org.apache.nifi.attribute.expression.language.evaluation.QueryResult;
 
 public class BooleanLiteralEvaluator extends BooleanEvaluator {
 
-    private final boolean value;
+    private final QueryResult<Boolean> result;
 
     public BooleanLiteralEvaluator(final boolean value) {
-        this.value = value;
+        this.result = BooleanQueryResult.valueOf(value);
     }
 
     @Override
     public QueryResult<Boolean> evaluate(final EvaluationContext evaluationContext) {
-        return new BooleanQueryResult(value);
+        return result;
     }
 
     @Override
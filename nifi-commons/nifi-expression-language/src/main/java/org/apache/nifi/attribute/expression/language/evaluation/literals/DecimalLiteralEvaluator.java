@@ -25,15 +25,15 @@ import org.apache.nifi.attribute.expression.language.evaluation.QueryResult;
 
 public class DecimalLiteralEvaluator extends DecimalEvaluator {
 
-    private final double literal;
+    private final QueryResult<Double> result;
 
     public DecimalLiteralEvaluator(final String value) {
-        this.literal = Double.parseDouble(value);
+        this.result = new DecimalQueryResult(Double.parseDouble(value));
     }
 
     @Override
     public QueryResult<Double> evaluate(final EvaluationContext evaluationContext) {
-        return new DecimalQueryResult(literal);
+        return result;
     }
 
     @Override
@@ -25,6 +25,7 @@ import org.apache.nifi.attribute.expression.language.evaluation.StringQueryResul
 public class StringLiteralEvaluator extends StringEvaluator {
 
     private final String value;
+    private final QueryResult<String> result;
 
     public StringLiteralEvaluator(final String value) {
         // need to escape characters after backslashes
@@ -61,11 +62,12 @@ public class StringLiteralEvaluator extends StringEvaluator {
         }
 
         this.value = sb.toString();
+        this.result = new StringQueryResult(this.value);
     }
 
     @Override
     public QueryResult<String> evaluate(final EvaluationContext evaluationContext) {
-        return new StringQueryResult(value);
+        return result;
     }
 
     @Override
@@ -24,15 +24,15 @@ import org.apache.nifi.attribute.expression.language.evaluation.WholeNumberQuery
 
 public class WholeNumberLiteralEvaluator extends WholeNumberEvaluator {
 
-    private final long literal;
+    private final QueryResult<Long> result;
 
     public WholeNumberLiteralEvaluator(final String value) {
-        this.literal = Long.parseLong(value);
+        this.result = new WholeNumberQueryResult(Long.parseLong(value));
     }
 
     @Override
     public QueryResult<Long> evaluate(final EvaluationContext evaluationContext) {
-        return new WholeNumberQueryResult(literal);
+        return result;
     }
 
     @Override
@@ -37,11 +37,11 @@ public class AllAttributesEvaluator extends BooleanEvaluator implements Iteratin
         QueryResult<Boolean> attributeValueQuery = booleanEvaluator.evaluate(evaluationContext);
         Boolean result = attributeValueQuery.getValue();
         if (result == null) {
-            return new BooleanQueryResult(false);
+            return BooleanQueryResult.valueOf(false);
         }
 
         if (!result) {
-            return new BooleanQueryResult(false);
+            return BooleanQueryResult.valueOf(false);
         }
 
         while (multiAttributeEvaluator.getEvaluationsRemaining(evaluationContext) > 0) {
@@ -52,7 +52,7 @@ public class AllAttributesEvaluator extends BooleanEvaluator implements Iteratin
             }
         }
 
-        return new BooleanQueryResult(true);
+        return BooleanQueryResult.valueOf(true);
     }
 
     @Override
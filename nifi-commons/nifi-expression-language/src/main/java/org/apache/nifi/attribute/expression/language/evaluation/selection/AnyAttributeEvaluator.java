@@ -37,11 +37,11 @@ public class AnyAttributeEvaluator extends BooleanEvaluator implements Iterating
         QueryResult<Boolean> attributeValueQuery = booleanEvaluator.evaluate(evaluationContext);
         Boolean result = attributeValueQuery.getValue();
         if (result == null) {
-            return new BooleanQueryResult(false);
+            return BooleanQueryResult.valueOf(false);
         }
 
         if (result) {
-            return new BooleanQueryResult(true);
+            return BooleanQueryResult.valueOf(true);
         }
 
         while (multiAttributeEvaluator.getEvaluationsRemaining(evaluationContext) > 0) {
@@ -52,7 +52,7 @@ public class AnyAttributeEvaluator extends BooleanEvaluator implements Iterating
             }
         }
 
-        return new BooleanQueryResult(false);
+        return BooleanQueryResult.valueOf(false);
     }
 
     @Override
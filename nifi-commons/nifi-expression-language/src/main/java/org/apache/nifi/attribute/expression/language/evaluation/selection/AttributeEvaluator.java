@@ -21,18 +21,22 @@ import org.apache.nifi.attribute.expression.language.evaluation.Evaluator;
 import org.apache.nifi.attribute.expression.language.evaluation.QueryResult;
 import org.apache.nifi.attribute.expression.language.evaluation.StringEvaluator;
 import org.apache.nifi.attribute.expression.language.evaluation.StringQueryResult;
+import org.apache.nifi.attribute.expression.language.evaluation.literals.StringLiteralEvaluator;
 
 public class AttributeEvaluator extends StringEvaluator {
 
     private final Evaluator<String> nameEvaluator;
+    private final String literalName;
 
     public AttributeEvaluator(final Evaluator<String> nameEvaluator) {
         this.nameEvaluator = nameEvaluator;
+        // the name of the attribute is nearly always a literal, which does not need to be evaluated for every lookup
+        this.literalName = nameEvaluator instanceof StringLiteralEvaluator ? nameEvaluator.evaluate(null).getValue() : null;
     }
 
     @Override
     public QueryResult<String> evaluate(final EvaluationContext evaluationContext) {
-        final String nameValue = nameEvaluator.evaluate(evaluationContext).getValue();
+        final String nameValue = literalName == null ? nameEvaluator.evaluate(evaluationContext).getValue() : literalName;
         final String attributeValue = evaluationContext.getExpressionValue(nameValue);
         return new StringQueryResult(attributeValue);
     }
@@ -30,4 +30,19 @@ public interface IteratingEvaluator<T> extends Evaluator<T> {
      */
     Evaluator<?> getLogicEvaluator();
 
+    /**
+     * @param evaluator the evaluator to check
+     * @return <code>true</code> if the given evaluator is evaluated once per iterated value, that is if the root of its subjects is a {@link MultiAttributeEvaluator}
+     */
+    static boolean isIterating(final Evaluator<?> evaluator) {
+        Evaluator<?> subject = evaluator;
+        while (subject != null) {
+            if (subject instanceof MultiAttributeEvaluator) {
+                return true;
+            }
+            subject = subject.getSubjectEvaluator();
+        }
+        return false;
+    }
+
 }
@@ -240,6 +240,23 @@ public class TestStandardPreparedQuery {
         assertEquals("false", prepared.evaluateExpressions(new StandardEvaluationContext(attributes), null));
     }
 
+    @Test
+    public void testPreparedQueryWithAndOrReusingEvaluationContext() {
+        final Map<String, String> attributes = new HashMap<>();
+        attributes.put("hello", "Hello");
+        final StandardEvaluationContext context = new StandardEvaluationContext(attributes);
+
+        final StandardPreparedQuery and = (StandardPreparedQuery) Query.prepare("${hello:contains('H'):and(${hello:contains('o')})}");
+        final StandardPreparedQuery or = (StandardPreparedQuery) Query.prepare("${hello:contains('X'):or(${hello:contains('o')})}");
+        assertEquals("true", and.evaluateExpressions(context, null));
+        assertEquals("true", or.evaluateExpressions(context, null));
+
+        // the right hand side is only remembered while iterating over multiple attributes
+        attributes.put("hello", "Hell");
+        assertEquals("false", and.evaluateExpressions(context, null));
+        assertEquals("false", or.evaluateExpressions(context, null));
+    }
+
     @Test
     public void testSensitiveParameter() {
         final Map<String, Parameter> parameters = new HashMap<>();
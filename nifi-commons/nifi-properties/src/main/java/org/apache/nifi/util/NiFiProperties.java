@@ -195,6 +195,7 @@ public abstract class NiFiProperties {
     public static final String WEB_PROXY_HOST = "nifi.web.proxy.host";
     public static final String WEB_MAX_CONTENT_SIZE = "nifi.web.max.content.size";
     public static final String WEB_MAX_REQUESTS_PER_SECOND = "nifi.web.max.requests.per.second";
+    public static final String WEB_FLOW_SNAPSHOT_CACHE_EXPIRATION = "nifi.web.flow.snapshot.cache.expiration";
 
     // ui properties
     public static final String UI_BANNER_TEXT = "nifi.ui.banner.text";
@@ -270,6 +271,7 @@ public abstract class NiFiProperties {
     public static final String DEFAULT_WEB_WORKING_DIR = "./work/jetty";
     public static final String DEFAULT_WEB_MAX_CONTENT_SIZE = "20 MB";
     public static final String DEFAULT_WEB_MAX_REQUESTS_PER_SECOND = "30000";
+    public static final String DEFAULT_WEB_FLOW_SNAPSHOT_CACHE_EXPIRATION = "5 secs";
     public static final String DEFAULT_NAR_WORKING_DIR = "./work/nar";
     public static final String DEFAULT_COMPONENT_DOCS_DIRECTORY = "./work/docs/components";
     public static final String DEFAULT_NAR_LIBRARY_DIR = "./lib";
@@ -655,6 +657,10 @@ public abstract class NiFiProperties {
         return getProperty(WEB_MAX_REQUESTS_PER_SECOND, DEFAULT_WEB_MAX_REQUESTS_PER_SECOND);
     }
 
+    public String getWebFlowSnapshotCacheExpiration() {
+        return getProperty(WEB_FLOW_SNAPSHOT_CACHE_EXPIRATION, DEFAULT_WEB_FLOW_SNAPSHOT_CACHE_EXPIRATION);
+    }
+
     public int getWebThreads() {
         return getIntegerProperty(WEB_THREADS, DEFAULT_WEB_THREADS);
     }
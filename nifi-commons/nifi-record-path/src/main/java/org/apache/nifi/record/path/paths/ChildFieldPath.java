@@ -17,7 +17,6 @@
 
 package org.apache.nifi.record.path.paths;
 
-import java.util.Optional;
 import java.util.stream.Stream;
 
 import org.apache.nifi.record.path.FieldValue;
@@ -30,15 +29,20 @@ import org.apache.nifi.serialization.record.RecordFieldType;
 
 public class ChildFieldPath extends RecordPathSegment {
     private final String childName;
+    private final RecordField missingChildField;
+    private final SchemaIdentityCache<RecordField> childField;
+    private final boolean directlyEvaluable;
 
     ChildFieldPath(final String childName, final RecordPathSegment parent, final boolean absolute) {
         super("/" + childName, parent, absolute);
         this.childName = childName;
+        this.missingChildField = new RecordField(childName, RecordFieldType.CHOICE.getChoiceDataType(RecordFieldType.STRING.getDataType(), RecordFieldType.RECORD.getDataType()));
+        this.childField = new SchemaIdentityCache<>(schema -> schema.getField(childName).orElse(null));
+        this.directlyEvaluable = parent != null && parent.isDirectlyEvaluable();
     }
 
     private FieldValue missingChild(final FieldValue parent) {
-        final RecordField field = new RecordField(childName, RecordFieldType.CHOICE.getChoiceDataType(RecordFieldType.STRING.getDataType(), RecordFieldType.RECORD.getDataType()));
-        return new StandardFieldValue(null, field, parent);
+        return new StandardFieldValue(null, missingChildField, parent);
     }
 
     private FieldValue getChild(final FieldValue fieldValue) {
@@ -51,23 +55,37 @@ public class ChildFieldPath extends RecordPathSegment {
             return missingChild(fieldValue);
         }
 
-        final Object value = record.getValue(childName);
-        if (value == null) {
+        final RecordField field = childField.get(record.getSchema());
+        if (field == null) {
             return missingChild(fieldValue);
         }
 
-        final Optional<RecordField> field = record.getSchema().getField(childName);
-        if (!field.isPresent()) {
+        final Object value = record.getValue(field);
+        if (value == null) {
             return missingChild(fieldValue);
         }
 
-        return new StandardFieldValue(value, field.get(), fieldValue);
+        return new StandardFieldValue(value, field, fieldValue);
     }
 
     @Override
     public Stream<FieldValue> evaluate(final RecordPathEvaluationContext context) {
+        if (directlyEvaluable) {
+            return Stream.of(evaluateDirectly(context.getRecord()));
+        }
+
         return getParentPath().evaluate(context)
             // map to Optional<FieldValue> containing child element
             .map(fieldVal -> getChild(fieldVal));
     }
+
+    @Override
+    boolean isDirectlyEvaluable() {
+        return directlyEvaluable;
+    }
+
+    @Override
+    FieldValue evaluateDirectly(final Record record) {
+        return getChild(getParentPath().evaluateDirectly(record));
+    }
 }
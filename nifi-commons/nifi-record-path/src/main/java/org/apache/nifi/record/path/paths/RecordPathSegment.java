@@ -25,6 +25,7 @@ import org.apache.nifi.record.path.RecordPath;
 import org.apache.nifi.record.path.RecordPathEvaluationContext;
 import org.apache.nifi.record.path.RecordPathResult;
 import org.apache.nifi.record.path.StandardRecordPathEvaluationContext;
+import org.apache.nifi.record.path.StandardRecordPathResult;
 import org.apache.nifi.serialization.record.Record;
 
 public abstract class RecordPathSegment implements RecordPath {
@@ -80,6 +81,10 @@ public abstract class RecordPathSegment implements RecordPath {
 
     @Override
     public final RecordPathResult evaluate(final Record record) {
+        if (isDirectlyEvaluable()) {
+            return new StandardRecordPathResult(getPath(), Stream.of(evaluateDirectly(record)));
+        }
+
         final RecordPathEvaluationContext context = new StandardRecordPathEvaluationContext(record);
         final Stream<FieldValue> selectedFields = evaluate(context);
 
@@ -116,4 +121,24 @@ public abstract class RecordPathSegment implements RecordPath {
     }
 
     public abstract Stream<FieldValue> evaluate(RecordPathEvaluationContext context);
+
+    /**
+     * Indicates whether the path selects a single field of the record by walking it from the root, like /a/b/c does, in which
+     * case it can be evaluated by {@link #evaluateDirectly(Record)} without going through a Stream for every segment.
+     *
+     * @return <code>true</code> if the path can be evaluated directly, <code>false</code> otherwise
+     */
+    boolean isDirectlyEvaluable() {
+        return false;
+    }
+
+    /**
+     * Evaluates a path for which {@link #isDirectlyEvaluable()} returns <code>true</code>.
+     *
+     * @param record the Record to evaluate
+     * @return the FieldValue selected by the path
+     */
+    FieldValue evaluateDirectly(final Record record) {
+        throw new UnsupportedOperationException("RecordPath " + getPath() + " cannot be evaluated directly");
+    }
 }
@@ -22,20 +22,32 @@ import java.util.stream.Stream;
 import org.apache.nifi.record.path.FieldValue;
 import org.apache.nifi.record.path.RecordPathEvaluationContext;
 import org.apache.nifi.record.path.StandardFieldValue;
+import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordField;
 import org.apache.nifi.serialization.record.RecordFieldType;
 
 public class RootPath extends RecordPathSegment {
     private static final String PATH = "";
 
+    private final SchemaIdentityCache<RecordField> rootField = new SchemaIdentityCache<>(
+        schema -> new RecordField("root", RecordFieldType.RECORD.getRecordDataType(schema)));
+
     public RootPath() {
         super(PATH, null, true);
     }
 
     @Override
     public Stream<FieldValue> evaluate(final RecordPathEvaluationContext context) {
-        final RecordField field = new RecordField("root", RecordFieldType.RECORD.getRecordDataType(context.getRecord().getSchema()));
-        final FieldValue fieldValue = new StandardFieldValue(context.getRecord(), field, null);
-        return Stream.of(fieldValue);
+        return Stream.of(evaluateDirectly(context.getRecord()));
+    }
+
+    @Override
+    boolean isDirectlyEvaluable() {
+        return true;
+    }
+
+    @Override
+    FieldValue evaluateDirectly(final Record record) {
+        return new StandardFieldValue(record, rootField.get(record.getSchema()), null);
     }
 }
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.record.path.paths;
+
+import java.util.function.Function;
+
+import org.apache.nifi.serialization.record.RecordSchema;
+
+/**
+ * Holds a value resolved from a RecordSchema, such as the field a path segment refers to, for the last schema it was resolved
+ * for. Records read from the same FlowFile share the same schema instance, so resolving once per schema instance spares the
+ * lookups for every record. Compiled paths are shared between threads, hence the cache is thread-safe.
+ *
+ * @param <T> the type of the resolved value
+ */
+class SchemaIdentityCache<T> {
+    private final Function<RecordSchema, T> resolver;
+    private volatile Resolution<T> resolution;
+
+    SchemaIdentityCache(final Function<RecordSchema, T> resolver) {
+        this.resolver = resolver;
+    }
+
+    /**
+     * @param schema the schema
+     * @return the value resolved from the given schema, may be null
+     */
+    T get(final RecordSchema schema) {
+        final Resolution<T> current = resolution;
+        if (current != null && current.schema == schema) {
+            return current.value;
+        }
+
+        final T value = resolver.apply(schema);
+        resolution = new Resolution<>(schema, value);
+        return value;
+    }
+
+    private static class Resolution<T> {
+        private final RecordSchema schema;
+        private final T value;
+
+        Resolution(final RecordSchema schema, final T value) {
+            this.schema = schema;
+            this.value = value;
+        }
+    }
+}
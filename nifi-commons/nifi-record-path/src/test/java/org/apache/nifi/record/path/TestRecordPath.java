@@ -37,6 +37,7 @@ import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -102,6 +103,49 @@ public class TestRecordPath {
         assertEquals(accountRecord, RecordPath.compile("/mainAccount/id").evaluate(record).getSelectedFields().findFirst().get().getParentRecord().get());
     }
 
+    @Test
+    public void testChildFieldWithDifferentSchemas() {
+        final RecordPath recordPath = RecordPath.compile("/mainAccount/balance");
+
+        final Map<String, Object> accountValues = new HashMap<>();
+        accountValues.put("id", 1);
+        accountValues.put("balance", 123.45D);
+        final Record accountRecord = new MapRecord(getAccountSchema(), accountValues);
+
+        final Map<String, Object> values = new HashMap<>();
+        values.put("id", 48);
+        values.put("mainAccount", accountRecord);
+        final Record record = new MapRecord(new SimpleRecordSchema(getDefaultFields()), values);
+
+        final List<RecordField> otherAccountFields = new ArrayList<>();
+        otherAccountFields.add(new RecordField("balance", RecordFieldType.STRING.getDataType()));
+        final Record otherAccountRecord = new MapRecord(new SimpleRecordSchema(otherAccountFields), Collections.singletonMap("balance", "1.00"));
+
+        final List<RecordField> otherFields = new ArrayList<>();
+        otherFields.add(new RecordField("mainAccount", RecordFieldType.RECORD.getRecordDataType(otherAccountRecord.getSchema())));
+        final Record otherRecord = new MapRecord(new SimpleRecordSchema(otherFields), Collections.singletonMap("mainAccount", otherAccountRecord));
+
+        final Record recordWithoutAccount = new MapRecord(new SimpleRecordSchema(getDefaultFields()), Collections.singletonMap("id", 49));
+
+        for (int i = 0; i < 2; i++) {
+            final FieldValue balance = recordPath.evaluate(record).getSelectedFields().findFirst().get();
+            assertEquals(123.45D, balance.getValue());
+            assertEquals(RecordFieldType.DOUBLE, balance.getField().getDataType().getFieldType());
+            assertEquals(accountRecord, balance.getParentRecord().get());
+
+            final FieldValue otherBalance = recordPath.evaluate(otherRecord).getSelectedFields().findFirst().get();
+            assertEquals("1.00", otherBalance.getValue());
+            assertEquals(RecordFieldType.STRING, otherBalance.getField().getDataType().getFieldType());
+
+            final FieldValue missingBalance = recordPath.evaluate(recordWithoutAccount).getSelectedFields().findFirst().get();
+            assertNull(missingBalance.getValue());
+            assertEquals("balance", missingBalance.getField().getFieldName());
+        }
+
+        recordPath.evaluate(record).getSelectedFields().findFirst().get().updateValue(0D);
+        assertEquals(0D, accountRecord.getValue("balance"));
+    }
+
     @Test
     public void testRootRecord() {
         final RecordSchema schema = new SimpleRecordSchema(getDefaultFields());
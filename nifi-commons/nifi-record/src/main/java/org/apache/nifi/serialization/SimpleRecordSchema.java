@@ -33,7 +33,7 @@ import java.util.stream.Collectors;
 
 public class SimpleRecordSchema implements RecordSchema {
     private List<RecordField> fields = null;
-    private Map<String, RecordField> fieldMap = null;
+    private Map<String, Integer> fieldIndices = null;
     private final boolean textAvailable;
     private final AtomicReference<String> text = new AtomicReference<>();
     private final String schemaFormat;
@@ -100,16 +100,17 @@ public class SimpleRecordSchema implements RecordSchema {
         }
 
         this.fields = Collections.unmodifiableList(new ArrayList<>(fields));
-        this.fieldMap = new HashMap<>(fields.size() * 2);
+        this.fieldIndices = new HashMap<>(fields.size() * 2);
 
-        for (final RecordField field : fields) {
-            RecordField previousValue = fieldMap.put(field.getFieldName(), field);
+        for (int i = 0; i < this.fields.size(); i++) {
+            final RecordField field = this.fields.get(i);
+            Integer previousValue = fieldIndices.put(field.getFieldName(), i);
             if (previousValue != null) {
                 throw new IllegalArgumentException("Two fields are given with the same name (or alias) of '" + field.getFieldName() + "'");
             }
 
             for (final String alias : field.getAliases()) {
-                previousValue = fieldMap.put(alias, field);
+                previousValue = fieldIndices.put(alias, i);
                 if (previousValue != null) {
                     throw new IllegalArgumentException("Two fields are given with the same name (or alias) of '" + field.getFieldName() + "'");
                 }
@@ -141,16 +142,26 @@ public class SimpleRecordSchema implements RecordSchema {
 
     @Override
     public Optional<DataType> getDataType(final String fieldName) {
-        final RecordField field = fieldMap.get(fieldName);
-        if (field == null) {
+        final Integer index = fieldIndices.get(fieldName);
+        if (index == null) {
             return Optional.empty();
         }
-        return Optional.of(field.getDataType());
+        return Optional.of(fields.get(index).getDataType());
     }
 
     @Override
     public Optional<RecordField> getField(final String fieldName) {
-        return Optional.ofNullable(fieldMap.get(fieldName));
+        final Integer index = fieldIndices.get(fieldName);
+        if (index == null) {
+            return Optional.empty();
+        }
+        return Optional.of(fields.get(index));
+    }
+
+    @Override
+    public int getFieldIndex(final String fieldName) {
+        final Integer index = fieldIndices.get(fieldName);
+        return index == null ? -1 : index;
     }
 
 
@@ -0,0 +1,723 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record;
+
+import org.apache.nifi.serialization.SchemaValidationException;
+import org.apache.nifi.serialization.record.type.ArrayDataType;
+import org.apache.nifi.serialization.record.type.MapDataType;
+import org.apache.nifi.serialization.record.util.DataTypeUtils;
+import org.apache.nifi.serialization.record.util.IllegalTypeConversionException;
+
+import java.nio.charset.StandardCharsets;
+import java.text.DateFormat;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * A Record whose values are held in arrays indexed by the position of the fields in the schema, rather than in a Map keyed by
+ * field name like {@link MapRecord}. Looking up a value takes the index of the field from the schema, which computes the
+ * indices once (see {@link RecordSchema#getFieldIndex(String)}), and no entry is allocated per value. Values of numeric fields
+ * that are of the exact type of the field are stored unboxed, and only boxed the first time they are read, once: a value that is
+ * never read, such as a field a query or a writer's schema does not use, is never boxed.
+ * </p>
+ *
+ * <p>
+ * The record behaves the same way as a MapRecord holding the same values: only values keyed by the name of a field of the schema
+ * are held in the arrays, values set for other names (including aliases) are kept in a Map the same way a MapRecord would. Records
+ * are usually populated by readers through a {@link Builder}.
+ * </p>
+ */
+public class ArrayRecord implements Record {
+    private RecordSchema schema;
+    private Object[] values;
+    // raw bits of the values held unboxed, allocated when the first such value is set
+    private long[] primitives;
+    // bitmaps over the field indices: fields given a value (possibly null) and fields whose value is held in primitives, boxed in values once read
+    private long[] assignedFields;
+    private long[] primitiveFields;
+    private Map<String, Object> unknownValues = null;
+    private Optional<SerializedForm> serializedForm;
+    private final boolean checkTypes;
+    private final boolean dropUnknownFields;
+    private Set<RecordField> inactiveFields = null;
+
+    public ArrayRecord(final RecordSchema schema, final Map<String, Object> values) {
+        this(schema, values, false, false);
+    }
+
+    public ArrayRecord(final RecordSchema schema, final Map<String, Object> values, final boolean checkTypes, final boolean dropUnknownFields) {
+        this(schema, checkTypes, dropUnknownFields);
+
+        Objects.requireNonNull(values);
+        values.forEach(this::assign);
+        if (checkTypes) {
+            checkTypes();
+        }
+    }
+
+    private ArrayRecord(final RecordSchema schema, final boolean checkTypes, final boolean dropUnknownFields) {
+        this.schema = Objects.requireNonNull(schema);
+        this.serializedForm = Optional.empty();
+        this.checkTypes = checkTypes;
+        this.dropUnknownFields = dropUnknownFields;
+        allocate(schema.getFieldCount());
+    }
+
+    /**
+     * Creates a Builder for an ArrayRecord of the given schema.
+     *
+     * @param schema the schema of the record
+     * @param checkTypes whether or not the values are to be validated against the schema, see {@link Record#isTypeChecked()}
+     * @param dropUnknownFields whether or not fields that are not part of the schema are to be dropped, see {@link Record#isDropUnknownFields()}
+     * @return a Builder for the record
+     */
+    public static Builder builder(final RecordSchema schema, final boolean checkTypes, final boolean dropUnknownFields) {
+        return new Builder(new ArrayRecord(schema, checkTypes, dropUnknownFields));
+    }
+
+    private void allocate(final int fieldCount) {
+        final int words = (fieldCount + 63) >>> 6;
+        this.values = new Object[fieldCount];
+        this.primitives = null;
+        this.assignedFields = new long[words];
+        this.primitiveFields = new long[words];
+    }
+
+    private void checkTypes() {
+        for (final RecordField field : schema.getFields()) {
+            final Object value = getExplicitValue(field);
+
+            if (value == null) {
+                if (field.isNullable() || field.getDefaultValue() != null) {
+                    continue;
+                }
+
+                throw new SchemaValidationException("Field " + field.getFieldName() + " cannot be null");
+            }
+
+            if (!DataTypeUtils.isCompatibleDataType(value, field.getDataType())) {
+                throw new SchemaValidationException("Field " + field.getFieldName() + " has a value of " + value
+                    + ", which cannot be coerced into the appropriate data type of " + field.getDataType());
+            }
+        }
+    }
+
+    /**
+     * @return the index of the field having the given name, if the value of that name is held in the arrays, -1 otherwise
+     */
+    private int getValueIndex(final String fieldName) {
+        final int index = schema.getFieldIndex(fieldName);
+        if (index < 0 || !schema.getField(index).getFieldName().equals(fieldName)) {
+            return -1;
+        }
+
+        return index;
+    }
+
+    private boolean isAssigned(final int index) {
+        return (assignedFields[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private void assign(final String fieldName, final Object value) {
+        final int index = getValueIndex(fieldName);
+        if (index < 0) {
+            if (unknownValues == null) {
+                unknownValues = new LinkedHashMap<>();
+            }
+
+            unknownValues.put(fieldName, value);
+        } else {
+            assign(index, value);
+        }
+    }
+
+    private void assign(final int index, final Object value) {
+        final int word = index >>> 6;
+        final long bit = 1L << index;
+        assignedFields[word] |= bit;
+
+        final RecordFieldType fieldType = schema.getField(index).getDataType().getFieldType();
+        if (isPrimitive(value, fieldType)) {
+            if (primitives == null) {
+                primitives = new long[values.length];
+            }
+
+            primitives[index] = toBits(value, fieldType);
+            primitiveFields[word] |= bit;
+            values[index] = null;
+        } else {
+            primitiveFields[word] &= ~bit;
+            values[index] = value;
+        }
+    }
+
+    private Object valueAt(final int index) {
+        // once a value held unboxed has been boxed, the box is kept in values so that reading the value again does not allocate
+        final Object value = values[index];
+        if (value != null || (primitiveFields[index >>> 6] & (1L << index)) == 0) {
+            return value;
+        }
+
+        final Object boxed = box(primitives[index], schema.getField(index).getDataType().getFieldType());
+        values[index] = boxed;
+        return boxed;
+    }
+
+    private static Object box(final long bits, final RecordFieldType fieldType) {
+        switch (fieldType) {
+            case BYTE:
+                return (byte) bits;
+            case SHORT:
+                return (short) bits;
+            case INT:
+                return (int) bits;
+            case LONG:
+                return bits;
+            case FLOAT:
+                return Float.intBitsToFloat((int) bits);
+            default:
+                return Double.longBitsToDouble(bits);
+        }
+    }
+
+    // Only values of the exact type of the field are unboxed, so that the value returned is always equal to the value set
+    private static boolean isPrimitive(final Object value, final RecordFieldType fieldType) {
+        if (value == null) {
+            return false;
+        }
+
+        switch (fieldType) {
+            case BYTE:
+                return value instanceof Byte;
+            case SHORT:
+                return value instanceof Short;
+            case INT:
+                return value instanceof Integer;
+            case LONG:
+                return value instanceof Long;
+            case FLOAT:
+                return value instanceof Float;
+            case DOUBLE:
+                return value instanceof Double;
+            default:
+                return false;
+        }
+    }
+
+    private static long toBits(final Object value, final RecordFieldType fieldType) {
+        switch (fieldType) {
+            case FLOAT:
+                return Float.floatToRawIntBits((Float) value);
+            case DOUBLE:
+                return Double.doubleToRawLongBits((Double) value);
+            default:
+                return ((Number) value).longValue();
+        }
+    }
+
+    private Object getRawValue(final String fieldName) {
+        final int index = getValueIndex(fieldName);
+        if (index >= 0) {
+            return valueAt(index);
+        }
+
+        return unknownValues == null ? null : unknownValues.get(fieldName);
+    }
+
+    private Object getExplicitValue(final RecordField field) {
+        // As with MapRecord, a null value for the canonical name falls back to the aliases, in the order they are defined in
+        Object value = getRawValue(field.getFieldName());
+        if (value != null) {
+            return value;
+        }
+
+        for (final String alias : field.getAliases()) {
+            value = getRawValue(alias);
+            if (value != null) {
+                return value;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public boolean isDropUnknownFields() {
+        return dropUnknownFields;
+    }
+
+    @Override
+    public boolean isTypeChecked() {
+        return checkTypes;
+    }
+
+    @Override
+    public RecordSchema getSchema() {
+        return schema;
+    }
+
+    @Override
+    public Object[] getValues() {
+        final Object[] result = new Object[values.length];
+        for (int i = 0; i < result.length; i++) {
+            Object value = valueAt(i);
+            if (value == null) {
+                final RecordField recordField = schema.getField(i);
+                value = getExplicitValue(recordField);
+                if (value == null) {
+                    value = recordField.getDefaultValue();
+                }
+            }
+
+            result[i] = value;
+        }
+        return result;
+    }
+
+    @Override
+    public Object getValue(final String fieldName) {
+        final int index = schema.getFieldIndex(fieldName);
+        if (index >= 0) {
+            final RecordField field = schema.getField(index);
+            if (field.getFieldName().equals(fieldName)) {
+                final Object value = valueAt(index);
+                if (value != null) {
+                    return value;
+                }
+            }
+
+            return getValue(field);
+        }
+
+        if (dropUnknownFields || unknownValues == null) {
+            return null;
+        }
+
+        return unknownValues.get(fieldName);
+    }
+
+    @Override
+    public Object getValue(final RecordField field) {
+        Object explicitValue = getExplicitValue(field);
+        if (explicitValue != null) {
+            return explicitValue;
+        }
+
+        final Optional<RecordField> resolvedField = resolveField(field);
+        final boolean resolvedFieldDifferent = resolvedField.isPresent() && !resolvedField.get().equals(field);
+        if (resolvedFieldDifferent) {
+            explicitValue = getExplicitValue(resolvedField.get());
+            if (explicitValue != null) {
+                return explicitValue;
+            }
+        }
+
+        Object defaultValue = field.getDefaultValue();
+        if (defaultValue != null) {
+            return defaultValue;
+        }
+
+        if (resolvedFieldDifferent) {
+            return resolvedField.get().getDefaultValue();
+        }
+
+        return null;
+    }
+
+    private Optional<RecordField> resolveField(final RecordField field) {
+        Optional<RecordField> resolved = schema.getField(field.getFieldName());
+        if (resolved.isPresent()) {
+            return resolved;
+        }
+
+        for (final String alias : field.getAliases()) {
+            resolved = schema.getField(alias);
+            if (resolved.isPresent()) {
+                return resolved;
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public String getAsString(final String fieldName) {
+        final Optional<DataType> dataTypeOption = schema.getDataType(fieldName);
+        if (dataTypeOption.isPresent()) {
+            return convertToString(getValue(fieldName), dataTypeOption.get().getFormat());
+        }
+
+        return DataTypeUtils.toString(getValue(fieldName), (Supplier<DateFormat>) null);
+    }
+
+    @Override
+    public String getAsString(final String fieldName, final String format) {
+        return convertToString(getValue(fieldName), format);
+    }
+
+    @Override
+    public String getAsString(final RecordField field, final String format) {
+        return convertToString(getValue(field), format);
+    }
+
+    private String convertToString(final Object value, final String format) {
+        if (value == null) {
+            return null;
+        }
+
+        return DataTypeUtils.toString(value, format);
+    }
+
+    @Override
+    public Long getAsLong(final String fieldName) {
+        return DataTypeUtils.toLong(getValue(fieldName), fieldName);
+    }
+
+    @Override
+    public Integer getAsInt(final String fieldName) {
+        return DataTypeUtils.toInteger(getValue(fieldName), fieldName);
+    }
+
+    @Override
+    public Double getAsDouble(final String fieldName) {
+        return DataTypeUtils.toDouble(getValue(fieldName), fieldName);
+    }
+
+    @Override
+    public Float getAsFloat(final String fieldName) {
+        return DataTypeUtils.toFloat(getValue(fieldName), fieldName);
+    }
+
+    @Override
+    public Record getAsRecord(String fieldName, final RecordSchema schema) {
+        return DataTypeUtils.toRecord(getValue(fieldName), schema, fieldName);
+    }
+
+    @Override
+    public Boolean getAsBoolean(final String fieldName) {
+        return DataTypeUtils.toBoolean(getValue(fieldName), fieldName);
+    }
+
+    @Override
+    public Date getAsDate(final String fieldName, final String format) {
+        return DataTypeUtils.toDate(getValue(fieldName), () -> DataTypeUtils.getDateFormat(format), fieldName);
+    }
+
+    @Override
+    public Object[] getAsArray(final String fieldName) {
+        return DataTypeUtils.toArray(getValue(fieldName), fieldName, null, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int hashCode() {
+        // consistent with MapRecord, as records of both types holding the same values are equal
+        return 31 + 41 * toMap().hashCode() + 7 * schema.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof ArrayRecord || obj instanceof MapRecord)) {
+            return false;
+        }
+        final Record other = (Record) obj;
+        return schema.equals(other.getSchema()) && toMap().equals(other.toMap());
+    }
+
+    @Override
+    public String toString() {
+        // rendered the same way as MapRecord so that callers relying on the string form see no difference
+        return "MapRecord[" + toMap() + "]";
+    }
+
+    @Override
+    public Optional<SerializedForm> getSerializedForm() {
+        return serializedForm;
+    }
+
+    @Override
+    public Map<String, Object> toMap() {
+        final Map<String, Object> map = new LinkedHashMap<>((values.length + (unknownValues == null ? 0 : unknownValues.size())) * 2);
+        for (int i = 0; i < values.length; i++) {
+            if (isAssigned(i)) {
+                map.put(schema.getField(i).getFieldName(), valueAt(i));
+            }
+        }
+
+        if (unknownValues != null) {
+            map.putAll(unknownValues);
+        }
+
+        return Collections.unmodifiableMap(map);
+    }
+
+    @Override
+    public void setValue(final RecordField field, final Object value) {
+        final Optional<RecordField> existingField = setValueAndGetField(field.getFieldName(), value);
+
+        if (!existingField.isPresent()) {
+            if (inactiveFields == null) {
+                inactiveFields = new LinkedHashSet<>();
+            }
+
+            inactiveFields.add(field);
+        }
+    }
+
+    @Override
+    public void setValue(final String fieldName, final Object value) {
+        setValueAndGetField(fieldName, value);
+    }
+
+    private Optional<RecordField> setValueAndGetField(final String fieldName, final Object value) {
+        final int index = schema.getFieldIndex(fieldName);
+        if (index < 0) {
+            if (dropUnknownFields) {
+                return Optional.empty();
+            }
+
+            if (unknownValues == null) {
+                unknownValues = new LinkedHashMap<>();
+            }
+
+            final Object previousValue = unknownValues.put(fieldName, value);
+            if (!Objects.equals(value, previousValue)) {
+                serializedForm = Optional.empty();
+            }
+
+            return Optional.empty();
+        }
+
+        final RecordField recordField = schema.getField(index);
+        final Object coerced = isTypeChecked() ? DataTypeUtils.convertType(value, recordField.getDataType(), fieldName) : value;
+        final Object previousValue = valueAt(index);
+        assign(index, coerced);
+        if (!Objects.equals(coerced, previousValue)) {
+            serializedForm = Optional.empty();
+        }
+
+        return Optional.of(recordField);
+    }
+
+    @Override
+    public void setArrayValue(final String fieldName, final int arrayIndex, final Object value) {
+        final int index = schema.getFieldIndex(fieldName);
+        if (index < 0) {
+            return;
+        }
+
+        final RecordField recordField = schema.getField(index);
+        final DataType dataType = recordField.getDataType();
+        if (dataType.getFieldType() != RecordFieldType.ARRAY) {
+            throw new IllegalTypeConversionException("Cannot set the value of an array index on Record because the field '" + fieldName
+                + "' is of type '" + dataType + "' and cannot be coerced into an ARRAY type");
+        }
+
+        final Object arrayObject = valueAt(index);
+        if (arrayObject == null) {
+            return;
+        }
+        if (!(arrayObject instanceof Object[])) {
+            return;
+        }
+
+        final Object[] array = (Object[]) arrayObject;
+        if (arrayIndex >= array.length) {
+            return;
+        }
+
+        final ArrayDataType arrayDataType = (ArrayDataType) dataType;
+        final DataType elementType = arrayDataType.getElementType();
+        final Object coerced = DataTypeUtils.convertType(value, elementType, fieldName);
+
+        final boolean update = !Objects.equals(coerced, array[arrayIndex]);
+        if (update) {
+            array[arrayIndex] = coerced;
+            serializedForm = Optional.empty();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setMapValue(final String fieldName, final String mapKey, final Object value) {
+        final int index = schema.getFieldIndex(fieldName);
+        if (index < 0) {
+            return;
+        }
+
+        final RecordField recordField = schema.getField(index);
+        final DataType dataType = recordField.getDataType();
+        if (dataType.getFieldType() != RecordFieldType.MAP) {
+            throw new IllegalTypeConversionException("Cannot set the value of map entry on Record because the field '" + fieldName
+                + "' is of type '" + dataType + "' and cannot be coerced into an MAP type");
+        }
+
+        Object mapObject = valueAt(index);
+        if (mapObject == null) {
+            mapObject = new HashMap<String, Object>();
+        }
+        if (!(mapObject instanceof Map)) {
+            return;
+        }
+
+        final Map<String, Object> map = (Map<String, Object>) mapObject;
+
+        final MapDataType mapDataType = (MapDataType) dataType;
+        final DataType valueDataType = mapDataType.getValueType();
+        final Object coerced = DataTypeUtils.convertType(value, valueDataType, fieldName);
+
+        final Object replaced = map.put(mapKey, coerced);
+        if (replaced == null || !replaced.equals(coerced)) {
+            serializedForm = Optional.empty();
+        }
+    }
+
+    @Override
+    public void incorporateSchema(final RecordSchema other) {
+        setSchema(DataTypeUtils.merge(this.schema, other));
+    }
+
+    @Override
+    public void incorporateInactiveFields() {
+        final RecordSchema updatedSchema = MapRecord.incorporateInactiveFields(this, inactiveFields);
+        if (updatedSchema != null) {
+            setSchema(updatedSchema);
+        }
+    }
+
+    /**
+     * Changes the schema of the record, moving the values to the indices of their fields in the new schema.
+     */
+    private void setSchema(final RecordSchema updatedSchema) {
+        final Map<String, Object> currentValues = toMap();
+
+        this.schema = updatedSchema;
+        this.unknownValues = null;
+        allocate(updatedSchema.getFieldCount());
+        currentValues.forEach(this::assign);
+    }
+
+    @Override
+    public Set<String> getRawFieldNames() {
+        return new RawFieldNames();
+    }
+
+    /**
+     * View of the names of the values held by the record, equivalent to the key set of the values of a MapRecord.
+     */
+    private class RawFieldNames extends AbstractSet<String> {
+        @Override
+        public boolean contains(final Object o) {
+            if (!(o instanceof String)) {
+                return false;
+            }
+
+            final String fieldName = (String) o;
+            final int index = getValueIndex(fieldName);
+            if (index >= 0) {
+                return isAssigned(index);
+            }
+
+            return unknownValues != null && unknownValues.containsKey(fieldName);
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return toMap().keySet().iterator();
+        }
+
+        @Override
+        public int size() {
+            int size = unknownValues == null ? 0 : unknownValues.size();
+            for (final long word : assignedFields) {
+                size += Long.bitCount(word);
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Populates a new ArrayRecord. Values are set as is, without any type coercion, the same way the values of the Map given to
+     * the constructor of a {@link MapRecord} are taken. A Builder builds a single record.
+     */
+    public static class Builder {
+        private ArrayRecord record;
+
+        private Builder(final ArrayRecord record) {
+            this.record = record;
+        }
+
+        /**
+         * Sets the value of the field at the given index of the schema.
+         *
+         * @param fieldIndex the 0-based index of the field in the schema
+         * @param value the value of the field, may be null
+         * @return this Builder
+         */
+        public Builder setValue(final int fieldIndex, final Object value) {
+            record.assign(fieldIndex, value);
+            return this;
+        }
+
+        /**
+         * Sets the value for the given name, which does not need to be the name of a field of the schema.
+         *
+         * @param fieldName the name of the field
+         * @param value the value of the field, may be null
+         * @return this Builder
+         */
+        public Builder setValue(final String fieldName, final Object value) {
+            record.assign(fieldName, value);
+            return this;
+        }
+
+        public ArrayRecord build() {
+            return build(null);
+        }
+
+        /**
+         * @param serializedForm the serialized form of the record, may be null
+         * @return the record
+         *
+         * @throws SchemaValidationException if the record is type checked and a value is not valid according to the schema
+         */
+        public ArrayRecord build(final SerializedForm serializedForm) {
+            final ArrayRecord built = Objects.requireNonNull(record, "Record has already been built");
+            record = null;
+
+            built.serializedForm = Optional.ofNullable(serializedForm);
+            if (built.checkTypes) {
+                built.checkTypes();
+            }
+
+            return built;
+        }
+    }
+}
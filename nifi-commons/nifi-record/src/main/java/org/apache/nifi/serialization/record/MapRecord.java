@@ -293,6 +293,10 @@ public class MapRecord implements Record {
         if (obj == null) {
             return false;
         }
+        if (obj instanceof ArrayRecord) {
+            final ArrayRecord other = (ArrayRecord) obj;
+            return schema.equals(other.getSchema()) && values.equals(other.toMap());
+        }
         if (!(obj instanceof MapRecord)) {
             return false;
         }
@@ -441,11 +445,26 @@ public class MapRecord implements Record {
 
     @Override
     public void incorporateInactiveFields() {
+        final RecordSchema updatedSchema = incorporateInactiveFields(this, inactiveFields);
+        if (updatedSchema != null) {
+            this.schema = updatedSchema;
+        }
+    }
+
+    /**
+     * Determines the schema of the given record once the types of its complex fields are updated with the fields of their actual
+     * values and the given inactive fields are added. Shared with the other Record implementations of this package.
+     *
+     * @param record the record whose schema is to be updated
+     * @param inactiveFields the fields that have been set on the record while not being part of its schema, may be null
+     * @return the updated schema, or <code>null</code> if the schema of the record does not need to change
+     */
+    static RecordSchema incorporateInactiveFields(final Record record, final Set<RecordField> inactiveFields) {
         final List<RecordField> updatedFields = new ArrayList<>();
 
         boolean fieldUpdated = false;
-        for (final RecordField field : schema.getFields()) {
-            final RecordField updated = getUpdatedRecordField(field);
+        for (final RecordField field : record.getSchema().getFields()) {
+            final RecordField updated = getUpdatedRecordField(record, field);
             if (!updated.equals(field)) {
                 fieldUpdated = true;
             }
@@ -454,7 +473,7 @@ public class MapRecord implements Record {
         }
 
         if (!fieldUpdated && (inactiveFields == null || inactiveFields.isEmpty())) {
-            return;
+            return null;
         }
 
         if (inactiveFields != null) {
@@ -465,10 +484,10 @@ public class MapRecord implements Record {
             }
         }
 
-        this.schema = new SimpleRecordSchema(updatedFields);
+        return new SimpleRecordSchema(updatedFields);
     }
 
-    private RecordField getUpdatedRecordField(final RecordField field) {
+    private static RecordField getUpdatedRecordField(final Record parent, final RecordField field) {
         final DataType dataType = field.getDataType();
         final RecordFieldType fieldType = dataType.getFieldType();
 
@@ -476,7 +495,7 @@ public class MapRecord implements Record {
             return field;
         }
 
-        final Object value = getValue(field);
+        final Object value = parent.getValue(field);
         if (value == null) {
             return field;
         }
@@ -555,7 +574,7 @@ public class MapRecord implements Record {
         return field;
     }
 
-    private boolean isSimpleType(final RecordFieldType fieldType) {
+    private static boolean isSimpleType(final RecordFieldType fieldType) {
         switch (fieldType) {
             case ARRAY:
             case RECORD:
@@ -62,6 +62,8 @@ import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -94,7 +96,11 @@ public class DataTypeUtils {
 
     private static final Pattern FLOATING_POINT_PATTERN = Pattern.compile(doubleRegex);
 
-    private static final TimeZone gmt = TimeZone.getTimeZone("gmt");
+    private static final String GMT_ID = "gmt";
+    private static final TimeZone gmt = TimeZone.getTimeZone(GMT_ID);
+
+    private static final int MAX_CACHED_DATE_FORMATS = 1000;
+    private static final ConcurrentMap<String, ConcurrentMap<String, DateFormat>> dateFormats = new ConcurrentHashMap<>();
 
     private static final Supplier<DateFormat> DEFAULT_DATE_FORMAT = () -> getDateFormat(RecordFieldType.DATE.getDefaultFormat());
     private static final Supplier<DateFormat> DEFAULT_TIME_FORMAT = () -> getDateFormat(RecordFieldType.TIME.getDefaultFormat());
@@ -817,7 +823,7 @@ public class DataTypeUtils {
     }
 
     public static boolean isMapTypeCompatible(final Object value) {
-        return value != null && (value instanceof Map || value instanceof MapRecord);
+        return value != null && (value instanceof Map || value instanceof Record);
     }
 
 
@@ -1091,22 +1097,56 @@ public class DataTypeUtils {
         throw new IllegalTypeConversionException("Cannot convert value [" + value + "] of type " + value.getClass() + " to Time for field " + fieldName);
     }
 
+    /**
+     * Returns the DateFormat for the given pattern in the GMT time zone. The returned DateFormat is shared, thread-safe and
+     * immutable, see {@link ThreadSafeDateFormat}.
+     *
+     * @param format the pattern, as defined by {@link SimpleDateFormat}
+     * @return the DateFormat, or <code>null</code> if the given pattern is null
+     */
     public static DateFormat getDateFormat(final String format) {
         if (format == null) {
             return null;
         }
-        final DateFormat df = new SimpleDateFormat(format);
-        df.setTimeZone(gmt);
-        return df;
+        return getDateFormat(format, GMT_ID, gmt);
     }
 
+    /**
+     * Returns the DateFormat for the given pattern in the given time zone. The returned DateFormat is shared, thread-safe and
+     * immutable, see {@link ThreadSafeDateFormat}.
+     *
+     * @param format the pattern, as defined by {@link SimpleDateFormat}
+     * @param timezoneID the ID of the time zone
+     * @return the DateFormat, or <code>null</code> if the given pattern or time zone is null
+     */
     public static DateFormat getDateFormat(final String format, final String timezoneID) {
         if (format == null || timezoneID == null) {
             return null;
         }
-        final DateFormat df = new SimpleDateFormat(format);
-        df.setTimeZone(TimeZone.getTimeZone(timezoneID));
-        return df;
+        return getDateFormat(format, timezoneID, null);
+    }
+
+    private static DateFormat getDateFormat(final String format, final String timezoneID, final TimeZone timeZone) {
+        final Map<String, DateFormat> formats = dateFormats.get(timezoneID);
+        if (formats != null) {
+            final DateFormat cached = formats.get(format);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        final DateFormat dateFormat = new ThreadSafeDateFormat(format, timeZone == null ? TimeZone.getTimeZone(timezoneID) : timeZone);
+
+        // patterns might come from the data, so the cache is bounded to keep it from growing indefinitely
+        if (dateFormats.size() < MAX_CACHED_DATE_FORMATS) {
+            final ConcurrentMap<String, DateFormat> timeZoneFormats = dateFormats.computeIfAbsent(timezoneID, id -> new ConcurrentHashMap<>());
+            if (timeZoneFormats.size() < MAX_CACHED_DATE_FORMATS) {
+                final DateFormat previous = timeZoneFormats.putIfAbsent(format, dateFormat);
+                return previous == null ? dateFormat : previous;
+            }
+        }
+
+        return dateFormat;
     }
 
     public static boolean isTimeTypeCompatible(final Object value, final String format) {
@@ -1154,6 +1194,8 @@ public class DataTypeUtils {
                 final String formatDescription;
                 if (dateFormat == null) {
                     formatDescription = "Numeric";
+                } else if (dateFormat instanceof ThreadSafeDateFormat) {
+                    formatDescription = ((ThreadSafeDateFormat) dateFormat).toPattern();
                 } else if (dateFormat instanceof SimpleDateFormat) {
                     formatDescription = ((SimpleDateFormat) dateFormat).toPattern();
                 } else {
@@ -1242,6 +1284,10 @@ public class DataTypeUtils {
             return null;
         }
 
+        if (value instanceof Double) {
+            return (Double) value;
+        }
+
         if (value instanceof Number) {
             return ((Number) value).doubleValue();
         }
@@ -1278,6 +1324,10 @@ public class DataTypeUtils {
             return null;
         }
 
+        if (value instanceof Float) {
+            return (Float) value;
+        }
+
         if (value instanceof Number) {
             return ((Number) value).floatValue();
         }
@@ -1336,6 +1386,10 @@ public class DataTypeUtils {
             return null;
         }
 
+        if (value instanceof Long) {
+            return (Long) value;
+        }
+
         if (value instanceof Number) {
             return ((Number) value).longValue();
         }
@@ -1421,6 +1475,10 @@ public class DataTypeUtils {
             return null;
         }
 
+        if (value instanceof Integer) {
+            return (Integer) value;
+        }
+
         if (value instanceof Number) {
             return ((Number) value).intValue();
         }
@@ -0,0 +1,397 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.util;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.text.DateFormat;
+import java.text.FieldPosition;
+import java.text.NumberFormat;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * <p>
+ * A DateFormat with the semantics of a {@link SimpleDateFormat} of a given pattern and time zone that can be shared between threads,
+ * which allows for a single instance per pattern to be cached instead of creating a new SimpleDateFormat for every conversion.
+ * Each thread formats and parses with its own SimpleDateFormat, created once.
+ * </p>
+ *
+ * <p>
+ * Patterns made of fixed width numeric fields (yyyy, MM, dd, HH, mm, ss and SSS) and literals, such as the default formats of the
+ * DATE, TIME and TIMESTAMP field types or ISO-8601 date times, are formatted and parsed directly in the GMT time zone without
+ * a SimpleDateFormat. This is only done where the result is known to be the same: for years between 1900 and 9999, and when
+ * parsing, for well-formed values whose fields are in range. Everything else, like lenient parsing, is left to SimpleDateFormat.
+ * </p>
+ *
+ * <p>
+ * As instances are shared, the time zone, calendar, number format and leniency cannot be changed.
+ * </p>
+ */
+public class ThreadSafeDateFormat extends DateFormat {
+    private static final long serialVersionUID = 1L;
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+    private static final int MIN_FAST_YEAR = 1900;
+    private static final int MAX_FAST_YEAR = 9999;
+
+    private final String pattern;
+    private final SimpleDateFormat prototype;
+    private final ThreadLocal<SimpleDateFormat> formats;
+    private final FixedWidthPattern fixedWidthPattern;
+
+    /**
+     * @param pattern the pattern of the format, as defined by {@link SimpleDateFormat}
+     * @param timeZone the time zone of the format
+     *
+     * @throws IllegalArgumentException if the pattern is not valid
+     */
+    public ThreadSafeDateFormat(final String pattern, final TimeZone timeZone) {
+        this.pattern = pattern;
+        this.prototype = new SimpleDateFormat(pattern);
+        this.prototype.setTimeZone(timeZone);
+        this.formats = ThreadLocal.withInitial(() -> (SimpleDateFormat) prototype.clone());
+        this.fixedWidthPattern = isGmt(timeZone) ? FixedWidthPattern.compile(pattern) : null;
+
+        // only there for the getters, formatting and parsing is delegated
+        this.calendar = (Calendar) prototype.getCalendar().clone();
+        this.numberFormat = (NumberFormat) prototype.getNumberFormat().clone();
+    }
+
+    private static boolean isGmt(final TimeZone timeZone) {
+        return "GMT".equals(timeZone.getID()) || "UTC".equals(timeZone.getID());
+    }
+
+    /**
+     * @return the pattern of the format
+     */
+    public String toPattern() {
+        return pattern;
+    }
+
+    @Override
+    public StringBuffer format(final Date date, final StringBuffer toAppendTo, final FieldPosition fieldPosition) {
+        // the fast path does not track the position of fields, which is only needed when a field is asked for
+        if (fixedWidthPattern != null && fieldPosition.getField() == 0 && fieldPosition.getFieldAttribute() == null
+                && fixedWidthPattern.format(date.getTime(), toAppendTo)) {
+            return toAppendTo;
+        }
+
+        return formats.get().format(date, toAppendTo, fieldPosition);
+    }
+
+    @Override
+    public Date parse(final String source, final ParsePosition pos) {
+        if (fixedWidthPattern != null) {
+            final int index = pos.getIndex();
+            final long millis = fixedWidthPattern.parse(source, index);
+            if (millis != FixedWidthPattern.NOT_PARSED) {
+                pos.setIndex(source.length());
+                return new Date(millis);
+            }
+        }
+
+        return formats.get().parse(source, pos);
+    }
+
+    @Override
+    public void setCalendar(final Calendar newCalendar) {
+        throw new UnsupportedOperationException("The calendar of a shared date format cannot be changed");
+    }
+
+    @Override
+    public void setNumberFormat(final NumberFormat newNumberFormat) {
+        throw new UnsupportedOperationException("The number format of a shared date format cannot be changed");
+    }
+
+    @Override
+    public void setTimeZone(final TimeZone zone) {
+        throw new UnsupportedOperationException("The time zone of a shared date format cannot be changed");
+    }
+
+    @Override
+    public void setLenient(final boolean lenient) {
+        throw new UnsupportedOperationException("The leniency of a shared date format cannot be changed");
+    }
+
+    @Override
+    public Object clone() {
+        // immutable, hence there is no need for a copy
+        return this;
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        // instances are cached and shared within the JVM, they are not meant to be serialized
+        throw new NotSerializableException(ThreadSafeDateFormat.class.getName());
+    }
+
+    @Override
+    public int hashCode() {
+        return prototype.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof ThreadSafeDateFormat)) {
+            return false;
+        }
+
+        final ThreadSafeDateFormat other = (ThreadSafeDateFormat) obj;
+        return prototype.equals(other.prototype) && prototype.getTimeZone().equals(other.prototype.getTimeZone());
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    /**
+     * A pattern made of fixed width numeric fields and literals, formatted and parsed in GMT.
+     */
+    private static class FixedWidthPattern {
+        static final long NOT_PARSED = Long.MIN_VALUE;
+
+        private final char[] fields;
+        private final String[] literals;
+        private final int width;
+
+        private FixedWidthPattern(final char[] fields, final String[] literals) {
+            this.fields = fields;
+            this.literals = literals;
+
+            int width = 0;
+            for (int i = 0; i < fields.length; i++) {
+                width += fields[i] == 0 ? literals[i].length() : getWidth(fields[i]);
+            }
+            this.width = width;
+        }
+
+        private static int getWidth(final char field) {
+            switch (field) {
+                case 'y':
+                    return 4;
+                case 'S':
+                    return 3;
+                default:
+                    return 2;
+            }
+        }
+
+        /**
+         * @return the pattern, or null if the given pattern is not made of fixed width numeric fields and literals only
+         */
+        static FixedWidthPattern compile(final String pattern) {
+            final List<Character> fields = new ArrayList<>();
+            final List<String> literals = new ArrayList<>();
+            final StringBuilder literal = new StringBuilder();
+
+            int i = 0;
+            while (i < pattern.length()) {
+                final char c = pattern.charAt(i);
+
+                if (c == '\'') {
+                    final int end = pattern.indexOf('\'', i + 1);
+                    if (end <= i + 1) {
+                        // escaped quotes or unterminated literal
+                        return null;
+                    }
+
+                    literal.append(pattern, i + 1, end);
+                    i = end + 1;
+                    continue;
+                }
+
+                if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                    int end = i;
+                    while (end < pattern.length() && pattern.charAt(end) == c) {
+                        end++;
+                    }
+
+                    if ("yMdHmsS".indexOf(c) < 0 || end - i != getWidth(c) || fields.contains(c)) {
+                        return null;
+                    }
+
+                    if (literal.length() > 0) {
+                        fields.add((char) 0);
+                        literals.add(literal.toString());
+                        literal.setLength(0);
+                    }
+
+                    fields.add(c);
+                    literals.add(null);
+                    i = end;
+                    continue;
+                }
+
+                literal.append(c);
+                i++;
+            }
+
+            if (literal.length() > 0) {
+                fields.add((char) 0);
+                literals.add(literal.toString());
+            }
+
+            if (fields.isEmpty()) {
+                return null;
+            }
+
+            final char[] fieldArray = new char[fields.size()];
+            for (int f = 0; f < fieldArray.length; f++) {
+                fieldArray[f] = fields.get(f);
+            }
+
+            return new FixedWidthPattern(fieldArray, literals.toArray(new String[0]));
+        }
+
+        boolean format(final long millis, final StringBuffer buffer) {
+            final long epochDay = Math.floorDiv(millis, MILLIS_PER_DAY);
+            final int millisOfDay = (int) Math.floorMod(millis, MILLIS_PER_DAY);
+            final LocalDate date = LocalDate.ofEpochDay(epochDay);
+            if (date.getYear() < MIN_FAST_YEAR || date.getYear() > MAX_FAST_YEAR) {
+                return false;
+            }
+
+            for (int i = 0; i < fields.length; i++) {
+                switch (fields[i]) {
+                    case 0:
+                        buffer.append(literals[i]);
+                        break;
+                    case 'y':
+                        appendPadded(buffer, date.getYear(), 4);
+                        break;
+                    case 'M':
+                        appendPadded(buffer, date.getMonthValue(), 2);
+                        break;
+                    case 'd':
+                        appendPadded(buffer, date.getDayOfMonth(), 2);
+                        break;
+                    case 'H':
+                        appendPadded(buffer, millisOfDay / 3_600_000, 2);
+                        break;
+                    case 'm':
+                        appendPadded(buffer, millisOfDay / 60_000 % 60, 2);
+                        break;
+                    case 's':
+                        appendPadded(buffer, millisOfDay / 1000 % 60, 2);
+                        break;
+                    case 'S':
+                        appendPadded(buffer, millisOfDay % 1000, 3);
+                        break;
+                }
+            }
+
+            return true;
+        }
+
+        private static void appendPadded(final StringBuffer buffer, final int value, final int width) {
+            for (int limit = 10, i = 1; i < width; i++, limit *= 10) {
+                if (value < limit) {
+                    buffer.append('0');
+                }
+            }
+
+            buffer.append(value);
+        }
+
+        /**
+         * @return the parsed time in milliseconds, or {@link #NOT_PARSED} if the value is to be parsed by SimpleDateFormat
+         */
+        long parse(final String source, final int index) {
+            // SimpleDateFormat parses numeric fields that are not followed by another one leniently, so any other length is left to it
+            if (source.length() - index != width) {
+                return NOT_PARSED;
+            }
+
+            int year = 1970;
+            int month = 1;
+            int day = 1;
+            int hour = 0;
+            int minute = 0;
+            int second = 0;
+            int milli = 0;
+
+            int position = index;
+            for (int i = 0; i < fields.length; i++) {
+                final char field = fields[i];
+                if (field == 0) {
+                    final String literal = literals[i];
+                    if (!source.startsWith(literal, position)) {
+                        return NOT_PARSED;
+                    }
+
+                    position += literal.length();
+                    continue;
+                }
+
+                int value = 0;
+                for (final int end = position + getWidth(field); position < end; position++) {
+                    final char c = source.charAt(position);
+                    if (c < '0' || c > '9') {
+                        return NOT_PARSED;
+                    }
+
+                    value = value * 10 + (c - '0');
+                }
+
+                switch (field) {
+                    case 'y':
+                        year = value;
+                        break;
+                    case 'M':
+                        month = value;
+                        break;
+                    case 'd':
+                        day = value;
+                        break;
+                    case 'H':
+                        hour = value;
+                        break;
+                    case 'm':
+                        minute = value;
+                        break;
+                    case 's':
+                        second = value;
+                        break;
+                    case 'S':
+                        milli = value;
+                        break;
+                }
+            }
+
+            // out of range values are rolled over by the lenient SimpleDateFormat
+            if (year < MIN_FAST_YEAR || month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))
+                    || hour > 23 || minute > 59 || second > 59) {
+                return NOT_PARSED;
+            }
+
+            final long epochDay = LocalDate.of(year, month, day).toEpochDay();
+            return epochDay * MILLIS_PER_DAY + ((hour * 60 + minute) * 60 + second) * 1000L + milli;
+        }
+    }
+}
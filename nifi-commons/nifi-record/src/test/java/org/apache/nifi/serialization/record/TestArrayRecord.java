@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.nifi.serialization.SchemaValidationException;
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.junit.Test;
+
+public class TestArrayRecord {
+
+    private RecordSchema createSchema() {
+        final List<RecordField> fields = new ArrayList<>();
+        fields.add(new RecordField("id", RecordFieldType.INT.getDataType(), false));
+        fields.add(new RecordField("name", RecordFieldType.STRING.getDataType(), null, new HashSet<>(Arrays.asList("nickname"))));
+        fields.add(new RecordField("balance", RecordFieldType.DOUBLE.getDataType()));
+        fields.add(new RecordField("count", RecordFieldType.LONG.getDataType(), 0L));
+        return new SimpleRecordSchema(fields);
+    }
+
+    @Test
+    public void testSameValuesAsMapRecord() {
+        final RecordSchema schema = createSchema();
+        final Map<String, Object> values = new HashMap<>();
+        values.put("id", 48);
+        values.put("name", "John Doe");
+        values.put("balance", 4.8D);
+        values.put("other", "unknown");
+
+        final Record mapRecord = new MapRecord(schema, new HashMap<>(values));
+        final Record arrayRecord = new ArrayRecord(schema, new HashMap<>(values));
+
+        assertEquals(mapRecord, arrayRecord);
+        assertEquals(arrayRecord, mapRecord);
+        assertEquals(mapRecord.hashCode(), arrayRecord.hashCode());
+        assertEquals(mapRecord.toMap(), arrayRecord.toMap());
+        assertEquals(mapRecord.getRawFieldNames(), arrayRecord.getRawFieldNames());
+        assertTrue(Arrays.equals(mapRecord.getValues(), arrayRecord.getValues()));
+
+        for (final String fieldName : Arrays.asList("id", "name", "nickname", "balance", "count", "other", "missing")) {
+            assertEquals(mapRecord.getValue(fieldName), arrayRecord.getValue(fieldName));
+        }
+
+        assertEquals(Integer.valueOf(48), arrayRecord.getValue("id"));
+        assertEquals(Double.valueOf(4.8D), arrayRecord.getValue("balance"));
+        assertEquals(0L, arrayRecord.getValue("count"));
+        assertEquals(Long.valueOf(48L), arrayRecord.getAsLong("id"));
+    }
+
+    @Test
+    public void testToStringSameAsMapRecord() {
+        final RecordSchema schema = createSchema();
+        final Map<String, Object> values = new LinkedHashMap<>();
+        values.put("id", 48);
+        values.put("name", "John Doe");
+        values.put("balance", 4.8D);
+        values.put("count", 2L);
+
+        final Record mapRecord = new MapRecord(schema, new LinkedHashMap<>(values));
+        final Record arrayRecord = new ArrayRecord(schema, new LinkedHashMap<>(values));
+
+        assertEquals("MapRecord[{id=48, name=John Doe, balance=4.8, count=2}]", arrayRecord.toString());
+        assertEquals(mapRecord.toString(), arrayRecord.toString());
+    }
+
+    @Test
+    public void testValueOfOtherTypeIsKept() {
+        final RecordSchema schema = createSchema();
+        final Record record = ArrayRecord.builder(schema, false, false)
+            .setValue(0, 48L)
+            .setValue(2, "4.8")
+            .build();
+
+        assertEquals(48L, record.getValue("id"));
+        assertEquals("4.8", record.getValue("balance"));
+
+        record.setValue("id", 12);
+        assertEquals(12, record.getValue("id"));
+    }
+
+    @Test
+    public void testUnboxedValueBoxedOnce() {
+        final RecordSchema schema = createSchema();
+        final Record record = ArrayRecord.builder(schema, false, false)
+            .setValue(0, 4800)
+            .setValue(2, 4.8D)
+            .setValue(3, 4800L)
+            .build();
+
+        final Object id = record.getValue("id");
+        assertEquals(4800, id);
+        assertSame(id, record.getValue("id"));
+        assertSame(id, record.getValues()[0]);
+        assertSame(id, record.toMap().get("id"));
+        assertSame(record.getValue("balance"), record.getValue("balance"));
+        assertSame(record.getValue("count"), record.getAsLong("count"));
+
+        record.setValue("id", 4900);
+        assertEquals(4900, record.getValue("id"));
+        assertSame(record.getValue("id"), record.getValue("id"));
+    }
+
+    @Test
+    public void testRawFieldNames() {
+        final RecordSchema schema = createSchema();
+        final Record record = ArrayRecord.builder(schema, false, false)
+            .setValue("id", 48)
+            .setValue("nickname", "Johnny")
+            .setValue("balance", null)
+            .build();
+
+        assertEquals(new HashSet<>(Arrays.asList("id", "nickname", "balance")), record.getRawFieldNames());
+        assertTrue(record.getRawFieldNames().contains("balance"));
+        assertFalse(record.getRawFieldNames().contains("name"));
+        assertFalse(record.getRawFieldNames().contains("count"));
+        assertEquals("Johnny", record.getValue("name"));
+        assertNull(record.getValue("balance"));
+    }
+
+    @Test
+    public void testSetValueInvalidatesSerializedForm() {
+        final RecordSchema schema = createSchema();
+        final Record record = ArrayRecord.builder(schema, false, false)
+            .setValue(0, 48)
+            .build(SerializedForm.of("{\"id\":48}", "application/json"));
+
+        record.setValue("id", 48);
+        assertTrue(record.getSerializedForm().isPresent());
+
+        record.setValue("id", 49);
+        assertEquals(Optional.empty(), record.getSerializedForm());
+    }
+
+    @Test
+    public void testTypeCheckedRecord() {
+        final RecordSchema schema = createSchema();
+        final Record record = ArrayRecord.builder(schema, true, false)
+            .setValue(0, 48)
+            .build();
+
+        record.setValue("balance", "4.8");
+        assertEquals(4.8D, record.getValue("balance"));
+
+        try {
+            ArrayRecord.builder(schema, true, false).setValue(1, "John Doe").build();
+            fail("Was able to build a record without a value for a non-nullable field");
+        } catch (final SchemaValidationException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testIncorporateInactiveFields() {
+        final RecordSchema schema = createSchema();
+        final Record record = ArrayRecord.builder(schema, false, false)
+            .setValue(0, 48)
+            .setValue(2, 4.8D)
+            .build();
+
+        final RecordField added = new RecordField("added", RecordFieldType.FLOAT.getDataType());
+        record.setValue(added, 1.5F);
+        record.incorporateInactiveFields();
+
+        assertEquals(5, record.getSchema().getFieldCount());
+        assertEquals(4, record.getSchema().getFieldIndex("added"));
+        assertEquals(1.5F, record.getValue("added"));
+        assertEquals(48, record.getValue("id"));
+        assertEquals(4.8D, record.getValue("balance"));
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.serialization.record.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class TestThreadSafeDateFormat {
+    private static final TimeZone GMT = TimeZone.getTimeZone("gmt");
+
+    private static final List<String> PATTERNS = Arrays.asList("yyyy-MM-dd", "HH:mm:ss", "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'",
+        "dd/MM/yyyy", "yyyyMMdd", "yyyy-MM-dd HH:mm:ss zzz", "MMM d, yyyy");
+
+    private static SimpleDateFormat createSimpleDateFormat(final String pattern) {
+        final SimpleDateFormat simpleDateFormat = new SimpleDateFormat(pattern);
+        simpleDateFormat.setTimeZone(GMT);
+        return simpleDateFormat;
+    }
+
+    @Test
+    public void testSameResultsAsSimpleDateFormat() throws ParseException {
+        final Random random = new Random(48L);
+
+        for (final String pattern : PATTERNS) {
+            final SimpleDateFormat expected = createSimpleDateFormat(pattern);
+            final DateFormat actual = new ThreadSafeDateFormat(pattern, GMT);
+
+            for (int i = 0; i < 10_000; i++) {
+                // from about 1600 to about 2300
+                final long millis = (long) ((random.nextDouble() - 0.5) * 2 * 10_000_000_000_000L);
+                final Date date = new Date(millis);
+
+                final String formatted = expected.format(date);
+                assertEquals(formatted, actual.format(date));
+                assertEquals(expected.parse(formatted), actual.parse(formatted));
+            }
+        }
+    }
+
+    @Test
+    public void testLenientValuesParsedAsSimpleDateFormat() throws ParseException {
+        final SimpleDateFormat expected = createSimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        final DateFormat actual = new ThreadSafeDateFormat("yyyy-MM-dd HH:mm:ss", GMT);
+
+        for (final String value : Arrays.asList("2017-1-5 1:2:3", "2017-02-30 10:00:00", "2017-01-05 24:00:00", "1800-01-01 00:00:00",
+                "2017-01-05 10:00:00 trailing", "2017-01-05 10:00:001", "0001-01-01 00:00:00")) {
+            assertEquals(value, expected.parse(value), actual.parse(value));
+        }
+
+        try {
+            actual.parse("2017/01/05 10:00:00");
+            fail("Was able to parse a value that does not match the pattern");
+        } catch (final ParseException expectedException) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testOtherTimeZone() throws ParseException {
+        final TimeZone timeZone = TimeZone.getTimeZone("America/New_York");
+        final SimpleDateFormat expected = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        expected.setTimeZone(timeZone);
+        final DateFormat actual = new ThreadSafeDateFormat("yyyy-MM-dd HH:mm:ss", timeZone);
+
+        final Date date = new Date(1500000000000L);
+        assertEquals(expected.format(date), actual.format(date));
+        assertEquals(expected.parse("2017-07-14 02:40:00"), actual.parse("2017-07-14 02:40:00"));
+    }
+
+    @Test
+    public void testSharedBetweenThreads() throws Exception {
+        final DateFormat dateFormat = DataTypeUtils.getDateFormat("yyyy-MM-dd HH:mm:ss zzz");
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final AtomicInteger mismatches = new AtomicInteger();
+
+        try {
+            final Future<?>[] futures = new Future<?>[4];
+            for (int t = 0; t < futures.length; t++) {
+                final long seed = t;
+                futures[t] = executor.submit(() -> {
+                    final SimpleDateFormat expected = createSimpleDateFormat("yyyy-MM-dd HH:mm:ss zzz");
+                    final Random random = new Random(seed);
+                    for (int i = 0; i < 5_000; i++) {
+                        final Date date = new Date((random.nextLong() >>> 24) * 1000L);
+                        final String formatted = expected.format(date);
+                        try {
+                            if (!formatted.equals(dateFormat.format(date)) || !date.equals(dateFormat.parse(formatted))) {
+                                mismatches.incrementAndGet();
+                            }
+                        } catch (final ParseException e) {
+                            mismatches.incrementAndGet();
+                        }
+                    }
+                });
+            }
+
+            for (final Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, mismatches.get());
+    }
+
+    @Test
+    public void testCachedAndImmutable() {
+        final DateFormat dateFormat = DataTypeUtils.getDateFormat("yyyy-MM-dd");
+        assertSame(dateFormat, DataTypeUtils.getDateFormat("yyyy-MM-dd"));
+        assertSame(DataTypeUtils.getDateFormat("yyyy-MM-dd", "Europe/Paris"), DataTypeUtils.getDateFormat("yyyy-MM-dd", "Europe/Paris"));
+        assertEquals(TimeZone.getTimeZone("Europe/Paris"), DataTypeUtils.getDateFormat("yyyy-MM-dd", "Europe/Paris").getTimeZone());
+
+        try {
+            dateFormat.setTimeZone(TimeZone.getTimeZone("Europe/Paris"));
+            fail("Was able to change the time zone of a shared date format");
+        } catch (final UnsupportedOperationException expected) {
+            // expected
+        }
+    }
+
+    @Test(expected = NotSerializableException.class)
+    public void testNotSerializable() throws IOException {
+        try (final ObjectOutputStream out = new ObjectOutputStream(new ByteArrayOutputStream())) {
+            out.writeObject(DataTypeUtils.getDateFormat("yyyy-MM-dd"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPattern() {
+        DataTypeUtils.getDateFormat("yyyy-MM-dd qq");
+    }
+}
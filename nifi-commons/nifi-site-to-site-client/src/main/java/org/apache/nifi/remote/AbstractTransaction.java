@@ -75,6 +75,17 @@ public abstract class AbstractTransaction implements Transaction {
     protected void close() throws IOException {
     }
 
+    /**
+     * Indicates whether the checksums are exchanged along with the FINISH_TRANSACTION indicator rather than in a separate round trip,
+     * which the peer has to support as well. The receiving side of the data then verifies the checksum of the sending side itself,
+     * so confirming a transaction only takes the round trip of the final acknowledgement.
+     *
+     * @return true if the checksum exchange is pipelined, false by default
+     */
+    protected boolean isChecksumExchangePipelined() {
+        return false;
+    }
+
     @Override
     public void send(final byte[] content, final Map<String, String> attributes) throws IOException {
         send(new StandardDataPacket(attributes, new ByteArrayInputStream(content), content.length));
@@ -194,6 +205,29 @@ public abstract class AbstractTransaction implements Transaction {
                         throw new IllegalStateException("Cannot complete transaction because the sender has already sent more data than client has consumed.");
                     }
 
+                    if (isChecksumExchangePipelined()) {
+                        // the peer sent its checksum right after the FINISH_TRANSACTION indicator. Verify it here instead of sending
+                        // ours to the peer, the peer learns about the outcome when the transaction is completed.
+                        final String calculatedCRC = String.valueOf(crc.getValue());
+                        final Response peerChecksumResponse = readTransactionResponse();
+                        logger.trace("{} Received {} from {}", this, peerChecksumResponse, peer);
+
+                        if (peerChecksumResponse.getCode() != ResponseCode.CONFIRM_TRANSACTION) {
+                            throw new ProtocolException(this + " Received unexpected Response from peer " + peer + " : "
+                                    + peerChecksumResponse + "; expected 'Confirm Transaction' Response Code");
+                        }
+
+                        if (!calculatedCRC.equals(peerChecksumResponse.getMessage())) {
+                            writeTransactionResponse(ResponseCode.BAD_CHECKSUM);
+                            throw new IOException(this + " Received data from peer " + peer + " but calculated CRC32 Checksum as "
+                                    + calculatedCRC + " while peer calculated CRC32 Checksum as " + peerChecksumResponse.getMessage()
+                                    + "; canceling transaction and rolling back session");
+                        }
+
+                        state = TransactionState.TRANSACTION_CONFIRMED;
+                        return;
+                    }
+
                     // we received a FINISH_TRANSACTION indicator. Send back a CONFIRM_TRANSACTION message
                     // to peer so that we can verify that the connection is still open. This is a two-phase commit,
                     // which helps to prevent the chances of data duplication. Without doing this, we may commit the
@@ -234,6 +268,11 @@ public abstract class AbstractTransaction implements Transaction {
                     writeTransactionResponse(ResponseCode.FINISH_TRANSACTION);
 
                     final String calculatedCRC = String.valueOf(crc.getValue());
+                    final boolean pipelined = isChecksumExchangePipelined();
+                    if (pipelined) {
+                        // let the peer verify the checksum itself, so it can commit without waiting for another round trip
+                        writeTransactionResponse(ResponseCode.CONFIRM_TRANSACTION, calculatedCRC);
+                    }
 
                     // we've sent a FINISH_TRANSACTION. Now we'll wait for the peer to send a 'Confirm Transaction' response
                     final Response transactionConfirmationResponse = readTransactionResponse();
@@ -245,14 +284,19 @@ public abstract class AbstractTransaction implements Transaction {
                         // CRC was not used before version 4
                         if (protocolVersion > 3) {
                             if (!receivedCRC.equals(calculatedCRC)) {
-                                writeTransactionResponse(ResponseCode.BAD_CHECKSUM);
+                                // with a pipelined exchange the peer has already detected the mismatch and rolled back
+                                if (!pipelined) {
+                                    writeTransactionResponse(ResponseCode.BAD_CHECKSUM);
+                                }
                                 throw new IOException(this + " Sent data to peer " + peer + " but calculated CRC32 Checksum as "
                                         + calculatedCRC + " while peer calculated CRC32 Checksum as "
                                         + receivedCRC + "; canceling transaction and rolling back session");
                             }
                         }
 
-                        writeTransactionResponse(ResponseCode.CONFIRM_TRANSACTION, "");
+                        if (!pipelined) {
+                            writeTransactionResponse(ResponseCode.CONFIRM_TRANSACTION, "");
+                        }
                     } else {
                         throw new ProtocolException("Expected to receive 'Confirm Transaction' response from peer "
                                 + peer + " but received " + transactionConfirmationResponse);
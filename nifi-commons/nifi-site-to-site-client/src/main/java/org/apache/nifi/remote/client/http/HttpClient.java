@@ -34,6 +34,7 @@ import org.apache.nifi.remote.io.http.HttpCommunicationsSession;
 import org.apache.nifi.remote.protocol.CommunicationsSession;
 import org.apache.nifi.remote.protocol.SiteToSiteTransportProtocol;
 import org.apache.nifi.remote.protocol.http.HttpClientTransaction;
+import org.apache.nifi.remote.util.SiteToSiteHttpConnectionPool;
 import org.apache.nifi.remote.util.SiteToSiteRestApiClient;
 import org.apache.nifi.web.api.dto.remote.PeerDTO;
 import org.slf4j.Logger;
@@ -57,6 +58,7 @@ public class HttpClient extends AbstractSiteToSiteClient implements PeerStatusPr
 
     private final ScheduledExecutorService taskExecutor;
     private final PeerSelector peerSelector;
+    private final SiteToSiteHttpConnectionPool connectionPool;
     private final Set<HttpClientTransaction> activeTransactions = Collections.synchronizedSet(new HashSet<>());
 
     public HttpClient(final SiteToSiteClientConfig config) {
@@ -65,6 +67,9 @@ public class HttpClient extends AbstractSiteToSiteClient implements PeerStatusPr
         peerSelector = new PeerSelector(this, config.getPeerPersistence());
         peerSelector.setEventReporter(config.getEventReporter());
 
+        connectionPool = new SiteToSiteHttpConnectionPool(config.getSslContext(), config.getHttpProxy(),
+            config.getIdleConnectionExpiration(TimeUnit.MILLISECONDS));
+
         taskExecutor = Executors.newScheduledThreadPool(1, new ThreadFactory() {
             private final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
 
@@ -100,7 +105,7 @@ public class HttpClient extends AbstractSiteToSiteClient implements PeerStatusPr
     @Override
     public Set<PeerStatus> fetchRemotePeerStatuses(PeerDescription peerDescription) throws IOException {
         // Each node should has the same URL structure and network reach-ability with the proxy configuration.
-        try (final SiteToSiteRestApiClient apiClient = new SiteToSiteRestApiClient(config.getSslContext(), config.getHttpProxy(), config.getEventReporter())) {
+        try (final SiteToSiteRestApiClient apiClient = new SiteToSiteRestApiClient(config.getSslContext(), config.getHttpProxy(), config.getEventReporter(), connectionPool)) {
             final String scheme = peerDescription.isSecure() ? "https" : "http";
             apiClient.setBaseUrl(scheme, peerDescription.getHostname(), peerDescription.getPort());
 
@@ -151,7 +156,7 @@ public class HttpClient extends AbstractSiteToSiteClient implements PeerStatusPr
                 }
             }
 
-            final SiteToSiteRestApiClient apiClient = new SiteToSiteRestApiClient(config.getSslContext(), config.getHttpProxy(), config.getEventReporter());
+            final SiteToSiteRestApiClient apiClient = new SiteToSiteRestApiClient(config.getSslContext(), config.getHttpProxy(), config.getEventReporter(), connectionPool);
 
             apiClient.setBaseUrl(peer.getUrl());
             apiClient.setConnectTimeoutMillis(timeoutMillis);
@@ -232,6 +237,8 @@ public class HttpClient extends AbstractSiteToSiteClient implements PeerStatusPr
         for (final HttpClientTransaction transaction : activeTransactions) {
             transaction.getCommunicant().getCommunicationsSession().interrupt();
         }
+
+        connectionPool.close();
     }
 
     @Override
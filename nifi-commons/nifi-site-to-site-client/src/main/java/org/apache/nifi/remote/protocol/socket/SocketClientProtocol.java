@@ -51,8 +51,13 @@ import java.util.concurrent.TimeUnit;
 
 public class SocketClientProtocol implements ClientProtocol {
 
+    /**
+     * Version 7 exchanges the checksums along with the FINISH_TRANSACTION indicator, saving a round trip per transaction.
+     */
+    static final int PIPELINED_CHECKSUM_VERSION = 7;
+
     // Version 6 added to support Zero-Master Clustering, which was introduced in NiFi 1.0.0
-    private final VersionNegotiator versionNegotiator = new StandardVersionNegotiator(6, 5, 4, 3, 2, 1);
+    private final VersionNegotiator versionNegotiator = new StandardVersionNegotiator(PIPELINED_CHECKSUM_VERSION, 6, 5, 4, 3, 2, 1);
 
     private RemoteDestination destination;
     private boolean useCompression = false;
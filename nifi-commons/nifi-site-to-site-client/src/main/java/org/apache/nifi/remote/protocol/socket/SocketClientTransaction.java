@@ -77,6 +77,11 @@ public class SocketClientTransaction extends AbstractTransaction {
         }
     }
 
+    @Override
+    protected boolean isChecksumExchangePipelined() {
+        return protocolVersion >= SocketClientProtocol.PIPELINED_CHECKSUM_VERSION;
+    }
+
     @Override
     protected Response readTransactionResponse() throws IOException {
         return Response.read(dis);
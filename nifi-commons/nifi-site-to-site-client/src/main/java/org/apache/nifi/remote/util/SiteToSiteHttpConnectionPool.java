@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.remote.util;
+
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.nifi.remote.protocol.http.HttpProxy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLContext;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Keeps the HTTP connections of a Site-to-Site client alive between transactions, so that consecutive transactions with
+ * the same peer reuse an established (and for HTTPS, already handshaken) connection instead of opening a new one per
+ * transaction. This is the HTTP counterpart of the EndpointConnectionPool used by the raw socket transport.
+ * </p>
+ *
+ * <p>
+ * The HTTP clients are shared by every {@link SiteToSiteRestApiClient} created with this pool, hence they do not keep any
+ * per transaction state. Connections idle for longer than the idle expiration, or than the keep-alive timeout of the peer
+ * if it is shorter, are closed.
+ * </p>
+ */
+public class SiteToSiteHttpConnectionPool implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(SiteToSiteHttpConnectionPool.class);
+
+    // concurrency is bounded by the number of concurrent transactions, the same as without pooling
+    private static final int MAX_CONNECTIONS = Integer.MAX_VALUE;
+    // how often idle connections are looked for when the idle expiration does not tell, the same as for the blocking client
+    private static final long DEFAULT_EVICTION_PERIOD_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    private final SSLContext sslContext;
+    private final HttpProxy proxy;
+    private final long idleExpirationMillis;
+
+    private CloseableHttpClient httpClient;
+    private CloseableHttpAsyncClient httpAsyncClient;
+    private ScheduledExecutorService asyncConnectionEvictor;
+    private boolean closed = false;
+
+    public SiteToSiteHttpConnectionPool(final SSLContext sslContext, final HttpProxy proxy, final long idleExpirationMillis) {
+        this.sslContext = sslContext;
+        this.proxy = proxy;
+        this.idleExpirationMillis = idleExpirationMillis;
+    }
+
+    synchronized CloseableHttpClient getHttpClient() {
+        verifyNotClosed();
+
+        if (httpClient == null) {
+            httpClient = SiteToSiteRestApiClient.createHttpClientBuilder(sslContext, proxy)
+                .setMaxConnPerRoute(MAX_CONNECTIONS)
+                .setMaxConnTotal(MAX_CONNECTIONS)
+                .setKeepAliveStrategy(getKeepAliveStrategy())
+                .evictIdleConnections(idleExpirationMillis, TimeUnit.MILLISECONDS)
+                // connections are only shared by transactions using the same SSLContext, thus the same client identity
+                .disableConnectionState()
+                .build();
+        }
+
+        return httpClient;
+    }
+
+    synchronized CloseableHttpAsyncClient getHttpAsyncClient() {
+        verifyNotClosed();
+
+        if (httpAsyncClient == null) {
+            // unlike the blocking client builder, the async one cannot evict idle connections, so its connection manager is created here to do so
+            final PoolingNHttpClientConnectionManager connectionManager = createAsyncConnectionManager();
+            httpAsyncClient = SiteToSiteRestApiClient.createHttpAsyncClientBuilder(sslContext, proxy)
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(getKeepAliveStrategy())
+                .disableConnectionState()
+                .build();
+            httpAsyncClient.start();
+
+            asyncConnectionEvictor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                private final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+
+                @Override
+                public Thread newThread(final Runnable r) {
+                    final Thread thread = defaultFactory.newThread(r);
+                    thread.setName("Http Site-to-Site Idle Connection Evictor");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+            final long evictionPeriodMillis = idleExpirationMillis > 0 ? idleExpirationMillis : DEFAULT_EVICTION_PERIOD_MILLIS;
+            asyncConnectionEvictor.scheduleWithFixedDelay(() -> {
+                connectionManager.closeExpiredConnections();
+                connectionManager.closeIdleConnections(idleExpirationMillis, TimeUnit.MILLISECONDS);
+            }, evictionPeriodMillis, evictionPeriodMillis, TimeUnit.MILLISECONDS);
+        }
+
+        return httpAsyncClient;
+    }
+
+    /**
+     * Creates the connection manager the async client builder would create with the same SSLContext.
+     */
+    private PoolingNHttpClientConnectionManager createAsyncConnectionManager() {
+        final SchemeIOSessionStrategy sslStrategy = sslContext == null ? SSLIOSessionStrategy.getDefaultStrategy()
+            : new SSLIOSessionStrategy(sslContext, SSLIOSessionStrategy.getDefaultHostnameVerifier());
+
+        final PoolingNHttpClientConnectionManager connectionManager;
+        try {
+            connectionManager = new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(IOReactorConfig.DEFAULT),
+                RegistryBuilder.<SchemeIOSessionStrategy>create()
+                    .register("http", NoopIOSessionStrategy.INSTANCE)
+                    .register("https", sslStrategy)
+                    .build());
+        } catch (final IOReactorException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+
+        connectionManager.setDefaultMaxPerRoute(MAX_CONNECTIONS);
+        connectionManager.setMaxTotal(MAX_CONNECTIONS);
+        return connectionManager;
+    }
+
+    private ConnectionKeepAliveStrategy getKeepAliveStrategy() {
+        return (response, context) -> {
+            // a peer closing connections sooner than the idle expiration tells so in its Keep-Alive header
+            final long peerKeepAliveMillis = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return peerKeepAliveMillis > 0 ? Math.min(peerKeepAliveMillis, idleExpirationMillis) : idleExpirationMillis;
+        };
+    }
+
+    private void verifyNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("Site-to-Site HTTP connection pool has been closed");
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        if (asyncConnectionEvictor != null) {
+            asyncConnectionEvictor.shutdownNow();
+            asyncConnectionEvictor = null;
+        }
+        closeQuietly(httpClient);
+        closeQuietly(httpAsyncClient);
+        httpClient = null;
+        httpAsyncClient = null;
+    }
+
+    private void closeQuietly(final Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+
+        try {
+            closeable.close();
+        } catch (final IOException e) {
+            logger.warn("Failed to close {} due to {}", closeable, e.toString());
+        }
+    }
+}
@@ -34,6 +34,7 @@ import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.AuthState;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpDelete;
@@ -94,6 +95,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
 import java.net.InetAddress;
@@ -126,6 +128,7 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
@@ -153,11 +156,14 @@ public class SiteToSiteRestApiClient implements Closeable {
 
     private static final Logger logger = LoggerFactory.getLogger(SiteToSiteRestApiClient.class);
 
+    private static final String API_CLIENT_CONTEXT_ATTRIBUTE = SiteToSiteRestApiClient.class.getName();
+
     private String baseUrl;
     protected final SSLContext sslContext;
     protected final HttpProxy proxy;
     private final AtomicBoolean proxyAuthRequiresResend = new AtomicBoolean(false);
     private final EventReporter eventReporter;
+    private final SiteToSiteHttpConnectionPool connectionPool;
 
     private RequestConfig requestConfig;
     private CredentialsProvider credentialsProvider;
@@ -184,15 +190,27 @@ public class SiteToSiteRestApiClient implements Closeable {
     private static final Pattern HTTP_ABS_URL = Pattern.compile("^https?://.+$");
 
     private Future<HttpResponse> postResult;
+    private CloseableHttpResponse receiveResponse;
     private CountDownLatch transferDataLatch = new CountDownLatch(1);
 
     private static final ConcurrentMap<String, RemoteGroupContents> contentsMap = new ConcurrentHashMap<>();
     private volatile long lastPruneTimestamp = System.currentTimeMillis();
 
     public SiteToSiteRestApiClient(final SSLContext sslContext, final HttpProxy proxy, final EventReporter eventReporter) {
+        this(sslContext, proxy, eventReporter, null);
+    }
+
+    /**
+     * Creates a client which executes its requests using the connections of the given pool, so the connections
+     * outlive this client. Without a pool, or when the proxy requires authentication, the client uses its own
+     * connections which are closed along with the client.
+     */
+    public SiteToSiteRestApiClient(final SSLContext sslContext, final HttpProxy proxy, final EventReporter eventReporter,
+                                   final SiteToSiteHttpConnectionPool connectionPool) {
         this.sslContext = sslContext;
         this.proxy = proxy;
         this.eventReporter = eventReporter;
+        this.connectionPool = connectionPool;
 
         ttlExtendTaskExecutor = Executors.newScheduledThreadPool(1, new ThreadFactory() {
             private final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
@@ -210,11 +228,27 @@ public class SiteToSiteRestApiClient implements Closeable {
     @Override
     public void close() throws IOException {
         stopExtendingTtl();
+
+        // pooled connections outlive this client, abort any data transfer still in progress instead
+        if (postResult != null) {
+            postResult.cancel(true);
+        }
+        closeSilently(receiveResponse);
+
         closeSilently(httpClient);
         closeSilently(httpAsyncClient);
     }
 
+    private boolean isPooled() {
+        // the proxy authentication handling of initiateTransactionForSend relies on connections dedicated to the transaction
+        return connectionPool != null && !shouldCheckProxyAuth();
+    }
+
     private CloseableHttpClient getHttpClient() {
+        if (isPooled()) {
+            return connectionPool.getHttpClient();
+        }
+
         if (httpClient == null) {
             setupClient();
         }
@@ -222,12 +256,25 @@ public class SiteToSiteRestApiClient implements Closeable {
     }
 
     private CloseableHttpAsyncClient getHttpAsyncClient() {
+        if (isPooled()) {
+            return connectionPool.getHttpAsyncClient();
+        }
+
         if (httpAsyncClient == null) {
             setupAsyncClient();
         }
         return httpAsyncClient;
     }
 
+    /**
+     * Every request is executed with its own context, which lets the shared response interceptor find the client the response belongs to.
+     */
+    HttpClientContext createHttpContext() {
+        final HttpClientContext context = HttpClientContext.create();
+        context.setAttribute(API_CLIENT_CONTEXT_ATTRIBUTE, this);
+        return context;
+    }
+
     private RequestConfig getRequestConfig() {
         if (requestConfig == null) {
             setupRequestConfig();
@@ -237,7 +284,7 @@ public class SiteToSiteRestApiClient implements Closeable {
 
     private CredentialsProvider getCredentialsProvider() {
         if (credentialsProvider == null) {
-            setupCredentialsProvider();
+            credentialsProvider = createCredentialsProvider(proxy);
         }
         return credentialsProvider;
     }
@@ -259,8 +306,8 @@ public class SiteToSiteRestApiClient implements Closeable {
         requestConfig = requestConfigBuilder.build();
     }
 
-    private void setupCredentialsProvider() {
-        credentialsProvider = new BasicCredentialsProvider();
+    private static CredentialsProvider createCredentialsProvider(final HttpProxy proxy) {
+        final CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
         if (proxy != null) {
             if (!isEmpty(proxy.getUsername()) && !isEmpty(proxy.getPassword())) {
                 credentialsProvider.setCredentials(
@@ -269,9 +316,10 @@ public class SiteToSiteRestApiClient implements Closeable {
             }
 
         }
+        return credentialsProvider;
     }
 
-    private void setupClient() {
+    static HttpClientBuilder createHttpClientBuilder(final SSLContext sslContext, final HttpProxy proxy) {
         final HttpClientBuilder clientBuilder = HttpClients.custom();
 
         if (sslContext != null) {
@@ -279,11 +327,10 @@ public class SiteToSiteRestApiClient implements Closeable {
             clientBuilder.addInterceptorFirst(new HttpsResponseInterceptor());
         }
 
-        httpClient = clientBuilder
-            .setDefaultCredentialsProvider(getCredentialsProvider()).build();
+        return clientBuilder.setDefaultCredentialsProvider(createCredentialsProvider(proxy));
     }
 
-    private void setupAsyncClient() {
+    static HttpAsyncClientBuilder createHttpAsyncClientBuilder(final SSLContext sslContext, final HttpProxy proxy) {
         final HttpAsyncClientBuilder clientBuilder = HttpAsyncClients.custom();
 
         if (sslContext != null) {
@@ -291,13 +338,28 @@ public class SiteToSiteRestApiClient implements Closeable {
             clientBuilder.addInterceptorFirst(new HttpsResponseInterceptor());
         }
 
-        httpAsyncClient = clientBuilder.setDefaultCredentialsProvider(getCredentialsProvider()).build();
+        return clientBuilder.setDefaultCredentialsProvider(createCredentialsProvider(proxy));
+    }
+
+    private void setupClient() {
+        httpClient = createHttpClientBuilder(sslContext, proxy)
+            .setDefaultCredentialsProvider(getCredentialsProvider()).build();
+    }
+
+    private void setupAsyncClient() {
+        httpAsyncClient = createHttpAsyncClientBuilder(sslContext, proxy)
+            .setDefaultCredentialsProvider(getCredentialsProvider()).build();
         httpAsyncClient.start();
     }
 
-    private class HttpsResponseInterceptor implements HttpResponseInterceptor {
+    static class HttpsResponseInterceptor implements HttpResponseInterceptor {
         @Override
         public void process(final HttpResponse response, final HttpContext httpContext) throws HttpException, IOException {
+            final SiteToSiteRestApiClient apiClient = (SiteToSiteRestApiClient) httpContext.getAttribute(API_CLIENT_CONTEXT_ATTRIBUTE);
+            if (apiClient == null) {
+                return;
+            }
+
             final HttpCoreContext coreContext = HttpCoreContext.adapt(httpContext);
             final HttpInetConnection conn = coreContext.getConnection(HttpInetConnection.class);
             if (!conn.isOpen()) {
@@ -322,11 +384,11 @@ public class SiteToSiteRestApiClient implements Closeable {
 
                 try {
                     final X509Certificate cert = CertificateUtils.convertAbstractX509Certificate(certChain[0]);
-                    trustedPeerDn = cert.getSubjectDN().getName().trim();
+                    apiClient.trustedPeerDn = cert.getSubjectDN().getName().trim();
                 } catch (final CertificateException e) {
                     final String msg = "Could not extract subject DN from SSL session peer certificate";
                     logger.warn(msg);
-                    eventReporter.reportEvent(Severity.WARNING, EVENT_CATEGORY, msg);
+                    apiClient.eventReporter.reportEvent(Severity.WARNING, EVENT_CATEGORY, msg);
                     throw new SSLPeerUnverifiedException(msg);
                 }
             }
@@ -517,7 +579,7 @@ public class SiteToSiteRestApiClient implements Closeable {
      * @throws IOException thrown if the post request failed
      */
     private HttpResponse initiateTransactionForReceive(final HttpPost post) throws IOException {
-        return getHttpClient().execute(post);
+        return getHttpClient().execute(post, createHttpContext());
     }
 
     /**
@@ -570,7 +632,7 @@ public class SiteToSiteRestApiClient implements Closeable {
         if (shouldCheckProxyAuth()) {
             final CloseableHttpAsyncClient asyncClient = getHttpAsyncClient();
             final HttpGet get = createGetControllerRequest();
-            final Future<HttpResponse> getResult = asyncClient.execute(get, null);
+            final Future<HttpResponse> getResult = asyncClient.execute(get, createHttpContext(), null);
             try {
                 final HttpResponse getResponse = getResult.get(readTimeoutMillis, TimeUnit.MILLISECONDS);
                 logger.debug("Proxy auth check has done. getResponse={}", getResponse.getStatusLine());
@@ -633,7 +695,7 @@ public class SiteToSiteRestApiClient implements Closeable {
             }
         };
 
-        final Future<HttpResponse> responseFuture = getHttpAsyncClient().execute(asyncRequestProducer, new BasicAsyncResponseConsumer(), null);
+        final Future<HttpResponse> responseFuture = getHttpAsyncClient().execute(asyncRequestProducer, new BasicAsyncResponseConsumer(), createHttpContext(), null);
         final HttpResponse response;
         try {
             response = responseFuture.get(readTimeoutMillis, TimeUnit.MILLISECONDS);
@@ -697,7 +759,7 @@ public class SiteToSiteRestApiClient implements Closeable {
 
         setHandshakeProperties(get);
 
-        final CloseableHttpResponse response = getHttpClient().execute(get);
+        final CloseableHttpResponse response = getHttpClient().execute(get, createHttpContext());
         final int responseCode = response.getStatusLine().getStatusCode();
         logger.debug("responseCode={}", responseCode);
 
@@ -733,6 +795,7 @@ public class SiteToSiteRestApiClient implements Closeable {
                     ((HttpInput) peer.getCommunicationsSession().getInput()).setInputStream(streamCapture);
 
                     startExtendingTtl(transactionUrl, httpIn, response);
+                    receiveResponse = response;
                     keepItOpen = true;
                     return true;
 
@@ -766,9 +829,55 @@ public class SiteToSiteRestApiClient implements Closeable {
         final CountDownLatch initConnectionLatch = new CountDownLatch(1);
 
         final URI requestUri = post.getURI();
-        final PipedOutputStream outputStream = new PipedOutputStream();
-        final PipedInputStream inputStream = new PipedInputStream(outputStream, DATA_PACKET_CHANNEL_READ_BUFFER_SIZE);
+        final PipedOutputStream pipedOutputStream = new PipedOutputStream();
+        final PipedInputStream inputStream = new PipedInputStream(pipedOutputStream, DATA_PACKET_CHANNEL_READ_BUFFER_SIZE);
         final ReadableByteChannel dataPacketChannel = Channels.newChannel(inputStream);
+
+        // The I/O reactor may be shared with other transactions through the connection pool,
+        // so produceContent must never block its dispatcher thread waiting for data.
+        // Instead, it suspends output while the pipe is empty, and the Site-to-Site client thread
+        // requests output again whenever it writes data packets or closes the stream.
+        final AtomicReference<IOControl> ioControlRef = new AtomicReference<>();
+        final AtomicBoolean outputStreamClosed = new AtomicBoolean(false);
+        final OutputStream outputStream = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                requestOutput();
+                pipedOutputStream.write(b);
+                requestOutput();
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) throws IOException {
+                // Request output before writing as well, since write blocks while the pipe buffer is full.
+                requestOutput();
+                pipedOutputStream.write(b, off, len);
+                requestOutput();
+            }
+
+            @Override
+            public void flush() throws IOException {
+                pipedOutputStream.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    pipedOutputStream.close();
+                } finally {
+                    outputStreamClosed.set(true);
+                    requestOutput();
+                }
+            }
+
+            private void requestOutput() {
+                final IOControl ioControl = ioControlRef.get();
+                if (ioControl != null) {
+                    ioControl.requestOutput();
+                }
+            }
+        };
+
         final HttpAsyncRequestProducer asyncRequestProducer = new HttpAsyncRequestProducer() {
 
             private final ByteBuffer buffer = ByteBuffer.allocate(DATA_PACKET_CHANNEL_READ_BUFFER_SIZE);
@@ -826,9 +935,18 @@ public class SiteToSiteRestApiClient implements Closeable {
                     }
                 }
 
+                ioControlRef.set(ioControl);
+                if (!isDataAvailable()) {
+                    ioControl.suspendOutput();
+                    // Data may have been written, or the stream closed, before output was suspended.
+                    if (isDataAvailable()) {
+                        ioControl.requestOutput();
+                    }
+                    return;
+                }
+
                 int read;
-                // This read() blocks until data becomes available,
-                // or corresponding outputStream is closed.
+                // This read() does not block, since data is available or corresponding outputStream is closed.
                 if ((read = dataPacketChannel.read(buffer)) > -1) {
 
                     logger.trace("Read {} bytes from dataPacketChannel. {}", read, flowFilesPath);
@@ -854,6 +972,10 @@ public class SiteToSiteRestApiClient implements Closeable {
 
             }
 
+            private boolean isDataAvailable() throws IOException {
+                return outputStreamClosed.get() || inputStream.available() > 0;
+            }
+
             private void writeBuffer(ContentEncoder encoder) throws IOException {
                 while (buffer.hasRemaining()) {
                     final int written = encoder.write(buffer);
@@ -903,7 +1025,7 @@ public class SiteToSiteRestApiClient implements Closeable {
             }
         };
 
-        postResult = getHttpAsyncClient().execute(asyncRequestProducer, new BasicAsyncResponseConsumer(), null);
+        postResult = getHttpAsyncClient().execute(asyncRequestProducer, new BasicAsyncResponseConsumer(), createHttpContext(), null);
 
         try {
             // Need to wait the post request actually started so that we can write to its output stream.
@@ -928,8 +1050,8 @@ public class SiteToSiteRestApiClient implements Closeable {
         }
 
         // No more data can be sent.
-        // Close PipedOutputStream so that dataPacketChannel doesn't blocked.
-        // If we don't close this output stream, then PipedInputStream loops infinitely at read().
+        // Close the output stream so that the request producer reaches the end of dataPacketChannel.
+        // If we don't close this output stream, then the producer keeps waiting for more data.
         commSession.getOutput().getOutputStream().close();
         logger.debug("{} FinishTransferFlowFiles no more data can be sent", this);
 
@@ -977,7 +1099,7 @@ public class SiteToSiteRestApiClient implements Closeable {
 
         logger.debug("Starting extending TTL thread...");
 
-        extendingApiClient = new SiteToSiteRestApiClient(sslContext, proxy, EventReporter.NO_OP);
+        extendingApiClient = new SiteToSiteRestApiClient(sslContext, proxy, EventReporter.NO_OP, connectionPool);
         extendingApiClient.transportProtocolVersionNegotiator = this.transportProtocolVersionNegotiator;
         extendingApiClient.connectTimeoutMillis = this.connectTimeoutMillis;
         extendingApiClient.readTimeoutMillis = this.readTimeoutMillis;
@@ -1025,7 +1147,7 @@ public class SiteToSiteRestApiClient implements Closeable {
 
         setHandshakeProperties(put);
 
-        try (final CloseableHttpResponse response = getHttpClient().execute(put)) {
+        try (final CloseableHttpResponse response = getHttpClient().execute(put, createHttpContext())) {
             final int responseCode = response.getStatusLine().getStatusCode();
             logger.debug("extendTransaction responseCode={}", responseCode);
 
@@ -1192,7 +1314,7 @@ public class SiteToSiteRestApiClient implements Closeable {
             Arrays.stream(get.getAllHeaders()).forEach(h -> logger.debug("REQ| {}", h));
         }
 
-        try (final CloseableHttpResponse response = httpClient.execute(get)) {
+        try (final CloseableHttpResponse response = httpClient.execute(get, createHttpContext())) {
             if (logger.isTraceEnabled()) {
                 Arrays.stream(response.getAllHeaders()).forEach(h -> logger.debug("RES| {}", h));
             }
@@ -1465,7 +1587,7 @@ public class SiteToSiteRestApiClient implements Closeable {
 
         setHandshakeProperties(delete);
 
-        try (CloseableHttpResponse response = getHttpClient().execute(delete)) {
+        try (CloseableHttpResponse response = getHttpClient().execute(delete, createHttpContext())) {
             final int responseCode = response.getStatusLine().getStatusCode();
             logger.debug("commitReceivingFlowFiles responseCode={}", responseCode);
 
@@ -1495,7 +1617,7 @@ public class SiteToSiteRestApiClient implements Closeable {
 
         setHandshakeProperties(delete);
 
-        try (CloseableHttpResponse response = getHttpClient().execute(delete)) {
+        try (CloseableHttpResponse response = getHttpClient().execute(delete, createHttpContext())) {
             final int responseCode = response.getStatusLine().getStatusCode();
             logger.debug("commitTransferFlowFiles responseCode={}", responseCode);
 
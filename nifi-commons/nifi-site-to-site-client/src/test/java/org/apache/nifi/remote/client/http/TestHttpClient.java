@@ -22,6 +22,7 @@ import static org.apache.nifi.remote.protocol.http.HttpHeaders.LOCATION_URI_INTE
 import static org.apache.nifi.remote.protocol.http.HttpHeaders.LOCATION_URI_INTENT_VALUE;
 import static org.apache.nifi.remote.protocol.http.HttpHeaders.PROTOCOL_VERSION;
 import static org.apache.nifi.remote.protocol.http.HttpHeaders.SERVER_SIDE_TRANSACTION_TTL;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -44,6 +45,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.servlet.ServletException;
 import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServlet;
@@ -72,6 +74,7 @@ import org.apache.nifi.web.api.dto.remote.PeerDTO;
 import org.apache.nifi.web.api.entity.ControllerEntity;
 import org.apache.nifi.web.api.entity.PeersEntity;
 import org.apache.nifi.web.api.entity.TransactionResultEntity;
+import org.eclipse.jetty.io.Connection;
 import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.Handler;
 import org.eclipse.jetty.server.HttpConfiguration;
@@ -104,6 +107,7 @@ public class TestHttpClient {
     private static Server server;
     private static ServerConnector httpConnector;
     private static ServerConnector sslConnector;
+    private static final AtomicInteger openedHttpConnections = new AtomicInteger();
     private static CountDownLatch testCaseFinished;
 
     private static HttpProxyServer proxyServer;
@@ -458,6 +462,12 @@ public class TestHttpClient {
         sslContextFactory.setKeyStoreType("JKS");
 
         httpConnector = new ServerConnector(server);
+        httpConnector.addBean(new Connection.Listener.Adapter() {
+            @Override
+            public void onOpened(final Connection connection) {
+                openedHttpConnections.incrementAndGet();
+            }
+        });
 
         final HttpConfiguration https = new HttpConfiguration();
         https.addCustomizer(new SecureRequestCustomizer());
@@ -812,6 +822,58 @@ public class TestHttpClient {
 
     }
 
+    @Test
+    public void testSendReusesConnections() throws Exception {
+
+        try (
+                final SiteToSiteClient client = getDefaultBuilder()
+                    .portName("input-running")
+                    .build()
+        ) {
+            testSend(client);
+            final int openedConnections = openedHttpConnections.get();
+
+            testSend(client);
+            assertEquals("The second transaction should use the connections of the first one", openedConnections, openedHttpConnections.get());
+        }
+
+    }
+
+    @Test
+    public void testSendContinuesWhenAnotherTransactionIsClosed() throws Exception {
+
+        try (
+                final SiteToSiteClient client = getDefaultBuilder()
+                    .portName("input-running")
+                    .build()
+        ) {
+            final Transaction closedTransaction = client.createTransaction(TransferDirection.SEND);
+            final Transaction transaction = client.createTransaction(TransferDirection.SEND);
+            assertNotNull(closedTransaction);
+            assertNotNull(transaction);
+
+            serverChecksum = "1071206772";
+            closedTransaction.send(new DataPacketBuilder().contents("Example contents from client.").build());
+            for (int i = 0; i < 20; i++) {
+                final DataPacket packet = new DataPacketBuilder()
+                        .contents("Example contents from client.")
+                        .attr("Client attr 1", "Client attr 1 value")
+                        .attr("Client attr 2", "Client attr 2 value")
+                        .build();
+                transaction.send(packet);
+
+                // closing the API client of a transaction aborts its own transfer only, not the one sharing its connection pool
+                if (i == 0) {
+                    closedTransaction.error();
+                }
+            }
+
+            transaction.confirm();
+            transaction.complete();
+        }
+
+    }
+
     @Test
     public void testSendSuccessMultipleUrls() throws Exception {
 
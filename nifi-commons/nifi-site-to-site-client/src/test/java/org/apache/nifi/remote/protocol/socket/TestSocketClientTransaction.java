@@ -52,6 +52,9 @@ import static org.apache.nifi.remote.protocol.SiteToSiteTestUtils.execSendWithIn
 import static org.apache.nifi.remote.protocol.SiteToSiteTestUtils.execSendZeroFlowFile;
 import static org.apache.nifi.remote.protocol.SiteToSiteTestUtils.readContents;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -61,6 +64,11 @@ public class TestSocketClientTransaction {
     private FlowFileCodec codec = new StandardFlowFileCodec();
 
     private SocketClientTransaction getClientTransaction(ByteArrayInputStream bis, ByteArrayOutputStream bos, TransferDirection direction) throws IOException {
+        return getClientTransaction(bis, bos, direction, 5);
+    }
+
+    private SocketClientTransaction getClientTransaction(ByteArrayInputStream bis, ByteArrayOutputStream bos, TransferDirection direction,
+                                                         int protocolVersion) throws IOException {
         PeerDescription description = null;
         String peerUrl = "";
         SocketCommunicationsSession commsSession = mock(SocketCommunicationsSession.class);
@@ -77,7 +85,6 @@ public class TestSocketClientTransaction {
         boolean useCompression = false;
         int penaltyMillis = 1000;
         EventReporter eventReporter = null;
-        int protocolVersion = 5;
         String destinationId = "destinationId";
         return new SocketClientTransaction(protocolVersion, destinationId, peer, codec, direction, useCompression, penaltyMillis, eventReporter);
     }
@@ -331,4 +338,91 @@ public class TestSocketClientTransaction {
         assertEquals(-1, sentByClient.read());
     }
 
+
+    @Test
+    public void testReceiveOneFlowFileWithPipelinedChecksum() throws IOException {
+
+        ByteArrayOutputStream serverResponseBos = new ByteArrayOutputStream();
+        DataOutputStream serverResponse = new DataOutputStream(serverResponseBos);
+        ResponseCode.MORE_DATA.writeResponse(serverResponse);
+        codec.encode(createDataPacket("contents on server 1"), serverResponse);
+        ResponseCode.FINISH_TRANSACTION.writeResponse(serverResponse);
+        ResponseCode.CONFIRM_TRANSACTION.writeResponse(serverResponse, "3680976076");
+
+        ByteArrayInputStream bis = new ByteArrayInputStream(serverResponseBos.toByteArray());
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+
+        SocketClientTransaction transaction = getClientTransaction(bis, bos, TransferDirection.RECEIVE, 7);
+
+        execReceiveOneFlowFile(transaction);
+
+        // Verify what client has sent. The checksum is verified by the client, so it only acknowledges the transaction.
+        DataInputStream sentByClient = new DataInputStream(new ByteArrayInputStream(bos.toByteArray()));
+        assertEquals(RequestType.RECEIVE_FLOWFILES, RequestType.readRequestType(sentByClient));
+        Response completeResponse = Response.read(sentByClient);
+        assertEquals(ResponseCode.TRANSACTION_FINISHED, completeResponse.getCode());
+        assertEquals(-1, sentByClient.read());
+    }
+
+    @Test
+    public void testReceiveWithInvalidPipelinedChecksum() throws IOException {
+
+        ByteArrayOutputStream serverResponseBos = new ByteArrayOutputStream();
+        DataOutputStream serverResponse = new DataOutputStream(serverResponseBos);
+        ResponseCode.MORE_DATA.writeResponse(serverResponse);
+        codec.encode(createDataPacket("contents on server 1"), serverResponse);
+        ResponseCode.FINISH_TRANSACTION.writeResponse(serverResponse);
+        ResponseCode.CONFIRM_TRANSACTION.writeResponse(serverResponse, "Different checksum");
+
+        ByteArrayInputStream bis = new ByteArrayInputStream(serverResponseBos.toByteArray());
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+
+        SocketClientTransaction transaction = getClientTransaction(bis, bos, TransferDirection.RECEIVE, 7);
+
+        assertEquals("contents on server 1", readContents(transaction.receive()));
+        assertNull(transaction.receive());
+
+        try {
+            transaction.confirm();
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("peer calculated CRC32 Checksum as Different checksum"));
+            assertEquals(Transaction.TransactionState.ERROR, transaction.getState());
+        }
+
+        // Verify what client has sent.
+        DataInputStream sentByClient = new DataInputStream(new ByteArrayInputStream(bos.toByteArray()));
+        assertEquals(RequestType.RECEIVE_FLOWFILES, RequestType.readRequestType(sentByClient));
+        Response badChecksumResponse = Response.read(sentByClient);
+        assertEquals(ResponseCode.BAD_CHECKSUM, badChecksumResponse.getCode());
+        assertEquals(-1, sentByClient.read());
+    }
+
+    @Test
+    public void testSendOneFlowFileWithPipelinedChecksum() throws IOException {
+
+        ByteArrayOutputStream serverResponseBos = new ByteArrayOutputStream();
+        DataOutputStream serverResponse = new DataOutputStream(serverResponseBos);
+        ResponseCode.CONFIRM_TRANSACTION.writeResponse(serverResponse, "2946083981");
+        ResponseCode.TRANSACTION_FINISHED.writeResponse(serverResponse);
+
+        ByteArrayInputStream bis = new ByteArrayInputStream(serverResponseBos.toByteArray());
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+
+        SocketClientTransaction transaction = getClientTransaction(bis, bos, TransferDirection.SEND, 7);
+
+        execSendOneFlowFile(transaction);
+
+        // Verify what client has sent. The checksum follows the end of data, without waiting for the server.
+        DataInputStream sentByClient = new DataInputStream(new ByteArrayInputStream(bos.toByteArray()));
+        assertEquals(RequestType.SEND_FLOWFILES, RequestType.readRequestType(sentByClient));
+        DataPacket packetByClient = codec.decode(sentByClient);
+        assertEquals("contents on client 1", readContents(packetByClient));
+        Response endOfDataResponse = Response.read(sentByClient);
+        assertEquals(ResponseCode.FINISH_TRANSACTION, endOfDataResponse.getCode());
+        Response checksumResponse = Response.read(sentByClient);
+        assertEquals(ResponseCode.CONFIRM_TRANSACTION, checksumResponse.getCode());
+        assertEquals("2946083981", checksumResponse.getMessage());
+        assertEquals(-1, sentByClient.read());
+    }
 }
@@ -16,15 +16,34 @@
  */
 package org.apache.nifi.remote.util;
 
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.ManagedHttpClientConnection;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpCoreContext;
+import org.apache.nifi.events.EventReporter;
+import org.apache.nifi.security.util.CertificateUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
+import javax.net.ssl.SSLSession;
+import java.security.KeyPairGenerator;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.apache.nifi.remote.util.SiteToSiteRestApiClient.parseClusterUrls;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class TestSiteToSiteRestApiClient {
 
@@ -175,4 +194,64 @@ public class TestSiteToSiteRestApiClient {
             assertTrue(e.getMessage().contains("malformed"));
         }
     }
+
+    @Test
+    public void testResponseInterceptorResolvesClientOfConcurrentRequests() throws Exception {
+        final SiteToSiteHttpConnectionPool connectionPool = new SiteToSiteHttpConnectionPool(null, null, 30_000);
+        final SiteToSiteRestApiClient.HttpsResponseInterceptor interceptor = new SiteToSiteRestApiClient.HttpsResponseInterceptor();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<SiteToSiteRestApiClient> apiClients = new ArrayList<>();
+        try {
+            // the interceptor is shared by the clients of the pool, each request of which tells its client in its context
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                final SiteToSiteRestApiClient apiClient = new SiteToSiteRestApiClient(null, null, EventReporter.NO_OP, connectionPool);
+                apiClients.add(apiClient);
+
+                final String peerDn = "CN=peer-" + i + ", OU=NIFI";
+                final HttpContext context = createHttpsResponseContext(apiClient, peerDn);
+                futures.add(executor.submit((Callable<Void>) () -> {
+                    for (int j = 0; j < 100; j++) {
+                        interceptor.process(mock(HttpResponse.class), context);
+                        assertEquals(peerDn, apiClient.getTrustedPeerDn());
+                    }
+                    return null;
+                }));
+            }
+
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+
+            // a response without a client in its context is not attributed to any client
+            interceptor.process(mock(HttpResponse.class), createHttpsResponseContext(null, "CN=other, OU=NIFI"));
+            for (int i = 0; i < apiClients.size(); i++) {
+                assertEquals("CN=peer-" + i + ", OU=NIFI", apiClients.get(i).getTrustedPeerDn());
+            }
+
+            final SiteToSiteRestApiClient unusedClient = new SiteToSiteRestApiClient(null, null, EventReporter.NO_OP, connectionPool);
+            apiClients.add(unusedClient);
+            assertNull(unusedClient.getTrustedPeerDn());
+        } finally {
+            executor.shutdownNow();
+            for (final SiteToSiteRestApiClient apiClient : apiClients) {
+                apiClient.close();
+            }
+            connectionPool.close();
+        }
+    }
+
+    private static HttpContext createHttpsResponseContext(final SiteToSiteRestApiClient apiClient, final String peerDn) throws Exception {
+        final Certificate certificate = CertificateUtils.generateSelfSignedX509Certificate(KeyPairGenerator.getInstance("RSA").generateKeyPair(),
+            peerDn, "SHA256withRSA", 1);
+        final SSLSession sslSession = mock(SSLSession.class);
+        when(sslSession.getPeerCertificates()).thenReturn(new Certificate[]{certificate});
+        final ManagedHttpClientConnection connection = mock(ManagedHttpClientConnection.class);
+        when(connection.isOpen()).thenReturn(true);
+        when(connection.getSSLSession()).thenReturn(sslSession);
+
+        final HttpContext context = apiClient == null ? HttpCoreContext.create() : apiClient.createHttpContext();
+        context.setAttribute(HttpCoreContext.HTTP_CONNECTION, connection);
+        return context;
+    }
 }
@@ -49,7 +49,7 @@ public class Bin {
     private final String fileCountAttribute;
 
     private final List<FlowFile> binContents = new ArrayList<>();
-    private final Set<String> binIndexSet = new HashSet<>();
+    private Set<String> binIndexSet; // only used in defragment mode
     private long size;
     private int successiveFailedOfferings = 0;
 
@@ -147,6 +147,10 @@ public class Bin {
             this.maximumEntries = count;
             this.minimumEntries = count;
 
+            if (binIndexSet == null) {
+                binIndexSet = new HashSet<>();
+            }
+
             final String index = flowFile.getAttribute(FRAGMENT_INDEX_ATTRIBUTE);
             if (index == null || index.isEmpty() || !binIndexSet.add(index)) {
                 // Do not accept flowfile with duplicate fragment index value
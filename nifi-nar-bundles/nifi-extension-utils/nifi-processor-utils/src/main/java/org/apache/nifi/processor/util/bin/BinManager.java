@@ -18,17 +18,19 @@ package org.apache.nifi.processor.util.bin;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.nifi.flowfile.FlowFile;
 import org.apache.nifi.processor.ProcessSession;
@@ -37,6 +39,10 @@ import org.apache.nifi.processor.ProcessSessionFactory;
 /**
  * This class is thread safe
  *
+ * The bins of each group are guarded by a lock of their own, so that FlowFiles of different groups are binned concurrently. Rather than
+ * checking every bin on each call to {@link #removeReadyBins(boolean)}, the bins are queued as soon as an offer makes them full enough,
+ * and indexed in order of creation, which is also the order in which they expire as all of them share the same maximum age.
+ * Finding the ready, old or oldest bins therefore only involves the bins that are actually returned.
  */
 public class BinManager {
 
@@ -47,29 +53,33 @@ public class BinManager {
     private final AtomicReference<String> fileCountAttribute = new AtomicReference<>(null);
 
     private final AtomicInteger maxBinAgeSeconds = new AtomicInteger(Integer.MAX_VALUE);
-    private final Map<String, List<Bin>> groupBinMap = new HashMap<>();
-    private final ReentrantReadWriteLock rwLock = new ReentrantReadWriteLock();
-    private final Lock rLock = rwLock.readLock();
-    private final Lock wLock = rwLock.writeLock();
+    private final ConcurrentMap<String, BinGroup> groupBinMap = new ConcurrentHashMap<>();
 
-    private int binCount = 0;   // guarded by read/write lock
+    // bins in order of creation, and bins which are at least full enough, the latter possibly holding bins already removed from their group
+    private final ConcurrentSkipListMap<Long, ManagedBin> binsByAge = new ConcurrentSkipListMap<>();
+    private final Queue<ManagedBin> fullEnoughBins = new ConcurrentLinkedQueue<>();
+    private final AtomicLong binSequence = new AtomicLong(0L);
+
+    private final AtomicInteger binCount = new AtomicInteger(0);
 
     public BinManager() {
     }
 
     public void purge() {
-        wLock.lock();
-        try {
-            for (final List<Bin> binList : groupBinMap.values()) {
-                for (final Bin bin : binList) {
-                    bin.getSession().rollback();
+        for (final BinGroup group : groupBinMap.values()) {
+            synchronized (group) {
+                for (final ManagedBin managedBin : group.bins) {
+                    managedBin.bin.getSession().rollback();
+                    managedBin.removed = true;
+                    binsByAge.remove(managedBin.sequence);
+                    binCount.decrementAndGet();
                 }
+                group.bins.clear();
+                group.retire();
+                groupBinMap.remove(group.key, group);
             }
-            groupBinMap.clear();
-            binCount = 0;
-        } finally {
-            wLock.unlock();
         }
+        fullEnoughBins.clear();
     }
 
     public void setFileCountAttribute(final String fileCountAttribute) {
@@ -89,12 +99,7 @@ public class BinManager {
     }
 
     public int getBinCount() {
-        rLock.lock();
-        try {
-            return binCount;
-        } finally {
-            rLock.unlock();
-        }
+        return binCount.get();
     }
 
     public void setMinimumSize(final long numBytes) {
@@ -125,34 +130,16 @@ public class BinManager {
         if (flowFile.getSize() > currentMaxSizeBytes) { //won't fit into any new bins (and probably none existing)
             return false;
         }
-        wLock.lock();
-        try {
-            final List<Bin> currentBins = groupBinMap.get(groupIdentifier);
-            if (currentBins == null) { // this is a new group we need to register
-                final List<Bin> bins = new ArrayList<>();
-                final Bin bin = new Bin(sessionFactory.createSession(), minSizeBytes.get(), currentMaxSizeBytes, minEntries.get(),
-                    maxEntries.get(), fileCountAttribute.get());
-                bins.add(bin);
-                groupBinMap.put(groupIdentifier, bins);
-                binCount++;
-                return bin.offer(flowFile, session);
-            } else {
-                for (final Bin bin : currentBins) {
-                    final boolean accepted = bin.offer(flowFile, session);
-                    if (accepted) {
-                        return true;
-                    }
+
+        while (true) {
+            final BinGroup group = getGroup(groupIdentifier);
+            synchronized (group) {
+                if (group.isRetired()) {
+                    continue;
                 }
 
-                //if we've reached this point then we couldn't fit it into any existing bins - gotta make a new one
-                final Bin bin = new Bin(sessionFactory.createSession(), minSizeBytes.get(), currentMaxSizeBytes, minEntries.get(),
-                    maxEntries.get(), fileCountAttribute.get());
-                currentBins.add(bin);
-                binCount++;
-                return bin.offer(flowFile, session);
+                return offer(group, flowFile, session, sessionFactory, currentMaxSizeBytes);
             }
-        } finally {
-            wLock.unlock();
         }
     }
 
@@ -171,39 +158,90 @@ public class BinManager {
         final long currentMaxSizeBytes = maxSizeBytes.get();
         final Set<FlowFile> unbinned = new HashSet<>();
 
-        wLock.lock();
-        try {
-            flowFileLoop: for (final FlowFile flowFile : flowFiles) {
-                if (flowFile.getSize() > currentMaxSizeBytes) { //won't fit into any new bins (and probably none existing)
-                    unbinned.add(flowFile);
+        while (true) {
+            final BinGroup group = getGroup(groupIdentifier);
+            synchronized (group) {
+                if (group.isRetired()) {
                     continue;
                 }
 
-                final List<Bin> currentBins = groupBinMap.computeIfAbsent(groupIdentifier, k -> new ArrayList<>());
-                for (final Bin bin : currentBins) {
-                    final boolean accepted = bin.offer(flowFile, session);
-                    if (accepted) {
-                        continue flowFileLoop;
+                for (final FlowFile flowFile : flowFiles) {
+                    if (flowFile.getSize() > currentMaxSizeBytes) { //won't fit into any new bins (and probably none existing)
+                        unbinned.add(flowFile);
+                        continue;
                     }
-                }
 
-                // if we've reached this point then the groupIdentifier was a brand new one,
-                // or we couldn't fit it into any existing bins - gotta make a new one
-                final Bin bin = new Bin(sessionFactory.createSession(), minSizeBytes.get(), currentMaxSizeBytes, minEntries.get(),
-                    maxEntries.get(), fileCountAttribute.get());
-                currentBins.add(bin);
-                binCount++;
-                final boolean added = bin.offer(flowFile, session);
-                if (!added) {
-                    unbinned.add(flowFile);
+                    if (!offer(group, flowFile, session, sessionFactory, currentMaxSizeBytes)) {
+                        unbinned.add(flowFile);
+                    }
                 }
 
+                return unbinned;
             }
-        } finally {
-            wLock.unlock();
         }
+    }
 
-        return unbinned;
+    private BinGroup getGroup(final String groupIdentifier) {
+        // ConcurrentHashMap does not allow for null keys
+        final String key = groupIdentifier == null ? BinGroup.NULL_GROUP_KEY : groupIdentifier;
+        return groupBinMap.computeIfAbsent(key, BinGroup::new);
+    }
+
+    // must be called while holding the lock of the group
+    private boolean offer(final BinGroup group, final FlowFile flowFile, final ProcessSession session, final ProcessSessionFactory sessionFactory, final long currentMaxSizeBytes) {
+        for (final ManagedBin managedBin : group.bins) {
+            final boolean accepted = managedBin.bin.offer(flowFile, session);
+            checkFullEnough(managedBin);
+            if (accepted) {
+                return true;
+            }
+        }
+
+        // if we've reached this point then the group was a brand new one,
+        // or we couldn't fit it into any existing bins - gotta make a new one
+        final Bin bin = new Bin(sessionFactory.createSession(), minSizeBytes.get(), currentMaxSizeBytes, minEntries.get(),
+            maxEntries.get(), fileCountAttribute.get());
+        final ManagedBin managedBin = new ManagedBin(binSequence.getAndIncrement(), bin, group);
+        group.bins.add(managedBin);
+        binsByAge.put(managedBin.sequence, managedBin);
+        binCount.incrementAndGet();
+
+        final boolean added = bin.offer(flowFile, session);
+        checkFullEnough(managedBin);
+        return added;
+    }
+
+    private void checkFullEnough(final ManagedBin managedBin) {
+        if (!managedBin.queuedAsFullEnough && managedBin.bin.isFullEnough()) {
+            managedBin.queuedAsFullEnough = true;
+            fullEnoughBins.add(managedBin);
+        }
+    }
+
+    /**
+     * Removes the given bin from its group, unless it has already been removed
+     *
+     * @param managedBin the bin to remove
+     * @param requireFull whether the bin should only be removed if it is full
+     * @return true if the bin has been removed; false otherwise
+     */
+    private boolean remove(final ManagedBin managedBin, final boolean requireFull) {
+        final BinGroup group = managedBin.group;
+        synchronized (group) {
+            if (managedBin.removed || (requireFull && !managedBin.bin.isFull())) {
+                return false;
+            }
+
+            managedBin.removed = true;
+            group.bins.remove(managedBin);
+            binsByAge.remove(managedBin.sequence);
+            if (group.bins.isEmpty()) {
+                group.retire();
+                groupBinMap.remove(group.key, group);
+            }
+            binCount.decrementAndGet();
+            return true;
+        }
     }
 
     /**
@@ -214,82 +252,98 @@ public class BinManager {
      * @return bins that are considered full
      */
     public Collection<Bin> removeReadyBins(boolean relaxFullnessConstraint) {
-        final Map<String, List<Bin>> newGroupMap = new HashMap<>();
         final List<Bin> readyBins = new ArrayList<>();
 
-        wLock.lock();
-        try {
-            for (final Map.Entry<String, List<Bin>> group : groupBinMap.entrySet()) {
-                final List<Bin> remainingBins = new ArrayList<>();
-                for (final Bin bin : group.getValue()) {
-                    if (relaxFullnessConstraint && (bin.isFullEnough() || bin.isOlderThan(maxBinAgeSeconds.get(), TimeUnit.SECONDS))) { //relaxed check
-                        readyBins.add(bin);
-                    } else if (!relaxFullnessConstraint && bin.isFull()) { //strict check
-                        readyBins.add(bin);
-                    } else { //it isn't time yet...
-                        remainingBins.add(bin);
-                    }
+        if (relaxFullnessConstraint) { //relaxed check
+            ManagedBin managedBin;
+            while ((managedBin = fullEnoughBins.poll()) != null) {
+                if (remove(managedBin, false)) {
+                    readyBins.add(managedBin.bin);
                 }
-                if (!remainingBins.isEmpty()) {
-                    newGroupMap.put(group.getKey(), remainingBins);
+            }
+
+            final int maxBinAge = maxBinAgeSeconds.get();
+            Map.Entry<Long, ManagedBin> oldest;
+            while ((oldest = binsByAge.firstEntry()) != null && oldest.getValue().bin.isOlderThan(maxBinAge, TimeUnit.SECONDS)) {
+                if (remove(oldest.getValue(), false)) {
+                    readyBins.add(oldest.getValue().bin);
+                } else {
+                    // removed concurrently
+                    binsByAge.remove(oldest.getKey(), oldest.getValue());
                 }
             }
-            groupBinMap.clear();
-            groupBinMap.putAll(newGroupMap);
-            binCount -= readyBins.size();
-        } finally {
-            wLock.unlock();
+        } else { //strict check, bins which are full are also full enough
+            final List<ManagedBin> notFullBins = new ArrayList<>();
+            ManagedBin managedBin;
+            while ((managedBin = fullEnoughBins.poll()) != null) {
+                if (remove(managedBin, true)) {
+                    readyBins.add(managedBin.bin);
+                } else if (!managedBin.removed) {
+                    notFullBins.add(managedBin);
+                }
+            }
+            fullEnoughBins.addAll(notFullBins);
         }
+
         return readyBins;
     }
 
     public Bin removeOldestBin() {
-        wLock.lock();
-        try {
-            Bin oldestBin = null;
-            String oldestBinGroup = null;
-
-            for (final Map.Entry<String, List<Bin>> group : groupBinMap.entrySet()) {
-                for (final Bin bin : group.getValue()) {
-                    if (oldestBin == null || bin.isOlderThan(oldestBin)) {
-                        oldestBin = bin;
-                        oldestBinGroup = group.getKey();
-                    }
-                }
-            }
-
-            if (oldestBin == null) {
-                return null;
+        Map.Entry<Long, ManagedBin> oldest;
+        while ((oldest = binsByAge.pollFirstEntry()) != null) {
+            if (remove(oldest.getValue(), false)) {
+                return oldest.getValue().bin;
             }
-
-            binCount--;
-            final List<Bin> bins = groupBinMap.get(oldestBinGroup);
-            bins.remove(oldestBin);
-            if (bins.isEmpty()) {
-                groupBinMap.remove(oldestBinGroup);
-            }
-            return oldestBin;
-        } finally {
-            wLock.unlock();
         }
+
+        return null;
     }
 
     /**
      * @return true if any current bins are older than the allowable max
      */
     public boolean containsOldBins() {
-        rLock.lock();
-        try {
-            for (final List<Bin> bins : groupBinMap.values()) {
-                for (final Bin bin : bins) {
-                    if (bin.isOlderThan(maxBinAgeSeconds.get(), TimeUnit.SECONDS)) {
-                        return true;
-                    }
-                }
-            }
-        } finally {
-            rLock.unlock();
+        final Map.Entry<Long, ManagedBin> oldest = binsByAge.firstEntry();
+        return oldest != null && oldest.getValue().bin.isOlderThan(maxBinAgeSeconds.get(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * The bins of a group. A group is retired once its last bin is removed, in which case the bins of its
+     * identifier go to a new group.
+     */
+    private static class BinGroup {
+        private static final String NULL_GROUP_KEY = BinGroup.class.getName() + ".null";
+
+        private final String key;
+        private final List<ManagedBin> bins = new ArrayList<>(1);
+        private boolean retired = false;
+
+        BinGroup(final String key) {
+            this.key = key;
+        }
+
+        boolean isRetired() {
+            return retired;
+        }
+
+        void retire() {
+            retired = true;
+        }
+    }
+
+    private static class ManagedBin {
+        private final long sequence;
+        private final Bin bin;
+        private final BinGroup group;
+
+        // guarded by the lock of the group
+        private boolean queuedAsFullEnough = false;
+        private volatile boolean removed = false;
+
+        ManagedBin(final long sequence, final Bin bin, final BinGroup group) {
+            this.sequence = sequence;
+            this.bin = bin;
+            this.group = group;
         }
-        return false;
     }
 }
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processor.util.bin;
+
+import org.apache.nifi.flowfile.FlowFile;
+import org.apache.nifi.processor.AbstractProcessor;
+import org.apache.nifi.processor.ProcessContext;
+import org.apache.nifi.processor.ProcessSession;
+import org.apache.nifi.processor.ProcessSessionFactory;
+import org.apache.nifi.util.TestRunner;
+import org.apache.nifi.util.TestRunners;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestBinManager {
+
+    private ProcessSessionFactory sessionFactory;
+    private ProcessSession session;
+    private BinManager binManager;
+
+    @Before
+    public void setup() {
+        final TestRunner runner = TestRunners.newTestRunner(new AbstractProcessor() {
+            @Override
+            public void onTrigger(final ProcessContext context, final ProcessSession session) {
+            }
+        });
+
+        sessionFactory = runner.getProcessSessionFactory();
+        session = sessionFactory.createSession();
+
+        binManager = new BinManager();
+        binManager.setMinimumEntries(2);
+        binManager.setMaximumEntries(3);
+    }
+
+    private FlowFile createFlowFile() {
+        return session.write(session.create(), out -> out.write(new byte[10]));
+    }
+
+    @Test
+    public void testBinsGroupedByIdentifier() {
+        assertTrue(binManager.offer("a", createFlowFile(), session, sessionFactory));
+        assertTrue(binManager.offer("b", createFlowFile(), session, sessionFactory));
+        assertTrue(binManager.offer(null, createFlowFile(), session, sessionFactory));
+        assertEquals(3, binManager.getBinCount());
+
+        // none of the bins has the minimum number of entries yet
+        assertTrue(binManager.removeReadyBins(true).isEmpty());
+
+        assertTrue(binManager.offer("a", createFlowFile(), session, sessionFactory));
+        final Collection<Bin> readyBins = binManager.removeReadyBins(true);
+        assertEquals(1, readyBins.size());
+        assertEquals(2, readyBins.iterator().next().getContents().size());
+        assertEquals(2, binManager.getBinCount());
+
+        // the group of the removed bin is created again
+        assertTrue(binManager.offer("a", createFlowFile(), session, sessionFactory));
+        assertEquals(3, binManager.getBinCount());
+    }
+
+    @Test
+    public void testStrictlyReadyBinsAreFull() {
+        final Set<FlowFile> unbinned = binManager.offer("a", Arrays.asList(createFlowFile(), createFlowFile(), createFlowFile(), createFlowFile()), session, sessionFactory);
+        assertTrue(unbinned.isEmpty());
+        binManager.offer("b", Arrays.asList(createFlowFile(), createFlowFile()), session, sessionFactory);
+        assertEquals(3, binManager.getBinCount());
+
+        // only the first bin of group a holds the maximum number of entries
+        final Collection<Bin> fullBins = binManager.removeReadyBins(false);
+        assertEquals(1, fullBins.size());
+        assertEquals(3, fullBins.iterator().next().getContents().size());
+        assertEquals(2, binManager.getBinCount());
+
+        // the bin of group b is full enough, but was not returned by the strict check
+        final Collection<Bin> readyBins = binManager.removeReadyBins(true);
+        assertEquals(1, readyBins.size());
+        assertEquals(2, readyBins.iterator().next().getContents().size());
+        assertEquals(1, binManager.getBinCount());
+    }
+
+    @Test
+    public void testOldBins() throws InterruptedException {
+        binManager.setMaxBinAge(1);
+
+        binManager.offer("a", createFlowFile(), session, sessionFactory);
+        binManager.offer("b", createFlowFile(), session, sessionFactory);
+        assertFalse(binManager.containsOldBins());
+        assertTrue(binManager.removeReadyBins(true).isEmpty());
+
+        Thread.sleep(1100L);
+        binManager.offer("c", createFlowFile(), session, sessionFactory);
+
+        assertTrue(binManager.containsOldBins());
+        assertEquals(2, binManager.removeReadyBins(true).size());
+        assertFalse(binManager.containsOldBins());
+        assertEquals(1, binManager.getBinCount());
+    }
+
+    @Test
+    public void testRemoveOldestBin() {
+        binManager.offer("a", createFlowFile(), session, sessionFactory);
+        binManager.offer("b", createFlowFile(), session, sessionFactory);
+        binManager.offer("a", createFlowFile(), session, sessionFactory);
+
+        // the bin of group a is removed as ready, the oldest remaining one is the bin of group b
+        final Bin readyBin = binManager.removeReadyBins(true).iterator().next();
+        final Bin oldestBin = binManager.removeOldestBin();
+        assertEquals(1, oldestBin.getContents().size());
+        assertTrue(readyBin.isOlderThan(oldestBin));
+
+        assertNull(binManager.removeOldestBin());
+        assertEquals(0, binManager.getBinCount());
+    }
+
+    @Test
+    public void testPurge() {
+        binManager.offer("a", createFlowFile(), session, sessionFactory);
+        binManager.offer("b", createFlowFile(), session, sessionFactory);
+        binManager.purge();
+
+        assertEquals(0, binManager.getBinCount());
+        assertNull(binManager.removeOldestBin());
+
+        assertTrue(binManager.offer("a", createFlowFile(), session, sessionFactory));
+        assertTrue(binManager.offer("a", createFlowFile(), session, sessionFactory));
+        final Collection<Bin> readyBins = binManager.removeReadyBins(true);
+        assertEquals(1, readyBins.size());
+        assertEquals(2, readyBins.iterator().next().getContents().size());
+    }
+}
@@ -17,6 +17,8 @@
 
 package org.apache.nifi.avro;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import org.apache.avro.Conversions;
 import org.apache.avro.JsonProperties;
 import org.apache.avro.LogicalType;
@@ -34,8 +36,8 @@ import org.apache.commons.compress.utils.IOUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.ArrayRecord;
 import org.apache.nifi.serialization.record.DataType;
-import org.apache.nifi.serialization.record.MapRecord;
 import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordField;
 import org.apache.nifi.serialization.record.RecordFieldType;
@@ -78,6 +80,11 @@ import java.util.stream.Collectors;
 
 public class AvroTypeUtil {
     private static final Logger logger = LoggerFactory.getLogger(AvroTypeUtil.class);
+
+    // converters for the Avro schemas records are created for, so that the fields are not mapped again for every record
+    private static final LoadingCache<Pair<Schema, Charset>, RecordToAvroConverter> RECORD_CONVERTERS = Caffeine.newBuilder()
+        .maximumSize(100)
+        .build(key -> new RecordToAvroConverter(key.getLeft(), key.getRight()));
     public static final String AVRO_SCHEMA_FORMAT = "avro";
 
     private static final String LOGICAL_TYPE_DATE = "date";
@@ -566,33 +573,7 @@ public class AvroTypeUtil {
     }
 
     public static GenericRecord createAvroRecord(final Record record, final Schema avroSchema, final Charset charset) throws IOException {
-        final GenericRecord rec = new GenericData.Record(avroSchema);
-        final RecordSchema recordSchema = record.getSchema();
-
-        for (final RecordField recordField : recordSchema.getFields()) {
-            final Object rawValue = record.getValue(recordField);
-
-            Pair<String, Field> fieldPair = lookupField(avroSchema, recordField);
-            final String fieldName = fieldPair.getLeft();
-            final Field field = fieldPair.getRight();
-            if (field == null) {
-                continue;
-            }
-
-            final Object converted = convertToAvroObject(rawValue, field.schema(), fieldName, charset);
-            rec.put(field.name(), converted);
-        }
-
-        // see if the Avro schema has any fields that aren't in the RecordSchema, and if those fields have a default
-        // value then we want to populate it in the GenericRecord being produced
-        for (final Field field : avroSchema.getFields()) {
-            final Optional<RecordField> recordField = recordSchema.getField(field.name());
-            if (!recordField.isPresent() && rec.get(field.name()) == null && field.defaultVal() != null) {
-                rec.put(field.name(), field.defaultVal());
-            }
-        }
-
-        return rec;
+        return RECORD_CONVERTERS.get(new ImmutablePair<>(avroSchema, charset)).convert(record);
     }
 
     /**
@@ -640,7 +621,7 @@ public class AvroTypeUtil {
     }
 
     @SuppressWarnings("unchecked")
-    private static Object convertToAvroObject(final Object rawValue, final Schema fieldSchema, final String fieldName, final Charset charset) {
+    static Object convertToAvroObject(final Object rawValue, final Schema fieldSchema, final String fieldName, final Charset charset) {
         if (rawValue == null) {
             return null;
         }
@@ -834,39 +815,58 @@ public class AvroTypeUtil {
         final Map<String, Object> values = new HashMap<>(recordSchema.getFieldCount());
 
         for (final RecordField recordField : recordSchema.getFields()) {
+            values.put(recordField.getFieldName(), convertAvroField(avroRecord, recordField, charset));
+        }
 
-            Object value = avroRecord.get(recordField.getFieldName());
-            if (value == null) {
-                for (final String alias : recordField.getAliases()) {
-                    value = avroRecord.get(alias);
-                    if (value != null) {
-                        break;
-                    }
+        return values;
+    }
+
+    public static Record convertAvroRecordToRecord(final GenericRecord avroRecord, final RecordSchema recordSchema) {
+        return convertAvroRecordToRecord(avroRecord, recordSchema, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Converts the given Avro record into a Record of the given schema, holding the same values as the Map returned by
+     * {@link #convertAvroRecordToMap(GenericRecord, RecordSchema, Charset)} without the need for the intermediate Map.
+     */
+    public static Record convertAvroRecordToRecord(final GenericRecord avroRecord, final RecordSchema recordSchema, final Charset charset) {
+        final ArrayRecord.Builder recordBuilder = ArrayRecord.builder(recordSchema, false, false);
+
+        final List<RecordField> recordFields = recordSchema.getFields();
+        for (int i = 0; i < recordFields.size(); i++) {
+            recordBuilder.setValue(i, convertAvroField(avroRecord, recordFields.get(i), charset));
+        }
+
+        return recordBuilder.build();
+    }
+
+    private static Object convertAvroField(final GenericRecord avroRecord, final RecordField recordField, final Charset charset) {
+        Object value = avroRecord.get(recordField.getFieldName());
+        if (value == null) {
+            for (final String alias : recordField.getAliases()) {
+                value = avroRecord.get(alias);
+                if (value != null) {
+                    break;
                 }
             }
+        }
 
-            final String fieldName = recordField.getFieldName();
-            try {
+        final String fieldName = recordField.getFieldName();
+        try {
             final Field avroField = avroRecord.getSchema().getField(fieldName);
             if (avroField == null) {
-                values.put(fieldName, null);
-                continue;
+                return null;
             }
 
             final Schema fieldSchema = avroField.schema();
             final Object rawValue = normalizeValue(value, fieldSchema, fieldName);
 
             final DataType desiredType = recordField.getDataType();
-            final Object coercedValue = DataTypeUtils.convertType(rawValue, desiredType, fieldName, charset);
-
-            values.put(fieldName, coercedValue);
-            } catch (Exception ex) {
-                logger.debug("fail to convert field " + fieldName, ex );
-                throw ex;
-            }
+            return DataTypeUtils.convertType(rawValue, desiredType, fieldName, charset);
+        } catch (Exception ex) {
+            logger.debug("fail to convert field " + fieldName, ex );
+            throw ex;
         }
-
-        return values;
     }
 
     /**
@@ -1006,14 +1006,14 @@ public class AvroTypeUtil {
                 final GenericData.Record record = (GenericData.Record) value;
                 final Schema recordSchema = record.getSchema();
                 final List<Field> recordFields = recordSchema.getFields();
-                final Map<String, Object> values = new HashMap<>(recordFields.size());
+                final RecordSchema childSchema = AvroTypeUtil.createSchema(recordSchema, false);
+                final ArrayRecord.Builder recordBuilder = ArrayRecord.builder(childSchema, false, false);
                 for (final Field field : recordFields) {
                     final Object avroFieldValue = record.get(field.name());
                     final Object fieldValue = normalizeValue(avroFieldValue, field.schema(), fieldName + "/" + field.name());
-                    values.put(field.name(), fieldValue);
+                    recordBuilder.setValue(field.name(), fieldValue);
                 }
-                final RecordSchema childSchema = AvroTypeUtil.createSchema(recordSchema, false);
-                return new MapRecord(childSchema, values);
+                return recordBuilder.build();
             case BYTES:
                 final ByteBuffer bb = (ByteBuffer) value;
                 final LogicalType logicalType = avroSchema.getLogicalType();
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.avro;
+
+import org.apache.avro.Schema;
+import org.apache.avro.Schema.Field;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordSchema;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts Records into Avro records of a given Avro schema, the same way as {@link AvroTypeUtil#createAvroRecord(Record, Schema, Charset)}
+ * does. The Avro field that each field of a RecordSchema maps to is resolved once per RecordSchema instance rather than for every
+ * record, which matters to writers converting many records of the same schema. Instances are thread-safe, so that one converter
+ * may be shared for an Avro schema.
+ */
+public class RecordToAvroConverter {
+    private final Schema avroSchema;
+    private final Charset charset;
+    private volatile FieldMapping fieldMapping;
+
+    public RecordToAvroConverter(final Schema avroSchema, final Charset charset) {
+        this.avroSchema = avroSchema;
+        this.charset = charset;
+    }
+
+    public GenericRecord convert(final Record record) {
+        final RecordSchema recordSchema = record.getSchema();
+        FieldMapping mapping = fieldMapping;
+        if (mapping == null || mapping.recordSchema != recordSchema) {
+            mapping = new FieldMapping(recordSchema, avroSchema);
+            fieldMapping = mapping;
+        }
+
+        final GenericRecord rec = new GenericData.Record(avroSchema);
+
+        for (int i = 0; i < mapping.recordFields.length; i++) {
+            final Field field = mapping.avroFields[i];
+            final Object rawValue = record.getValue(mapping.recordFields[i]);
+            final Object converted = AvroTypeUtil.convertToAvroObject(rawValue, field.schema(), mapping.fieldNames[i], charset);
+            rec.put(field.name(), converted);
+        }
+
+        // populate the fields of the Avro schema that aren't in the RecordSchema with their default value
+        for (final Field field : mapping.defaultedFields) {
+            if (rec.get(field.name()) == null) {
+                rec.put(field.name(), field.defaultVal());
+            }
+        }
+
+        return rec;
+    }
+
+    private static class FieldMapping {
+        private final RecordSchema recordSchema;
+        private final RecordField[] recordFields;
+        private final Field[] avroFields;
+        private final String[] fieldNames;
+        private final List<Field> defaultedFields = new ArrayList<>();
+
+        FieldMapping(final RecordSchema recordSchema, final Schema avroSchema) {
+            this.recordSchema = recordSchema;
+
+            final List<RecordField> mappedRecordFields = new ArrayList<>();
+            final List<Field> mappedAvroFields = new ArrayList<>();
+            final List<String> mappedFieldNames = new ArrayList<>();
+            for (final RecordField recordField : recordSchema.getFields()) {
+                final Pair<String, Field> fieldPair = AvroTypeUtil.lookupField(avroSchema, recordField);
+                if (fieldPair.getRight() != null) {
+                    mappedRecordFields.add(recordField);
+                    mappedAvroFields.add(fieldPair.getRight());
+                    mappedFieldNames.add(fieldPair.getLeft());
+                }
+            }
+
+            recordFields = mappedRecordFields.toArray(new RecordField[0]);
+            avroFields = mappedAvroFields.toArray(new Field[0]);
+            fieldNames = mappedFieldNames.toArray(new String[0]);
+
+            for (final Field field : avroSchema.getFields()) {
+                if (!recordSchema.getField(field.name()).isPresent() && field.defaultVal() != null) {
+                    defaultedFields.add(field);
+                }
+            }
+        }
+    }
+}
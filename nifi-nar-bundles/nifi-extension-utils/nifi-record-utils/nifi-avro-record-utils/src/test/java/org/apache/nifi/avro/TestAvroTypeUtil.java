@@ -33,6 +33,7 @@ import org.apache.avro.util.Utf8;
 import org.apache.nifi.schema.access.SchemaNotFoundException;
 import org.apache.nifi.serialization.SimpleRecordSchema;
 import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.MapRecord;
 import org.apache.nifi.serialization.record.RecordField;
 import org.apache.nifi.serialization.record.RecordFieldType;
 import org.apache.nifi.serialization.record.RecordSchema;
@@ -52,6 +53,7 @@ import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -590,6 +592,74 @@ public class TestAvroTypeUtil {
         }
     }
 
+    @Test
+    public void testCreateAvroRecordWithNestedTypesAndNulls() throws IOException {
+        final List<RecordField> addressFields = new ArrayList<>();
+        addressFields.add(new RecordField("street", RecordFieldType.STRING.getDataType()));
+        addressFields.add(new RecordField("zip", RecordFieldType.INT.getDataType()));
+        final RecordSchema addressSchema = new SimpleRecordSchema(addressFields);
+
+        final List<RecordField> fields = new ArrayList<>();
+        fields.add(new RecordField("id", RecordFieldType.INT.getDataType()));
+        fields.add(new RecordField("name", RecordFieldType.STRING.getDataType()));
+        fields.add(new RecordField("address", RecordFieldType.RECORD.getRecordDataType(addressSchema)));
+        fields.add(new RecordField("tags", RecordFieldType.ARRAY.getArrayDataType(RecordFieldType.STRING.getDataType())));
+        fields.add(new RecordField("attributes", RecordFieldType.MAP.getMapDataType(RecordFieldType.LONG.getDataType())));
+        fields.add(new RecordField("value", RecordFieldType.CHOICE.getChoiceDataType(RecordFieldType.INT.getDataType(), RecordFieldType.STRING.getDataType())));
+        final RecordSchema schema = new SimpleRecordSchema(fields);
+        final Schema avroSchema = AvroTypeUtil.extractAvroSchema(schema);
+
+        final Map<String, Object> address1 = new LinkedHashMap<>();
+        address1.put("street", "Main");
+        address1.put("zip", 12345);
+        final Map<String, Object> values1 = new LinkedHashMap<>();
+        values1.put("id", 1);
+        values1.put("name", "John");
+        values1.put("address", new MapRecord(addressSchema, address1));
+        values1.put("tags", new Object[] {"a", "b"});
+        values1.put("attributes", Collections.singletonMap("x", 1L));
+        values1.put("value", 7);
+        final MapRecord record1 = new MapRecord(schema, values1);
+
+        final Map<String, Object> address2 = new LinkedHashMap<>();
+        address2.put("street", null);
+        address2.put("zip", 12);
+        final Map<String, Object> values2 = new LinkedHashMap<>();
+        values2.put("id", 2);
+        values2.put("name", null);
+        values2.put("address", new MapRecord(addressSchema, address2));
+        values2.put("tags", new Object[] {"c"});
+        values2.put("attributes", null);
+        values2.put("value", "seven");
+        final MapRecord record2 = new MapRecord(schema, values2);
+
+        final GenericRecord avroRecord1 = AvroTypeUtil.createAvroRecord(record1, avroSchema);
+        assertEquals(1, avroRecord1.get("id"));
+        assertEquals("John", avroRecord1.get("name").toString());
+        final GenericRecord avroAddress1 = (GenericRecord) avroRecord1.get("address");
+        assertEquals("Main", avroAddress1.get("street").toString());
+        assertEquals(12345, avroAddress1.get("zip"));
+        assertEquals(Arrays.asList("a", "b"), ((List<?>) avroRecord1.get("tags")).stream().map(Object::toString).collect(Collectors.toList()));
+        assertEquals(Collections.singletonMap("x", 1L), avroRecord1.get("attributes"));
+        assertEquals(7, avroRecord1.get("value"));
+
+        final GenericRecord avroRecord2 = AvroTypeUtil.createAvroRecord(record2, avroSchema);
+        assertEquals(2, avroRecord2.get("id"));
+        assertNull(avroRecord2.get("name"));
+        final GenericRecord avroAddress2 = (GenericRecord) avroRecord2.get("address");
+        assertNull(avroAddress2.get("street"));
+        assertEquals(12, avroAddress2.get("zip"));
+        assertEquals(Collections.singletonList("c"), ((List<?>) avroRecord2.get("tags")).stream().map(Object::toString).collect(Collectors.toList()));
+        assertNull(avroRecord2.get("attributes"));
+        assertEquals("seven", avroRecord2.get("value").toString());
+
+        // a converter kept for the schema, as the writers do, gives the same records
+        final RecordToAvroConverter converter = new RecordToAvroConverter(avroSchema, StandardCharsets.UTF_8);
+        assertEquals(avroRecord1, converter.convert(record1));
+        assertEquals(avroRecord2, converter.convert(record2));
+        assertEquals(avroRecord1, converter.convert(record1));
+    }
+
     @Test
     public void testConvertToAvroObjectWhenIntVSUnion_INT_FLOAT_ThenReturnInt() {
         // GIVEN
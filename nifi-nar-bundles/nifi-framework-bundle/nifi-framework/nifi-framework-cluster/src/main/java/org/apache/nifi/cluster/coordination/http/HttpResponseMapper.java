@@ -43,6 +43,34 @@ public interface HttpResponseMapper {
      */
     NodeResponse mapResponses(URI uri, String httpMethod, Set<NodeResponse> nodeResponses, boolean merge);
 
+    /**
+     * Maps the responses from all nodes in the cluster to a single NodeResponse object that
+     * is appropriate to respond with, using the result of the given incremental merge when it
+     * accounts for all of the successful responses
+     *
+     * @param uri the URI of the web request that was made
+     * @param httpMethod the HTTP Method that was used when making the request
+     * @param nodeResponses the responses received from the individual nodes
+     * @param merge whether or not the responses should be merged
+     * @param incrementalMerge the incremental merge that node responses were folded into as they arrived, or <code>null</code>
+     *
+     * @return a single NodeResponse that represents the response that should be returned to the user/client
+     */
+    default NodeResponse mapResponses(URI uri, String httpMethod, Set<NodeResponse> nodeResponses, boolean merge, IncrementalResponseMerge<?> incrementalMerge) {
+        return mapResponses(uri, httpMethod, nodeResponses, merge);
+    }
+
+    /**
+     * Creates an IncrementalResponseMerge that node responses for the given URI & HTTP method can be merged into as they arrive
+     *
+     * @param uri the URI of the request
+     * @param httpMethod the HTTP Method of the request
+     * @return an IncrementalResponseMerge for the request, or <code>null</code> if the responses for the endpoint cannot be merged incrementally
+     */
+    default IncrementalResponseMerge<?> createIncrementalMerge(URI uri, String httpMethod) {
+        return null;
+    }
+
     /**
      * Returns a subset (or equal set) of the given Node Responses, such that all of those returned are the responses
      * that indicate that the node was unable to fulfill the request
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.cluster.coordination.http;
+
+import org.apache.nifi.cluster.protocol.NodeIdentifier;
+import org.apache.nifi.web.api.entity.Entity;
+
+/**
+ * <p>
+ * An EndpointResponseMerger that is also capable of folding node responses into the merged result one at a time,
+ * as each node responds, rather than requiring that the responses from all nodes be deserialized before merging
+ * begins. This moves the deserialization and merging of each response onto the replication thread that received it,
+ * so that little work is left once the last node has responded, and so that a node's entity can be discarded once it
+ * has been merged instead of one entity per node being held for the merge. The buffered body of each node's response
+ * is still held until the request completes, as it is needed if the responses have to be merged all at once instead,
+ * so the memory required for a request still grows with the number of nodes.
+ * </p>
+ *
+ * <p>
+ * Only endpoints whose merge can be folded one node at a time implement this interface. The flow of a Process Group,
+ * for example, is merged all at once, because its component mergers compare the views of all nodes together.
+ * </p>
+ *
+ * <p>
+ * Merging incrementally must produce the same result as {@link #merge}, regardless of the order in which the
+ * node responses arrive. Implementations of this interface MUST be Thread-Safe; any state that is specific to a
+ * single request is held by the {@link IncrementalResponseMerge}.
+ * </p>
+ *
+ * @param <EntityType> the type of Entity that is returned by the endpoint
+ */
+public interface IncrementalEndpointResponseMerger<EntityType extends Entity> extends EndpointResponseMerger {
+
+    /**
+     * @return the class that represents the type of Entity that is expected by this response merger
+     */
+    Class<EntityType> getEntityClass();
+
+    /**
+     * Prepares the entity from the first node to respond so that it can serve as the merged result
+     *
+     * @param mergedEntity the entity that will be returned to the client and into which all other responses are merged
+     * @param nodeId the identifier of the node that provided the entity
+     */
+    void beginIncrementalMerge(EntityType mergedEntity, NodeIdentifier nodeId);
+
+    /**
+     * Merges the entity from a single node into the merged entity
+     *
+     * @param mergedEntity the entity that was provided to {@link #beginIncrementalMerge(Entity, NodeIdentifier)}
+     * @param nodeEntity the entity that was received from the given node
+     * @param nodeId the identifier of the node that provided the entity
+     */
+    void mergeIncrementally(EntityType mergedEntity, EntityType nodeEntity, NodeIdentifier nodeId);
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.nifi.cluster.coordination.http;
+
+import org.apache.nifi.cluster.manager.NodeResponse;
+import org.apache.nifi.cluster.protocol.NodeIdentifier;
+import org.apache.nifi.web.api.entity.Entity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * Holds the state of a merge that is performed incrementally, as the responses for a single replicated request
+ * arrive from each node. Each successful node response is deserialized on the thread that received it and is then
+ * immediately folded into the merged entity, after which the node's entity is no longer referenced. The node's response,
+ * including its buffered body, is still held by the cluster response until the request completes, so peak memory still
+ * grows with the number of nodes.
+ * </p>
+ *
+ * <p>
+ * If any node response cannot be merged incrementally, the incremental merge is abandoned and
+ * {@link #getMergedResponse(Set)} returns <code>null</code>, so that the caller falls back to merging all of the
+ * responses at once.
+ * </p>
+ *
+ * @param <EntityType> the type of Entity that is returned by the endpoint
+ */
+public class IncrementalResponseMerge<EntityType extends Entity> {
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalResponseMerge.class);
+
+    private final IncrementalEndpointResponseMerger<EntityType> merger;
+
+    private final Set<NodeIdentifier> mergedNodeIds = new HashSet<>(); // guarded by synchronizing on this
+    private NodeResponse baseResponse; // guarded by synchronizing on this
+    private EntityType mergedEntity; // guarded by synchronizing on this
+    private boolean abandoned = false; // guarded by synchronizing on this
+
+    public IncrementalResponseMerge(final IncrementalEndpointResponseMerger<EntityType> merger) {
+        this.merger = merger;
+    }
+
+    /**
+     * Merges the given node response into the merged result. Responses that were not successful are ignored, as they
+     * are never merged.
+     *
+     * @param nodeResponse the response that was received from a node
+     */
+    public void merge(final NodeResponse nodeResponse) {
+        if (nodeResponse.hasThrowable() || !nodeResponse.is2xx() || isAbandoned()) {
+            return;
+        }
+
+        final NodeIdentifier nodeId = nodeResponse.getNodeId();
+
+        // Deserialize outside of the lock so that responses from multiple nodes can be parsed concurrently
+        final EntityType nodeEntity;
+        try {
+            nodeEntity = nodeResponse.getClientResponse().readEntity(merger.getEntityClass());
+        } catch (final Exception e) {
+            abandon(nodeId, e);
+            return;
+        }
+
+        synchronized (this) {
+            if (abandoned) {
+                return;
+            }
+
+            try {
+                if (mergedEntity == null) {
+                    merger.beginIncrementalMerge(nodeEntity, nodeId);
+                    mergedEntity = nodeEntity;
+                    baseResponse = nodeResponse;
+                } else {
+                    merger.mergeIncrementally(mergedEntity, nodeEntity, nodeId);
+                }
+            } catch (final Exception e) {
+                abandon(nodeId, e);
+                return;
+            }
+
+            mergedNodeIds.add(nodeId);
+        }
+    }
+
+    /**
+     * Returns the merged response, provided that exactly the given successful responses have been merged
+     *
+     * @param successfulResponses the responses from nodes that completed the request successfully
+     * @return the merged response, or <code>null</code> if the merged result does not account for exactly the given responses
+     */
+    public synchronized NodeResponse getMergedResponse(final Set<NodeResponse> successfulResponses) {
+        if (abandoned || mergedEntity == null) {
+            return null;
+        }
+
+        final Set<NodeIdentifier> successfulNodeIds = successfulResponses.stream()
+            .map(NodeResponse::getNodeId)
+            .collect(Collectors.toSet());
+
+        if (!successfulNodeIds.equals(mergedNodeIds)) {
+            logger.debug("Incremental merge accounted for responses from {} but successful responses were received from {}; will merge all responses at once",
+                mergedNodeIds, successfulNodeIds);
+            return null;
+        }
+
+        return new NodeResponse(baseResponse, mergedEntity);
+    }
+
+    public synchronized boolean isAbandoned() {
+        return abandoned;
+    }
+
+    private synchronized void abandon(final NodeIdentifier nodeId, final Exception cause) {
+        logger.warn("Failed to incrementally merge response from {} using {}; will merge all responses at once", nodeId, merger.getClass().getSimpleName(), cause);
+
+        abandoned = true;
+        mergedEntity = null;
+        baseResponse = null;
+        mergedNodeIds.clear();
+    }
+}
@@ -169,6 +169,12 @@ public class StandardHttpResponseMapper implements HttpResponseMapper {
 
     @Override
     public NodeResponse mapResponses(final URI uri, final String httpMethod, final Set<NodeResponse> nodeResponses, final boolean merge) {
+        return mapResponses(uri, httpMethod, nodeResponses, merge, null);
+    }
+
+    @Override
+    public NodeResponse mapResponses(final URI uri, final String httpMethod, final Set<NodeResponse> nodeResponses, final boolean merge,
+                                     final IncrementalResponseMerge<?> incrementalMerge) {
         final boolean hasSuccess = hasSuccessfulResponse(nodeResponses);
         if (!hasSuccess) {
             // If we have a response that is a 3xx, 4xx, or 5xx, then we want to choose that.
@@ -204,6 +210,13 @@ public class StandardHttpResponseMapper implements HttpResponseMapper {
             return clientResponse;
         }
 
+        if (incrementalMerge != null) {
+            final NodeResponse incrementallyMergedResponse = incrementalMerge.getMergedResponse(successResponses);
+            if (incrementallyMergedResponse != null) {
+                return incrementallyMergedResponse;
+            }
+        }
+
         EndpointResponseMerger merger = getEndpointResponseMerger(uri, httpMethod);
         if (merger == null) {
             return clientResponse;
@@ -232,6 +245,17 @@ public class StandardHttpResponseMapper implements HttpResponseMapper {
         return getEndpointResponseMerger(uri, httpMethod) != null;
     }
 
+    @Override
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public IncrementalResponseMerge<?> createIncrementalMerge(final URI uri, final String httpMethod) {
+        final EndpointResponseMerger merger = getEndpointResponseMerger(uri, httpMethod);
+        if (merger instanceof IncrementalEndpointResponseMerger) {
+            return new IncrementalResponseMerge((IncrementalEndpointResponseMerger) merger);
+        }
+
+        return null;
+    }
+
     private EndpointResponseMerger getEndpointResponseMerger(final URI uri, final String httpMethod) {
         return endpointMergers.stream().filter(p -> p.canHandle(uri, httpMethod)).findFirst().orElse(null);
     }
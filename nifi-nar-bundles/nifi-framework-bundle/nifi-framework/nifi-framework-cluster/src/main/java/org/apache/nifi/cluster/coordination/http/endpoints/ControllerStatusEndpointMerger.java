@@ -17,6 +17,7 @@
 
 package org.apache.nifi.cluster.coordination.http.endpoints;
 
+import org.apache.nifi.cluster.coordination.http.IncrementalEndpointResponseMerger;
 import org.apache.nifi.cluster.manager.NodeResponse;
 import org.apache.nifi.cluster.manager.StatusMerger;
 import org.apache.nifi.cluster.protocol.NodeIdentifier;
@@ -28,7 +29,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
 
-public class ControllerStatusEndpointMerger extends AbstractSingleDTOEndpoint<ControllerStatusEntity, ControllerStatusDTO> {
+public class ControllerStatusEndpointMerger extends AbstractSingleDTOEndpoint<ControllerStatusEntity, ControllerStatusDTO>
+        implements IncrementalEndpointResponseMerger<ControllerStatusEntity> {
     public static final Pattern CONTROLLER_STATUS_URI_PATTERN = Pattern.compile("/nifi-api/flow/status");
 
     @Override
@@ -37,7 +39,7 @@ public class ControllerStatusEndpointMerger extends AbstractSingleDTOEndpoint<Co
     }
 
     @Override
-    protected Class<ControllerStatusEntity> getEntityClass() {
+    public Class<ControllerStatusEntity> getEntityClass() {
         return ControllerStatusEntity.class;
     }
 
@@ -60,4 +62,13 @@ public class ControllerStatusEndpointMerger extends AbstractSingleDTOEndpoint<Co
         }
     }
 
+    @Override
+    public void beginIncrementalMerge(final ControllerStatusEntity mergedEntity, final NodeIdentifier nodeId) {
+    }
+
+    @Override
+    public void mergeIncrementally(final ControllerStatusEntity mergedEntity, final ControllerStatusEntity nodeEntity, final NodeIdentifier nodeId) {
+        StatusMerger.merge(mergedEntity.getControllerStatus(), nodeEntity.getControllerStatus());
+    }
+
 }
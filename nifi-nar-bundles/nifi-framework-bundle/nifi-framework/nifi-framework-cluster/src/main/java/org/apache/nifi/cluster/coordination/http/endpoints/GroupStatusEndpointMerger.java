@@ -17,6 +17,7 @@
 
 package org.apache.nifi.cluster.coordination.http.endpoints;
 
+import org.apache.nifi.cluster.coordination.http.IncrementalEndpointResponseMerger;
 import org.apache.nifi.cluster.manager.ComponentEntityStatusMerger;
 import org.apache.nifi.cluster.manager.NodeResponse;
 import org.apache.nifi.cluster.manager.StatusMerger;
@@ -31,7 +32,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
 
-public class GroupStatusEndpointMerger extends AbstractSingleEntityEndpoint<ProcessGroupStatusEntity> implements ComponentEntityStatusMerger<ProcessGroupStatusDTO> {
+public class GroupStatusEndpointMerger extends AbstractSingleEntityEndpoint<ProcessGroupStatusEntity>
+        implements ComponentEntityStatusMerger<ProcessGroupStatusDTO>, IncrementalEndpointResponseMerger<ProcessGroupStatusEntity> {
     public static final Pattern GROUP_STATUS_URI_PATTERN = Pattern.compile("/nifi-api/flow/process-groups/(?:(?:root)|(?:[a-f0-9\\-]{36}))/status");
 
     @Override
@@ -40,42 +42,50 @@ public class GroupStatusEndpointMerger extends AbstractSingleEntityEndpoint<Proc
     }
 
     @Override
-    protected Class<ProcessGroupStatusEntity> getEntityClass() {
+    public Class<ProcessGroupStatusEntity> getEntityClass() {
         return ProcessGroupStatusEntity.class;
     }
 
     @Override
     protected void mergeResponses(ProcessGroupStatusEntity clientEntity, Map<NodeIdentifier, ProcessGroupStatusEntity> entityMap, Set<NodeResponse> successfulResponses,
                                   Set<NodeResponse> problematicResponses) {
-        final ProcessGroupStatusDTO mergedProcessGroupStatus = clientEntity.getProcessGroupStatus();
-        mergedProcessGroupStatus.setNodeSnapshots(new ArrayList<>());
-
         final NodeIdentifier selectedNodeId = entityMap.entrySet().stream()
                 .filter(e -> e.getValue() == clientEntity)
                 .map(e -> e.getKey())
                 .findFirst()
                 .orElse(null);
 
-        final NodeProcessGroupStatusSnapshotDTO selectedNodeSnapshot = new NodeProcessGroupStatusSnapshotDTO();
-        selectedNodeSnapshot.setStatusSnapshot(mergedProcessGroupStatus.getAggregateSnapshot().clone());
-        selectedNodeSnapshot.setAddress(selectedNodeId.getApiAddress());
-        selectedNodeSnapshot.setApiPort(selectedNodeId.getApiPort());
-        selectedNodeSnapshot.setNodeId(selectedNodeId.getId());
-
-        mergedProcessGroupStatus.getNodeSnapshots().add(selectedNodeSnapshot);
+        beginIncrementalMerge(clientEntity, selectedNodeId);
 
         for (final Map.Entry<NodeIdentifier, ProcessGroupStatusEntity> entry : entityMap.entrySet()) {
-            final NodeIdentifier nodeId = entry.getKey();
             final ProcessGroupStatusEntity nodeProcessGroupStatusEntity = entry.getValue();
-            final ProcessGroupStatusDTO nodeProcessGroupStatus = nodeProcessGroupStatusEntity.getProcessGroupStatus();
-            if (nodeProcessGroupStatus == mergedProcessGroupStatus) {
+            if (nodeProcessGroupStatusEntity == clientEntity) {
                 continue;
             }
 
-            mergeStatus(mergedProcessGroupStatus, clientEntity.getCanRead(), nodeProcessGroupStatus, nodeProcessGroupStatusEntity.getCanRead(), nodeId);
+            mergeIncrementally(clientEntity, nodeProcessGroupStatusEntity, entry.getKey());
         }
     }
 
+    @Override
+    public void beginIncrementalMerge(final ProcessGroupStatusEntity mergedEntity, final NodeIdentifier nodeId) {
+        final ProcessGroupStatusDTO mergedProcessGroupStatus = mergedEntity.getProcessGroupStatus();
+        mergedProcessGroupStatus.setNodeSnapshots(new ArrayList<>());
+
+        final NodeProcessGroupStatusSnapshotDTO selectedNodeSnapshot = new NodeProcessGroupStatusSnapshotDTO();
+        selectedNodeSnapshot.setStatusSnapshot(mergedProcessGroupStatus.getAggregateSnapshot().clone());
+        selectedNodeSnapshot.setAddress(nodeId.getApiAddress());
+        selectedNodeSnapshot.setApiPort(nodeId.getApiPort());
+        selectedNodeSnapshot.setNodeId(nodeId.getId());
+
+        mergedProcessGroupStatus.getNodeSnapshots().add(selectedNodeSnapshot);
+    }
+
+    @Override
+    public void mergeIncrementally(final ProcessGroupStatusEntity mergedEntity, final ProcessGroupStatusEntity nodeEntity, final NodeIdentifier nodeId) {
+        mergeStatus(mergedEntity.getProcessGroupStatus(), mergedEntity.getCanRead(), nodeEntity.getProcessGroupStatus(), nodeEntity.getCanRead(), nodeId);
+    }
+
     @Override
     public void mergeStatus(ProcessGroupStatusDTO clientStatus, boolean clientStatusReadablePermission, ProcessGroupStatusDTO status, boolean statusReadablePermission,
                             NodeIdentifier statusNodeIdentifier) {
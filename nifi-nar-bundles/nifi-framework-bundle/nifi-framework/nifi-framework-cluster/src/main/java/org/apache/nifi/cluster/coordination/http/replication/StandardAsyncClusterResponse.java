@@ -29,6 +29,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.apache.nifi.cluster.coordination.http.HttpResponseMapper;
+import org.apache.nifi.cluster.coordination.http.IncrementalResponseMerge;
 import org.apache.nifi.cluster.manager.NodeResponse;
 import org.apache.nifi.cluster.protocol.NodeIdentifier;
 import org.slf4j.Logger;
@@ -52,6 +53,7 @@ public class StandardAsyncClusterResponse implements AsyncClusterResponse {
     private final long creationTimeNanos;
     private final boolean merge;
     private final AtomicInteger responseBufferLeft;
+    private final IncrementalResponseMerge<?> incrementalMerge;
 
     private final Map<NodeIdentifier, ResponseHolder> responseMap = new HashMap<>();
     private final AtomicInteger requestsCompleted = new AtomicInteger(0);
@@ -92,6 +94,14 @@ public class StandardAsyncClusterResponse implements AsyncClusterResponse {
         this.completionCallback = completionCallback;
         this.completedResultFetchedCallback = completedResultFetchedCallback;
         this.responseBufferLeft = new AtomicInteger(responseBufferSize);
+
+        // Responses to requests that do not modify the flow can be merged as each node responds, rather than
+        // deserializing and merging all of them once the last node has responded.
+        if (merge && phase == ONLY_PHASE) {
+            this.incrementalMerge = responseMapper.createIncrementalMerge(uri, method);
+        } else {
+            this.incrementalMerge = null;
+        }
     }
 
     public boolean requestBuffer(final int size) {
@@ -216,7 +226,7 @@ public class StandardAsyncClusterResponse implements AsyncClusterResponse {
             .collect(Collectors.toSet());
 
         final long start = System.nanoTime();
-        mergedResponse = responseMapper.mapResponses(uri, method, nodeResponses, merge);
+        mergedResponse = responseMapper.mapResponses(uri, method, nodeResponses, merge, incrementalMerge);
         final long nanos = System.nanoTime() - start;
         addTiming("Map/Merge Responses", "All Nodes", nanos);
 
@@ -284,6 +294,12 @@ public class StandardAsyncClusterResponse implements AsyncClusterResponse {
             throw new IllegalStateException("Node " + nodeResponse.getNodeId() + " is not known for this request");
         }
 
+        if (incrementalMerge != null) {
+            final long start = System.nanoTime();
+            incrementalMerge.merge(nodeResponse);
+            addTiming("Incrementally Merge Response", nodeResponse.getNodeId().toString(), System.nanoTime() - start);
+        }
+
         responseHolder.setResponse(nodeResponse);
         final int completedCount = requestsCompleted.incrementAndGet();
 
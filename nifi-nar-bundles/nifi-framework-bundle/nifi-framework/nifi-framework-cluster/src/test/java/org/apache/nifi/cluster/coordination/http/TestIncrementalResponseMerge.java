@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.cluster.coordination.http;
+
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonInclude.Value;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.jaxb.JaxbAnnotationIntrospector;
+import org.apache.nifi.cluster.coordination.http.endpoints.ControllerStatusEndpointMerger;
+import org.apache.nifi.cluster.coordination.http.replication.okhttp.JacksonResponse;
+import org.apache.nifi.cluster.manager.NodeResponse;
+import org.apache.nifi.cluster.protocol.NodeIdentifier;
+import org.apache.nifi.util.NiFiProperties;
+import org.apache.nifi.web.api.dto.status.ControllerStatusDTO;
+import org.apache.nifi.web.api.entity.ControllerStatusEntity;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TestIncrementalResponseMerge {
+    private static final URI STATUS_URI = URI.create("http://localhost:8080/nifi-api/flow/status");
+
+    private final ObjectMapper codec = new ObjectMapper();
+    private final ControllerStatusEndpointMerger merger = new ControllerStatusEndpointMerger();
+
+    @Before
+    public void setup() {
+        codec.setDefaultPropertyInclusion(Value.construct(Include.NON_NULL, Include.ALWAYS));
+        codec.setAnnotationIntrospector(new JaxbAnnotationIntrospector(codec.getTypeFactory()));
+    }
+
+    @Test
+    public void testIncrementalMergeMatchesFullMerge() throws Exception {
+        final Set<NodeResponse> responses = new HashSet<>();
+        responses.add(createStatusResponse(1, 2, 10L));
+        responses.add(createStatusResponse(2, 5, 20L));
+        responses.add(createStatusResponse(3, 7, 30L));
+
+        final IncrementalResponseMerge<ControllerStatusEntity> incrementalMerge = new IncrementalResponseMerge<>(merger);
+        responses.forEach(incrementalMerge::merge);
+
+        final NodeResponse incrementalResponse = incrementalMerge.getMergedResponse(responses);
+        assertNotNull(incrementalResponse);
+        final ControllerStatusDTO incrementalStatus = ((ControllerStatusEntity) incrementalResponse.getUpdatedEntity()).getControllerStatus();
+
+        final NodeResponse fullResponse = merger.merge(STATUS_URI, "GET", responses, Collections.emptySet(), responses.iterator().next());
+        final ControllerStatusDTO fullStatus = ((ControllerStatusEntity) fullResponse.getUpdatedEntity()).getControllerStatus();
+
+        assertEquals(Integer.valueOf(14), incrementalStatus.getActiveThreadCount());
+        assertEquals(Long.valueOf(60L), incrementalStatus.getBytesQueued());
+        assertEquals(fullStatus.getActiveThreadCount(), incrementalStatus.getActiveThreadCount());
+        assertEquals(fullStatus.getFlowFilesQueued(), incrementalStatus.getFlowFilesQueued());
+        assertEquals(fullStatus.getBytesQueued(), incrementalStatus.getBytesQueued());
+        assertEquals(fullStatus.getQueued(), incrementalStatus.getQueued());
+    }
+
+    @Test
+    public void testMissingResponseIsNotMerged() throws Exception {
+        final NodeResponse first = createStatusResponse(1, 2, 10L);
+        final NodeResponse second = createStatusResponse(2, 5, 20L);
+
+        final IncrementalResponseMerge<ControllerStatusEntity> incrementalMerge = new IncrementalResponseMerge<>(merger);
+        incrementalMerge.merge(first);
+
+        final Set<NodeResponse> responses = new HashSet<>();
+        responses.add(first);
+        responses.add(second);
+        assertNull(incrementalMerge.getMergedResponse(responses));
+    }
+
+    @Test
+    public void testUnparseableResponseAbandonsMerge() throws Exception {
+        final NodeResponse first = createStatusResponse(1, 2, 10L);
+        final NodeResponse invalid = createResponse(2, 200, "{ not json".getBytes(StandardCharsets.UTF_8));
+
+        final IncrementalResponseMerge<ControllerStatusEntity> incrementalMerge = new IncrementalResponseMerge<>(merger);
+        incrementalMerge.merge(first);
+        incrementalMerge.merge(invalid);
+
+        assertTrue(incrementalMerge.isAbandoned());
+
+        final Set<NodeResponse> responses = new HashSet<>();
+        responses.add(first);
+        responses.add(invalid);
+        assertNull(incrementalMerge.getMergedResponse(responses));
+    }
+
+    @Test
+    public void testUnsuccessfulResponseIgnored() throws Exception {
+        final NodeResponse first = createStatusResponse(1, 2, 10L);
+        final NodeResponse conflict = createResponse(2, 409, "Conflict".getBytes(StandardCharsets.UTF_8));
+
+        final IncrementalResponseMerge<ControllerStatusEntity> incrementalMerge = new IncrementalResponseMerge<>(merger);
+        incrementalMerge.merge(first);
+        incrementalMerge.merge(conflict);
+
+        final NodeResponse merged = incrementalMerge.getMergedResponse(Collections.singleton(first));
+        assertNotNull(merged);
+        assertEquals(Integer.valueOf(2), ((ControllerStatusEntity) merged.getUpdatedEntity()).getControllerStatus().getActiveThreadCount());
+    }
+
+    @Test
+    public void testIncrementalMergeOnlyForStatusEndpoints() {
+        final StandardHttpResponseMapper responseMapper = new StandardHttpResponseMapper(NiFiProperties.createBasicNiFiProperties(null, null));
+
+        assertNotNull(responseMapper.createIncrementalMerge(STATUS_URI, "GET"));
+        assertNotNull(responseMapper.createIncrementalMerge(URI.create("http://localhost:8080/nifi-api/flow/process-groups/root/status"), "GET"));
+
+        // the flow of a Process Group is merged once all nodes have responded
+        assertNull(responseMapper.createIncrementalMerge(URI.create("http://localhost:8080/nifi-api/flow/process-groups/root"), "GET"));
+    }
+
+    @Test
+    public void testAbandonedMergeFallsBackToFullMerge() throws Exception {
+        final NodeResponse first = createStatusResponse(1, 2, 10L);
+        final NodeResponse second = createStatusResponse(2, 5, 20L);
+
+        final IncrementalResponseMerge<ControllerStatusEntity> incrementalMerge = new IncrementalResponseMerge<>(merger);
+        incrementalMerge.merge(first);
+        incrementalMerge.merge(createResponse(2, 200, "{ not json".getBytes(StandardCharsets.UTF_8)));
+
+        // the buffered bodies of the node responses are still available to merge them all at once
+        final Set<NodeResponse> responses = new HashSet<>();
+        responses.add(first);
+        responses.add(second);
+
+        final StandardHttpResponseMapper responseMapper = new StandardHttpResponseMapper(NiFiProperties.createBasicNiFiProperties(null, null));
+        final NodeResponse merged = responseMapper.mapResponses(STATUS_URI, "GET", responses, true, incrementalMerge);
+        assertEquals(Integer.valueOf(7), ((ControllerStatusEntity) merged.getUpdatedEntity()).getControllerStatus().getActiveThreadCount());
+    }
+
+    private NodeResponse createStatusResponse(final int nodeIndex, final int activeThreads, final long bytesQueued) throws Exception {
+        final ControllerStatusDTO status = new ControllerStatusDTO();
+        status.setActiveThreadCount(activeThreads);
+        status.setTerminatedThreadCount(0);
+        status.setFlowFilesQueued(1);
+        status.setBytesQueued(bytesQueued);
+
+        final ControllerStatusEntity entity = new ControllerStatusEntity();
+        entity.setControllerStatus(status);
+
+        return createResponse(nodeIndex, 200, codec.writeValueAsBytes(entity));
+    }
+
+    private NodeResponse createResponse(final int nodeIndex, final int statusCode, final byte[] body) {
+        final NodeIdentifier nodeId = new NodeIdentifier("node-" + nodeIndex, "localhost", 8000 + nodeIndex, "localhost", 9000 + nodeIndex,
+            "localhost", 10000 + nodeIndex, 11000 + nodeIndex, false);
+        final JacksonResponse response = new JacksonResponse(codec, body, new MultivaluedHashMap<>(), STATUS_URI, statusCode, null);
+        return new NodeResponse(nodeId, "GET", STATUS_URI, response, 0L, "request-id");
+    }
+}
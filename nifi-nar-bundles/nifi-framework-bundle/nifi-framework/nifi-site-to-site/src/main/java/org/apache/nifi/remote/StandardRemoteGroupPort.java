@@ -70,6 +70,9 @@ import java.util.concurrent.atomic.AtomicReference;
 public class StandardRemoteGroupPort extends RemoteGroupPort {
 
     private static final long BATCH_SEND_NANOS = TimeUnit.MILLISECONDS.toNanos(500L); // send batches of up to 500 millis
+    private static final long MAX_ADAPTIVE_BATCH_SEND_NANOS = TimeUnit.SECONDS.toNanos(5L);
+    // the link sits idle while a transaction commits, so batches last long enough to keep that under ~10% of the transaction
+    private static final int COMMIT_LATENCY_BATCH_FACTOR = 10;
 
     private static final String CATEGORY = "Site to Site";
 
@@ -84,6 +87,7 @@ public class StandardRemoteGroupPort extends RemoteGroupPort {
     private final SSLContext sslContext;
     private final TransferDirection transferDirection;
     private volatile String targetId;
+    private volatile long commitLatencyNanos = 0L;
 
     private final AtomicReference<SiteToSiteClient> clientRef = new AtomicReference<>();
 
@@ -308,7 +312,7 @@ public class StandardRemoteGroupPort extends RemoteGroupPort {
             final long maxBatchBytes = siteToSiteClientConfig.getPreferredBatchSize();
             final int maxBatchCount = siteToSiteClientConfig.getPreferredBatchCount();
             final long preferredBatchDuration = siteToSiteClientConfig.getPreferredBatchDuration(TimeUnit.NANOSECONDS);
-            final long maxBatchDuration = preferredBatchDuration > 0 ? preferredBatchDuration : BATCH_SEND_NANOS;
+            final long maxBatchDuration = preferredBatchDuration > 0 ? preferredBatchDuration : getAdaptiveBatchSendNanos();
 
 
             final Set<FlowFile> flowFilesSent = new HashSet<>();
@@ -352,6 +356,7 @@ public class StandardRemoteGroupPort extends RemoteGroupPort {
                 continueTransaction = (flowFile != null);
             }
 
+            final long startCommitNanos = System.nanoTime();
             transaction.confirm();
 
             // consume input stream entirely, ignoring its contents. If we
@@ -362,6 +367,7 @@ public class StandardRemoteGroupPort extends RemoteGroupPort {
             final String dataSize = FormatUtils.formatDataSize(bytesSent);
 
             transaction.complete();
+            recordCommitLatency(System.nanoTime() - startCommitNanos);
             session.commit();
 
             final String flowFileDescription = (flowFilesSent.size() < 20) ? flowFilesSent.toString() : flowFilesSent.size() + " FlowFiles";
@@ -376,6 +382,23 @@ public class StandardRemoteGroupPort extends RemoteGroupPort {
 
     }
 
+    /**
+     * Determines how long to keep sending in a transaction when no batch duration has been configured. Committing a transaction takes
+     * at least a round trip to the remote instance, during which no data is sent. Sizing the batches relative to the observed commit
+     * latency keeps the amount of data in flight proportional to the bandwidth-delay product of the link, so high latency links are
+     * not throttled by the commits while low latency links keep the default batches.
+     */
+    private long getAdaptiveBatchSendNanos() {
+        final long adaptiveNanos = commitLatencyNanos * COMMIT_LATENCY_BATCH_FACTOR;
+        return Math.min(MAX_ADAPTIVE_BATCH_SEND_NANOS, Math.max(BATCH_SEND_NANOS, adaptiveNanos));
+    }
+
+    private void recordCommitLatency(final long latencyNanos) {
+        // exponentially weighted moving average, smoothing out the occasional slow commit. Concurrent updates may get lost, which is harmless.
+        final long previous = commitLatencyNanos;
+        commitLatencyNanos = previous == 0L ? latencyNanos : previous - (previous >> 2) + (latencyNanos >> 2);
+    }
+
     private int receiveFlowFiles(final Transaction transaction, final ProcessContext context, final ProcessSession session) throws IOException, ProtocolException {
         final String userDn = transaction.getCommunicant().getDistinguishedName();
 
@@ -206,6 +206,17 @@ public abstract class AbstractFlowFileServerProtocol implements ServerProtocol {
 
     abstract protected HandshakeProperties doHandshake(final Peer peer) throws IOException, HandshakeException;
 
+    /**
+     * Indicates whether the checksums are exchanged along with the FINISH_TRANSACTION indicator rather than in a separate round trip.
+     * The receiving side of the data then verifies the checksum of the sending side itself, so committing a transaction only takes
+     * the round trip of the final acknowledgement.
+     *
+     * @return true if the negotiated protocol version pipelines the checksum exchange, false by default
+     */
+    protected boolean isChecksumExchangePipelined() {
+        return false;
+    }
+
     @Override
     public int transferFlowFiles(final Peer peer, final ProcessContext context, final ProcessSession session, final FlowFileCodec codec) throws IOException, ProtocolException {
         if (!handshakeCompleted) {
@@ -313,6 +324,12 @@ public abstract class AbstractFlowFileServerProtocol implements ServerProtocol {
                 logger.debug("{} Sending FinishTransaction indicator to {}", this, peer);
                 writeTransactionResponse(true, ResponseCode.FINISH_TRANSACTION, commsSession);
                 calculatedCRC = String.valueOf(checkedOutputStream.getChecksum().getValue());
+
+                if (isChecksumExchangePipelined()) {
+                    // the peer verifies the checksum and completes the transaction without waiting for another round trip
+                    logger.debug("{} Sending CONFIRM_TRANSACTION Response Code to {}", this, peer);
+                    writeTransactionResponse(true, ResponseCode.CONFIRM_TRANSACTION, commsSession, calculatedCRC);
+                }
             }
         }
 
@@ -329,29 +346,10 @@ public abstract class AbstractFlowFileServerProtocol implements ServerProtocol {
         ProcessSession session = transaction.getSession();
         Set<FlowFile> flowFilesSent = transaction.getFlowFilesSent();
 
-        // we've sent a FINISH_TRANSACTION. Now we'll wait for the peer to send a 'Confirm Transaction' response
         CommunicationsSession commsSession = peer.getCommunicationsSession();
-        final Response transactionConfirmationResponse = readTransactionResponse(true, commsSession);
-        if (transactionConfirmationResponse.getCode() == ResponseCode.CONFIRM_TRANSACTION) {
-            // Confirm Checksum and echo back the confirmation.
-            logger.debug("{} Received {}  from {}", this, transactionConfirmationResponse, peer);
-            final String receivedCRC = transactionConfirmationResponse.getMessage();
-
-            if (getVersionNegotiator().getVersion() > 3) {
-                String calculatedCRC = transaction.getCalculatedCRC();
-                if (!receivedCRC.equals(calculatedCRC)) {
-                    writeTransactionResponse(true, ResponseCode.BAD_CHECKSUM, commsSession);
-                    session.rollback();
-                    throw new IOException(this + " Sent data to peer " + peer + " but calculated CRC32 Checksum as "
-                            + calculatedCRC + " while peer calculated CRC32 Checksum as " + receivedCRC
-                            + "; canceling transaction and rolling back session");
-                }
-            }
-
-            writeTransactionResponse(true, ResponseCode.CONFIRM_TRANSACTION, commsSession, "");
-
-        } else {
-            throw new ProtocolException("Expected to receive 'Confirm Transaction' response from peer " + peer + " but received " + transactionConfirmationResponse);
+        // with a pipelined exchange the checksum has already been sent, the peer verifies it and directly completes the transaction
+        if (!isChecksumExchangePipelined()) {
+            confirmTransferTransaction(peer, transaction);
         }
 
         final String flowFileDescription = flowFilesSent.size() < 20 ? flowFilesSent.toString() : flowFilesSent.size() + " FlowFiles";
@@ -371,6 +369,9 @@ public abstract class AbstractFlowFileServerProtocol implements ServerProtocol {
         logger.debug("{} received {} from {}", new Object[]{this, transactionResponse, peer});
         if (transactionResponse.getCode() == ResponseCode.TRANSACTION_FINISHED_BUT_DESTINATION_FULL) {
             peer.penalize(port.getIdentifier(), port.getYieldPeriod(TimeUnit.MILLISECONDS));
+        } else if (transactionResponse.getCode() == ResponseCode.BAD_CHECKSUM && isChecksumExchangePipelined()) {
+            session.rollback();
+            throw new IOException(this + " Received a BadChecksum response from peer " + peer);
         } else if (transactionResponse.getCode() != ResponseCode.TRANSACTION_FINISHED) {
             throw new ProtocolException("After sending data, expected TRANSACTION_FINISHED response but got " + transactionResponse);
         }
@@ -389,6 +390,35 @@ public abstract class AbstractFlowFileServerProtocol implements ServerProtocol {
         return flowFilesSent.size();
     }
 
+    private void confirmTransferTransaction(final Peer peer, final FlowFileTransaction transaction) throws IOException {
+        final ProcessSession session = transaction.getSession();
+
+        // we've sent a FINISH_TRANSACTION. Now we'll wait for the peer to send a 'Confirm Transaction' response
+        final CommunicationsSession commsSession = peer.getCommunicationsSession();
+        final Response transactionConfirmationResponse = readTransactionResponse(true, commsSession);
+        if (transactionConfirmationResponse.getCode() == ResponseCode.CONFIRM_TRANSACTION) {
+            // Confirm Checksum and echo back the confirmation.
+            logger.debug("{} Received {}  from {}", this, transactionConfirmationResponse, peer);
+            final String receivedCRC = transactionConfirmationResponse.getMessage();
+
+            if (getVersionNegotiator().getVersion() > 3) {
+                String calculatedCRC = transaction.getCalculatedCRC();
+                if (!receivedCRC.equals(calculatedCRC)) {
+                    writeTransactionResponse(true, ResponseCode.BAD_CHECKSUM, commsSession);
+                    session.rollback();
+                    throw new IOException(this + " Sent data to peer " + peer + " but calculated CRC32 Checksum as "
+                            + calculatedCRC + " while peer calculated CRC32 Checksum as " + receivedCRC
+                            + "; canceling transaction and rolling back session");
+                }
+            }
+
+            writeTransactionResponse(true, ResponseCode.CONFIRM_TRANSACTION, commsSession, "");
+
+        } else {
+            throw new ProtocolException("Expected to receive 'Confirm Transaction' response from peer " + peer + " but received " + transactionConfirmationResponse);
+        }
+    }
+
     protected Response readTransactionResponse(boolean isTransfer, CommunicationsSession commsSession) throws IOException {
         final DataInputStream dis = new DataInputStream(commsSession.getInput().getInputStream());
         return Response.read(dis);
@@ -520,6 +550,14 @@ public abstract class AbstractFlowFileServerProtocol implements ServerProtocol {
 
         switch (confirmTransactionResponse.getCode()) {
             case CONFIRM_TRANSACTION:
+                // with a pipelined exchange the peer sends its checksum instead of verifying ours
+                if (isChecksumExchangePipelined() && !transaction.getCalculatedCRC().equals(confirmTransactionResponse.getMessage())) {
+                    writeTransactionResponse(false, ResponseCode.BAD_CHECKSUM, commsSession);
+                    session.rollback();
+                    throw new IOException(this + " Received data from peer " + peer + " but calculated CRC32 Checksum as "
+                            + transaction.getCalculatedCRC() + " while peer calculated CRC32 Checksum as " + confirmTransactionResponse.getMessage()
+                            + "; canceling transaction and rolling back session");
+                }
                 break;
             case BAD_CHECKSUM:
                 session.rollback();
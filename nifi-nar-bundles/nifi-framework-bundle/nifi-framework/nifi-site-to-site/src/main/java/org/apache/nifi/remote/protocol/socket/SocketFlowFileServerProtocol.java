@@ -48,8 +48,11 @@ public class SocketFlowFileServerProtocol extends AbstractFlowFileServerProtocol
 
     public static final String RESOURCE_NAME = "SocketFlowFileProtocol";
 
+    // Version 7 exchanges the checksums along with the FINISH_TRANSACTION indicator, saving a round trip per transaction
+    private static final int PIPELINED_CHECKSUM_VERSION = 7;
+
     // Version 6 added to support Zero-Master Clustering, which was introduced in NiFi 1.0.0
-    private final VersionNegotiator versionNegotiator = new StandardVersionNegotiator(6, 5, 4, 3, 2, 1);
+    private final VersionNegotiator versionNegotiator = new StandardVersionNegotiator(PIPELINED_CHECKSUM_VERSION, 6, 5, 4, 3, 2, 1);
 
     private PeerDescriptionModifier peerDescriptionModifier;
 
@@ -116,6 +119,11 @@ public class SocketFlowFileServerProtocol extends AbstractFlowFileServerProtocol
         return confirmed;
     }
 
+    @Override
+    protected boolean isChecksumExchangePipelined() {
+        return versionNegotiator.getVersion() >= PIPELINED_CHECKSUM_VERSION;
+    }
+
     @Override
     public FlowFileCodec negotiateCodec(final Peer peer) throws IOException, ProtocolException {
         if (!handshakeCompleted) {
@@ -44,6 +44,8 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
@@ -182,4 +184,16 @@ public class TestSocketFlowFileServerProtocol {
         }
     }
 
+    @Test
+    public void testChecksumExchangeIsPipelinedFromVersion7() throws Exception {
+        final SocketFlowFileServerProtocol protocol = getDefaultSocketFlowFileServerProtocol();
+        assertEquals(7, protocol.getVersionNegotiator().getVersion());
+        assertTrue(protocol.isChecksumExchangePipelined());
+
+        // older clients negotiate a previous version and keep the separate confirmation round trip
+        assertTrue(protocol.getVersionNegotiator().isVersionSupported(6));
+        protocol.getVersionNegotiator().setVersion(6);
+        assertFalse(protocol.isChecksumExchangePipelined());
+    }
+
 }
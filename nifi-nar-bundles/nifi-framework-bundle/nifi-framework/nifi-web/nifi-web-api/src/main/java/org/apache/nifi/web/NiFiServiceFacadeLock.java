@@ -16,6 +16,8 @@
  */
 package org.apache.nifi.web;
 
+import org.apache.nifi.web.search.index.ComponentSearchIndex;
+import org.apache.nifi.web.util.FlowSnapshotCache;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -35,6 +37,9 @@ public class NiFiServiceFacadeLock {
     private final ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
     private final ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
 
+    private FlowSnapshotCache flowSnapshotCache;
+    private ComponentSearchIndex componentSearchIndex;
+
     /* delegate methods through the wrapped view model */
     @Around("within(org.apache.nifi.web.NiFiServiceFacade+) && "
             + "execution(* create*(..))")
@@ -178,6 +183,15 @@ public class NiFiServiceFacadeLock {
             afterLock = System.nanoTime();
             return proceedingJoinPoint.proceed();
         } finally {
+            // any procedure that requires the write lock may modify the flow, so snapshots and indices built before it are no longer current
+            if (flowSnapshotCache != null) {
+                flowSnapshotCache.invalidate();
+            }
+
+            if (componentSearchIndex != null) {
+                componentSearchIndex.invalidate();
+            }
+
             writeLock.unlock();
 
             final long afterProcedure = System.nanoTime();
@@ -187,4 +201,11 @@ public class NiFiServiceFacadeLock {
         }
     }
 
+    public void setFlowSnapshotCache(final FlowSnapshotCache flowSnapshotCache) {
+        this.flowSnapshotCache = flowSnapshotCache;
+    }
+
+    public void setComponentSearchIndex(final ComponentSearchIndex componentSearchIndex) {
+        this.componentSearchIndex = componentSearchIndex;
+    }
 }
@@ -56,6 +56,8 @@ import org.apache.nifi.web.api.entity.Entity;
 import org.apache.nifi.web.api.entity.TransactionResultEntity;
 import org.apache.nifi.web.security.ProxiedEntitiesUtils;
 import org.apache.nifi.web.security.util.CacheKey;
+import org.apache.nifi.web.util.FlowSnapshotCache;
+import org.apache.nifi.web.util.FlowSnapshotCache.FlowSnapshot;
 import org.apache.nifi.web.util.WebUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -64,6 +66,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.core.CacheControl;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
@@ -87,6 +90,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
@@ -115,6 +119,8 @@ public abstract class ApplicationResource {
     // Traefik-specific headers
     public static final String FORWARDED_PREFIX_HTTP_HEADER = "X-Forwarded-Prefix";
 
+    private static final String IF_NONE_MATCH_HTTP_HEADER = "If-None-Match";
+
     protected static final String NON_GUARANTEED_ENDPOINT = "Note: This endpoint is subject to change as NiFi and it's REST API evolve.";
 
     private static final Logger logger = LoggerFactory.getLogger(ApplicationResource.class);
@@ -247,6 +253,20 @@ public abstract class ApplicationResource {
         return response.cacheControl(cacheControl);
     }
 
+    /**
+     * Edit the response headers to indicating that the response may be stored by the client, but must be revalidated
+     * using its Entity Tag before it is reused.
+     *
+     * @param response response
+     * @return builder
+     */
+    protected ResponseBuilder revalidate(final ResponseBuilder response) {
+        final CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+        return response.cacheControl(cacheControl);
+    }
+
     protected String generateUuid() {
         final Optional<String> seed = getIdGenerationSeed();
         UUID uuid;
@@ -294,6 +314,54 @@ public abstract class ApplicationResource {
         return noCache(response);
     }
 
+    /**
+     * Generates an Ok response with the snapshot of the specified Process Group, reusing the last snapshot that was built
+     * for the current user when the flow has not been modified since. When the client indicates, using If-None-Match, that
+     * it already holds the same snapshot, a Not Modified response is generated instead.
+     *
+     * @param flowSnapshotCache the cache of snapshots, may be null
+     * @param snapshotType the type of entity that is being returned
+     * @param groupId the id of the Process Group
+     * @param entitySupplier builds the entity if there is no current snapshot
+     * @return the response
+     */
+    protected Response generateSnapshotResponse(final FlowSnapshotCache flowSnapshotCache, final String snapshotType, final String groupId,
+                                                final Supplier<? extends Entity> entitySupplier) {
+        if (flowSnapshotCache == null || !flowSnapshotCache.isEnabled()) {
+            return generateOkResponse(entitySupplier.get()).build();
+        }
+
+        final FlowSnapshot snapshot = flowSnapshotCache.getSnapshot(snapshotType, groupId, NiFiUserUtils.getNiFiUser(), generateResourceUri(), entitySupplier);
+        final EntityTag entityTag = snapshot.getEntityTag();
+
+        // a request that was replicated by the cluster coordinator always needs the entity so that it can be merged
+        final boolean replicated = httpServletRequest.getHeader(RequestReplicator.REPLICATION_INDICATOR_HEADER) != null;
+        if (!replicated && isEntityTagMatched(entityTag)) {
+            return revalidate(Response.notModified(entityTag)).build();
+        }
+
+        return revalidate(Response.ok(snapshot.getContent(), MediaType.APPLICATION_JSON_TYPE).tag(entityTag)).build();
+    }
+
+    private boolean isEntityTagMatched(final EntityTag entityTag) {
+        final Enumeration<String> headerValues = httpServletRequest.getHeaders(IF_NONE_MATCH_HTTP_HEADER);
+        if (headerValues == null) {
+            return false;
+        }
+
+        final String quotedTag = "\"" + entityTag.getValue() + "\"";
+        while (headerValues.hasMoreElements()) {
+            for (final String candidate : headerValues.nextElement().split(",")) {
+                final String trimmed = StringUtils.removeStart(candidate.trim(), "W/");
+                if ("*".equals(trimmed) || quotedTag.equals(trimmed)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
     /**
      * Generates a 201 Created response with the specified content.
      *
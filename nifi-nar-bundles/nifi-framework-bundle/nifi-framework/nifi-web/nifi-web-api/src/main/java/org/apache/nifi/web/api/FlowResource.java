@@ -117,6 +117,7 @@ import org.apache.nifi.web.api.request.BulletinBoardPatternParameter;
 import org.apache.nifi.web.api.request.DateTimeParameter;
 import org.apache.nifi.web.api.request.IntegerParameter;
 import org.apache.nifi.web.api.request.LongParameter;
+import org.apache.nifi.web.util.FlowSnapshotCache;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.Consumes;
@@ -182,6 +183,7 @@ public class FlowResource extends ApplicationResource {
     private ProcessGroupResource processGroupResource;
     private ControllerServiceResource controllerServiceResource;
     private ReportingTaskResource reportingTaskResource;
+    private FlowSnapshotCache flowSnapshotCache;
 
     public FlowResource() {
         super();
@@ -382,10 +384,12 @@ public class FlowResource extends ApplicationResource {
             return replicate(HttpMethod.GET);
         }
 
-        // get this process group flow
-        final ProcessGroupFlowEntity entity = serviceFacade.getProcessGroupFlow(groupId);
-        populateRemainingFlowContent(entity.getProcessGroupFlow());
-        return generateOkResponse(entity).build();
+        // get this process group flow, reusing the last snapshot built for this user if the flow has not changed since
+        return generateSnapshotResponse(flowSnapshotCache, "flow", groupId, () -> {
+            final ProcessGroupFlowEntity entity = serviceFacade.getProcessGroupFlow(groupId);
+            populateRemainingFlowContent(entity.getProcessGroupFlow());
+            return entity;
+        });
     }
 
     /**
@@ -2951,4 +2955,8 @@ public class FlowResource extends ApplicationResource {
     public void setAuthorizer(Authorizer authorizer) {
         this.authorizer = authorizer;
     }
+
+    public void setFlowSnapshotCache(FlowSnapshotCache flowSnapshotCache) {
+        this.flowSnapshotCache = flowSnapshotCache;
+    }
 }
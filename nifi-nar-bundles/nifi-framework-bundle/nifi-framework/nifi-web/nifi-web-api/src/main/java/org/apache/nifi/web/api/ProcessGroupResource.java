@@ -114,6 +114,7 @@ import org.apache.nifi.web.api.entity.VariableRegistryUpdateRequestEntity;
 import org.apache.nifi.web.api.request.ClientIdParameter;
 import org.apache.nifi.web.api.request.LongParameter;
 import org.apache.nifi.web.security.token.NiFiAuthenticationToken;
+import org.apache.nifi.web.util.FlowSnapshotCache;
 import org.apache.nifi.web.util.Pause;
 import org.glassfish.jersey.media.multipart.FormDataParam;
 import org.slf4j.Logger;
@@ -193,6 +194,7 @@ public class ProcessGroupResource extends FlowUpdateResource<ProcessGroupImportE
     private ConnectionResource connectionResource;
     private TemplateResource templateResource;
     private ControllerServiceResource controllerServiceResource;
+    private FlowSnapshotCache flowSnapshotCache;
 
     private final ConcurrentMap<String, VariableRegistryUpdateRequest> varRegistryUpdateRequests = new ConcurrentHashMap<>();
     private static final int MAX_VARIABLE_REGISTRY_UPDATE_REQUESTS = 100;
@@ -297,15 +299,17 @@ public class ProcessGroupResource extends FlowUpdateResource<ProcessGroupImportE
             processGroup.authorize(authorizer, RequestAction.READ, NiFiUserUtils.getNiFiUser());
         });
 
-        // get this process group contents
-        final ProcessGroupEntity entity = serviceFacade.getProcessGroup(groupId);
-        populateRemainingProcessGroupEntityContent(entity);
+        // get this process group contents, reusing the last snapshot built for this user if the flow has not changed since
+        return generateSnapshotResponse(flowSnapshotCache, "process-group", groupId, () -> {
+            final ProcessGroupEntity entity = serviceFacade.getProcessGroup(groupId);
+            populateRemainingProcessGroupEntityContent(entity);
 
-        if (entity.getComponent() != null) {
-            entity.getComponent().setContents(null);
-        }
+            if (entity.getComponent() != null) {
+                entity.getComponent().setContents(null);
+            }
 
-        return generateOkResponse(entity).build();
+            return entity;
+        });
     }
 
     /**
@@ -4231,4 +4235,8 @@ public class ProcessGroupResource extends FlowUpdateResource<ProcessGroupImportE
     public void setControllerServiceResource(ControllerServiceResource controllerServiceResource) {
         this.controllerServiceResource = controllerServiceResource;
     }
+
+    public void setFlowSnapshotCache(FlowSnapshotCache flowSnapshotCache) {
+        this.flowSnapshotCache = flowSnapshotCache;
+    }
 }
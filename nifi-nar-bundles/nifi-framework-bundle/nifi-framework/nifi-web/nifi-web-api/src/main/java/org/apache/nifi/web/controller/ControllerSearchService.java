@@ -35,6 +35,8 @@ import org.apache.nifi.parameter.ParameterContext;
 import org.apache.nifi.web.api.dto.search.ComponentSearchResultDTO;
 import org.apache.nifi.web.api.dto.search.SearchResultsDTO;
 import org.apache.nifi.web.search.ComponentMatcher;
+import org.apache.nifi.web.search.index.ComponentSearchIndex;
+import org.apache.nifi.web.search.index.SearchIndex;
 import org.apache.nifi.web.search.query.SearchQuery;
 import org.apache.nifi.web.search.resultenrichment.ComponentSearchResultEnricher;
 import org.apache.nifi.web.search.resultenrichment.ComponentSearchResultEnricherFactory;
@@ -44,6 +46,8 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * NiFi web controller's helper service that implements component search.
@@ -56,6 +60,7 @@ public class ControllerSearchService {
     private FlowController flowController;
     private Authorizer authorizer;
     private ComponentSearchResultEnricherFactory resultEnricherFactory;
+    private ComponentSearchIndex searchIndex;
 
     private ComponentMatcher<ProcessorNode> matcherForProcessor;
     private ComponentMatcher<ProcessGroup> matcherForProcessGroup;
@@ -75,34 +80,81 @@ public class ControllerSearchService {
      * @param results Search results
      */
     public void search(final SearchQuery searchQuery, final SearchResultsDTO results) {
+        final Predicate<Object> candidates = getCandidates(searchQuery);
+
         if (searchQuery.hasFilter(FILTER_NAME_SCOPE) && FILTER_SCOPE_VALUE_HERE.equals(searchQuery.getFilter(FILTER_NAME_SCOPE))) {
-            searchInProcessGroup(results, searchQuery, searchQuery.getActiveGroup());
+            searchInProcessGroup(results, searchQuery, searchQuery.getActiveGroup(), candidates);
         } else {
-            searchInProcessGroup(results, searchQuery, searchQuery.getRootGroup());
+            searchInProcessGroup(results, searchQuery, searchQuery.getRootGroup(), candidates);
         }
     }
 
-    private void searchInProcessGroup(final SearchResultsDTO results, final SearchQuery searchQuery, final ProcessGroup scope) {
+    private void searchInProcessGroup(final SearchResultsDTO results, final SearchQuery searchQuery, final ProcessGroup scope, final Predicate<Object> candidates) {
         final NiFiUser user = searchQuery.getUser();
         final ComponentSearchResultEnricher resultEnricher = resultEnricherFactory.getComponentResultEnricher(scope, user);
         final ComponentSearchResultEnricher groupResultEnricher = resultEnricherFactory.getProcessGroupResultEnricher(scope, user);
 
         if (appliesToGroupFilter(searchQuery, scope)) {
             if (scope.getParent() != null) {
-                searchComponentType(Collections.singletonList(scope), user, searchQuery, matcherForProcessGroup, groupResultEnricher, results.getProcessGroupResults());
+                searchComponentType(Collections.singletonList(scope), user, searchQuery, candidates, matcherForProcessGroup, groupResultEnricher, results.getProcessGroupResults());
             }
 
-            searchComponentType(scope.getProcessors(), user, searchQuery, matcherForProcessor, resultEnricher, results.getProcessorResults());
-            searchComponentType(scope.getConnections(), user, searchQuery, matcherForConnection, resultEnricher, results.getConnectionResults());
-            searchComponentType(scope.getRemoteProcessGroups(), user, searchQuery, matcherForRemoteProcessGroup, resultEnricher, results.getRemoteProcessGroupResults());
-            searchComponentType(scope.getInputPorts(), user, searchQuery, matcherForPort, resultEnricher, results.getInputPortResults());
-            searchComponentType(scope.getOutputPorts(), user, searchQuery, matcherForPort, resultEnricher, results.getOutputPortResults());
-            searchComponentType(scope.getFunnels(), user, searchQuery, matcherForFunnel, resultEnricher, results.getFunnelResults());
-            searchComponentType(scope.getLabels(), user, searchQuery, matcherForLabel, resultEnricher, results.getLabelResults());
-            searchComponentType(scope.getControllerServices(false), user, searchQuery, matcherForControllerServiceNode, resultEnricher, results.getControllerServiceNodeResults());
+            searchComponentType(scope.getProcessors(), user, searchQuery, candidates, matcherForProcessor, resultEnricher, results.getProcessorResults());
+            searchComponentType(scope.getConnections(), user, searchQuery, candidates, matcherForConnection, resultEnricher, results.getConnectionResults());
+            searchComponentType(scope.getRemoteProcessGroups(), user, searchQuery, candidates, matcherForRemoteProcessGroup, resultEnricher, results.getRemoteProcessGroupResults());
+            searchComponentType(scope.getInputPorts(), user, searchQuery, candidates, matcherForPort, resultEnricher, results.getInputPortResults());
+            searchComponentType(scope.getOutputPorts(), user, searchQuery, candidates, matcherForPort, resultEnricher, results.getOutputPortResults());
+            searchComponentType(scope.getFunnels(), user, searchQuery, candidates, matcherForFunnel, resultEnricher, results.getFunnelResults());
+            searchComponentType(scope.getLabels(), user, searchQuery, candidates, matcherForLabel, resultEnricher, results.getLabelResults());
+            searchComponentType(scope.getControllerServices(false), user, searchQuery, candidates, matcherForControllerServiceNode, resultEnricher, results.getControllerServiceNodeResults());
+        }
+
+        scope.getProcessGroups().forEach(processGroup -> searchInProcessGroup(results, searchQuery, processGroup, candidates));
+    }
+
+    /**
+     * Returns the components which might have an indexed attribute matching the search term. The others only need to be matched
+     * against their unindexed attributes. Without an index every component is a candidate.
+     */
+    private Predicate<Object> getCandidates(final SearchQuery searchQuery) {
+        if (searchIndex == null) {
+            return component -> true;
+        }
+
+        return searchIndex.getIndex(searchQuery.getRootGroup(), this::buildSearchIndex).getCandidates(searchQuery.getTerm());
+    }
+
+    private SearchIndex buildSearchIndex(final ProcessGroup rootGroup) {
+        final SearchIndex.Builder builder = new SearchIndex.Builder();
+        indexProcessGroup(builder, rootGroup);
+
+        for (final ParameterContext parameterContext : flowController.getFlowManager().getParameterContextManager().getParameterContexts()) {
+            indexComponents(builder, Collections.singletonList(parameterContext), matcherForParameterContext);
+            indexComponents(builder, parameterContext.getParameters().values(), matcherForParameter);
         }
 
-        scope.getProcessGroups().forEach(processGroup -> searchInProcessGroup(results, searchQuery, processGroup));
+        return builder.build();
+    }
+
+    private void indexProcessGroup(final SearchIndex.Builder builder, final ProcessGroup group) {
+        indexComponents(builder, Collections.singletonList(group), matcherForProcessGroup);
+        indexComponents(builder, group.getProcessors(), matcherForProcessor);
+        indexComponents(builder, group.getConnections(), matcherForConnection);
+        indexComponents(builder, group.getRemoteProcessGroups(), matcherForRemoteProcessGroup);
+        indexComponents(builder, group.getInputPorts(), matcherForPort);
+        indexComponents(builder, group.getOutputPorts(), matcherForPort);
+        indexComponents(builder, group.getFunnels(), matcherForFunnel);
+        indexComponents(builder, group.getLabels(), matcherForLabel);
+        indexComponents(builder, group.getControllerServices(false), matcherForControllerServiceNode);
+
+        group.getProcessGroups().forEach(child -> indexProcessGroup(builder, child));
+    }
+
+    private <T> void indexComponents(final SearchIndex.Builder builder, final Collection<T> components, final ComponentMatcher<T> matcher) {
+        for (final T component : components) {
+            final Consumer<String> attributes = builder.component(component);
+            matcher.collectIndexedAttributes(component, attributes);
+        }
     }
 
     private boolean appliesToGroupFilter(final SearchQuery searchQuery, final ProcessGroup scope) {
@@ -145,12 +197,13 @@ public class ControllerSearchService {
                final Collection<T> components,
                final NiFiUser user,
                final SearchQuery searchQuery,
+               final Predicate<Object> candidates,
                final ComponentMatcher<T> matcher,
                final ComponentSearchResultEnricher resultEnricher,
                final List<ComponentSearchResultDTO> resultAccumulator) {
         components.stream()
                 .filter(component -> component.isAuthorized(authorizer, RequestAction.READ, user))
-                .map(component -> matcher.match(component, searchQuery))
+                .map(component -> candidates.test(component) ? matcher.match(component, searchQuery) : matcher.matchUnindexed(component, searchQuery))
                 .filter(Optional::isPresent)
                 .map(result -> resultEnricher.enrich(result.get()))
                 .forEach(result -> resultAccumulator.add(result));
@@ -163,6 +216,8 @@ public class ControllerSearchService {
      * @param results Search results
      */
     public void searchParameters(final SearchQuery searchQuery, final SearchResultsDTO results) {
+        final Predicate<Object> candidates = getCandidates(searchQuery);
+
         flowController.getFlowManager()
                 .getParameterContextManager()
                 .getParameterContexts()
@@ -171,11 +226,13 @@ public class ControllerSearchService {
                 .forEach(parameterContext -> {
                     final ComponentSearchResultEnricher resultEnricher = resultEnricherFactory.getParameterResultEnricher(parameterContext);
 
-                    matcherForParameterContext.match(parameterContext, searchQuery)
-                            .ifPresent(match -> results.getParameterContextResults().add(match));
+                    final Optional<ComponentSearchResultDTO> parameterContextMatch = candidates.test(parameterContext)
+                            ? matcherForParameterContext.match(parameterContext, searchQuery)
+                            : matcherForParameterContext.matchUnindexed(parameterContext, searchQuery);
+                    parameterContextMatch.ifPresent(match -> results.getParameterContextResults().add(match));
 
                     parameterContext.getParameters().values().stream()
-                            .map(component -> matcherForParameter.match(component, searchQuery))
+                            .map(component -> candidates.test(component) ? matcherForParameter.match(component, searchQuery) : matcherForParameter.matchUnindexed(component, searchQuery))
                             .filter(Optional::isPresent)
                             .map(result -> resultEnricher.enrich(result.get()))
                             .forEach(result -> results.getParameterResults().add(result));
@@ -194,6 +251,10 @@ public class ControllerSearchService {
         this.resultEnricherFactory = resultEnricherFactory;
     }
 
+    public void setSearchIndex(ComponentSearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
     public void setMatcherForProcessor(ComponentMatcher<ProcessorNode> matcherForProcessor) {
         this.matcherForProcessor = matcherForProcessor;
     }
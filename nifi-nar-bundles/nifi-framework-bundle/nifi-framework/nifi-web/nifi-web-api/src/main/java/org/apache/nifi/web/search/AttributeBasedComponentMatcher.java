@@ -18,16 +18,20 @@ package org.apache.nifi.web.search;
 
 import org.apache.nifi.web.api.dto.search.ComponentSearchResultDTO;
 import org.apache.nifi.web.search.attributematchers.AttributeMatcher;
+import org.apache.nifi.web.search.attributematchers.IndexedAttributeMatcher;
 import org.apache.nifi.web.search.query.SearchQuery;
 
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 public class AttributeBasedComponentMatcher<T> implements ComponentMatcher<T> {
     private final List<AttributeMatcher<T>> attributeMatchers = new ArrayList<>();
+    private final List<IndexedAttributeMatcher<T>> indexedAttributeMatchers = new ArrayList<>();
+    private final List<AttributeMatcher<T>> unindexedAttributeMatchers = new ArrayList<>();
     private final Function<T, String> getComponentIdentifier;
     private final Function<T, String> getComponentName;
 
@@ -38,12 +42,34 @@ public class AttributeBasedComponentMatcher<T> implements ComponentMatcher<T> {
         this.getComponentIdentifier = getComponentIdentifier;
         this.getComponentName = getComponentName;
         this.attributeMatchers.addAll(attributeMatchers);
+
+        for (final AttributeMatcher<T> attributeMatcher : attributeMatchers) {
+            if (attributeMatcher instanceof IndexedAttributeMatcher) {
+                indexedAttributeMatchers.add((IndexedAttributeMatcher<T>) attributeMatcher);
+            } else {
+                unindexedAttributeMatchers.add(attributeMatcher);
+            }
+        }
     }
 
     @Override
     public final Optional<ComponentSearchResultDTO> match(final T component, final SearchQuery query) {
+        return match(component, query, attributeMatchers);
+    }
+
+    @Override
+    public final void collectIndexedAttributes(final T component, final Consumer<String> attributes) {
+        indexedAttributeMatchers.forEach(matcher -> matcher.collectAttributes(component, attributes));
+    }
+
+    @Override
+    public final Optional<ComponentSearchResultDTO> matchUnindexed(final T component, final SearchQuery query) {
+        return match(component, query, unindexedAttributeMatchers);
+    }
+
+    private Optional<ComponentSearchResultDTO> match(final T component, final SearchQuery query, final List<AttributeMatcher<T>> matchers) {
         final List<String> matches = new LinkedList<>();
-        attributeMatchers.forEach(matcher -> matcher.match(component, query, matches));
+        matchers.forEach(matcher -> matcher.match(component, query, matches));
 
         return matches.isEmpty()
                 ? Optional.empty()
@@ -20,6 +20,7 @@ import org.apache.nifi.web.api.dto.search.ComponentSearchResultDTO;
 import org.apache.nifi.web.search.query.SearchQuery;
 
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Service responsible to clamp all the possible matches for a given component type.
@@ -38,4 +39,27 @@ public interface ComponentMatcher<COMPONENT_TYPE> {
      * with the details of the results in case there was at least one match for the given component and query.
      */
     Optional<ComponentSearchResultDTO> match(COMPONENT_TYPE component, SearchQuery query);
+
+    /**
+     * Provides the textual attributes of the component which are eligible for indexing. A match based on these attributes is
+     * only possible when one of them contains the search term.
+     *
+     * @param component The component to collect the attributes of.
+     * @param attributes Receives the attributes.
+     */
+    default void collectIndexedAttributes(final COMPONENT_TYPE component, final Consumer<String> attributes) {
+    }
+
+    /**
+     * Tries to match the incoming search query against a given component, which is known to have no indexed attribute containing the
+     * search term. Only the matching not covered by {@link #collectIndexedAttributes(Object, Consumer)} needs to be executed.
+     *
+     * @param component The component to match against.
+     * @param query The search query to match.
+     *
+     * @return The result of the matching, see {@link #match(Object, SearchQuery)}.
+     */
+    default Optional<ComponentSearchResultDTO> matchUnindexed(final COMPONENT_TYPE component, final SearchQuery query) {
+        return match(component, query);
+    }
 }
@@ -20,10 +20,11 @@ import org.apache.nifi.connectable.Connectable;
 import org.apache.nifi.web.search.query.SearchQuery;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.apache.nifi.web.search.attributematchers.AttributeMatcher.addIfMatching;
 
-public class BasicMatcher<T extends Connectable> implements AttributeMatcher<T> {
+public class BasicMatcher<T extends Connectable> implements IndexedAttributeMatcher<T> {
     private static final String LABEL_ID = "Id";
     private static final String LABEL_VERSION_CONTROL_ID = "Version Control ID";
 
@@ -34,4 +35,10 @@ public class BasicMatcher<T extends Connectable> implements AttributeMatcher<T>
         addIfMatching(searchTerm, component.getIdentifier(), LABEL_ID, matches);
         addIfMatching(searchTerm, component.getVersionedComponentId().orElse(null), LABEL_VERSION_CONTROL_ID, matches);
     }
+
+    @Override
+    public void collectAttributes(final T component, final Consumer<String> attributes) {
+        attributes.accept(component.getIdentifier());
+        attributes.accept(component.getVersionedComponentId().orElse(null));
+    }
 }
@@ -20,10 +20,11 @@ import org.apache.nifi.connectable.Connection;
 import org.apache.nifi.web.search.query.SearchQuery;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.apache.nifi.web.search.attributematchers.AttributeMatcher.addIfMatching;
 
-public class ConnectionMatcher implements AttributeMatcher<Connection> {
+public class ConnectionMatcher implements IndexedAttributeMatcher<Connection> {
     private static final String LABEL_ID = "Id";
     private static final String LABEL_VERSION_CONTROL_ID = "Version Control ID";
     private static final String LABEL_NAME = "Name";
@@ -36,4 +37,11 @@ public class ConnectionMatcher implements AttributeMatcher<Connection> {
         addIfMatching(searchTerm, component.getVersionedComponentId().orElse(null), LABEL_VERSION_CONTROL_ID, matches);
         addIfMatching(searchTerm, component.getName(), LABEL_NAME, matches);
     }
+
+    @Override
+    public void collectAttributes(final Connection component, final Consumer<String> attributes) {
+        attributes.accept(component.getIdentifier());
+        attributes.accept(component.getVersionedComponentId().orElse(null));
+        attributes.accept(component.getName());
+    }
 }
@@ -20,12 +20,18 @@ import org.apache.nifi.connectable.Connection;
 import org.apache.nifi.web.search.query.SearchQuery;
 
 import java.util.List;
+import java.util.function.Consumer;
 
-public class ConnectionRelationshipMatcher implements AttributeMatcher<Connection> {
+public class ConnectionRelationshipMatcher implements IndexedAttributeMatcher<Connection> {
     private static final String LABEL = "Relationship";
 
     @Override
     public void match(final Connection component, final SearchQuery query, final List<String> matches) {
         component.getRelationships().forEach(r -> AttributeMatcher.addIfMatching(query.getTerm(), r.getName(), LABEL, matches));
     }
+
+    @Override
+    public void collectAttributes(final Connection component, final Consumer<String> attributes) {
+        component.getRelationships().forEach(r -> attributes.accept(r.getName()));
+    }
 }
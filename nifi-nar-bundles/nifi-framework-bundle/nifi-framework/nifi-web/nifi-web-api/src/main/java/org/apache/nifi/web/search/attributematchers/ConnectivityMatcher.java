@@ -21,10 +21,11 @@ import org.apache.nifi.connectable.Connection;
 import org.apache.nifi.web.search.query.SearchQuery;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.apache.nifi.web.search.attributematchers.AttributeMatcher.addIfMatching;
 
-public class ConnectivityMatcher implements AttributeMatcher<Connection> {
+public class ConnectivityMatcher implements IndexedAttributeMatcher<Connection> {
     @Override
     public void match(final Connection component, final SearchQuery query, final List<String> matches) {
         final String searchTerm = query.getTerm();
@@ -39,4 +40,17 @@ public class ConnectivityMatcher implements AttributeMatcher<Connection> {
         addIfMatching(searchTerm, destination.getName(), "Destination name", matches);
         addIfMatching(searchTerm, destination.getComments(), "Destination comments", matches);
     }
+
+    @Override
+    public void collectAttributes(final Connection component, final Consumer<String> attributes) {
+        final Connectable source = component.getSource();
+        attributes.accept(source.getIdentifier());
+        attributes.accept(source.getName());
+        attributes.accept(source.getComments());
+
+        final Connectable destination = component.getDestination();
+        attributes.accept(destination.getIdentifier());
+        attributes.accept(destination.getName());
+        attributes.accept(destination.getComments());
+    }
 }
@@ -20,10 +20,11 @@ import org.apache.nifi.controller.service.ControllerServiceNode;
 import org.apache.nifi.web.search.query.SearchQuery;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.apache.nifi.web.search.attributematchers.AttributeMatcher.addIfMatching;
 
-public class ControllerServiceNodeMatcher implements AttributeMatcher<ControllerServiceNode> {
+public class ControllerServiceNodeMatcher implements IndexedAttributeMatcher<ControllerServiceNode> {
     private static final String LABEL_ID = "Id";
     private static final String LABEL_VERSION_CONTROL_ID = "Version Control ID";
     private static final String LABEL_NAME = "Name";
@@ -38,4 +39,12 @@ public class ControllerServiceNodeMatcher implements AttributeMatcher<Controller
         addIfMatching(searchTerm, component.getName(), LABEL_NAME, matches);
         addIfMatching(searchTerm, component.getComments(), LABEL_COMMENTS, matches);
     }
+
+    @Override
+    public void collectAttributes(final ControllerServiceNode component, final Consumer<String> attributes) {
+        attributes.accept(component.getIdentifier());
+        attributes.accept(component.getVersionedComponentId().orElse(null));
+        attributes.accept(component.getName());
+        attributes.accept(component.getComments());
+    }
 }
@@ -20,6 +20,7 @@ import org.apache.nifi.connectable.Connectable;
 import org.apache.nifi.web.search.query.SearchQuery;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.apache.nifi.web.search.attributematchers.AttributeMatcher.addIfMatching;
 
@@ -35,4 +36,11 @@ public class ExtendedMatcher<T extends Connectable> extends BasicMatcher<T> {
         addIfMatching(searchTerm, component.getName(), LABEL_NAME, matches);
         addIfMatching(searchTerm, component.getComments(), LABEL_COMMENTS, matches);
     }
+
+    @Override
+    public void collectAttributes(final T component, final Consumer<String> attributes) {
+        super.collectAttributes(component, attributes);
+        attributes.accept(component.getName());
+        attributes.accept(component.getComments());
+    }
 }
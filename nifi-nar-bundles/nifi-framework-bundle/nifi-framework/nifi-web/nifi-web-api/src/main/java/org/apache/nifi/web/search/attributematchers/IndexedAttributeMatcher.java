@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.web.search.attributematchers;
+
+import java.util.function.Consumer;
+
+/**
+ * Attribute matcher which matches only when one of the component's textual attributes contains the search term. Such attributes
+ * can be indexed, making it possible to skip the matcher for components none of whose attributes contains the term.
+ *
+ * @param <T> The component type.
+ */
+public interface IndexedAttributeMatcher<T> extends AttributeMatcher<T> {
+
+    /**
+     * Provides every attribute the matcher looks for the search term in.
+     *
+     * @param component The component to collect the attributes of.
+     * @param attributes Receives the attributes.
+     */
+    void collectAttributes(T component, Consumer<String> attributes);
+}
@@ -20,10 +20,11 @@ import org.apache.nifi.controller.label.Label;
 import org.apache.nifi.web.search.query.SearchQuery;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.apache.nifi.web.search.attributematchers.AttributeMatcher.addIfMatching;
 
-public class LabelMatcher implements AttributeMatcher<Label>  {
+public class LabelMatcher implements IndexedAttributeMatcher<Label>  {
     private static final String LABEL_ID = "Id";
     private static final String LABEL_VALUE = "Value";
 
@@ -34,4 +35,10 @@ public class LabelMatcher implements AttributeMatcher<Label>  {
         addIfMatching(searchTerm, component.getIdentifier(), LABEL_ID, matches);
         addIfMatching(searchTerm, component.getValue(), LABEL_VALUE, matches);
     }
+
+    @Override
+    public void collectAttributes(final Label component, final Consumer<String> attributes) {
+        attributes.accept(component.getIdentifier());
+        attributes.accept(component.getValue());
+    }
 }
@@ -20,10 +20,11 @@ import org.apache.nifi.parameter.ParameterContext;
 import org.apache.nifi.web.search.query.SearchQuery;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.apache.nifi.web.search.attributematchers.AttributeMatcher.addIfMatching;
 
-public class ParameterContextMatcher implements AttributeMatcher<ParameterContext> {
+public class ParameterContextMatcher implements IndexedAttributeMatcher<ParameterContext> {
     private static final String LABEL_ID = "Id";
     private static final String LABEL_NAME = "Name";
     private static final String LABEL_DESCRIPTION = "Description";
@@ -36,4 +37,11 @@ public class ParameterContextMatcher implements AttributeMatcher<ParameterContex
         addIfMatching(searchTerm, component.getName(), LABEL_NAME, matches);
         addIfMatching(searchTerm, component.getDescription(), LABEL_DESCRIPTION, matches);
     }
+
+    @Override
+    public void collectAttributes(final ParameterContext component, final Consumer<String> attributes) {
+        attributes.accept(component.getIdentifier());
+        attributes.accept(component.getName());
+        attributes.accept(component.getDescription());
+    }
 }
@@ -20,10 +20,11 @@ import org.apache.nifi.parameter.Parameter;
 import org.apache.nifi.web.search.query.SearchQuery;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.apache.nifi.web.search.attributematchers.AttributeMatcher.addIfMatching;
 
-public class ParameterMatcher implements AttributeMatcher<Parameter> {
+public class ParameterMatcher implements IndexedAttributeMatcher<Parameter> {
     private static final String LABEL_NAME = "Name";
     private static final String LABEL_VALUE = "Value";
     private static final String LABEL_DESCRIPTION = "Description";
@@ -39,4 +40,14 @@ public class ParameterMatcher implements AttributeMatcher<Parameter> {
             addIfMatching(searchTerm, component.getValue(), LABEL_VALUE, matches);
         }
     }
+
+    @Override
+    public void collectAttributes(final Parameter component, final Consumer<String> attributes) {
+        attributes.accept(component.getDescriptor().getName());
+        attributes.accept(component.getDescriptor().getDescription());
+
+        if (!component.getDescriptor().isSensitive()) {
+            attributes.accept(component.getValue());
+        }
+    }
 }
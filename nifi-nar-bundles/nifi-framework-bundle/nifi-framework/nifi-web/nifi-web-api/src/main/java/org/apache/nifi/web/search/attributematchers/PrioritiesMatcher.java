@@ -20,14 +20,20 @@ import org.apache.nifi.connectable.Connection;
 import org.apache.nifi.web.search.query.SearchQuery;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.apache.nifi.web.search.attributematchers.AttributeMatcher.addIfMatching;
 
-public class PrioritiesMatcher implements AttributeMatcher<Connection> {
+public class PrioritiesMatcher implements IndexedAttributeMatcher<Connection> {
     private static final String LABEL = "Prioritizer";
 
     @Override
     public void match(final Connection component, final SearchQuery query, final List<String> matches) {
         component.getFlowFileQueue().getPriorities().forEach(prioritizer -> addIfMatching(query.getTerm(), prioritizer.getClass().getName(), LABEL, matches));
     }
+
+    @Override
+    public void collectAttributes(final Connection component, final Consumer<String> attributes) {
+        component.getFlowFileQueue().getPriorities().forEach(prioritizer -> attributes.accept(prioritizer.getClass().getName()));
+    }
 }
@@ -20,8 +20,9 @@ import org.apache.nifi.controller.ProcessorNode;
 import org.apache.nifi.web.search.query.SearchQuery;
 
 import java.util.List;
+import java.util.function.Consumer;
 
-public class ProcessorMetadataMatcher implements AttributeMatcher<ProcessorNode> {
+public class ProcessorMetadataMatcher implements IndexedAttributeMatcher<ProcessorNode> {
     private static final String LABEL = "Type";
 
     @Override
@@ -30,4 +31,10 @@ public class ProcessorMetadataMatcher implements AttributeMatcher<ProcessorNode>
         AttributeMatcher.addIfMatching(searchTerm, component.getProcessor().getClass().getSimpleName(), LABEL, matches);
         AttributeMatcher.addIfMatching(searchTerm, component.getComponentType(), LABEL, matches);
     }
+
+    @Override
+    public void collectAttributes(final ProcessorNode component, final Consumer<String> attributes) {
+        attributes.accept(component.getProcessor().getClass().getSimpleName());
+        attributes.accept(component.getComponentType());
+    }
 }
@@ -27,10 +27,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.apache.nifi.web.search.attributematchers.AttributeMatcher.addIfMatching;
 
-public class PropertyMatcher implements AttributeMatcher<ComponentNode> {
+public class PropertyMatcher implements IndexedAttributeMatcher<ComponentNode> {
     private static final String LABEL_NAME = "Property name";
     private static final String LABEL_VALUE = "Property value";
     private static final String LABEL_DESCRIPTION = "Property description";
@@ -61,6 +62,20 @@ public class PropertyMatcher implements AttributeMatcher<ComponentNode> {
         }
     }
 
+    @Override
+    public void collectAttributes(final ComponentNode component, final Consumer<String> attributes) {
+        for (final Map.Entry<PropertyDescriptor, String> entry : component.getRawPropertyValues().entrySet()) {
+            final PropertyDescriptor descriptor = entry.getKey();
+            attributes.accept(descriptor.getName());
+            attributes.accept(descriptor.getDescription());
+
+            // sensitive property values are never matched, so they are not indexed either
+            if (!descriptor.isSensitive()) {
+                attributes.accept(Optional.ofNullable(entry.getValue()).orElse(descriptor.getDefaultValue()));
+            }
+        }
+    }
+
     private boolean propertiesAreFilteredOut(final SearchQuery query) {
         return query.hasFilter(FILTER_NAME_PROPERTIES) && FILTER_VALUES_PROPERTIES_EXCLUSION.contains(query.getFilter(FILTER_NAME_PROPERTIES));
     }
@@ -21,10 +21,11 @@ import org.apache.nifi.remote.PublicPort;
 import org.apache.nifi.web.search.query.SearchQuery;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.apache.nifi.web.search.attributematchers.AttributeMatcher.addIfMatching;
 
-public class PublicPortMatcher implements AttributeMatcher<Port> {
+public class PublicPortMatcher implements IndexedAttributeMatcher<Port> {
     private static final String LABEL_USER = "User access control";
     private static final String LABEL_GROUP = "Group access control";
 
@@ -39,4 +40,13 @@ public class PublicPortMatcher implements AttributeMatcher<Port> {
             publicPort.getGroupAccessControl().forEach(control -> addIfMatching(searchTerm, control, LABEL_GROUP, matches));
         }
     }
+
+    @Override
+    public void collectAttributes(final Port component, final Consumer<String> attributes) {
+        if (component instanceof PublicPort) {
+            final PublicPort publicPort = (PublicPort) component;
+            publicPort.getUserAccessControl().forEach(attributes);
+            publicPort.getGroupAccessControl().forEach(attributes);
+        }
+    }
 }
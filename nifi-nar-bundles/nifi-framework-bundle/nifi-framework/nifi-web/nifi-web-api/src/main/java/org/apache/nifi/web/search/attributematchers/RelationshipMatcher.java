@@ -20,12 +20,18 @@ import org.apache.nifi.connectable.Connectable;
 import org.apache.nifi.web.search.query.SearchQuery;
 
 import java.util.List;
+import java.util.function.Consumer;
 
-public class RelationshipMatcher<T extends Connectable> implements AttributeMatcher<T> {
+public class RelationshipMatcher<T extends Connectable> implements IndexedAttributeMatcher<T> {
     private static final String LABEL = "Relationship";
 
     @Override
     public void match(final T component, final SearchQuery query, final List<String> matches) {
         component.getRelationships().forEach(r -> AttributeMatcher.addIfMatching(query.getTerm(), r.getName(), LABEL, matches));
     }
+
+    @Override
+    public void collectAttributes(final T component, final Consumer<String> attributes) {
+        component.getRelationships().forEach(r -> attributes.accept(r.getName()));
+    }
 }
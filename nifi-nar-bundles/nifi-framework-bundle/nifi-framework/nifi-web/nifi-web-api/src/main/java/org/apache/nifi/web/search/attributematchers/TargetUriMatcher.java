@@ -20,12 +20,18 @@ import org.apache.nifi.groups.RemoteProcessGroup;
 import org.apache.nifi.web.search.query.SearchQuery;
 
 import java.util.List;
+import java.util.function.Consumer;
 
-public class TargetUriMatcher implements AttributeMatcher<RemoteProcessGroup> {
+public class TargetUriMatcher implements IndexedAttributeMatcher<RemoteProcessGroup> {
     private static final String LABEL = "URLs";
 
     @Override
     public void match(final RemoteProcessGroup component, final SearchQuery query, final List<String> matches) {
         AttributeMatcher.addIfMatching(query.getTerm(), component.getTargetUris(), LABEL, matches);
     }
+
+    @Override
+    public void collectAttributes(final RemoteProcessGroup component, final Consumer<String> attributes) {
+        attributes.accept(component.getTargetUris());
+    }
 }
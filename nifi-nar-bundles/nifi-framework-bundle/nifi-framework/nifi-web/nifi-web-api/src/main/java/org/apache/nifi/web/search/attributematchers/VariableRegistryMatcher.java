@@ -23,10 +23,11 @@ import org.apache.nifi.web.search.query.SearchQuery;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.apache.nifi.web.search.attributematchers.AttributeMatcher.addIfMatching;
 
-public class VariableRegistryMatcher implements AttributeMatcher<ProcessGroup> {
+public class VariableRegistryMatcher implements IndexedAttributeMatcher<ProcessGroup> {
     private static final String LABEL_NAME = "Variable Name";
     private static final String LABEL_VALUE = "Variable Value";
 
@@ -41,4 +42,16 @@ public class VariableRegistryMatcher implements AttributeMatcher<ProcessGroup> {
             }
         }
     }
+
+    @Override
+    public void collectAttributes(final ProcessGroup component, final Consumer<String> attributes) {
+        final ComponentVariableRegistry variableRegistry = component.getVariableRegistry();
+
+        if (variableRegistry != null) {
+            for (final Map.Entry<VariableDescriptor, String> entry : variableRegistry.getVariableMap().entrySet()) {
+                attributes.accept(entry.getKey().getName());
+                attributes.accept(entry.getValue());
+            }
+        }
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.web.search.index;
+
+import org.apache.nifi.groups.ProcessGroup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Holds the {@link SearchIndex} of the current flow.
+ *
+ * The index is built by the first search after the flow has been modified, so the searches issued while the user is typing
+ * share a single index. Modifications made through the service facade invalidate the index right away, while the maximum age
+ * bounds the staleness caused by changes made outside of it, like the flow inherited when joining a cluster.
+ */
+public class ComponentSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(ComponentSearchIndex.class);
+
+    private static final long MAX_INDEX_AGE_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final AtomicLong flowGeneration = new AtomicLong(0L);
+    private volatile IndexedFlow indexedFlow;
+
+    /**
+     * Marks the current index as outdated. Called whenever the flow might have been modified.
+     */
+    public void invalidate() {
+        flowGeneration.incrementAndGet();
+    }
+
+    /**
+     * Returns the index of the flow under the given root group, building it if the current one is outdated.
+     *
+     * @param rootGroup The root group of the flow.
+     * @param indexer Builds the index of the flow under the given root group.
+     *
+     * @return The index of the flow.
+     */
+    public SearchIndex getIndex(final ProcessGroup rootGroup, final Function<ProcessGroup, SearchIndex> indexer) {
+        final IndexedFlow current = indexedFlow;
+        if (current != null && current.isCurrent(rootGroup, flowGeneration.get())) {
+            return current.getIndex();
+        }
+
+        synchronized (this) {
+            // another search might have built the index while waiting for the lock
+            final long generation = flowGeneration.get();
+            final IndexedFlow latest = indexedFlow;
+            if (latest != null && latest.isCurrent(rootGroup, generation)) {
+                return latest.getIndex();
+            }
+
+            final long start = System.nanoTime();
+            final SearchIndex index = indexer.apply(rootGroup);
+            indexedFlow = new IndexedFlow(rootGroup, generation, start, index);
+
+            if (logger.isDebugEnabled()) {
+                logger.debug("Indexed {} components with {} distinct tokens for searching in {} millis",
+                        index.getComponentCount(), index.getTokenCount(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+
+            return index;
+        }
+    }
+
+    private static class IndexedFlow {
+        private final ProcessGroup rootGroup;
+        private final long generation;
+        private final long createdNanos;
+        private final SearchIndex index;
+
+        IndexedFlow(final ProcessGroup rootGroup, final long generation, final long createdNanos, final SearchIndex index) {
+            this.rootGroup = rootGroup;
+            this.generation = generation;
+            this.createdNanos = createdNanos;
+            this.index = index;
+        }
+
+        boolean isCurrent(final ProcessGroup rootGroup, final long generation) {
+            return this.rootGroup == rootGroup && this.generation == generation && System.nanoTime() - createdNanos < MAX_INDEX_AGE_NANOS;
+        }
+
+        SearchIndex getIndex() {
+            return index;
+        }
+    }
+}
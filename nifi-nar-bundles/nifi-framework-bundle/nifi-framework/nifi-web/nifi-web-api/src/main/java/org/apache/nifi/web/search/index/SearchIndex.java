@@ -0,0 +1,288 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.web.search.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Inverted index over the textual attributes of components, used for narrowing down the components a search term might match.
+ *
+ * The attributes are split into tokens at every character which is neither a letter nor a digit and every token refers to the
+ * components it appears in. As the search matches substrings, the vocabulary is also kept sorted for prefix lookups and indexed
+ * by n-grams for lookups of arbitrary parts of the tokens.
+ *
+ * The index never rules out a possible match: the candidates for a term are a superset of the components having an attribute
+ * containing the term (ignoring case) and components unknown to the index are always candidates. Producing the actual matches
+ * remains the responsibility of the matchers.
+ */
+public class SearchIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final Predicate<Object> ALL_COMPONENTS = component -> true;
+
+    private final Map<Object, Integer> documents;
+    private final NavigableMap<String, int[]> postings;
+    private final Map<String, String[]> tokensByGram;
+
+    private SearchIndex(final Map<Object, Integer> documents, final NavigableMap<String, int[]> postings, final Map<String, String[]> tokensByGram) {
+        this.documents = documents;
+        this.postings = postings;
+        this.tokensByGram = tokensByGram;
+    }
+
+    /**
+     * @return The number of indexed components.
+     */
+    public int getComponentCount() {
+        return documents.size();
+    }
+
+    /**
+     * @return The number of distinct tokens in the index.
+     */
+    public int getTokenCount() {
+        return postings.size();
+    }
+
+    /**
+     * Returns the components which might have an attribute containing the given term. Terms without any letter or digit cannot be
+     * looked up in the index, for those every component is a candidate.
+     *
+     * @param term The search term.
+     *
+     * @return Predicate accepting the candidate components.
+     */
+    public Predicate<Object> getCandidates(final String term) {
+        final String foldedTerm = fold(term);
+        final List<String> parts = new ArrayList<>();
+        tokenize(foldedTerm, parts::add);
+
+        if (parts.isEmpty()) {
+            return ALL_COMPONENTS;
+        }
+
+        // every part but the first one has to start a token and every part but the last one has to end one
+        final boolean leadingSeparator = !isTokenCharacter(foldedTerm.charAt(0));
+        final boolean trailingSeparator = !isTokenCharacter(foldedTerm.charAt(foldedTerm.length() - 1));
+        final int lastPart = parts.size() - 1;
+        BitSet candidates = null;
+
+        for (int i = 0; i <= lastPart; i++) {
+            final BitSet partCandidates = findDocuments(parts.get(i), i > 0 || leadingSeparator, i < lastPart || trailingSeparator);
+
+            if (candidates == null) {
+                candidates = partCandidates;
+            } else {
+                candidates.and(partCandidates);
+            }
+        }
+
+        final BitSet result = candidates;
+        return component -> {
+            final Integer document = documents.get(component);
+            return document == null || result.get(document);
+        };
+    }
+
+    private BitSet findDocuments(final String part, final boolean startsToken, final boolean endsToken) {
+        final BitSet result = new BitSet(documents.size());
+
+        if (startsToken && endsToken) {
+            addPostings(postings.get(part), result);
+        } else if (startsToken) {
+            postings.subMap(part, true, part + Character.MAX_VALUE, false).values().forEach(documentIds -> addPostings(documentIds, result));
+        } else {
+            for (final String token : getTokensContaining(part)) {
+                if (!endsToken || token.endsWith(part)) {
+                    addPostings(postings.get(token), result);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private Collection<String> getTokensContaining(final String part) {
+        if (part.length() < GRAM_LENGTH) {
+            final List<String> result = new ArrayList<>();
+
+            for (final String token : postings.keySet()) {
+                if (token.contains(part)) {
+                    result.add(token);
+                }
+            }
+
+            return result;
+        }
+
+        // every token containing the part contains all of its n-grams, so it is enough to check the tokens of the rarest one
+        String[] tokens = null;
+
+        for (int i = 0; i + GRAM_LENGTH <= part.length(); i++) {
+            final String[] tokensWithGram = tokensByGram.get(part.substring(i, i + GRAM_LENGTH));
+
+            if (tokensWithGram == null) {
+                return Collections.emptyList();
+            }
+
+            if (tokens == null || tokensWithGram.length < tokens.length) {
+                tokens = tokensWithGram;
+            }
+        }
+
+        final List<String> result = new ArrayList<>();
+
+        for (final String token : tokens) {
+            if (token.contains(part)) {
+                result.add(token);
+            }
+        }
+
+        return result;
+    }
+
+    private static void addPostings(final int[] documentIds, final BitSet result) {
+        if (documentIds != null) {
+            for (final int documentId : documentIds) {
+                result.set(documentId);
+            }
+        }
+    }
+
+    /**
+     * Folds the case of the text in a way that characters considered equal by {@link String#regionMatches(boolean, int, String, int, int)}
+     * when ignoring case are folded into the same character, thus the index agrees with the case insensitive matching of the matchers.
+     */
+    private static String fold(final String text) {
+        final char[] result = new char[text.length()];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Character.toLowerCase(Character.toUpperCase(text.charAt(i)));
+        }
+
+        return new String(result);
+    }
+
+    private static boolean isTokenCharacter(final char character) {
+        return Character.isLetterOrDigit(character);
+    }
+
+    private static void tokenize(final String foldedText, final Consumer<String> tokens) {
+        int tokenStart = -1;
+
+        for (int i = 0; i < foldedText.length(); i++) {
+            if (isTokenCharacter(foldedText.charAt(i))) {
+                if (tokenStart < 0) {
+                    tokenStart = i;
+                }
+            } else if (tokenStart >= 0) {
+                tokens.accept(foldedText.substring(tokenStart, i));
+                tokenStart = -1;
+            }
+        }
+
+        if (tokenStart >= 0) {
+            tokens.accept(foldedText.substring(tokenStart));
+        }
+    }
+
+    /**
+     * Collects the attributes of the components and builds the immutable index.
+     */
+    public static class Builder {
+        private final Map<Object, Integer> documents = new IdentityHashMap<>();
+        private final Map<String, DocumentIds> postings = new HashMap<>();
+
+        /**
+         * Returns the consumer collecting the attributes of the given component. The component is referenced by identity.
+         *
+         * @param component The indexed component.
+         *
+         * @return Consumer for the textual attributes of the component. Null attributes are ignored.
+         */
+        public Consumer<String> component(final Object component) {
+            final int documentId = documents.computeIfAbsent(component, key -> documents.size());
+
+            return attribute -> {
+                if (attribute != null) {
+                    tokenize(fold(attribute), token -> postings.computeIfAbsent(token, key -> new DocumentIds()).add(documentId));
+                }
+            };
+        }
+
+        public SearchIndex build() {
+            final NavigableMap<String, int[]> builtPostings = new TreeMap<>();
+            final Map<String, List<String>> tokensByGram = new HashMap<>();
+
+            for (final Map.Entry<String, DocumentIds> entry : postings.entrySet()) {
+                final String token = entry.getKey();
+                builtPostings.put(token, entry.getValue().toArray());
+
+                final Set<String> grams = new HashSet<>();
+                for (int i = 0; i + GRAM_LENGTH <= token.length(); i++) {
+                    grams.add(token.substring(i, i + GRAM_LENGTH));
+                }
+
+                grams.forEach(gram -> tokensByGram.computeIfAbsent(gram, key -> new ArrayList<>()).add(token));
+            }
+
+            final Map<String, String[]> builtTokensByGram = new HashMap<>(tokensByGram.size() * 4 / 3 + 1);
+            tokensByGram.forEach((gram, tokens) -> builtTokensByGram.put(gram, tokens.toArray(new String[tokens.size()])));
+
+            return new SearchIndex(new IdentityHashMap<>(documents), builtPostings, builtTokensByGram);
+        }
+    }
+
+    /**
+     * Growable list of document ids. Ids are mostly added in increasing order, the rest is taken care of when building.
+     */
+    private static class DocumentIds {
+        private int[] ids = new int[2];
+        private int size = 0;
+
+        void add(final int id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+
+            ids[size++] = id;
+        }
+
+        int[] toArray() {
+            final int[] result = Arrays.copyOf(ids, size);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+}
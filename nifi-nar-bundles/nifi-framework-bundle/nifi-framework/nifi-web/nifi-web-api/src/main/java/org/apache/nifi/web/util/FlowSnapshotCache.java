@@ -0,0 +1,310 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.web.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.nifi.authorization.AccessPolicy;
+import org.apache.nifi.authorization.AccessPolicyProvider;
+import org.apache.nifi.authorization.Authorizer;
+import org.apache.nifi.authorization.Group;
+import org.apache.nifi.authorization.ManagedAuthorizer;
+import org.apache.nifi.authorization.User;
+import org.apache.nifi.authorization.UserAndGroups;
+import org.apache.nifi.authorization.UserGroupProvider;
+import org.apache.nifi.authorization.user.NiFiUser;
+import org.apache.nifi.util.FormatUtils;
+import org.apache.nifi.util.NiFiProperties;
+import org.apache.nifi.web.api.entity.Entity;
+
+import javax.ws.rs.core.EntityTag;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches the serialized form of the entities that are returned when a Process Group is polled, so that a Process Group
+ * is not rebuilt, and re-authorized component by component, for every poll. Because the content of an entity depends upon
+ * what the requesting user is authorized to see, a snapshot is only shared by requests made on behalf of the same chain of
+ * users, and only while the access policies that apply to those users are unchanged. All snapshots are discarded whenever the
+ * flow is modified and otherwise expire after a configurable period, so that the status and bulletins that they contain
+ * remain current.
+ */
+public class FlowSnapshotCache {
+    private static final int MAX_SNAPSHOTS = 1000;
+
+    private final long expirationMillis;
+    private final Authorizer authorizer;
+    private final Cache<SnapshotKey, FlowSnapshot> snapshots;
+    private final AtomicLong flowGeneration = new AtomicLong(0L);
+    private final ObjectMapper objectMapper;
+
+    public FlowSnapshotCache(final NiFiProperties properties, final Authorizer authorizer) {
+        // an unsecured instance approves every request, so its authorization decisions never change
+        this(FormatUtils.getTimeDuration(properties.getWebFlowSnapshotCacheExpiration(), TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS,
+            properties.getSslPort() == null ? null : authorizer);
+    }
+
+    public FlowSnapshotCache(final long expiration, final TimeUnit timeUnit) {
+        this(expiration, timeUnit, null);
+    }
+
+    /**
+     * @param expiration how long a snapshot may be reused
+     * @param timeUnit the unit of the expiration
+     * @param authorizer the authorizer whose access policies determine what each user may see, or <code>null</code> if
+     *                   authorization decisions never change
+     */
+    public FlowSnapshotCache(final long expiration, final TimeUnit timeUnit, final Authorizer authorizer) {
+        this.expirationMillis = timeUnit.toMillis(expiration);
+        this.authorizer = authorizer;
+        this.snapshots = CacheBuilder.newBuilder()
+            .maximumSize(MAX_SNAPSHOTS)
+            .expireAfterWrite(Math.max(1L, expirationMillis), TimeUnit.MILLISECONDS)
+            .build();
+
+        try {
+            this.objectMapper = new ObjectMapperResolver().getContext(Entity.class);
+        } catch (final Exception e) {
+            throw new IllegalStateException("Unable to create Object Mapper for serializing flow snapshots", e);
+        }
+    }
+
+    /**
+     * Snapshots are only cached when the access policies are managed by NiFi, since otherwise there is no telling when
+     * the policies that a snapshot was authorized against have changed.
+     *
+     * @return <code>true</code> if snapshots are cached, <code>false</code> if every request should build its entity
+     */
+    public boolean isEnabled() {
+        return expirationMillis > 0 && (authorizer == null || authorizer instanceof ManagedAuthorizer);
+    }
+
+    /**
+     * Discards all snapshots. Called whenever the flow has been modified.
+     */
+    public void invalidate() {
+        flowGeneration.incrementAndGet();
+        snapshots.invalidateAll();
+    }
+
+    /**
+     * Returns the snapshot of the given type for the given Process Group, as built for the given user, building it with the
+     * given supplier if there is no snapshot or the flow has been modified since it was built.
+     *
+     * @param snapshotType the type of entity that the snapshot holds, such as the flow or the Process Group itself
+     * @param groupId the identifier of the Process Group
+     * @param user the user that the entity is built for
+     * @param baseUri the base URI of the request, since entities contain URIs that depend upon how the request was proxied
+     * @param entitySupplier supplies the entity if it must be built
+     * @return the snapshot
+     */
+    public FlowSnapshot getSnapshot(final String snapshotType, final String groupId, final NiFiUser user, final String baseUri, final Supplier<? extends Entity> entitySupplier) {
+        final SnapshotKey key = new SnapshotKey(snapshotType, groupId, baseUri, getUserChainKey(user), getAuthorizationRevision(user));
+
+        final long generation = flowGeneration.get();
+        final FlowSnapshot existing = snapshots.getIfPresent(key);
+        if (existing != null && existing.getGeneration() == generation) {
+            return existing;
+        }
+
+        final FlowSnapshot snapshot = createSnapshot(entitySupplier.get(), generation);
+
+        // only cache the snapshot if the flow was not modified while it was being built
+        if (flowGeneration.get() == generation) {
+            snapshots.put(key, snapshot);
+        }
+
+        return snapshot;
+    }
+
+    private FlowSnapshot createSnapshot(final Entity entity, final long generation) {
+        final byte[] content;
+        try {
+            content = objectMapper.writeValueAsBytes(entity);
+        } catch (final IOException e) {
+            throw new IllegalStateException("Unable to serialize flow snapshot", e);
+        }
+
+        return new FlowSnapshot(content, new EntityTag(hash(content)), generation);
+    }
+
+    /**
+     * Determines the revision of the access policies as they apply to each user in the given chain. Whether a user is
+     * authorized for a component depends upon which policies exist, because a component without a policy inherits the policy
+     * of its parent, and upon which of them apply to the user, either directly or through a group that the user belongs to.
+     * The revision changes whenever either of these does.
+     */
+    private String getAuthorizationRevision(final NiFiUser user) {
+        if (authorizer == null) {
+            return "";
+        }
+
+        final AccessPolicyProvider accessPolicyProvider = ((ManagedAuthorizer) authorizer).getAccessPolicyProvider();
+        final UserGroupProvider userGroupProvider = accessPolicyProvider.getUserGroupProvider();
+
+        final List<Set<String>> chainTenantIds = new ArrayList<>();
+        NiFiUser chainedUser = user;
+        while (chainedUser != null) {
+            chainTenantIds.add(getTenantIds(userGroupProvider.getUserAndGroups(chainedUser.getIdentity())));
+            chainedUser = chainedUser.getChain();
+        }
+
+        final SortedSet<String> policyStates = new TreeSet<>();
+        for (final AccessPolicy policy : accessPolicyProvider.getAccessPolicies()) {
+            final StringBuilder sb = new StringBuilder();
+            sb.append(policy.getIdentifier()).append(':').append(policy.getResource()).append(':').append(policy.getAction()).append(':');
+            for (final Set<String> tenantIds : chainTenantIds) {
+                final boolean applies = !Collections.disjoint(tenantIds, policy.getUsers()) || !Collections.disjoint(tenantIds, policy.getGroups());
+                sb.append(applies ? '1' : '0');
+            }
+            policyStates.add(sb.toString());
+        }
+
+        return hash(String.join("\n", policyStates).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Set<String> getTenantIds(final UserAndGroups userAndGroups) {
+        final Set<String> tenantIds = new HashSet<>();
+        if (userAndGroups == null) {
+            return tenantIds;
+        }
+
+        final User user = userAndGroups.getUser();
+        if (user != null) {
+            tenantIds.add(user.getIdentifier());
+        }
+
+        final Set<Group> groups = userAndGroups.getGroups();
+        if (groups != null) {
+            groups.forEach(group -> tenantIds.add(group.getIdentifier()));
+        }
+
+        return tenantIds;
+    }
+
+    private static String hash(final byte[] content) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final byte[] hash = digest.digest(content);
+
+            final StringBuilder sb = new StringBuilder(hash.length * 2);
+            for (final byte b : hash) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private static List<String> getUserChainKey(final NiFiUser user) {
+        final List<String> chainKey = new ArrayList<>();
+
+        NiFiUser chainedUser = user;
+        while (chainedUser != null) {
+            final StringBuilder sb = new StringBuilder();
+            sb.append(chainedUser.isAnonymous()).append(':').append(chainedUser.getIdentity());
+            if (chainedUser.getGroups() != null) {
+                sb.append(':').append(new TreeSet<>(chainedUser.getGroups()));
+            }
+
+            chainKey.add(sb.toString());
+            chainedUser = chainedUser.getChain();
+        }
+
+        return chainKey;
+    }
+
+    /**
+     * A serialized entity along with the Entity Tag that identifies its content
+     */
+    public static class FlowSnapshot {
+        private final byte[] content;
+        private final EntityTag entityTag;
+        private final long generation;
+
+        private FlowSnapshot(final byte[] content, final EntityTag entityTag, final long generation) {
+            this.content = content;
+            this.entityTag = entityTag;
+            this.generation = generation;
+        }
+
+        public byte[] getContent() {
+            return content;
+        }
+
+        public EntityTag getEntityTag() {
+            return entityTag;
+        }
+
+        private long getGeneration() {
+            return generation;
+        }
+    }
+
+    private static class SnapshotKey {
+        private final String snapshotType;
+        private final String groupId;
+        private final String baseUri;
+        private final List<String> userChain;
+        private final String authorizationRevision;
+
+        private SnapshotKey(final String snapshotType, final String groupId, final String baseUri, final List<String> userChain, final String authorizationRevision) {
+            this.snapshotType = snapshotType;
+            this.groupId = groupId;
+            this.baseUri = baseUri;
+            this.userChain = userChain;
+            this.authorizationRevision = authorizationRevision;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+
+            final SnapshotKey other = (SnapshotKey) obj;
+            return Objects.equals(snapshotType, other.snapshotType)
+                && Objects.equals(groupId, other.groupId)
+                && Objects.equals(baseUri, other.baseUri)
+                && Objects.equals(userChain, other.userChain)
+                && Objects.equals(authorizationRevision, other.authorizationRevision);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(snapshotType, groupId, baseUri, userChain, authorizationRevision);
+        }
+    }
+}
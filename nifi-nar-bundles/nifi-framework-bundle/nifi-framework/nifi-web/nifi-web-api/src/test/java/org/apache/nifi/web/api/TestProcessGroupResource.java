@@ -18,18 +18,35 @@ package org.apache.nifi.web.api;
 
 import org.apache.nifi.registry.flow.VersionedFlowSnapshot;
 import org.apache.nifi.registry.flow.VersionedProcessGroup;
+import org.apache.nifi.util.NiFiProperties;
 import org.apache.nifi.web.NiFiServiceFacade;
+import org.apache.nifi.web.api.entity.ProcessGroupEntity;
+import org.apache.nifi.web.util.FlowSnapshotCache;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriBuilder;
+import javax.ws.rs.core.UriInfo;
+import java.util.Collections;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -61,4 +78,47 @@ public class TestProcessGroupResource {
         assertEquals(versionedFlowSnapshot, resultEntity);
     }
 
+    @Test
+    public void testGetProcessGroupNotModified() {
+        final String groupId = UUID.randomUUID().toString();
+        final ProcessGroupEntity entity = new ProcessGroupEntity();
+        entity.setId(groupId);
+        when(serviceFacade.getProcessGroup(groupId)).thenReturn(entity);
+
+        final HttpServletRequest httpServletRequest = mock(HttpServletRequest.class);
+        final UriInfo uriInfo = mock(UriInfo.class);
+        when(uriInfo.getBaseUriBuilder()).thenAnswer(invocation -> UriBuilder.fromUri("http://localhost:8080/nifi-api"));
+
+        processGroupResource.httpServletRequest = httpServletRequest;
+        processGroupResource.uriInfo = uriInfo;
+        processGroupResource.setProperties(mock(NiFiProperties.class));
+        processGroupResource.setFlowSnapshotCache(new FlowSnapshotCache(1, TimeUnit.HOURS));
+
+        final Response response = processGroupResource.getProcessGroup(groupId);
+        assertEquals(200, response.getStatus());
+
+        final EntityTag entityTag = response.getEntityTag();
+        assertNotNull(entityTag);
+        assertRevalidated(response);
+
+        // the client holds the snapshot, so it is neither rebuilt nor sent again
+        when(httpServletRequest.getHeaders("If-None-Match")).thenReturn(Collections.enumeration(Collections.singletonList("\"" + entityTag.getValue() + "\"")));
+
+        final Response notModifiedResponse = processGroupResource.getProcessGroup(groupId);
+        assertEquals(304, notModifiedResponse.getStatus());
+        assertEquals(entityTag, notModifiedResponse.getEntityTag());
+        assertNull(notModifiedResponse.getEntity());
+        assertRevalidated(notModifiedResponse);
+
+        verify(serviceFacade, times(1)).getProcessGroup(groupId);
+    }
+
+    private static void assertRevalidated(final Response response) {
+        // the response may be stored by the client, since it can be revalidated using the Entity Tag
+        final CacheControl cacheControl = (CacheControl) response.getMetadata().getFirst(HttpHeaders.CACHE_CONTROL);
+        assertTrue(cacheControl.isNoCache());
+        assertTrue(cacheControl.isPrivate());
+        assertFalse(cacheControl.isNoStore());
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.web.search.index;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+
+public class SearchIndexTest {
+    private final Object generateFlowFile = new Object();
+    private final Object putDatabaseRecord = new Object();
+    private final Object label = new Object();
+    private final Object notIndexed = new Object();
+
+    private SearchIndex testSubject;
+
+    @Before
+    public void setUp() {
+        final SearchIndex.Builder builder = new SearchIndex.Builder();
+        givenComponent(builder, generateFlowFile, "GenerateFlowFile", "org.apache.nifi.processors.standard.GenerateFlowFile", "File Size", "0B");
+        givenComponent(builder, putDatabaseRecord, "PutDatabaseRecord", "Database Connection Pooling Service", "jdbc:postgresql://db-host:5432/nifi");
+        givenComponent(builder, label, "Ingest from the lake", null);
+        testSubject = builder.build();
+    }
+
+    @Test
+    public void testInfixOfToken() {
+        thenCandidatesAre("ENERATEflow", generateFlowFile);
+        thenCandidatesAre("base", putDatabaseRecord);
+        thenCandidatesAre("ak", label);
+    }
+
+    @Test
+    public void testPrefixAndSuffixOfToken() {
+        thenCandidatesAre(" lak", label);
+        thenCandidatesAre(" ake");
+        thenCandidatesAre("ake ", label);
+        thenCandidatesAre("lak ");
+        thenCandidatesAre("ql:", putDatabaseRecord);
+    }
+
+    @Test
+    public void testTermSpanningTokens() {
+        thenCandidatesAre("standard.generate", generateFlowFile);
+        thenCandidatesAre("db-host:54", putDatabaseRecord);
+        thenCandidatesAre("from the", label);
+        thenCandidatesAre("rom th", label);
+        thenCandidatesAre("from xthe");
+    }
+
+    @Test
+    public void testNoMatch() {
+        thenCandidatesAre("mysql");
+        thenCandidatesAre("zz");
+    }
+
+    @Test
+    public void testTermWithoutTokenCharacters() {
+        thenCandidatesAre("://", generateFlowFile, putDatabaseRecord, label);
+    }
+
+    @Test
+    public void testComponentsUnknownToTheIndexAreCandidates() {
+        Assert.assertTrue(testSubject.getCandidates("mysql").test(notIndexed));
+    }
+
+    @Test
+    public void testEveryContainedTermIsCandidate() {
+        // the index must never rule out a component with an attribute containing the term
+        final Random random = new Random(42L);
+        final String alphabet = "abAB1 .-_:/éÉ";
+        final Map<Object, List<String>> attributes = new HashMap<>();
+        final SearchIndex.Builder builder = new SearchIndex.Builder();
+
+        for (int i = 0; i < 200; i++) {
+            final Object component = new Object();
+            final List<String> componentAttributes = new ArrayList<>();
+
+            for (int j = 0; j < 3; j++) {
+                componentAttributes.add(randomString(random, alphabet, 1 + random.nextInt(12)));
+            }
+
+            attributes.put(component, componentAttributes);
+            componentAttributes.forEach(builder.component(component));
+        }
+
+        final SearchIndex index = builder.build();
+
+        for (int i = 0; i < 500; i++) {
+            final String term = randomString(random, alphabet, 1 + random.nextInt(5));
+            final Predicate<Object> candidates = index.getCandidates(term);
+
+            attributes.forEach((component, componentAttributes) -> {
+                if (componentAttributes.stream().anyMatch(attribute -> StringUtils.containsIgnoreCase(attribute, term))) {
+                    Assert.assertTrue("Should be candidate for '" + term + "': " + componentAttributes, candidates.test(component));
+                }
+            });
+        }
+    }
+
+    private void givenComponent(final SearchIndex.Builder builder, final Object component, final String... attributes) {
+        Arrays.stream(attributes).forEach(builder.component(component));
+    }
+
+    private void thenCandidatesAre(final String term, final Object... expected) {
+        final Predicate<Object> candidates = testSubject.getCandidates(term);
+        final List<Object> expectedCandidates = Arrays.asList(expected);
+
+        for (final Object component : Arrays.asList(generateFlowFile, putDatabaseRecord, label)) {
+            Assert.assertEquals("Unexpected result for term '" + term + "'", expectedCandidates.contains(component), candidates.test(component));
+        }
+    }
+
+    private static String randomString(final Random random, final String alphabet, final int length) {
+        final StringBuilder result = new StringBuilder();
+
+        for (int i = 0; i < length; i++) {
+            result.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+
+        return result.toString();
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.web.util;
+
+import org.apache.nifi.authorization.AccessPolicy;
+import org.apache.nifi.authorization.AccessPolicyProvider;
+import org.apache.nifi.authorization.Authorizer;
+import org.apache.nifi.authorization.Group;
+import org.apache.nifi.authorization.ManagedAuthorizer;
+import org.apache.nifi.authorization.RequestAction;
+import org.apache.nifi.authorization.User;
+import org.apache.nifi.authorization.UserAndGroups;
+import org.apache.nifi.authorization.UserGroupProvider;
+import org.apache.nifi.authorization.user.NiFiUser;
+import org.apache.nifi.authorization.user.StandardNiFiUser;
+import org.apache.nifi.web.api.entity.ProcessGroupEntity;
+import org.apache.nifi.web.util.FlowSnapshotCache.FlowSnapshot;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FlowSnapshotCacheTest {
+    private static final String BASE_URI = "http://localhost:8080/nifi-api";
+
+    private final NiFiUser alice = new StandardNiFiUser.Builder().identity("alice").groups(Collections.singleton("operators")).build();
+    private final NiFiUser bob = new StandardNiFiUser.Builder().identity("bob").build();
+
+    @Test
+    public void testSnapshotReusedUntilInvalidated() {
+        final FlowSnapshotCache cache = new FlowSnapshotCache(1, TimeUnit.HOURS);
+        final AtomicInteger builds = new AtomicInteger(0);
+        final Supplier<ProcessGroupEntity> supplier = countingSupplier(builds, "group-1");
+
+        final FlowSnapshot first = cache.getSnapshot("flow", "group-1", alice, BASE_URI, supplier);
+        final FlowSnapshot second = cache.getSnapshot("flow", "group-1", alice, BASE_URI, supplier);
+        assertSame(first, second);
+        assertEquals(1, builds.get());
+
+        cache.invalidate();
+
+        final FlowSnapshot third = cache.getSnapshot("flow", "group-1", alice, BASE_URI, supplier);
+        assertEquals(2, builds.get());
+        assertArrayEquals(first.getContent(), third.getContent());
+        assertEquals(first.getEntityTag(), third.getEntityTag());
+    }
+
+    @Test
+    public void testSnapshotsSeparatedByUserGroupAndType() {
+        final FlowSnapshotCache cache = new FlowSnapshotCache(1, TimeUnit.HOURS);
+        final AtomicInteger builds = new AtomicInteger(0);
+
+        cache.getSnapshot("flow", "group-1", alice, BASE_URI, countingSupplier(builds, "group-1"));
+        cache.getSnapshot("flow", "group-1", bob, BASE_URI, countingSupplier(builds, "group-1"));
+        cache.getSnapshot("flow", "group-2", alice, BASE_URI, countingSupplier(builds, "group-2"));
+        cache.getSnapshot("process-group", "group-1", alice, BASE_URI, countingSupplier(builds, "group-1"));
+        cache.getSnapshot("flow", "group-1", alice, "https://proxy/nifi-api", countingSupplier(builds, "group-1"));
+        assertEquals(5, builds.get());
+
+        final NiFiUser proxiedAlice = new StandardNiFiUser.Builder().identity("alice").groups(Collections.singleton("operators")).chain(bob).build();
+        cache.getSnapshot("flow", "group-1", proxiedAlice, BASE_URI, countingSupplier(builds, "group-1"));
+        assertEquals(6, builds.get());
+
+        final NiFiUser sameAlice = new StandardNiFiUser.Builder().identity("alice").groups(Collections.singleton("operators")).build();
+        cache.getSnapshot("flow", "group-1", sameAlice, BASE_URI, countingSupplier(builds, "group-1"));
+        assertEquals(6, builds.get());
+    }
+
+    @Test
+    public void testEntityTagReflectsContent() {
+        final FlowSnapshotCache cache = new FlowSnapshotCache(1, TimeUnit.HOURS);
+        final AtomicInteger builds = new AtomicInteger(0);
+
+        final FlowSnapshot first = cache.getSnapshot("flow", "group-1", alice, BASE_URI, countingSupplier(builds, "group-1"));
+        final FlowSnapshot second = cache.getSnapshot("flow", "group-2", alice, BASE_URI, countingSupplier(builds, "group-2"));
+        assertNotEquals(first.getEntityTag(), second.getEntityTag());
+    }
+
+    @Test
+    public void testSnapshotNotCachedWhenFlowModifiedDuringBuild() {
+        final FlowSnapshotCache cache = new FlowSnapshotCache(1, TimeUnit.HOURS);
+        final AtomicInteger builds = new AtomicInteger(0);
+
+        cache.getSnapshot("flow", "group-1", alice, BASE_URI, () -> {
+            builds.incrementAndGet();
+            cache.invalidate();
+            return createEntity("group-1");
+        });
+
+        cache.getSnapshot("flow", "group-1", alice, BASE_URI, countingSupplier(builds, "group-1"));
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    public void testSnapshotNotReusedWhenAccessPoliciesChange() {
+        final User aliceUser = new User.Builder().identifier("alice-id").identity("alice").build();
+        final Group operators = new Group.Builder().identifier("operators-id").name("operators").addUser("alice-id").build();
+        final Set<Group> aliceGroups = new HashSet<>();
+        final Set<AccessPolicy> policies = new HashSet<>();
+        policies.add(new AccessPolicy.Builder().identifier("flow-read").resource("/flow").action(RequestAction.READ).addUser("alice-id").build());
+
+        final UserGroupProvider userGroupProvider = mock(UserGroupProvider.class);
+        when(userGroupProvider.getUserAndGroups("alice")).thenReturn(new UserAndGroups() {
+            @Override
+            public User getUser() {
+                return aliceUser;
+            }
+
+            @Override
+            public Set<Group> getGroups() {
+                return aliceGroups;
+            }
+        });
+
+        final AccessPolicyProvider accessPolicyProvider = mock(AccessPolicyProvider.class);
+        when(accessPolicyProvider.getUserGroupProvider()).thenReturn(userGroupProvider);
+        when(accessPolicyProvider.getAccessPolicies()).thenReturn(policies);
+
+        final ManagedAuthorizer authorizer = mock(ManagedAuthorizer.class);
+        when(authorizer.getAccessPolicyProvider()).thenReturn(accessPolicyProvider);
+
+        final FlowSnapshotCache cache = new FlowSnapshotCache(1, TimeUnit.HOURS, authorizer);
+        assertTrue(cache.isEnabled());
+
+        final AtomicInteger builds = new AtomicInteger(0);
+        final Supplier<ProcessGroupEntity> supplier = countingSupplier(builds, "group-1");
+
+        cache.getSnapshot("flow", "group-1", alice, BASE_URI, supplier);
+        cache.getSnapshot("flow", "group-1", alice, BASE_URI, supplier);
+        assertEquals(1, builds.get());
+
+        // a policy for the group, even one that applies to nobody, overrides the policy that the group inherited
+        policies.add(new AccessPolicy.Builder().identifier("group-read").resource("/process-groups/group-1").action(RequestAction.READ).build());
+        cache.getSnapshot("flow", "group-1", alice, BASE_URI, supplier);
+        assertEquals(2, builds.get());
+
+        // granting the policy to a group that alice does not belong to does not change what alice may see
+        policies.removeIf(policy -> policy.getIdentifier().equals("group-read"));
+        policies.add(new AccessPolicy.Builder().identifier("group-read").resource("/process-groups/group-1").action(RequestAction.READ).addGroup("operators-id").build());
+        cache.getSnapshot("flow", "group-1", alice, BASE_URI, supplier);
+        assertEquals(2, builds.get());
+
+        // until alice joins that group
+        aliceGroups.add(operators);
+        cache.getSnapshot("flow", "group-1", alice, BASE_URI, supplier);
+        cache.getSnapshot("flow", "group-1", alice, BASE_URI, supplier);
+        assertEquals(3, builds.get());
+    }
+
+    @Test
+    public void testDisabled() {
+        assertFalse(new FlowSnapshotCache(0, TimeUnit.SECONDS).isEnabled());
+        assertTrue(new FlowSnapshotCache(5, TimeUnit.SECONDS).isEnabled());
+
+        // there is no telling when the policies of an authorizer that does not manage them within NiFi change
+        assertFalse(new FlowSnapshotCache(5, TimeUnit.SECONDS, mock(Authorizer.class)).isEnabled());
+    }
+
+    private static Supplier<ProcessGroupEntity> countingSupplier(final AtomicInteger builds, final String groupId) {
+        return () -> {
+            builds.incrementAndGet();
+            return createEntity(groupId);
+        };
+    }
+
+    private static ProcessGroupEntity createEntity(final String groupId) {
+        final ProcessGroupEntity entity = new ProcessGroupEntity();
+        entity.setId(groupId);
+        entity.setRunningCount(1);
+        return entity;
+    }
+}
@@ -21,18 +21,22 @@ import org.apache.nifi.annotation.documentation.CapabilityDescription;
 import org.apache.nifi.annotation.documentation.Tags;
 import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.controller.AbstractControllerService;
+import org.apache.nifi.expression.ExpressionLanguageScope;
 import org.apache.nifi.logging.ComponentLog;
 import org.apache.nifi.parquet.record.ParquetRecordReader;
 import org.apache.nifi.parquet.utils.ParquetConfig;
 import org.apache.nifi.parquet.utils.ParquetUtils;
+import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.serialization.RecordReader;
 import org.apache.nifi.serialization.RecordReaderFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.apache.nifi.parquet.utils.ParquetUtils.applyCommonConfig;
 import static org.apache.nifi.parquet.utils.ParquetUtils.createParquetConfig;
@@ -42,18 +46,47 @@ import static org.apache.nifi.parquet.utils.ParquetUtils.createParquetConfig;
         "The schema will come from the Parquet data itself.")
 public class ParquetReader extends AbstractControllerService implements RecordReaderFactory {
 
+    public static final PropertyDescriptor PROJECTED_FIELDS = new PropertyDescriptor.Builder()
+            .name("projected-fields")
+            .displayName("Projected Fields")
+            .description("A comma-separated list of the names of the top level fields to read. The columns of the other fields are skipped, " +
+                    "which avoids reading and decoding data that is not needed from wide Parquet files. If not populated, or if none of the fields " +
+                    "is present in the data, every field is read.")
+            .required(false)
+            .addValidator(StandardValidators.NON_BLANK_VALIDATOR)
+            .expressionLanguageSupported(ExpressionLanguageScope.FLOWFILE_ATTRIBUTES)
+            .build();
+
     @Override
     public RecordReader createRecordReader(final Map<String, String> variables, final InputStream in, final long inputLength, final ComponentLog logger) throws IOException {
         final Configuration conf = new Configuration();
         final ParquetConfig parquetConfig = createParquetConfig(getConfigurationContext(), variables);
         applyCommonConfig(conf, parquetConfig);
-        return new ParquetRecordReader(in, inputLength, conf);
+
+        final Set<String> projectedFields = getProjectedFields(variables);
+        return new ParquetRecordReader(in, inputLength, conf, projectedFields);
+    }
+
+    private Set<String> getProjectedFields(final Map<String, String> variables) {
+        final String projectedFields = getConfigurationContext().getProperty(PROJECTED_FIELDS).evaluateAttributeExpressions(variables).getValue();
+        if (projectedFields == null) {
+            return null;
+        }
+
+        final Set<String> fieldNames = new LinkedHashSet<>();
+        for (final String fieldName : projectedFields.split(",")) {
+            if (!fieldName.trim().isEmpty()) {
+                fieldNames.add(fieldName.trim());
+            }
+        }
+        return fieldNames;
     }
 
     @Override
     protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
         final List<PropertyDescriptor> properties = new ArrayList<>();
         properties.add(ParquetUtils.AVRO_READ_COMPATIBILITY);
+        properties.add(PROJECTED_FIELDS);
         return properties;
     }
 }
@@ -18,29 +18,30 @@ package org.apache.nifi.parquet.hadoop;
 
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
-import org.apache.nifi.avro.AvroTypeUtil;
+import org.apache.nifi.avro.RecordToAvroConverter;
 import org.apache.nifi.processors.hadoop.record.HDFSRecordWriter;
 import org.apache.nifi.serialization.record.Record;
 import org.apache.parquet.hadoop.ParquetWriter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 /**
  * HDFSRecordWriter that writes Parquet files using Avro as the schema representation.
  */
 public class AvroParquetHDFSRecordWriter implements HDFSRecordWriter {
 
-    private final Schema avroSchema;
+    private final RecordToAvroConverter converter;
     private final ParquetWriter<GenericRecord> parquetWriter;
 
     public AvroParquetHDFSRecordWriter(final ParquetWriter<GenericRecord> parquetWriter, final Schema avroSchema) {
-        this.avroSchema = avroSchema;
+        this.converter = new RecordToAvroConverter(avroSchema, StandardCharsets.UTF_8);
         this.parquetWriter = parquetWriter;
     }
 
     @Override
     public void write(final Record record) throws IOException {
-        final GenericRecord genericRecord = AvroTypeUtil.createAvroRecord(record, avroSchema);
+        final GenericRecord genericRecord = converter.convert(record);
         parquetWriter.write(genericRecord);
     }
 
@@ -26,12 +26,14 @@ import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordSchema;
 import org.apache.parquet.avro.AvroParquetReader;
 import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.api.ReadSupport;
 import org.apache.parquet.io.InputFile;
 
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Map;
+import java.util.Set;
 
 public class ParquetRecordReader implements RecordReader {
 
@@ -43,6 +45,13 @@ public class ParquetRecordReader implements RecordReader {
     private final ParquetReader<GenericRecord> parquetReader;
 
     public ParquetRecordReader(final InputStream inputStream, final long inputLength, final Configuration configuration) throws IOException {
+        this(inputStream, inputLength, configuration, null);
+    }
+
+    /**
+     * @param projectedFields the names of the top level fields to read, or <code>null</code> to read every field
+     */
+    public ParquetRecordReader(final InputStream inputStream, final long inputLength, final Configuration configuration, final Set<String> projectedFields) throws IOException {
         if (inputLength < 0) {
             throw new IllegalArgumentException("Invalid input length of '" + inputLength + "'. This record reader requires knowing " +
                     "the length of the InputStream and cannot be used in some cases where the length may not be known.");
@@ -51,7 +60,11 @@ public class ParquetRecordReader implements RecordReader {
         this.inputStream = inputStream;
 
         inputFile = new NifiParquetInputFile(inputStream, inputLength);
-        parquetReader = AvroParquetReader.<GenericRecord>builder(inputFile).withConf(configuration).build();
+        if (projectedFields == null || projectedFields.isEmpty()) {
+            parquetReader = AvroParquetReader.<GenericRecord>builder(inputFile).withConf(configuration).build();
+        } else {
+            parquetReader = new ProjectingReaderBuilder(inputFile, projectedFields).withConf(configuration).build();
+        }
 
         // Read the first record so that we can extract the schema
         lastParquetRecord = parquetReader.read();
@@ -95,4 +108,18 @@ public class ParquetRecordReader implements RecordReader {
             inputStream.close();
         }
     }
+
+    private static class ProjectingReaderBuilder extends ParquetReader.Builder<GenericRecord> {
+        private final Set<String> projectedFields;
+
+        ProjectingReaderBuilder(final InputFile inputFile, final Set<String> projectedFields) {
+            super(inputFile);
+            this.projectedFields = projectedFields;
+        }
+
+        @Override
+        protected ReadSupport<GenericRecord> getReadSupport() {
+            return new ProjectingAvroReadSupport(projectedFields);
+        }
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.parquet.record;
+
+import org.apache.avro.Schema;
+import org.apache.avro.Schema.Field;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.avro.AvroReadSupport;
+import org.apache.parquet.avro.AvroSchemaConverter;
+import org.apache.parquet.schema.MessageType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads only the top level fields with the given names, so that the column chunks of the other fields are neither read nor decoded.
+ * The projection is the Avro schema the file was written with, cut down to the projected fields, so that the projected fields are
+ * read as the same types as when every field is read. If none of the given fields is in the file, every field is read.
+ */
+class ProjectingAvroReadSupport extends AvroReadSupport<GenericRecord> {
+
+    // the key of the Avro schema that parquet-avro stores in the metadata of the files it writes
+    private static final String AVRO_SCHEMA_METADATA_KEY = "parquet.avro.schema";
+
+    private final Set<String> projectedFields;
+
+    ProjectingAvroReadSupport(final Set<String> projectedFields) {
+        super(GenericData.get());
+        this.projectedFields = projectedFields;
+    }
+
+    @Override
+    public ReadContext init(final Configuration configuration, final Map<String, String> keyValueMetaData, final MessageType fileSchema) {
+        final Schema fileAvroSchema = getFileAvroSchema(configuration, keyValueMetaData, fileSchema);
+        final Schema projection = project(fileAvroSchema);
+        if (projection != fileAvroSchema) {
+            AvroReadSupport.setRequestedProjection(configuration, projection);
+            AvroReadSupport.setAvroReadSchema(configuration, projection);
+        }
+
+        return super.init(configuration, keyValueMetaData, fileSchema);
+    }
+
+    private Schema getFileAvroSchema(final Configuration configuration, final Map<String, String> keyValueMetaData, final MessageType fileSchema) {
+        final String avroSchemaText = keyValueMetaData.get(AVRO_SCHEMA_METADATA_KEY);
+        if (avroSchemaText != null) {
+            return new Schema.Parser().parse(avroSchemaText);
+        }
+
+        // not written by parquet-avro, in which case the records are read as the Avro counterpart of the Parquet schema anyway
+        return new AvroSchemaConverter(configuration).convert(fileSchema);
+    }
+
+    private Schema project(final Schema avroSchema) {
+        final List<Field> fields = new ArrayList<>();
+        for (final Field field : avroSchema.getFields()) {
+            if (projectedFields.contains(field.name())) {
+                fields.add(copy(field));
+            }
+        }
+
+        if (fields.isEmpty() || fields.size() == avroSchema.getFields().size()) {
+            return avroSchema;
+        }
+
+        final Schema projection = Schema.createRecord(avroSchema.getName(), avroSchema.getDoc(), avroSchema.getNamespace(), avroSchema.isError(), fields);
+        avroSchema.getAliases().forEach(projection::addAlias);
+        avroSchema.getObjectProps().forEach(projection::addProp);
+        return projection;
+    }
+
+    private static Field copy(final Field field) {
+        // a field belongs to the schema it was created for, so the projection needs a copy of it
+        final Field copy = new Field(field.name(), field.schema(), field.doc(), field.defaultVal(), field.order());
+        field.aliases().forEach(copy::addAlias);
+        field.getObjectProps().forEach(copy::addProp);
+        return copy;
+    }
+}
@@ -19,7 +19,7 @@ package org.apache.nifi.parquet.record;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.hadoop.conf.Configuration;
-import org.apache.nifi.avro.AvroTypeUtil;
+import org.apache.nifi.avro.RecordToAvroConverter;
 import org.apache.nifi.logging.ComponentLog;
 import org.apache.nifi.parquet.stream.NifiParquetOutputFile;
 import org.apache.nifi.parquet.utils.ParquetConfig;
@@ -31,6 +31,7 @@ import org.apache.parquet.io.OutputFile;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Map;
 
@@ -38,13 +39,13 @@ import static org.apache.nifi.parquet.utils.ParquetUtils.applyCommonConfig;
 
 public class WriteParquetResult extends AbstractRecordSetWriter {
 
-    private final Schema schema;
+    private final RecordToAvroConverter converter;
     private final ParquetWriter<GenericRecord> parquetWriter;
     private final ComponentLog componentLogger;
 
     public WriteParquetResult(final Schema schema, final OutputStream out, final ParquetConfig parquetConfig, final ComponentLog componentLogger) throws IOException {
         super(out);
-        this.schema = schema;
+        this.converter = new RecordToAvroConverter(schema, StandardCharsets.UTF_8);
         this.componentLogger = componentLogger;
 
         final Configuration conf = new Configuration();
@@ -58,7 +59,7 @@ public class WriteParquetResult extends AbstractRecordSetWriter {
 
     @Override
     protected Map<String, String> writeRecord(final Record record) throws IOException {
-        final GenericRecord genericRecord = AvroTypeUtil.createAvroRecord(record, schema);
+        final GenericRecord genericRecord = converter.convert(record);
         parquetWriter.write(genericRecord);
         return Collections.emptyMap();
     }
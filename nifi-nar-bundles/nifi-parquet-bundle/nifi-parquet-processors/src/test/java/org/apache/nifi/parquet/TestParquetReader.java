@@ -16,6 +16,7 @@
  */
 package org.apache.nifi.parquet;
 
+import org.apache.avro.Conversions;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
@@ -28,6 +29,8 @@ import org.apache.nifi.controller.ConfigurationContext;
 import org.apache.nifi.logging.ComponentLog;
 import org.apache.nifi.serialization.MalformedRecordException;
 import org.apache.nifi.serialization.RecordReader;
+import org.apache.nifi.serialization.record.Record;
+import org.apache.nifi.serialization.record.RecordSchema;
 import org.apache.nifi.util.MockComponentLog;
 import org.apache.nifi.util.MockConfigurationContext;
 import org.apache.parquet.avro.AvroParquetWriter;
@@ -42,12 +45,16 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 
 public class TestParquetReader {
 
@@ -106,6 +113,105 @@ public class TestParquetReader {
         }
     }
 
+    @Test
+    public void testReadProjectedFields() throws IOException, MalformedRecordException {
+        final Schema schema = getSchema("src/test/resources/avro/user.avsc");
+        final File parquetFile = new File("target/TestParquetReader-testReadProjectedFields-" + System.currentTimeMillis());
+
+        final int numUsers = 10;
+        try (final ParquetWriter<GenericRecord> writer = createParquetWriter(schema, parquetFile)) {
+            for (int i=0; i < numUsers; i++) {
+                final GenericRecord user = new GenericData.Record(schema);
+                user.put("name", "Bob" + i);
+                user.put("favorite_number", i);
+                user.put("favorite_color", "blue" + i);
+                writer.write(user);
+            }
+        }
+
+        final byte[] parquetBytes = IOUtils.toByteArray(parquetFile.toURI());
+        readerFactoryProperties.put(ParquetReader.PROJECTED_FIELDS, "name, favorite_number");
+
+        try (final InputStream in = new ByteArrayInputStream(parquetBytes);
+             final RecordReader recordReader = parquetReaderFactory.createRecordReader(
+                     Collections.emptyMap(), in, parquetFile.length(), componentLog)) {
+
+            assertEquals(Arrays.asList("name", "favorite_number"), recordReader.getSchema().getFieldNames());
+
+            int recordCount = 0;
+            Record record;
+            while ((record = recordReader.nextRecord()) != null) {
+                assertEquals("Bob" + recordCount, record.getAsString("name"));
+                assertEquals(Integer.valueOf(recordCount), record.getAsInt("favorite_number"));
+                recordCount++;
+            }
+            assertEquals(numUsers, recordCount);
+        }
+    }
+
+    @Test
+    public void testProjectedFieldsReadAsSameTypes() throws IOException, MalformedRecordException {
+        final Schema schema = getSchema("src/test/resources/avro/user.avsc");
+        final File parquetFile = new File("target/TestParquetReader-testProjectedFieldsReadAsSameTypes-" + System.currentTimeMillis());
+
+        try (final ParquetWriter<GenericRecord> writer = createParquetWriter(schema, parquetFile)) {
+            final GenericRecord user = new GenericData.Record(schema);
+            user.put("name", "Bob");
+            user.put("favorite_number", 1);
+            user.put("favorite_color", "blue");
+            writer.write(user);
+        }
+
+        assertSameTypes(parquetFile, "favorite_number, favorite_color", Arrays.asList("favorite_number", "favorite_color"));
+    }
+
+    @Test
+    public void testProjectedDecimalReadAsSameType() throws IOException, MalformedRecordException {
+        final Schema schema = getSchema("src/test/resources/avro/user-with-fixed-decimal.avsc");
+        final File parquetFile = new File("target/TestParquetReader-testProjectedDecimalReadAsSameType-" + System.currentTimeMillis());
+
+        final Schema amountSchema = schema.getField("amount").schema().getTypes().stream().filter(s -> s.getType() == Schema.Type.FIXED).findFirst().orElse(null);
+        assertNotNull(amountSchema);
+
+        try (final ParquetWriter<GenericRecord> writer = createParquetWriter(schema, parquetFile)) {
+            final GenericRecord user = new GenericData.Record(schema);
+            user.put("name", "Bob");
+            user.put("amount", new Conversions.DecimalConversion().toFixed(new BigDecimal("1234567.0123456789"), amountSchema, amountSchema.getLogicalType()));
+            writer.write(user);
+        }
+
+        assertSameTypes(parquetFile, "amount", Collections.singletonList("amount"));
+    }
+
+    private void assertSameTypes(final File parquetFile, final String projectedFields, final List<String> expectedFieldNames) throws IOException, MalformedRecordException {
+        final byte[] parquetBytes = IOUtils.toByteArray(parquetFile.toURI());
+
+        final RecordSchema schema;
+        final Record record;
+        try (final InputStream in = new ByteArrayInputStream(parquetBytes);
+             final RecordReader recordReader = parquetReaderFactory.createRecordReader(
+                     Collections.emptyMap(), in, parquetFile.length(), componentLog)) {
+            schema = recordReader.getSchema();
+            record = recordReader.nextRecord();
+        }
+
+        readerFactoryProperties.put(ParquetReader.PROJECTED_FIELDS, projectedFields);
+
+        try (final InputStream in = new ByteArrayInputStream(parquetBytes);
+             final RecordReader recordReader = parquetReaderFactory.createRecordReader(
+                     Collections.emptyMap(), in, parquetFile.length(), componentLog)) {
+            final RecordSchema projectedSchema = recordReader.getSchema();
+            final Record projectedRecord = recordReader.nextRecord();
+
+            assertEquals(expectedFieldNames, projectedSchema.getFieldNames());
+            for (final String fieldName : expectedFieldNames) {
+                assertEquals(schema.getField(fieldName).get(), projectedSchema.getField(fieldName).get());
+                assertEquals(record.getValue(fieldName), projectedRecord.getValue(fieldName));
+                assertEquals(record.getValue(fieldName).getClass(), projectedRecord.getValue(fieldName).getClass());
+            }
+        }
+    }
+
     private Schema getSchema(final String schemaFilePath) throws IOException {
         final File schemaFile = new File(schemaFilePath);
         final String schemaString = IOUtils.toString(new FileInputStream(schemaFile), StandardCharsets.UTF_8);
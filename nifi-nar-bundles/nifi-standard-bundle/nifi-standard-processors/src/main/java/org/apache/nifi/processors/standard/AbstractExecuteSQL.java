@@ -19,6 +19,7 @@ package org.apache.nifi.processors.standard;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.nifi.annotation.lifecycle.OnScheduled;
+import org.apache.nifi.annotation.lifecycle.OnStopped;
 import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.dbcp.DBCPService;
 import org.apache.nifi.expression.ExpressionLanguageScope;
@@ -32,11 +33,18 @@ import org.apache.nifi.processor.ProcessSession;
 import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.util.StandardValidators;
+import org.apache.nifi.processors.standard.sql.QueryPartition;
 import org.apache.nifi.processors.standard.sql.SqlWriter;
 import org.apache.nifi.util.StopWatch;
 import org.apache.nifi.util.db.JdbcCommon;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -50,8 +58,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
 
 
 public abstract class AbstractExecuteSQL extends AbstractProcessor {
@@ -166,10 +179,36 @@ public abstract class AbstractExecuteSQL extends AbstractProcessor {
             .expressionLanguageSupported(ExpressionLanguageScope.VARIABLE_REGISTRY)
             .build();
 
+    public static final PropertyDescriptor PARTITION_COLUMN = new PropertyDescriptor.Builder()
+            .name("esql-partition-column")
+            .displayName("Partition Column")
+            .description("The name of a numeric, date or timestamp column of the select query's results by which to split the select query into ranges of values, "
+                    + "which are queried and fetched concurrently on separate connections. The results of each range are fetched into temporary files, then written to "
+                    + "their own FlowFile(s), all having the same fragment.identifier attribute. The ranges are computed from the minimum and maximum values of the column, so the column should preferably be indexed and its "
+                    + "values evenly distributed. Rows with a null value are included in the first range. If this property is not set, the select query is "
+                    + "executed as is. Output Batch Size is ignored when this property is set.")
+            .required(false)
+            .addValidator(StandardValidators.NON_EMPTY_VALIDATOR)
+            .expressionLanguageSupported(ExpressionLanguageScope.FLOWFILE_ATTRIBUTES)
+            .build();
+
+    public static final PropertyDescriptor PARTITION_COUNT = new PropertyDescriptor.Builder()
+            .name("esql-partition-count")
+            .displayName("Partition Count")
+            .description("The maximum number of ranges the select query is split into when a Partition Column is set, each of which uses a connection from the "
+                    + "Database Connection Pooling Service while it is queried. Fewer ranges are used if the column does not have enough distinct values.")
+            .defaultValue("4")
+            .required(true)
+            .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+            .expressionLanguageSupported(ExpressionLanguageScope.VARIABLE_REGISTRY)
+            .build();
+
     protected List<PropertyDescriptor> propDescriptors;
 
     protected DBCPService dbcpService;
 
+    private volatile ExecutorService partitionExecutor;
+
     @Override
     public Set<Relationship> getRelationships() {
         return relationships;
@@ -191,6 +230,19 @@ public abstract class AbstractExecuteSQL extends AbstractProcessor {
         }
         dbcpService = context.getProperty(DBCP_SERVICE).asControllerService(DBCPService.class);
 
+        if (context.getProperty(PARTITION_COLUMN).isSet()) {
+            // a thread for each partition of every concurrent task, so that the partitions of a query never wait for those of another
+            final int partitionCount = context.getProperty(PARTITION_COUNT).evaluateAttributeExpressions().asInteger();
+            partitionExecutor = Executors.newFixedThreadPool(partitionCount * Math.max(1, context.getMaxConcurrentTasks()));
+        }
+    }
+
+    @OnStopped
+    public void shutdownPartitionExecutor() {
+        if (partitionExecutor != null) {
+            partitionExecutor.shutdown();
+            partitionExecutor = null;
+        }
     }
 
     @Override
@@ -232,6 +284,13 @@ public abstract class AbstractExecuteSQL extends AbstractProcessor {
             selectQuery = queryContents.toString();
         }
 
+        final String partitionColumn = context.getProperty(PARTITION_COLUMN).evaluateAttributeExpressions(fileToProcess).getValue();
+        final int partitionCount = context.getProperty(PARTITION_COUNT).evaluateAttributeExpressions().asInteger();
+        if (partitionColumn != null && partitionCount > 1) {
+            executePartitioned(context, session, fileToProcess, selectQuery, partitionColumn, partitionCount, preQueries, postQueries);
+            return;
+        }
+
         int resultCount = 0;
         try (final Connection con = dbcpService.getConnection(fileToProcess == null ? Collections.emptyMap() : fileToProcess.getAttributes());
              final PreparedStatement st = con.prepareStatement(selectQuery)) {
@@ -422,26 +481,246 @@ public abstract class AbstractExecuteSQL extends AbstractProcessor {
                 session.transfer(resultSetFF, REL_SUCCESS);
             }
         } catch (final ProcessException | SQLException e) {
-            //If we had at least one result then it's OK to drop the original file, but if we had no results then
-            //  pass the original flow file down the line to trigger downstream processors
-            if (fileToProcess == null) {
-                // This can happen if any exceptions occur while setting up the connection, statement, etc.
-                logger.error("Unable to execute SQL select query {} due to {}. No FlowFile to route to failure",
+            routeToFailure(context, session, fileToProcess, selectQuery, e);
+        }
+    }
+
+    /*
+     * Splits the select query into ranges of values of the partition column, which are executed and fetched concurrently each on its own connection,
+     * then writes the results of each range, in order, to FlowFiles sharing the same fragment identifier.
+     */
+    private void executePartitioned(final ProcessContext context, final ProcessSession session, FlowFile fileToProcess, final String selectQuery,
+                                    final String partitionColumn, final int partitionCount, final List<String> preQueries, final List<String> postQueries) {
+        final ComponentLog logger = getLogger();
+        final Integer queryTimeout = context.getProperty(QUERY_TIMEOUT).asTimePeriod(TimeUnit.SECONDS).intValue();
+        final Integer maxRowsPerFlowFile = context.getProperty(MAX_ROWS_PER_FLOW_FILE).evaluateAttributeExpressions().asInteger();
+        final Integer fetchSize = context.getProperty(FETCH_SIZE).evaluateAttributeExpressions().asInteger();
+        final Map<String, String> attributes = fileToProcess == null ? Collections.emptyMap() : fileToProcess.getAttributes();
+
+        final List<FlowFile> resultSetFlowFiles = new ArrayList<>();
+        final List<Future<PartitionResult>> partitionResults = new ArrayList<>();
+        String query = QueryPartition.getBoundsQuery(selectQuery, partitionColumn);
+        try {
+            final List<QueryPartition> partitions;
+            try (final Connection con = dbcpService.getConnection(attributes)) {
+                final Pair<String, SQLException> failure = executeConfigStatements(con, preQueries);
+                if (failure != null) {
+                    query = failure.getLeft();
+                    throw failure.getRight();
+                }
+
+                logger.debug("Executing query {}", new Object[]{query});
+                try (final PreparedStatement st = con.prepareStatement(query)) {
+                    st.setQueryTimeout(queryTimeout); // timeout in seconds
+                    JdbcCommon.setParameters(st, attributes);
+                    try (final ResultSet resultSet = st.executeQuery()) {
+                        resultSet.next();
+                        partitions = QueryPartition.split(selectQuery, partitionColumn, resultSet.getObject(1), resultSet.getObject(2), partitionCount);
+                    } catch (final IllegalArgumentException e) {
+                        throw new ProcessException(e.getMessage(), e);
+                    }
+                }
+            }
+
+            for (final QueryPartition partition : partitions) {
+                // the writers keep the schema of the result set they write, and are only used by the thread fetching the partition until it is done
+                final SqlWriter sqlWriter = configureSqlWriter(session, context, fileToProcess);
+                logger.debug("Executing query {}", new Object[]{partition.getQuery()});
+                partitionResults.add(partitionExecutor.submit(() -> executePartition(partition, sqlWriter, attributes, preQueries, postQueries, fetchSize, queryTimeout,
+                        maxRowsPerFlowFile)));
+            }
+
+            final String fragmentId = UUID.randomUUID().toString();
+            final String inputFileUUID = fileToProcess == null ? null : fileToProcess.getAttribute(CoreAttributes.UUID.key());
+            int fragmentIndex = 0;
+            for (int i = 0; i < partitions.size(); i++) {
+                query = partitions.get(i).getQuery();
+                final PartitionResult partitionResult = getPartitionResult(partitionResults.get(i));
+
+                for (final PartitionFragment fragment : partitionResult.fragments) {
+                    FlowFile resultSetFF = fileToProcess == null ? session.create() : session.create(fileToProcess);
+                    resultSetFF = session.putAllAttributes(resultSetFF, attributes);
+                    try (final InputStream in = Files.newInputStream(fragment.content)) {
+                        resultSetFF = session.importFrom(in, resultSetFF);
+                    } catch (final IOException | ProcessException e) {
+                        session.remove(resultSetFF);
+                        throw (e instanceof ProcessException) ? (ProcessException) e : new ProcessException(e);
+                    }
+
+                    final Map<String, String> attributesToAdd = new HashMap<>();
+                    attributesToAdd.put(RESULT_ROW_COUNT, String.valueOf(fragment.rowCount));
+                    attributesToAdd.put(RESULT_QUERY_DURATION, String.valueOf(partitionResult.executionTime + fragment.fetchTime));
+                    attributesToAdd.put(RESULT_QUERY_EXECUTION_TIME, String.valueOf(partitionResult.executionTime));
+                    attributesToAdd.put(RESULT_QUERY_FETCH_TIME, String.valueOf(fragment.fetchTime));
+                    attributesToAdd.put(RESULTSET_INDEX, "0");
+                    if (inputFileUUID != null) {
+                        attributesToAdd.put(INPUT_FLOWFILE_UUID, inputFileUUID);
+                    }
+                    attributesToAdd.putAll(fragment.attributes);
+                    attributesToAdd.put(FRAGMENT_ID, fragmentId);
+                    attributesToAdd.put(FRAGMENT_INDEX, String.valueOf(fragmentIndex++));
+                    resultSetFF = session.putAllAttributes(resultSetFF, attributesToAdd);
+
+                    logger.info("{} contains {} records; transferring to 'success'",
+                            new Object[]{resultSetFF, fragment.rowCount});
+                    // Report a FETCH event if there was an incoming flow file, or a RECEIVE event otherwise
+                    if (context.hasIncomingConnection()) {
+                        session.getProvenanceReporter().fetch(resultSetFF, "Retrieved " + fragment.rowCount + " rows", partitionResult.executionTime + fragment.fetchTime);
+                    } else {
+                        session.getProvenanceReporter().receive(resultSetFF, "Retrieved " + fragment.rowCount + " rows", partitionResult.executionTime + fragment.fetchTime);
+                    }
+                    resultSetFlowFiles.add(resultSetFF);
+                }
+
+                partitionResult.sqlWriter.updateCounters(session);
+            }
+
+            for (int i = 0; i < resultSetFlowFiles.size(); i++) {
+                resultSetFlowFiles.set(i, session.putAttribute(resultSetFlowFiles.get(i), FRAGMENT_COUNT, Integer.toString(fragmentIndex)));
+            }
+            session.transfer(resultSetFlowFiles, REL_SUCCESS);
+            if (fileToProcess != null) {
+                session.remove(fileToProcess);
+            }
+        } catch (final ProcessException | SQLException e) {
+            resultSetFlowFiles.forEach(session::remove);
+            routeToFailure(context, session, fileToProcess, query, e);
+        } finally {
+            // drop the partitions that have not started yet, and delete the results fetched by the others once they are done
+            for (final Future<PartitionResult> partitionResult : partitionResults) {
+                if (partitionResult.cancel(false)) {
+                    continue;
+                }
+                try {
+                    partitionResult.get().close();
+                } catch (final Exception e) {
+                    logger.debug("Partition failed or its results could not be deleted due to {}", new Object[]{e.getLocalizedMessage()}, e);
+                }
+            }
+        }
+    }
+
+    /*
+     * Executes the query of a partition on a new connection and fetches all of its results, split by Max Rows Per Flow File, into temporary files,
+     * so that the partitions are fetched concurrently while the session, which is not thread-safe, is only used by the thread that triggered the processor.
+     */
+    private PartitionResult executePartition(final QueryPartition partition, final SqlWriter sqlWriter, final Map<String, String> attributes, final List<String> preQueries,
+                                             final List<String> postQueries, final Integer fetchSize, final Integer queryTimeout, final Integer maxRowsPerFlowFile)
+            throws SQLException, IOException {
+        final PartitionResult partitionResult = new PartitionResult(sqlWriter);
+        try (final Connection con = dbcpService.getConnection(attributes)) {
+            Pair<String, SQLException> failure = executeConfigStatements(con, preQueries);
+            if (failure != null) {
+                throw new SQLException("Unable to execute SQL pre-query " + failure.getLeft(), failure.getRight());
+            }
+
+            try (final PreparedStatement st = con.prepareStatement(partition.getQuery())) {
+                if (fetchSize != null && fetchSize > 0) {
+                    try {
+                        st.setFetchSize(fetchSize);
+                    } catch (SQLException se) {
+                        // Not all drivers support this, just log the error (at debug level) and move on
+                        getLogger().debug("Cannot set fetch size to {} due to {}", new Object[]{fetchSize, se.getLocalizedMessage()}, se);
+                    }
+                }
+                st.setQueryTimeout(queryTimeout); // timeout in seconds
+
+                // the bounds of the partition follow the parameters of the select query
+                int parameterIndex = 0;
+                for (final String attribute : attributes.keySet()) {
+                    final Matcher matcher = JdbcCommon.SQL_TYPE_ATTRIBUTE_PATTERN.matcher(attribute);
+                    if (matcher.matches()) {
+                        parameterIndex = Math.max(parameterIndex, Integer.parseInt(matcher.group(1)));
+                    }
+                }
+                JdbcCommon.setParameters(st, attributes);
+                for (final Object parameter : partition.getParameters()) {
+                    st.setObject(++parameterIndex, parameter);
+                }
+
+                final StopWatch executionTime = new StopWatch(true);
+                try (final ResultSet resultSet = st.executeQuery()) {
+                    partitionResult.executionTime = executionTime.getElapsed(TimeUnit.MILLISECONDS);
+
+                    long rowCount;
+                    do {
+                        final StopWatch fetchTime = new StopWatch(true);
+                        final PartitionFragment fragment = new PartitionFragment(Files.createTempFile("executesql-partition-", null));
+                        partitionResult.fragments.add(fragment);
+                        try (final OutputStream out = new BufferedOutputStream(Files.newOutputStream(fragment.content))) {
+                            rowCount = sqlWriter.writeResultSet(resultSet, out, getLogger(), null);
+                        } catch (final SQLException | IOException | ProcessException e) {
+                            throw e;
+                        } catch (final Exception e) {
+                            throw new ProcessException(e);
+                        }
+
+                        // if the partition is fragmented and this is not its first fragment, drop it if it is empty
+                        if (rowCount == 0 && partitionResult.fragments.size() > 1) {
+                            partitionResult.fragments.remove(partitionResult.fragments.size() - 1);
+                            Files.delete(fragment.content);
+                            break;
+                        }
+
+                        fragment.rowCount = rowCount;
+                        fragment.fetchTime = fetchTime.getElapsed(TimeUnit.MILLISECONDS);
+                        fragment.attributes = new HashMap<>(sqlWriter.getAttributesToAdd());
+                    } while (maxRowsPerFlowFile > 0 && rowCount == maxRowsPerFlowFile);
+                }
+            }
+
+            failure = executeConfigStatements(con, postQueries);
+            if (failure != null) {
+                throw new SQLException("Unable to execute SQL post-query " + failure.getLeft(), failure.getRight());
+            }
+
+            return partitionResult;
+        } catch (final SQLException | IOException | RuntimeException e) {
+            try {
+                partitionResult.close();
+            } catch (final IOException ce) {
+                e.addSuppressed(ce);
+            }
+            throw e;
+        }
+    }
+
+    private PartitionResult getPartitionResult(final Future<PartitionResult> partitionResult) throws SQLException {
+        try {
+            return partitionResult.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessException("Interrupted while waiting for the query of a partition", e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw (cause instanceof ProcessException) ? (ProcessException) cause : new ProcessException(cause);
+        }
+    }
+
+    private void routeToFailure(final ProcessContext context, final ProcessSession session, FlowFile fileToProcess, final String selectQuery, final Exception e) {
+        final ComponentLog logger = getLogger();
+        //If we had at least one result then it's OK to drop the original file, but if we had no results then
+        //  pass the original flow file down the line to trigger downstream processors
+        if (fileToProcess == null) {
+            // This can happen if any exceptions occur while setting up the connection, statement, etc.
+            logger.error("Unable to execute SQL select query {} due to {}. No FlowFile to route to failure",
+                    new Object[]{selectQuery, e});
+            context.yield();
+        } else {
+            if (context.hasIncomingConnection()) {
+                logger.error("Unable to execute SQL select query {} for {} due to {}; routing to failure",
+                        new Object[]{selectQuery, fileToProcess, e});
+                fileToProcess = session.penalize(fileToProcess);
+            } else {
+                logger.error("Unable to execute SQL select query {} due to {}; routing to failure",
                         new Object[]{selectQuery, e});
                 context.yield();
-            } else {
-                if (context.hasIncomingConnection()) {
-                    logger.error("Unable to execute SQL select query {} for {} due to {}; routing to failure",
-                            new Object[]{selectQuery, fileToProcess, e});
-                    fileToProcess = session.penalize(fileToProcess);
-                } else {
-                    logger.error("Unable to execute SQL select query {} due to {}; routing to failure",
-                            new Object[]{selectQuery, e});
-                    context.yield();
-                }
-                session.putAttribute(fileToProcess,RESULT_ERROR_MESSAGE,e.getMessage());
-                session.transfer(fileToProcess, REL_FAILURE);
             }
+            session.putAttribute(fileToProcess,RESULT_ERROR_MESSAGE,e.getMessage());
+            session.transfer(fileToProcess, REL_FAILURE);
         }
     }
 
@@ -480,5 +759,38 @@ public abstract class AbstractExecuteSQL extends AbstractProcessor {
         return queries;
     }
 
+    /*
+     * The results fetched for the query of a partition.
+     */
+    private static class PartitionResult {
+        private final SqlWriter sqlWriter;
+        private final List<PartitionFragment> fragments = new ArrayList<>();
+        private long executionTime;
+
+        private PartitionResult(final SqlWriter sqlWriter) {
+            this.sqlWriter = sqlWriter;
+        }
+
+        private void close() throws IOException {
+            for (final PartitionFragment fragment : fragments) {
+                Files.deleteIfExists(fragment.content);
+            }
+        }
+    }
+
+    /*
+     * The rows of a partition written to one FlowFile, held in a temporary file until they are imported into the session.
+     */
+    private static class PartitionFragment {
+        private final Path content;
+        private long rowCount;
+        private long fetchTime;
+        private Map<String, String> attributes;
+
+        private PartitionFragment(final Path content) {
+            this.content = content;
+        }
+    }
+
     protected abstract SqlWriter configureSqlWriter(ProcessSession session, ProcessContext context, FlowFile fileToProcess);
 }
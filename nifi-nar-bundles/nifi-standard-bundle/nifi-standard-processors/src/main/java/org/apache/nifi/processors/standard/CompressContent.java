@@ -16,12 +16,18 @@
  */
 package org.apache.nifi.processors.standard;
 
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -49,7 +55,10 @@ import org.apache.nifi.annotation.behavior.SystemResourceConsideration;
 import org.apache.nifi.annotation.behavior.WritesAttribute;
 import org.apache.nifi.annotation.documentation.CapabilityDescription;
 import org.apache.nifi.annotation.documentation.Tags;
+import org.apache.nifi.annotation.lifecycle.OnScheduled;
+import org.apache.nifi.annotation.lifecycle.OnStopped;
 import org.apache.nifi.components.PropertyDescriptor;
+import org.apache.nifi.expression.ExpressionLanguageScope;
 import org.apache.nifi.flowfile.FlowFile;
 import org.apache.nifi.flowfile.attributes.CoreAttributes;
 import org.apache.nifi.logging.ComponentLog;
@@ -60,6 +69,7 @@ import org.apache.nifi.processor.ProcessorInitializationContext;
 import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.io.StreamCallback;
+import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.stream.io.GZIPOutputStream;
 import org.apache.nifi.util.StopWatch;
 import org.tukaani.xz.LZMA2Options;
@@ -74,7 +84,7 @@ import org.xerial.snappy.SnappyOutputStream;
 @SideEffectFree
 @SupportsBatching
 @InputRequirement(Requirement.INPUT_REQUIRED)
-@Tags({"content", "compress", "decompress", "gzip", "bzip2", "lzma", "xz-lzma2", "snappy", "snappy framed", "lz4-framed"})
+@Tags({"content", "compress", "decompress", "gzip", "bzip2", "lzma", "xz-lzma2", "snappy", "snappy framed", "lz4-framed", "zstd"})
 @CapabilityDescription("Compresses or decompresses the contents of FlowFiles using a user-specified compression algorithm and updates the mime.type "
     + "attribute as appropriate. This processor operates in a very memory efficient way so very large objects well beyond the heap size "
     + "are generally fine to process")
@@ -94,28 +104,47 @@ public class CompressContent extends AbstractProcessor {
     public static final String COMPRESSION_FORMAT_SNAPPY = "snappy";
     public static final String COMPRESSION_FORMAT_SNAPPY_FRAMED = "snappy framed";
     public static final String COMPRESSION_FORMAT_LZ4_FRAMED ="lz4-framed";
+    public static final String COMPRESSION_FORMAT_ZSTD = "zstd";
 
     public static final String MODE_COMPRESS = "compress";
     public static final String MODE_DECOMPRESS = "decompress";
 
     public static final PropertyDescriptor COMPRESSION_FORMAT = new PropertyDescriptor.Builder()
     .name("Compression Format")
-    .description("The compression format to use. Valid values are: GZIP, BZIP2, XZ-LZMA2, LZMA, Snappy, Snappy Framed, and LZ4-Framed")
+    .description("The compression format to use. Valid values are: GZIP, BZIP2, XZ-LZMA2, LZMA, Snappy, Snappy Framed, LZ4-Framed, and Zstd")
     .allowableValues(COMPRESSION_FORMAT_ATTRIBUTE, COMPRESSION_FORMAT_GZIP, COMPRESSION_FORMAT_BZIP2,
             COMPRESSION_FORMAT_XZ_LZMA2, COMPRESSION_FORMAT_LZMA, COMPRESSION_FORMAT_SNAPPY, COMPRESSION_FORMAT_SNAPPY_FRAMED,
-            COMPRESSION_FORMAT_LZ4_FRAMED)
+            COMPRESSION_FORMAT_LZ4_FRAMED, COMPRESSION_FORMAT_ZSTD)
     .defaultValue(COMPRESSION_FORMAT_ATTRIBUTE)
     .required(true)
     .build();
     public static final PropertyDescriptor COMPRESSION_LEVEL = new PropertyDescriptor.Builder()
     .name("Compression Level")
-    .description("The compression level to use; this is valid only when using gzip or xz-lzma2 compression. A lower value results in faster processing "
-        + "but less compression; a value of 0 indicates no (that is, simple archiving) for gzip or minimal for xz-lzma2 compression."
+    .description("The compression level to use; this is valid only when using gzip, xz-lzma2 or zstd compression. A lower value results in faster processing "
+        + "but less compression; a value of 0 indicates no (that is, simple archiving) for gzip, minimal for xz-lzma2 or the default level of 3 for zstd compression."
         + " Higher levels can mean much larger memory usage such as the case with levels 7-9 for xz-lzma/2 so be careful relative to heap size.")
         .defaultValue("1")
         .required(true)
         .allowableValues("0", "1", "2", "3", "4", "5", "6", "7", "8", "9")
         .build();
+    public static final PropertyDescriptor ZSTD_WORKER_THREADS = new PropertyDescriptor.Builder()
+    .name("Zstd Worker Threads")
+    .description("The number of threads used to compress the content of a single FlowFile with zstd. A value of 0 compresses the content on the thread "
+        + "processing the FlowFile, while a greater value lets large FlowFiles be compressed by that many background threads in parallel. "
+        + "This is valid only when compressing with zstd; decompression always happens on a single thread.")
+    .defaultValue("0")
+    .required(true)
+    .addValidator(StandardValidators.NON_NEGATIVE_INTEGER_VALIDATOR)
+    .build();
+    public static final PropertyDescriptor ZSTD_DICTIONARY = new PropertyDescriptor.Builder()
+    .name("Zstd Dictionary")
+    .description("A file holding a dictionary trained with 'zstd --train' on content similar to the content being processed. This greatly improves "
+        + "the compression ratio of small FlowFiles, such as individual JSON events. The same dictionary must be used to compress and decompress the content. "
+        + "This is valid only when using zstd compression.")
+    .required(false)
+    .addValidator(StandardValidators.FILE_EXISTS_VALIDATOR)
+    .expressionLanguageSupported(ExpressionLanguageScope.VARIABLE_REGISTRY)
+    .build();
     public static final PropertyDescriptor MODE = new PropertyDescriptor.Builder()
     .name("Mode")
     .description("Indicates whether the processor should compress content or decompress content. Must be either 'compress' or 'decompress'")
@@ -144,6 +173,8 @@ public class CompressContent extends AbstractProcessor {
     private List<PropertyDescriptor> properties;
     private Set<Relationship> relationships;
     private Map<String, String> compressionFormatMimeTypeMap;
+    private volatile ZstdDictCompress zstdDictCompress;
+    private volatile ZstdDictDecompress zstdDictDecompress;
 
     @Override
     protected void init(final ProcessorInitializationContext context) {
@@ -151,6 +182,8 @@ public class CompressContent extends AbstractProcessor {
         properties.add(MODE);
         properties.add(COMPRESSION_FORMAT);
         properties.add(COMPRESSION_LEVEL);
+        properties.add(ZSTD_WORKER_THREADS);
+        properties.add(ZSTD_DICTIONARY);
         properties.add(UPDATE_FILENAME);
         this.properties = Collections.unmodifiableList(properties);
 
@@ -168,6 +201,7 @@ public class CompressContent extends AbstractProcessor {
         mimeTypeMap.put("application/x-snappy", COMPRESSION_FORMAT_SNAPPY);
         mimeTypeMap.put("application/x-snappy-framed", COMPRESSION_FORMAT_SNAPPY_FRAMED);
         mimeTypeMap.put("application/x-lz4-framed", COMPRESSION_FORMAT_LZ4_FRAMED);
+        mimeTypeMap.put("application/zstd", COMPRESSION_FORMAT_ZSTD);
         this.compressionFormatMimeTypeMap = Collections.unmodifiableMap(mimeTypeMap);
     }
 
@@ -181,6 +215,32 @@ public class CompressContent extends AbstractProcessor {
         return properties;
     }
 
+    @OnScheduled
+    public void loadZstdDictionary(final ProcessContext context) throws IOException {
+        final String dictionaryFile = context.getProperty(ZSTD_DICTIONARY).evaluateAttributeExpressions().getValue();
+        if (dictionaryFile == null) {
+            return;
+        }
+
+        // digest the dictionary once rather than for every FlowFile, as this is costly compared to compressing a small FlowFile
+        final byte[] dictionary = Files.readAllBytes(Paths.get(dictionaryFile));
+        zstdDictCompress = new ZstdDictCompress(dictionary, context.getProperty(COMPRESSION_LEVEL).asInteger());
+        zstdDictDecompress = new ZstdDictDecompress(dictionary);
+    }
+
+    @OnStopped
+    public void clearZstdDictionary() {
+        // the digested dictionaries live in native memory, which is only released when they are closed
+        if (zstdDictCompress != null) {
+            zstdDictCompress.close();
+            zstdDictCompress = null;
+        }
+        if (zstdDictDecompress != null) {
+            zstdDictDecompress.close();
+            zstdDictDecompress = null;
+        }
+    }
+
     @Override
     public void onTrigger(final ProcessContext context, final ProcessSession session) {
         FlowFile flowFile = session.get();
@@ -237,6 +297,9 @@ public class CompressContent extends AbstractProcessor {
             case COMPRESSION_FORMAT_LZ4_FRAMED:
                 fileExtension = ".lz4";
                 break;
+            case COMPRESSION_FORMAT_ZSTD:
+                fileExtension = ".zst";
+                break;
             default:
                 fileExtension = "";
                 break;
@@ -283,6 +346,20 @@ public class CompressContent extends AbstractProcessor {
                                     mimeTypeRef.set("application/x-lz4-framed");
                                     compressionOut = new CompressorStreamFactory().createCompressorOutputStream(compressionFormat.toLowerCase(), bufferedOut);
                                     break;
+                                case COMPRESSION_FORMAT_ZSTD:
+                                    final int zstdCompressionLevel = context.getProperty(COMPRESSION_LEVEL).asInteger();
+                                    final ZstdOutputStream zstdOut = new ZstdOutputStream(bufferedOut, zstdCompressionLevel);
+                                    final int workerThreads = context.getProperty(ZSTD_WORKER_THREADS).asInteger();
+                                    if (workerThreads > 0) {
+                                        zstdOut.setWorkers(workerThreads);
+                                    }
+                                    final ZstdDictCompress dictCompress = zstdDictCompress;
+                                    if (dictCompress != null) {
+                                        zstdOut.setDict(dictCompress);
+                                    }
+                                    compressionOut = zstdOut;
+                                    mimeTypeRef.set("application/zstd");
+                                    break;
                                 case COMPRESSION_FORMAT_BZIP2:
                                 default:
                                     mimeTypeRef.set("application/x-bzip2");
@@ -314,6 +391,14 @@ public class CompressContent extends AbstractProcessor {
                                 case COMPRESSION_FORMAT_LZ4_FRAMED:
                                     compressionIn = new FramedLZ4CompressorInputStream(bufferedIn, true);
                                     break;
+                                case COMPRESSION_FORMAT_ZSTD:
+                                    final ZstdInputStream zstdIn = new ZstdInputStream(bufferedIn);
+                                    final ZstdDictDecompress dictDecompress = zstdDictDecompress;
+                                    if (dictDecompress != null) {
+                                        zstdIn.setDict(dictDecompress);
+                                    }
+                                    compressionIn = zstdIn;
+                                    break;
                                 default:
                                     compressionIn = new CompressorStreamFactory().createCompressorInputStream(compressionFormat.toLowerCase(), bufferedIn);
                             }
@@ -17,9 +17,15 @@
 package org.apache.nifi.processors.standard;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -33,9 +39,14 @@ import org.apache.nifi.annotation.behavior.SupportsBatching;
 import org.apache.nifi.annotation.documentation.CapabilityDescription;
 import org.apache.nifi.annotation.documentation.SeeAlso;
 import org.apache.nifi.annotation.documentation.Tags;
+import org.apache.nifi.annotation.lifecycle.OnScheduled;
+import org.apache.nifi.annotation.lifecycle.OnStopped;
 import org.apache.nifi.annotation.behavior.WritesAttribute;
 import org.apache.nifi.annotation.behavior.InputRequirement.Requirement;
+import org.apache.nifi.components.AllowableValue;
 import org.apache.nifi.components.PropertyDescriptor;
+import org.apache.nifi.components.ValidationContext;
+import org.apache.nifi.components.ValidationResult;
 import org.apache.nifi.distributed.cache.client.Deserializer;
 import org.apache.nifi.distributed.cache.client.DistributedMapCacheClient;
 import org.apache.nifi.distributed.cache.client.Serializer;
@@ -51,6 +62,7 @@ import org.apache.nifi.processor.ProcessSession;
 import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.util.StandardValidators;
+import org.apache.nifi.processors.standard.util.TimeWindowedBloomFilter;
 
 @EventDriven
 @SupportsBatching
@@ -59,7 +71,9 @@ import org.apache.nifi.processor.util.StandardValidators;
 @CapabilityDescription("Caches a value, computed from FlowFile attributes, for each incoming FlowFile and determines if the cached value has already been seen. "
         + "If so, routes the FlowFile to 'duplicate' with an attribute named 'original.identifier' that specifies the original FlowFile's "
         + "\"description\", which is specified in the <FlowFile Description> property. If the FlowFile is not determined to be a duplicate, the Processor "
-        + "routes the FlowFile to 'non-duplicate'")
+        + "routes the FlowFile to 'non-duplicate'. Alternatively, the cached values can be held by a local Bloom filter, which avoids a round trip to the "
+        + "Distributed Cache Service for each FlowFile at the expense of a configurable rate of false positives, and of duplicates only being detected "
+        + "among the FlowFiles processed by the same node.")
 @WritesAttribute(attribute = "original.flowfile.description", description = "All FlowFiles routed to the duplicate relationship will have "
         + "an attribute added named original.flowfile.description. The value of this attribute is determined by the attributes of the original "
         + "copy of the data and by the FlowFile Description property.")
@@ -68,10 +82,26 @@ public class DetectDuplicate extends AbstractProcessor {
 
     public static final String ORIGINAL_DESCRIPTION_ATTRIBUTE_NAME = "original.flowfile.description";
 
+    public static final AllowableValue DISTRIBUTED_CACHE = new AllowableValue("Distributed Cache", "Distributed Cache",
+            "Cache Entry Identifiers are looked up in and added to the Distributed Cache Service");
+    public static final AllowableValue LOCAL_BLOOM_FILTER = new AllowableValue("Local Bloom Filter", "Local Bloom Filter",
+            "Cache Entry Identifiers are looked up in and added to a Bloom filter held in memory by each node. A FlowFile is never reported as a "
+            + "non-duplicate when it is a duplicate of a FlowFile processed by the same node, but it may be reported as a duplicate when it is not, with the "
+            + "probability given by the Local Filter False Positive Rate property. As the filter does not keep the FlowFile Descriptions, duplicates are "
+            + "not given the " + ORIGINAL_DESCRIPTION_ATTRIBUTE_NAME + " attribute.");
+
+    public static final PropertyDescriptor DETECTION_STRATEGY = new PropertyDescriptor.Builder()
+            .name("Detection Strategy")
+            .description("Specifies where the Cache Entry Identifiers of the FlowFiles already seen are kept")
+            .required(true)
+            .allowableValues(DISTRIBUTED_CACHE, LOCAL_BLOOM_FILTER)
+            .defaultValue(DISTRIBUTED_CACHE.getValue())
+            .build();
     public static final PropertyDescriptor DISTRIBUTED_CACHE_SERVICE = new PropertyDescriptor.Builder()
             .name("Distributed Cache Service")
-            .description("The Controller Service that is used to cache unique identifiers, used to determine duplicates")
-            .required(true)
+            .description("The Controller Service that is used to cache unique identifiers, used to determine duplicates. "
+                    + "Required when the Detection Strategy is " + DISTRIBUTED_CACHE.getDisplayName() + ".")
+            .required(false)
             .identifiesControllerService(DistributedMapCacheClient.class)
             .build();
     public static final PropertyDescriptor CACHE_ENTRY_IDENTIFIER = new PropertyDescriptor.Builder()
@@ -112,6 +142,44 @@ public class DetectDuplicate extends AbstractProcessor {
             .defaultValue("true")
             .build();
 
+    public static final PropertyDescriptor LOCAL_FILTER_EXPECTED_ENTRIES = new PropertyDescriptor.Builder()
+            .name("Local Filter Expected Entries")
+            .description("When the Detection Strategy is " + LOCAL_BLOOM_FILTER.getDisplayName() + ", the number of Cache Entry Identifiers each segment "
+                    + "of the filter is sized for. The filter adds a segment whenever the newest one is full, and drops segments as their identifiers age off, "
+                    + "so this is best set to the number of identifiers expected within a quarter of the Age Off Duration.")
+            .required(true)
+            .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+            .defaultValue("1000000")
+            .build();
+    public static final PropertyDescriptor LOCAL_FILTER_FALSE_POSITIVE_RATE = new PropertyDescriptor.Builder()
+            .name("Local Filter False Positive Rate")
+            .description("When the Detection Strategy is " + LOCAL_BLOOM_FILTER.getDisplayName() + ", the probability for each segment of the filter to "
+                    + "report a FlowFile as a duplicate when it is not. The lower the rate, the more memory each segment takes: about 1.2 MB per million "
+                    + "Expected Entries at 0.01, and 1.8 MB at 0.001.")
+            .required(true)
+            .addValidator((subject, input, context) -> {
+                boolean valid;
+                try {
+                    final double rate = Double.parseDouble(input);
+                    valid = rate > 0D && rate < 1D;
+                } catch (final NumberFormatException e) {
+                    valid = false;
+                }
+                return new ValidationResult.Builder().subject(subject).input(input).valid(valid)
+                        .explanation(valid ? null : "must be a number strictly between 0 and 1").build();
+            })
+            .defaultValue("0.001")
+            .build();
+    public static final PropertyDescriptor LOCAL_FILTER_DIRECTORY = new PropertyDescriptor.Builder()
+            .name("Local Filter Directory")
+            .description("When the Detection Strategy is " + LOCAL_BLOOM_FILTER.getDisplayName() + ", a local directory in which the filter is saved when "
+                    + "the Processor is stopped, and from which it is restored when the Processor is started. If not set, the filter starts empty every time "
+                    + "the Processor is started.")
+            .required(false)
+            .addValidator(StandardValidators.createDirectoryExistsValidator(true, true))
+            .expressionLanguageSupported(ExpressionLanguageScope.VARIABLE_REGISTRY)
+            .build();
+
     public static final Relationship REL_DUPLICATE = new Relationship.Builder()
             .name("duplicate")
             .description("If a FlowFile has been detected to be a duplicate, it will be routed to this relationship")
@@ -130,6 +198,8 @@ public class DetectDuplicate extends AbstractProcessor {
     private final Serializer<CacheValue> valueSerializer = new CacheValueSerializer();
     private final Deserializer<CacheValue> valueDeserializer = new CacheValueDeserializer();
 
+    private volatile TimeWindowedBloomFilter localFilter;
+
     public DetectDuplicate() {
         final Set<Relationship> rels = new HashSet<>();
         rels.add(REL_DUPLICATE);
@@ -144,11 +214,83 @@ public class DetectDuplicate extends AbstractProcessor {
         descriptors.add(CACHE_ENTRY_IDENTIFIER);
         descriptors.add(FLOWFILE_DESCRIPTION);
         descriptors.add(AGE_OFF_DURATION);
+        descriptors.add(DETECTION_STRATEGY);
         descriptors.add(DISTRIBUTED_CACHE_SERVICE);
         descriptors.add(CACHE_IDENTIFIER);
+        descriptors.add(LOCAL_FILTER_EXPECTED_ENTRIES);
+        descriptors.add(LOCAL_FILTER_FALSE_POSITIVE_RATE);
+        descriptors.add(LOCAL_FILTER_DIRECTORY);
         return descriptors;
     }
 
+    @Override
+    protected Collection<ValidationResult> customValidate(final ValidationContext context) {
+        final List<ValidationResult> results = new ArrayList<>(super.customValidate(context));
+
+        final boolean local = LOCAL_BLOOM_FILTER.getValue().equals(context.getProperty(DETECTION_STRATEGY).getValue());
+        if (!local && !context.getProperty(DISTRIBUTED_CACHE_SERVICE).isSet()) {
+            results.add(new ValidationResult.Builder()
+                    .subject(DISTRIBUTED_CACHE_SERVICE.getName())
+                    .valid(false)
+                    .explanation("a Distributed Cache Service is required when the Detection Strategy is " + DISTRIBUTED_CACHE.getDisplayName())
+                    .build());
+        }
+        if (local && !context.getProperty(CACHE_IDENTIFIER).asBoolean()) {
+            results.add(new ValidationResult.Builder()
+                    .subject(CACHE_IDENTIFIER.getName())
+                    .valid(false)
+                    .explanation("Cache Entry Identifiers must be cached when the Detection Strategy is " + LOCAL_BLOOM_FILTER.getDisplayName()
+                            + ", as no other processor can add them to the local filter")
+                    .build());
+        }
+
+        return results;
+    }
+
+    @OnScheduled
+    public void createLocalFilter(final ProcessContext context) throws IOException {
+        if (!LOCAL_BLOOM_FILTER.getValue().equals(context.getProperty(DETECTION_STRATEGY).getValue())) {
+            return;
+        }
+
+        final Long durationMS = context.getProperty(AGE_OFF_DURATION).asTimePeriod(TimeUnit.MILLISECONDS);
+        final TimeWindowedBloomFilter filter = new TimeWindowedBloomFilter(context.getProperty(LOCAL_FILTER_EXPECTED_ENTRIES).asInteger(),
+                context.getProperty(LOCAL_FILTER_FALSE_POSITIVE_RATE).asDouble(), durationMS == null ? 0L : durationMS);
+
+        final Path filterFile = getLocalFilterFile(context);
+        if (filterFile != null && Files.exists(filterFile)) {
+            try (final InputStream in = Files.newInputStream(filterFile)) {
+                if (!filter.readFrom(in)) {
+                    getLogger().warn("Not restoring the local filter saved in {} as it was created with a different size or false positive rate", new Object[]{filterFile});
+                }
+            }
+        }
+
+        localFilter = filter;
+    }
+
+    @OnStopped
+    public void saveLocalFilter(final ProcessContext context) throws IOException {
+        final TimeWindowedBloomFilter filter = localFilter;
+        localFilter = null;
+
+        final Path filterFile = getLocalFilterFile(context);
+        if (filter == null || filterFile == null) {
+            return;
+        }
+
+        final Path tempFile = filterFile.resolveSibling(filterFile.getFileName() + ".tmp");
+        try (final OutputStream out = Files.newOutputStream(tempFile)) {
+            filter.writeTo(out);
+        }
+        Files.move(tempFile, filterFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path getLocalFilterFile(final ProcessContext context) {
+        final String directory = context.getProperty(LOCAL_FILTER_DIRECTORY).evaluateAttributeExpressions().getValue();
+        return directory == null ? null : Paths.get(directory, getIdentifier() + ".bloom");
+    }
+
     @Override
     public Set<Relationship> getRelationships() {
         return relationships;
@@ -169,6 +311,23 @@ public class DetectDuplicate extends AbstractProcessor {
             session.transfer(flowFile, REL_FAILURE);
             return;
         }
+
+        final TimeWindowedBloomFilter filter = localFilter;
+        if (filter != null) {
+            if (filter.mightContainOrPut(cacheKey, System.currentTimeMillis())) {
+                session.getProvenanceReporter().route(flowFile, REL_DUPLICATE, "Duplicate according to the local filter");
+                session.transfer(flowFile, REL_DUPLICATE);
+                logger.info("Found {} to be a duplicate according to the local filter", new Object[]{flowFile});
+                session.adjustCounter("Duplicates Detected", 1L, false);
+            } else {
+                session.getProvenanceReporter().route(flowFile, REL_NON_DUPLICATE);
+                session.transfer(flowFile, REL_NON_DUPLICATE);
+                logger.info("Could not find a duplicate entry in the local filter for {}; routing to non-duplicate", new Object[]{flowFile});
+                session.adjustCounter("Non-Duplicate Files Processed", 1L, false);
+            }
+            return;
+        }
+
         final DistributedMapCacheClient cache = context.getProperty(DISTRIBUTED_CACHE_SERVICE).asControllerService(DistributedMapCacheClient.class);
         final Long durationMS = context.getProperty(AGE_OFF_DURATION).asTimePeriod(TimeUnit.MILLISECONDS);
         final long now = System.currentTimeMillis();
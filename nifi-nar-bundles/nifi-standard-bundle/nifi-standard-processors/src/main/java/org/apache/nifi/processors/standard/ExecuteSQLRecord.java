@@ -136,6 +136,8 @@ public class ExecuteSQLRecord extends AbstractExecuteSQL {
         pds.add(MAX_ROWS_PER_FLOW_FILE);
         pds.add(OUTPUT_BATCH_SIZE);
         pds.add(FETCH_SIZE);
+        pds.add(PARTITION_COLUMN);
+        pds.add(PARTITION_COUNT);
         propDescriptors = Collections.unmodifiableList(pds);
     }
 
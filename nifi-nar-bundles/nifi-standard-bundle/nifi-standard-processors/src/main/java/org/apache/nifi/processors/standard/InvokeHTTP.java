@@ -28,6 +28,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.net.Proxy;
 import java.net.Proxy.Type;
 import java.net.URL;
@@ -51,7 +52,9 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
@@ -67,7 +70,11 @@ import javax.net.ssl.TrustManager;
 import javax.net.ssl.TrustManagerFactory;
 import javax.net.ssl.X509TrustManager;
 import okhttp3.Cache;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
 import okhttp3.Credentials;
+import okhttp3.Dispatcher;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -418,6 +425,36 @@ public final class InvokeHTTP extends AbstractProcessor {
             .allowableValues("true", "false")
             .build();
 
+    public static final PropertyDescriptor PROP_MAX_IN_FLIGHT_REQUESTS = new PropertyDescriptor.Builder()
+            .name("max-in-flight-requests")
+            .displayName("Maximum In-Flight Requests")
+            .description("The maximum number of incoming FlowFiles whose requests are sent concurrently by a single task. When greater than 1, each task takes up to "
+                    + "this many FlowFiles and sends all of their requests before waiting for the responses, which are then processed in the order the FlowFiles "
+                    + "were received and committed together. Over HTTPS, concurrent requests to a server supporting HTTP/2 share a single connection. "
+                    + "Request bodies are buffered in memory while their requests are in flight.")
+            .required(true)
+            .defaultValue("1")
+            .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+            .build();
+
+    public static final PropertyDescriptor PROP_MAX_IDLE_CONNECTIONS = new PropertyDescriptor.Builder()
+            .name("max-idle-connections")
+            .displayName("Maximum Idle Connections")
+            .description("The maximum number of idle connections to keep open for reuse by later requests.")
+            .required(true)
+            .defaultValue("5")
+            .addValidator(StandardValidators.NON_NEGATIVE_INTEGER_VALIDATOR)
+            .build();
+
+    public static final PropertyDescriptor PROP_IDLE_TIMEOUT = new PropertyDescriptor.Builder()
+            .name("idle-timeout")
+            .displayName("Idle Timeout")
+            .description("The amount of time an idle connection is kept open for reuse before being closed.")
+            .required(true)
+            .defaultValue("5 mins")
+            .addValidator(StandardValidators.TIME_PERIOD_VALIDATOR)
+            .build();
+
     private static final ProxySpec[] PROXY_SPECS = {ProxySpec.HTTP_AUTH, ProxySpec.SOCKS};
     public static final PropertyDescriptor PROXY_CONFIGURATION_SERVICE
             = ProxyConfiguration.createProxyConfigPropertyDescriptor(true, PROXY_SPECS);
@@ -450,7 +487,10 @@ public final class InvokeHTTP extends AbstractProcessor {
             PROP_PENALIZE_NO_RETRY,
             PROP_USE_ETAG,
             PROP_ETAG_MAX_CACHE_SIZE,
-            IGNORE_RESPONSE_CONTENT));
+            IGNORE_RESPONSE_CONTENT,
+            PROP_MAX_IN_FLIGHT_REQUESTS,
+            PROP_MAX_IDLE_CONNECTIONS,
+            PROP_IDLE_TIMEOUT));
 
     // relationships
     public static final Relationship REL_SUCCESS_REQ = new Relationship.Builder()
@@ -644,6 +684,20 @@ public final class InvokeHTTP extends AbstractProcessor {
         // Set whether to follow redirects
         okHttpClientBuilder.followRedirects(context.getProperty(PROP_FOLLOW_REDIRECTS).asBoolean());
 
+        // Size the connection pool, and let every task have all of its requests in flight at once, even against a single host
+        final int maxIdleConnections = context.getProperty(PROP_MAX_IDLE_CONNECTIONS).asInteger();
+        final long idleTimeoutMillis = context.getProperty(PROP_IDLE_TIMEOUT).asTimePeriod(TimeUnit.MILLISECONDS);
+        okHttpClientBuilder.connectionPool(new ConnectionPool(maxIdleConnections, idleTimeoutMillis, TimeUnit.MILLISECONDS));
+
+        final int maxInFlightRequests = context.getProperty(PROP_MAX_IN_FLIGHT_REQUESTS).asInteger();
+        if (maxInFlightRequests > 1) {
+            final int maxRequests = maxInFlightRequests * Math.max(1, context.getMaxConcurrentTasks());
+            final Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(maxRequests);
+            dispatcher.setMaxRequestsPerHost(maxRequests);
+            okHttpClientBuilder.dispatcher(dispatcher);
+        }
+
         final SSLContextService sslService = context.getProperty(PROP_SSL_CONTEXT_SERVICE).asControllerService(SSLContextService.class);
         final SSLContext sslContext = sslService == null ? null : sslService.createSSLContext(ClientAuth.NONE);
 
@@ -771,8 +825,57 @@ public final class InvokeHTTP extends AbstractProcessor {
     public void onTrigger(ProcessContext context, ProcessSession session) throws ProcessException {
         OkHttpClient okHttpClient = okHttpClientAtomicReference.get();
 
-        FlowFile requestFlowFile = session.get();
+        final int maxInFlightRequests = context.getProperty(PROP_MAX_IN_FLIGHT_REQUESTS).asInteger();
+        if (maxInFlightRequests > 1) {
+            final List<FlowFile> requestFlowFiles = session.get(maxInFlightRequests);
+            if (!requestFlowFiles.isEmpty()) {
+                invokeConcurrently(context, session, okHttpClient, requestFlowFiles);
+                return;
+            }
 
+            invoke(context, session, okHttpClient, null, null);
+        } else {
+            invoke(context, session, okHttpClient, session.get(), null);
+        }
+    }
+
+    private void invokeConcurrently(final ProcessContext context, final ProcessSession session, final OkHttpClient okHttpClient, final List<FlowFile> requestFlowFiles) {
+        // send every request before waiting for any of the responses
+        final List<InFlightRequest> inFlightRequests = new ArrayList<>(requestFlowFiles.size());
+        for (final FlowFile requestFlowFile : requestFlowFiles) {
+            InFlightRequest inFlightRequest = null;
+            try {
+                final String urlstr = trimToEmpty(context.getProperty(PROP_URL).evaluateAttributeExpressions(requestFlowFile).getValue());
+                final URL url = new URL(urlstr);
+                final Request httpRequest = configureRequest(context, session, requestFlowFile, url, true);
+
+                final Call call = okHttpClient.newCall(httpRequest);
+                inFlightRequest = new InFlightRequest(url, httpRequest, call);
+                call.enqueue(inFlightRequest);
+            } catch (final Exception e) {
+                // the request is configured again when processing the FlowFile, which routes it to failure if it fails the same way
+                getLogger().debug("Could not send the request for {} ahead of processing it due to {}", new Object[]{requestFlowFile, e});
+            }
+            inFlightRequests.add(inFlightRequest);
+        }
+
+        // the responses are processed by this thread, in order, since the session is not thread safe
+        int processed = 0;
+        try {
+            for (; processed < requestFlowFiles.size(); processed++) {
+                invoke(context, session, okHttpClient, requestFlowFiles.get(processed), inFlightRequests.get(processed));
+            }
+        } finally {
+            for (int i = processed; i < inFlightRequests.size(); i++) {
+                final InFlightRequest inFlightRequest = inFlightRequests.get(i);
+                if (inFlightRequest != null) {
+                    inFlightRequest.cancel();
+                }
+            }
+        }
+    }
+
+    private void invoke(final ProcessContext context, final ProcessSession session, final OkHttpClient okHttpClient, FlowFile requestFlowFile, final InFlightRequest inFlightRequest) {
         // Checking to see if the property to put the body of the response in an attribute was set
         boolean putToAttribute = context.getProperty(PROP_PUT_OUTPUT_IN_ATTRIBUTE).isSet();
         if (requestFlowFile == null) {
@@ -805,11 +908,18 @@ public final class InvokeHTTP extends AbstractProcessor {
 
         FlowFile responseFlowFile = null;
         try {
-            // read the url property from the context
-            final String urlstr = trimToEmpty(context.getProperty(PROP_URL).evaluateAttributeExpressions(requestFlowFile).getValue());
-            final URL url = new URL(urlstr);
-
-            Request httpRequest = configureRequest(context, session, requestFlowFile, url);
+            final URL url;
+            final Request httpRequest;
+            if (inFlightRequest == null) {
+                // read the url property from the context
+                final String urlstr = trimToEmpty(context.getProperty(PROP_URL).evaluateAttributeExpressions(requestFlowFile).getValue());
+                url = new URL(urlstr);
+
+                httpRequest = configureRequest(context, session, requestFlowFile, url, false);
+            } else {
+                url = inFlightRequest.getUrl();
+                httpRequest = inFlightRequest.getRequest();
+            }
 
             // log request
             logRequest(logger, httpRequest);
@@ -819,9 +929,9 @@ public final class InvokeHTTP extends AbstractProcessor {
                 session.getProvenanceReporter().send(requestFlowFile, url.toExternalForm(), true);
             }
 
-            final long startNanos = System.nanoTime();
+            final long startNanos = inFlightRequest == null ? System.nanoTime() : inFlightRequest.getStartNanos();
 
-            try (Response responseHttp = okHttpClient.newCall(httpRequest).execute()) {
+            try (Response responseHttp = inFlightRequest == null ? okHttpClient.newCall(httpRequest).execute() : inFlightRequest.awaitResponse()) {
                 // output the raw response headers (DEBUG level only)
                 logResponse(logger, url, responseHttp);
 
@@ -976,7 +1086,7 @@ public final class InvokeHTTP extends AbstractProcessor {
     }
 
 
-    private Request configureRequest(final ProcessContext context, final ProcessSession session, final FlowFile requestFlowFile, URL url) {
+    private Request configureRequest(final ProcessContext context, final ProcessSession session, final FlowFile requestFlowFile, URL url, final boolean bufferBody) {
         Request.Builder requestBuilder = new Request.Builder();
 
         requestBuilder = requestBuilder.url(url);
@@ -997,15 +1107,15 @@ public final class InvokeHTTP extends AbstractProcessor {
                 requestBuilder = requestBuilder.get();
                 break;
             case "POST":
-                RequestBody requestBody = getRequestBodyToSend(session, context, requestFlowFile);
+                RequestBody requestBody = getRequestBodyToSend(session, context, requestFlowFile, bufferBody);
                 requestBuilder = requestBuilder.post(requestBody);
                 break;
             case "PUT":
-                requestBody = getRequestBodyToSend(session, context, requestFlowFile);
+                requestBody = getRequestBodyToSend(session, context, requestFlowFile, bufferBody);
                 requestBuilder = requestBuilder.put(requestBody);
                 break;
             case "PATCH":
-                requestBody = getRequestBodyToSend(session, context, requestFlowFile);
+                requestBody = getRequestBodyToSend(session, context, requestFlowFile, bufferBody);
                 requestBuilder = requestBuilder.patch(requestBody);
                 break;
             case "HEAD":
@@ -1023,8 +1133,12 @@ public final class InvokeHTTP extends AbstractProcessor {
         return requestBuilder.build();
     }
 
-    private RequestBody getRequestBodyToSend(final ProcessSession session, final ProcessContext context, final FlowFile requestFlowFile) {
+    private RequestBody getRequestBodyToSend(final ProcessSession session, final ProcessContext context, final FlowFile requestFlowFile, final boolean bufferBody) {
         if(context.getProperty(PROP_SEND_BODY).asBoolean()) {
+            if (bufferBody) {
+                return getBufferedRequestBody(session, context, requestFlowFile);
+            }
+
             return new RequestBody() {
                 @Override
                 public MediaType contentType() {
@@ -1048,6 +1162,35 @@ public final class InvokeHTTP extends AbstractProcessor {
         }
     }
 
+    /*
+     * Reads the content of the FlowFile up front, as the request is written by one of the client's threads
+     * while this thread might be using the session.
+     */
+    private RequestBody getBufferedRequestBody(final ProcessSession session, final ProcessContext context, final FlowFile requestFlowFile) {
+        final String contentType = context.getProperty(PROP_CONTENT_TYPE).evaluateAttributeExpressions(requestFlowFile).getValue();
+        final MediaType mediaType = MediaType.parse(StringUtils.isBlank(contentType) ? DEFAULT_CONTENT_TYPE : contentType);
+
+        final byte[] content = new byte[(int) requestFlowFile.getSize()];
+        session.read(requestFlowFile, in -> StreamUtils.fillBuffer(in, content));
+
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return mediaType;
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                sink.write(content);
+            }
+
+            @Override
+            public long contentLength() {
+                return useChunked ? -1 : content.length;
+            }
+        };
+    }
+
     private Request.Builder setHeaderProperties(final ProcessContext context, Request.Builder requestBuilder, final FlowFile requestFlowFile) {
         // check if we should send the a Date header with the request
         if (context.getProperty(PROP_DATE_HEADER).asBoolean()) {
@@ -1250,6 +1393,63 @@ public final class InvokeHTTP extends AbstractProcessor {
         return Files.createTempDir();
     }
 
+    /**
+     * A request sent ahead of the processing of its FlowFile, whose response is awaited by the thread processing the FlowFile.
+     */
+    private static class InFlightRequest implements Callback {
+        private final URL url;
+        private final Request request;
+        private final Call call;
+        private final long startNanos = System.nanoTime();
+        private final CompletableFuture<Response> response = new CompletableFuture<>();
+
+        private InFlightRequest(final URL url, final Request request, final Call call) {
+            this.url = url;
+            this.request = request;
+            this.call = call;
+        }
+
+        @Override
+        public void onFailure(final Call call, final IOException e) {
+            response.completeExceptionally(e);
+        }
+
+        @Override
+        public void onResponse(final Call call, final Response response) {
+            this.response.complete(response);
+        }
+
+        URL getUrl() {
+            return url;
+        }
+
+        Request getRequest() {
+            return request;
+        }
+
+        long getStartNanos() {
+            return startNanos;
+        }
+
+        Response awaitResponse() throws IOException {
+            try {
+                return response.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                call.cancel();
+                throw new InterruptedIOException("Interrupted while waiting for the response to " + url);
+            } catch (final ExecutionException e) {
+                // only completed exceptionally by onFailure
+                throw (IOException) e.getCause();
+            }
+        }
+
+        void cancel() {
+            call.cancel();
+            response.thenAccept(Response::close);
+        }
+    }
+
     private static class OverrideHostnameVerifier implements HostnameVerifier {
 
         private final String trustedHostname;
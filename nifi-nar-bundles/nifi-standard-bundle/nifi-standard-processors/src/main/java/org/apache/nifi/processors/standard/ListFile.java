@@ -43,7 +43,10 @@ import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.processor.util.list.AbstractListProcessor;
 import org.apache.nifi.processor.util.list.ListedEntityTracker;
+import org.apache.nifi.processors.standard.util.DirectoryListingIndex;
 import org.apache.nifi.processors.standard.util.FileInfo;
+import org.apache.nifi.processors.standard.util.ParallelDirectoryWalker;
+import org.apache.nifi.processors.standard.util.ParallelDirectoryWalker.ListedFile;
 import org.apache.nifi.util.Tuple;
 
 import java.io.File;
@@ -76,6 +79,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
@@ -264,6 +268,29 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
         .defaultValue("3 mins")
         .build();
 
+    public static final PropertyDescriptor DIRECTORY_WALKER_THREADS = new Builder()
+        .name("directory-walker-threads")
+        .displayName("Directory Walker Threads")
+        .description("The number of threads used to list the Input Directory and its subdirectories. Listing several directories at once may greatly reduce the time it takes " +
+            "to list large directory trees, especially on remote file systems, where most of the time is spent waiting for the file system to respond.")
+        .required(true)
+        .addValidator(POSITIVE_INTEGER_VALIDATOR)
+        .defaultValue("1")
+        .build();
+
+    public static final PropertyDescriptor LISTING_INDEX_DIRECTORY = new Builder()
+        .name("listing-index-directory")
+        .displayName("Listing Index Directory")
+        .description("A local directory in which to persist an index of the content of the listed directories. When set, a directory whose last modified time did not change " +
+            "since it was last listed is not read again and the attributes of its files are not retrieved again, so that the cost of a listing depends on the number of " +
+            "modified directories rather than on the number of files. As the last modified time of a directory only changes when files are added to, removed from or renamed " +
+            "within it, this should only be used when files are moved into the Input Directory once written, and neither modified nor have their permissions changed afterwards. Each node of a cluster maintains " +
+            "its own index, within a subdirectory named after the identifier of the Processor.")
+        .required(false)
+        .addValidator(StandardValidators.createDirectoryExistsValidator(true, true))
+        .expressionLanguageSupported(VARIABLE_REGISTRY)
+        .build();
+
 
     private List<PropertyDescriptor> properties;
     private Set<Relationship> relationships;
@@ -273,6 +300,7 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
 
     private volatile boolean includeFileAttributes;
     private volatile PerformanceTracker performanceTracker;
+    private volatile ParallelDirectoryWalker directoryWalker;
     private volatile long performanceLoggingTimestamp = System.currentTimeMillis();
     private final AtomicReference<BiPredicate<Path, BasicFileAttributes>> fileFilterRef = new AtomicReference<>();
 
@@ -309,6 +337,8 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
         properties.add(MAX_TRACKED_FILES);
         properties.add(MAX_DISK_OPERATION_TIME);
         properties.add(MAX_LISTING_TIME);
+        properties.add(DIRECTORY_WALKER_THREADS);
+        properties.add(LISTING_INDEX_DIRECTORY);
         this.properties = Collections.unmodifiableList(properties);
 
         final Set<Relationship> relationships = new HashSet<>();
@@ -335,8 +365,16 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
     }
 
     @OnScheduled
-    public void onScheduled(final ProcessContext context) {
-        fileFilterRef.set(createFileFilter(context));
+    public void onScheduled(final ProcessContext context) throws IOException {
+        final int walkerThreads = context.getProperty(DIRECTORY_WALKER_THREADS).asInteger();
+        final String indexDirectory = context.getProperty(LISTING_INDEX_DIRECTORY).evaluateAttributeExpressions().getValue();
+        if (walkerThreads > 1 || indexDirectory != null) {
+            final DirectoryListingIndex index = indexDirectory == null ? null : new DirectoryListingIndex(Paths.get(indexDirectory, getIdentifier()));
+            directoryWalker = new ParallelDirectoryWalker(walkerThreads, index, getLogger(), () -> !isScheduled());
+        }
+
+        // the directory walker tells whether each file is readable and hidden from the attributes it retrieved
+        fileFilterRef.set(createFileFilter(context, directoryWalker == null));
         includeFileAttributes = context.getProperty(INCLUDE_FILE_ATTRIBUTES).asBoolean();
 
         final long maxDiskOperationMillis = context.getProperty(MAX_DISK_OPERATION_TIME).evaluateAttributeExpressions().asTimePeriod(TimeUnit.MILLISECONDS);
@@ -361,6 +399,15 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
             monitoringFuture.cancel(true);
         }
 
+        if (directoryWalker != null) {
+            try {
+                directoryWalker.close();
+            } catch (final IOException e) {
+                getLogger().warn("Failed to close the listing index", e);
+            }
+            directoryWalker = null;
+        }
+
         final boolean trackPerformance = context.getProperty(TRACK_PERFORMANCE).asBoolean();
         if (trackPerformance) {
             logPerformance();
@@ -501,6 +548,7 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
         final Map<Path, BasicFileAttributes> lastModifiedMap = new HashMap<>();
 
         final BiPredicate<Path, BasicFileAttributes> fileFilter = fileFilterRef.get();
+        final ParallelDirectoryWalker walker = directoryWalker;
         int maxDepth = recurse ? Integer.MAX_VALUE : 1;
 
         final BiPredicate<Path, BasicFileAttributes> matcher = new BiPredicate<Path, BasicFileAttributes>() {
@@ -519,7 +567,9 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
                 final Path relativeDirectory = basePath.relativize(path).getParent();
                 final String relativePath = relativeDirectory == null ? "" : relativeDirectory.toString();
                 final String filename = path.getFileName().toString();
-                performanceTracker.acceptOperation(DiskOperation.RETRIEVE_NEXT_FILE_FROM_OS, relativePath, filename, timeToList);
+                if (walker == null) {
+                    performanceTracker.acceptOperation(DiskOperation.RETRIEVE_NEXT_FILE_FROM_OS, relativePath, filename, timeToList);
+                }
 
                 final boolean isDirectory = attributes.isDirectory();
                 if (isDirectory) {
@@ -553,6 +603,29 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
             final long start = System.currentTimeMillis();
             final List<FileInfo> result = new LinkedList<>();
 
+            if (walker != null) {
+                final boolean ignoreHidden = context.getProperty(IGNORE_HIDDEN_FILES).asBoolean();
+                for (final ListedFile file : walker.walk(basePath, recurse)) {
+                    // the files are retrieved by several threads ahead of being filtered, so the walker times their retrieval
+                    final Path path = file.getPath();
+                    final Path relativeDirectory = basePath.relativize(path).getParent();
+                    final String relativePath = relativeDirectory == null ? "" : relativeDirectory.toString();
+                    performanceTracker.acceptOperation(DiskOperation.RETRIEVE_NEXT_FILE_FROM_OS, relativePath, path.getFileName().toString(), file.getRetrievalMillis());
+
+                    if (!file.isReadable() || (ignoreHidden && file.isHidden())) {
+                        continue;
+                    }
+
+                    if (matcher.test(path, file.getAttributes())) {
+                        result.add(createFileInfo(path, file.getAttributes()));
+                    }
+                }
+
+                final long millis = System.currentTimeMillis() - start;
+                getLogger().debug("Took {} milliseconds to perform listing and gather {} entries", new Object[] {millis, result.size()});
+                return result;
+            }
+
             Files.walkFileTree(basePath, Collections.singleton(FileVisitOption.FOLLOW_LINKS), maxDepth, new FileVisitor<Path>() {
                 @Override
                 public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attributes) throws IOException {
@@ -567,17 +640,7 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
                 @Override
                 public FileVisitResult visitFile(final Path path, final BasicFileAttributes attributes) throws IOException {
                     if (matcher.test(path, attributes)) {
-                        final File file = path.toFile();
-                        final BasicFileAttributes fileAttributes = lastModifiedMap.get(path);
-                        final FileInfo fileInfo = new FileInfo.Builder()
-                                .directory(false)
-                                .filename(file.getName())
-                                .fullPathFileName(file.getAbsolutePath())
-                                .lastModifiedTime(fileAttributes.lastModifiedTime().toMillis())
-                                .size(fileAttributes.size())
-                                .build();
-
-                        result.add(fileInfo);
+                        result.add(createFileInfo(path, lastModifiedMap.get(path)));
                     }
 
                     return FileVisitResult.CONTINUE;
@@ -608,7 +671,7 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
 
             getLogger().debug("Took {} milliseconds to perform listing and gather {} entries", new Object[] {millis, result.size()});
             return result;
-        } catch (final ProcessorStoppedException pse) {
+        } catch (final ProcessorStoppedException | CancellationException e) {
             getLogger().info("Processor was stopped so will not complete listing of Files");
             return Collections.emptyList();
         } finally {
@@ -616,6 +679,17 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
         }
     }
 
+    private FileInfo createFileInfo(final Path path, final BasicFileAttributes attributes) {
+        final File file = path.toFile();
+        return new FileInfo.Builder()
+                .directory(false)
+                .filename(file.getName())
+                .fullPathFileName(file.getAbsolutePath())
+                .lastModifiedTime(attributes.lastModifiedTime().toMillis())
+                .size(attributes.size())
+                .build();
+    }
+
     @Override
     protected boolean isListingResetNecessary(final PropertyDescriptor property) {
         return DIRECTORY.equals(property)
@@ -629,7 +703,7 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
                 || IGNORE_HIDDEN_FILES.equals(property);
     }
 
-    private BiPredicate<Path, BasicFileAttributes> createFileFilter(final ProcessContext context) {
+    private BiPredicate<Path, BasicFileAttributes> createFileFilter(final ProcessContext context, final boolean checkAccess) {
         final long minSize = context.getProperty(MIN_SIZE).asDataSize(DataUnit.B).longValue();
         final Double maxSize = context.getProperty(MAX_SIZE).asDataSize(DataUnit.B);
         final long minAge = context.getProperty(MIN_AGE).asTimePeriod(TimeUnit.MILLISECONDS);
@@ -679,6 +753,10 @@ public class ListFile extends AbstractListProcessor<FileInfo> {
                 return false;
             }
 
+            if (!checkAccess) {
+                return true;
+            }
+
             // Verify that we have at least read permissions on the file we're considering grabbing
             if (!timingInfo.timeOperation(DiskOperation.CHECK_READABLE, () -> Files.isReadable(path))) {
                 return false;
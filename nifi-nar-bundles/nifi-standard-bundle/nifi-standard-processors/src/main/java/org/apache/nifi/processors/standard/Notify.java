@@ -58,7 +58,7 @@ import org.apache.nifi.processor.util.StandardValidators;
 @WritesAttribute(attribute = "notified", description = "All FlowFiles will have an attribute 'notified'. The value of this " +
         "attribute is true, is the FlowFile is notified, otherwise false.")
 @SeeAlso(classNames = {"org.apache.nifi.distributed.cache.client.DistributedMapCacheClientService", "org.apache.nifi.distributed.cache.server.map.DistributedMapCacheServer",
-        "org.apache.nifi.processors.standard.Wait"})
+        "org.apache.nifi.distributed.cache.server.map.LocalMapCacheClientService", "org.apache.nifi.processors.standard.Wait"})
 public class Notify extends AbstractProcessor {
 
     public static final String NOTIFIED_ATTRIBUTE_NAME = "notified";
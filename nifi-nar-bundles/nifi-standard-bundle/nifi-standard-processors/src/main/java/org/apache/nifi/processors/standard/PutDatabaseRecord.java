@@ -75,6 +75,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -299,9 +300,23 @@ public class PutDatabaseRecord extends AbstractSessionFactoryProcessor {
             .expressionLanguageSupported(ExpressionLanguageScope.FLOWFILE_ATTRIBUTES)
             .build();
 
+    static final PropertyDescriptor ROWS_PER_INSERT = new PropertyDescriptor.Builder()
+            .name("put-db-record-rows-per-insert")
+            .displayName("Rows Per INSERT Statement")
+            .description("Specifies how many records are inserted by each INSERT statement, using a multi-row VALUES clause. Inserting several rows per statement "
+                    + "reduces the number of statements the database has to execute, but is only supported by some databases, such as PostgreSQL, MySQL, "
+                    + "MS SQL Server (up to 1000 rows and 2100 parameters per statement), H2 and Derby. Oracle does not support it. "
+                    + "When batching, Maximum Batch Size is the number of statements per batch. This parameter has no effect for other statements "
+                    + "specified in 'Statement Type'.")
+            .defaultValue("1")
+            .required(true)
+            .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+            .build();
+
     protected static List<PropertyDescriptor> propDescriptors;
 
     private Cache<SchemaKey, TableSchema> schemaCache;
+    private Cache<StatementKey, SqlAndIncludedColumns> statementCache;
 
     static {
         final Set<Relationship> r = new HashSet<>();
@@ -329,6 +344,7 @@ public class PutDatabaseRecord extends AbstractSessionFactoryProcessor {
         pds.add(RollbackOnFailure.ROLLBACK_ON_FAILURE);
         pds.add(TABLE_SCHEMA_CACHE_SIZE);
         pds.add(MAX_BATCH_SIZE);
+        pds.add(ROWS_PER_INSERT);
 
         propDescriptors = Collections.unmodifiableList(pds);
     }
@@ -451,6 +467,9 @@ public class PutDatabaseRecord extends AbstractSessionFactoryProcessor {
         schemaCache = Caffeine.newBuilder()
                 .maximumSize(tableSchemaCacheSize)
                 .build();
+        statementCache = Caffeine.newBuilder()
+                .maximumSize(tableSchemaCacheSize)
+                .build();
 
         process = new Put<>();
 
@@ -654,31 +673,34 @@ public class PutDatabaseRecord extends AbstractSessionFactoryProcessor {
             throw new IllegalArgumentException("No record schema specified!");
         }
 
-        final SqlAndIncludedColumns sqlHolder;
-        if (INSERT_TYPE.equalsIgnoreCase(statementType)) {
-            sqlHolder = generateInsert(recordSchema, fqTableName, tableSchema, settings);
+        // the generated statements only depend on the table, the record schema and the processor configuration,
+        // which cannot change while the processor is running
+        final StatementKey statementKey = new StatementKey(fqTableName, statementType.toUpperCase(), updateKeys, recordSchema, tableSchema);
+        SqlAndIncludedColumns sqlHolder = statementCache.getIfPresent(statementKey);
+        if (sqlHolder == null) {
+            if (INSERT_TYPE.equalsIgnoreCase(statementType)) {
+                sqlHolder = generateInsert(recordSchema, fqTableName, tableSchema, settings);
 
-        } else if (UPDATE_TYPE.equalsIgnoreCase(statementType)) {
-            sqlHolder = generateUpdate(recordSchema, fqTableName, updateKeys, tableSchema, settings);
+            } else if (UPDATE_TYPE.equalsIgnoreCase(statementType)) {
+                sqlHolder = generateUpdate(recordSchema, fqTableName, updateKeys, tableSchema, settings);
 
-        } else if (DELETE_TYPE.equalsIgnoreCase(statementType)) {
-            sqlHolder = generateDelete(recordSchema, fqTableName, tableSchema, settings);
+            } else if (DELETE_TYPE.equalsIgnoreCase(statementType)) {
+                sqlHolder = generateDelete(recordSchema, fqTableName, tableSchema, settings);
 
-        } else {
-            throw new IllegalArgumentException(format("Statement Type %s is not valid, FlowFile %s", statementType, flowFile));
+            } else {
+                throw new IllegalArgumentException(format("Statement Type %s is not valid, FlowFile %s", statementType, flowFile));
+            }
+            statementCache.put(statementKey, sqlHolder);
         }
 
-        try (PreparedStatement ps = con.prepareStatement(sqlHolder.getSql())) {
+        final boolean deleteStatement = DELETE_TYPE.equalsIgnoreCase(statementType);
+        final int rowsPerStatement = INSERT_TYPE.equalsIgnoreCase(statementType) ? context.getProperty(ROWS_PER_INSERT).asInteger() : 1;
+        final String sql = rowsPerStatement > 1 ? generateMultiRowInsert(sqlHolder, rowsPerStatement) : sqlHolder.getSql();
+
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
 
             final int queryTimeout = functionContext.queryTimeout;
-            try {
-                ps.setQueryTimeout(queryTimeout); // timeout in seconds
-            } catch (SQLException se) {
-                // If the driver doesn't support query timeout, then assume it is "infinite". Allow a timeout of zero only
-                if (queryTimeout > 0) {
-                    throw se;
-                }
-            }
+            setQueryTimeout(ps, queryTimeout);
 
             Record currentRecord;
             List<Integer> fieldIndexes = sqlHolder.getFieldIndexes();
@@ -687,44 +709,37 @@ public class PutDatabaseRecord extends AbstractSessionFactoryProcessor {
             int currentBatchSize = 0;
             int batchIndex = 0;
 
+            // the rows of the statement being filled, they are only set on the statement once it is complete
+            final Object[][] pendingValues = new Object[rowsPerStatement][];
+            final int[][] pendingSqlTypes = new int[rowsPerStatement][];
+            int pendingRows = 0;
+
+            RecordSchema sqlTypesSchema = null;
+            int[] sqlTypes = null;
+
             while ((currentRecord = recordParser.nextRecord()) != null) {
                 Object[] values = currentRecord.getValues();
-                List<DataType> dataTypes = currentRecord.getSchema().getDataTypes();
                 if (values != null) {
-                    if (fieldIndexes != null) {
-                        for (int i = 0; i < fieldIndexes.size(); i++) {
-                            final int currentFieldIndex = fieldIndexes.get(i);
-                            final Object currentValue = values[currentFieldIndex];
-                            final DataType dataType = dataTypes.get(currentFieldIndex);
-                            final int sqlType = DataTypeUtils.getSQLTypeValue(dataType);
-
-                            // If DELETE type, insert the object twice because of the null check (see generateDelete for details)
-                            if (DELETE_TYPE.equalsIgnoreCase(statementType)) {
-                                ps.setObject(i * 2 + 1, currentValue, sqlType);
-                                ps.setObject(i * 2 + 2, currentValue, sqlType);
-                            } else {
-                                ps.setObject(i + 1, currentValue, sqlType);
-                            }
-                        }
-                    } else {
-                        // If there's no index map, assume all values are included and set them in order
-                        for (int i = 0; i < values.length; i++) {
-                            final Object currentValue = values[i];
-                            final DataType dataType = dataTypes.get(i);
-                            final int sqlType = DataTypeUtils.getSQLTypeValue(dataType);
-                            // If DELETE type, insert the object twice because of the null check (see generateDelete for details)
-                            if (DELETE_TYPE.equalsIgnoreCase(statementType)) {
-                                ps.setObject(i * 2 + 1, currentValue, sqlType);
-                                ps.setObject(i * 2 + 2, currentValue, sqlType);
-                            } else {
-                                ps.setObject(i + 1, currentValue, sqlType);
-                            }
-                        }
+                    // the SQL types are only resolved again when the schema of the records changes
+                    final RecordSchema currentSchema = currentRecord.getSchema();
+                    if (currentSchema != sqlTypesSchema) {
+                        sqlTypes = getSqlTypes(currentSchema);
+                        sqlTypesSchema = currentSchema;
+                    }
+
+                    pendingValues[pendingRows] = values;
+                    pendingSqlTypes[pendingRows] = sqlTypes;
+                    if (++pendingRows < rowsPerStatement) {
+                        continue;
                     }
+
+                    setParameters(ps, pendingValues, pendingSqlTypes, pendingRows, fieldIndexes, deleteStatement);
+                    pendingRows = 0;
+
                     ps.addBatch();
                     if (++currentBatchSize == maxBatchSize) {
                         batchIndex++;
-                        log.debug("Executing query {}; fieldIndexes: {}; batch index: {}; batch size: {}", new Object[]{sqlHolder.getSql(), sqlHolder.getFieldIndexes(), batchIndex, currentBatchSize});
+                        log.debug("Executing query {}; fieldIndexes: {}; batch index: {}; batch size: {}", new Object[]{sql, sqlHolder.getFieldIndexes(), batchIndex, currentBatchSize});
                         ps.executeBatch();
                         currentBatchSize = 0;
                     }
@@ -733,15 +748,71 @@ public class PutDatabaseRecord extends AbstractSessionFactoryProcessor {
 
             if (currentBatchSize > 0) {
                 batchIndex++;
-                log.debug("Executing query {}; fieldIndexes: {}; batch index: {}; batch size: {}", new Object[]{sqlHolder.getSql(), sqlHolder.getFieldIndexes(), batchIndex, currentBatchSize});
+                log.debug("Executing query {}; fieldIndexes: {}; batch index: {}; batch size: {}", new Object[]{sql, sqlHolder.getFieldIndexes(), batchIndex, currentBatchSize});
                 ps.executeBatch();
             }
+
+            // insert the records left over from the last complete multi-row statement, as a batch so that a failure
+            // rolls back the transaction like the failure of any other batch
+            if (pendingRows > 0) {
+                final String remainderSql = generateMultiRowInsert(sqlHolder, pendingRows);
+                try (PreparedStatement remainderPs = con.prepareStatement(remainderSql)) {
+                    setQueryTimeout(remainderPs, queryTimeout);
+                    setParameters(remainderPs, pendingValues, pendingSqlTypes, pendingRows, fieldIndexes, deleteStatement);
+                    remainderPs.addBatch();
+                    log.debug("Executing query {}; fieldIndexes: {}", new Object[]{remainderSql, sqlHolder.getFieldIndexes()});
+                    remainderPs.executeBatch();
+                }
+            }
             result.routeTo(flowFile, REL_SUCCESS);
             session.getProvenanceReporter().send(flowFile, functionContext.jdbcUrl);
 
         }
     }
 
+    private void setQueryTimeout(final PreparedStatement ps, final int queryTimeout) throws SQLException {
+        try {
+            ps.setQueryTimeout(queryTimeout); // timeout in seconds
+        } catch (SQLException se) {
+            // If the driver doesn't support query timeout, then assume it is "infinite". Allow a timeout of zero only
+            if (queryTimeout > 0) {
+                throw se;
+            }
+        }
+    }
+
+    private static int[] getSqlTypes(final RecordSchema recordSchema) {
+        final List<DataType> dataTypes = recordSchema.getDataTypes();
+        final int[] sqlTypes = new int[dataTypes.size()];
+        for (int i = 0; i < sqlTypes.length; i++) {
+            sqlTypes[i] = DataTypeUtils.getSQLTypeValue(dataTypes.get(i));
+        }
+        return sqlTypes;
+    }
+
+    private static void setParameters(final PreparedStatement ps, final Object[][] rowValues, final int[][] rowSqlTypes, final int rowCount,
+                                      final List<Integer> fieldIndexes, final boolean deleteStatement) throws SQLException {
+        int parameterIndex = 1;
+        for (int row = 0; row < rowCount; row++) {
+            final Object[] values = rowValues[row];
+            final int[] sqlTypes = rowSqlTypes[row];
+
+            // If there's no index map, assume all values are included and set them in order
+            final int valueCount = fieldIndexes == null ? values.length : fieldIndexes.size();
+            for (int i = 0; i < valueCount; i++) {
+                final int currentFieldIndex = fieldIndexes == null ? i : fieldIndexes.get(i);
+                final Object currentValue = values[currentFieldIndex];
+                final int sqlType = sqlTypes[currentFieldIndex];
+
+                ps.setObject(parameterIndex++, currentValue, sqlType);
+                // If DELETE type, insert the object twice because of the null check (see generateDelete for details)
+                if (deleteStatement) {
+                    ps.setObject(parameterIndex++, currentValue, sqlType);
+                }
+            }
+        }
+    }
+
     @Override
     public void onTrigger(ProcessContext context, ProcessSessionFactory sessionFactory) throws ProcessException {
 
@@ -835,6 +906,23 @@ public class PutDatabaseRecord extends AbstractSessionFactoryProcessor {
         return new SqlAndIncludedColumns(sqlBuilder.toString(), includedColumns);
     }
 
+    /**
+     * Extends the VALUES clause of an INSERT statement created by generateInsert so that it inserts the given number of rows,
+     * the parameters of each row following the parameters of the previous one.
+     */
+    static String generateMultiRowInsert(final SqlAndIncludedColumns insert, final int rows) {
+        if (rows == 1) {
+            return insert.getSql();
+        }
+
+        final String rowParameters = "(" + StringUtils.repeat("?", ",", insert.getFieldIndexes().size()) + ")";
+        final StringBuilder sqlBuilder = new StringBuilder(insert.getSql());
+        for (int i = 1; i < rows; i++) {
+            sqlBuilder.append(", ").append(rowParameters);
+        }
+        return sqlBuilder.toString();
+    }
+
     SqlAndIncludedColumns generateUpdate(final RecordSchema recordSchema, final String tableName, final String updateKeys,
                                          final TableSchema tableSchema, final DMLSettings settings)
             throws IllegalArgumentException, MalformedRecordException, SQLException {
@@ -1195,6 +1283,44 @@ public class PutDatabaseRecord extends AbstractSessionFactoryProcessor {
         }
     }
 
+    /**
+     * Identifies the statement generated for a table and a record schema. The table schema is compared by identity,
+     * so that the statements are generated again when the table schema is fetched again.
+     */
+    static class StatementKey {
+        private final String tableName;
+        private final String statementType;
+        private final String updateKeys;
+        private final RecordSchema recordSchema;
+        private final TableSchema tableSchema;
+
+        public StatementKey(final String tableName, final String statementType, final String updateKeys, final RecordSchema recordSchema, final TableSchema tableSchema) {
+            this.tableName = tableName;
+            this.statementType = statementType;
+            this.updateKeys = updateKeys;
+            this.recordSchema = recordSchema;
+            this.tableSchema = tableSchema;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tableName, statementType, updateKeys, recordSchema, System.identityHashCode(tableSchema));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            StatementKey statementKey = (StatementKey) o;
+            return tableSchema == statementKey.tableSchema
+                    && tableName.equals(statementKey.tableName)
+                    && statementType.equals(statementKey.statementType)
+                    && Objects.equals(updateKeys, statementKey.updateKeys)
+                    && recordSchema.equals(statementKey.recordSchema);
+        }
+    }
+
     /**
      * A holder class for a SQL prepared statement and a BitSet indicating which columns are being updated (to determine which values from the record to set on the statement)
      * A value of null for getIncludedColumns indicates that all columns/fields should be included.
@@ -52,7 +52,9 @@ import org.apache.nifi.processor.ProcessorInitializationContext;
 import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.exception.ProcessException;
 import org.apache.nifi.processor.io.OutputStreamCallback;
+import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.queryrecord.FlowFileTable;
+import org.apache.nifi.queryrecord.RecordBatch;
 import org.apache.nifi.record.path.FieldValue;
 import org.apache.nifi.record.path.RecordPath;
 import org.apache.nifi.record.path.RecordPathResult;
@@ -167,6 +169,18 @@ public class QueryRecord extends AbstractProcessor {
         .required(true)
         .build();
 
+    static final PropertyDescriptor SHARED_RECORD_LIMIT = new PropertyDescriptor.Builder()
+        .name("shared-record-limit")
+        .displayName("Shared Record Limit")
+        .description("When more than one query is configured, a FlowFile with at most this many records is parsed only once: its records are kept in memory "
+            + "and every query runs over them. A FlowFile with more records is read and parsed once per query. A value of 0 means that FlowFiles are always "
+            + "read once per query. Larger values trade heap usage for fewer reads of the content.")
+        .expressionLanguageSupported(ExpressionLanguageScope.NONE)
+        .addValidator(StandardValidators.NON_NEGATIVE_INTEGER_VALIDATOR)
+        .defaultValue("0")
+        .required(true)
+        .build();
+
     public static final Relationship REL_ORIGINAL = new Relationship.Builder()
         .name("original")
         .description("The original FlowFile is routed to this relationship")
@@ -199,6 +213,7 @@ public class QueryRecord extends AbstractProcessor {
         properties.add(RECORD_WRITER_FACTORY);
         properties.add(INCLUDE_ZERO_RECORD_FLOWFILES);
         properties.add(CACHE_SCHEMA);
+        properties.add(SHARED_RECORD_LIMIT);
         this.properties = Collections.unmodifiableList(properties);
 
         relationships.add(REL_FAILURE);
@@ -301,6 +316,8 @@ public class QueryRecord extends AbstractProcessor {
         int recordsRead = 0;
 
         try {
+            final RecordBatch recordBatch = readSharedRecords(context, session, original, recordReaderFactory);
+
             for (final PropertyDescriptor descriptor : context.getProperties().keySet()) {
                 if (!descriptor.isDynamic()) {
                     continue;
@@ -317,7 +334,7 @@ public class QueryRecord extends AbstractProcessor {
                 try {
                     final String sql = context.getProperty(descriptor).evaluateAttributeExpressions(original).getValue();
                     final AtomicReference<WriteResult> writeResultRef = new AtomicReference<>();
-                    final QueryResult queryResult = query(session, original, readerSchema, sql, recordReaderFactory);
+                    final QueryResult queryResult = query(session, original, readerSchema, sql, recordReaderFactory, recordBatch);
 
                     final AtomicReference<String> mimeTypeRef = new AtomicReference<>();
                     try {
@@ -405,6 +422,33 @@ public class QueryRecord extends AbstractProcessor {
     }
 
 
+    private RecordBatch readSharedRecords(final ProcessContext context, final ProcessSession session, final FlowFile flowFile,
+                                          final RecordReaderFactory recordReaderFactory) throws Exception {
+        final int maxRecords = context.getProperty(SHARED_RECORD_LIMIT).asInteger();
+        if (maxRecords == 0) {
+            return null;
+        }
+
+        int queryCount = 0;
+        for (final PropertyDescriptor descriptor : context.getProperties().keySet()) {
+            if (descriptor.isDynamic()) {
+                queryCount++;
+            }
+        }
+
+        // a single query reads the FlowFile only once anyway
+        if (queryCount < 2) {
+            return null;
+        }
+
+        final RecordBatch recordBatch = RecordBatch.read(session, flowFile, recordReaderFactory, maxRecords, getLogger());
+        if (recordBatch == null) {
+            getLogger().debug("{} has more than {} records so each query will read it", new Object[] {flowFile, maxRecords});
+        }
+
+        return recordBatch;
+    }
+
     private synchronized CachedStatement getStatement(final String sql, final RecordSchema schema, final Supplier<CachedStatement> statementBuilder) {
         final Tuple<String, RecordSchema> tuple = new Tuple<>(sql, schema);
         final BlockingQueue<CachedStatement> statementQueue = statementQueues.get(tuple, key -> new LinkedBlockingQueue<>());
@@ -452,13 +496,18 @@ public class QueryRecord extends AbstractProcessor {
 
     protected QueryResult query(final ProcessSession session, final FlowFile flowFile, final RecordSchema schema, final String sql, final RecordReaderFactory recordReaderFactory)
                 throws SQLException {
+        return query(session, flowFile, schema, sql, recordReaderFactory, null);
+    }
+
+    protected QueryResult query(final ProcessSession session, final FlowFile flowFile, final RecordSchema schema, final String sql, final RecordReaderFactory recordReaderFactory,
+                                final RecordBatch recordBatch) throws SQLException {
 
         final Supplier<CachedStatement> statementBuilder = () -> buildCachedStatement(sql, session, flowFile, schema, recordReaderFactory);
 
         final CachedStatement cachedStatement = getStatement(sql, schema, statementBuilder);
         final PreparedStatement stmt = cachedStatement.getStatement();
         final FlowFileTable table = cachedStatement.getTable();
-        table.setFlowFile(session, flowFile);
+        table.setFlowFile(session, flowFile, recordBatch);
 
         final ResultSet rs;
         try {
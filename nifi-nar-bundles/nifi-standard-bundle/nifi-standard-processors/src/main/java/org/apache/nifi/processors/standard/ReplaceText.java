@@ -50,6 +50,7 @@ import org.apache.nifi.processor.io.InputStreamCallback;
 import org.apache.nifi.processor.io.OutputStreamCallback;
 import org.apache.nifi.processor.io.StreamCallback;
 import org.apache.nifi.processor.util.StandardValidators;
+import org.apache.nifi.processors.standard.util.StreamingLiteralReplacer;
 import org.apache.nifi.stream.io.StreamUtils;
 import org.apache.nifi.stream.io.util.LineDemarcator;
 import org.apache.nifi.util.StopWatch;
@@ -57,8 +58,11 @@ import org.apache.nifi.util.StopWatch;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -157,7 +161,8 @@ public class ReplaceText extends AbstractProcessor {
             + "the FlowFile will be routed to 'failure'. "
             + "In 'Line-by-Line' Mode, if a single line is larger than this value, the FlowFile will be routed to 'failure'. A default value "
             + "of 1 MB is provided, primarily for 'Entire Text' mode. In 'Line-by-Line' Mode, a value such as 8 KB or 16 KB is suggested. "
-            + "This value is ignored if the <Replacement Strategy> property is set to one of: Append, Prepend, Always Replace")
+            + "This value is ignored if the <Replacement Strategy> property is set to one of: Append, Prepend, Always Replace, and in 'Entire Text' "
+            + "mode if it is set to Literal Replace, as literal replacements stream the content.")
         .required(true)
         .addValidator(StandardValidators.DATA_SIZE_VALIDATOR)
         .defaultValue("1 MB")
@@ -263,7 +268,7 @@ public class ReplaceText extends AbstractProcessor {
         final int maxBufferSize = context.getProperty(MAX_BUFFER_SIZE).asDataSize(DataUnit.B).intValue();
 
         final byte[] buffer;
-        if (replacementStrategy.equalsIgnoreCase(regexReplaceValue) || replacementStrategy.equalsIgnoreCase(literalReplaceValue)) {
+        if (replacementStrategy.equalsIgnoreCase(regexReplaceValue)) {
             buffer = new byte[maxBufferSize];
         } else {
             buffer = null;
@@ -290,7 +295,7 @@ public class ReplaceText extends AbstractProcessor {
 
                 break;
             case literalReplaceValue:
-                replacementStrategyExecutor = new LiteralReplace(buffer);
+                replacementStrategyExecutor = new LiteralReplace();
                 break;
             case alwaysReplace:
                 replacementStrategyExecutor = new AlwaysReplace();
@@ -547,38 +552,38 @@ public class ReplaceText extends AbstractProcessor {
                 final String contentString = new String(buffer, 0, flowFileSize, charset);
                 additionalAttrs.clear();
                 final Matcher matcher = searchPattern.matcher(contentString);
-
-                final PropertyValue replacementValueProperty = context.getProperty(REPLACEMENT_VALUE);
-
-                int matches = 0;
-                final StringBuffer sb = new StringBuffer();
-                while (matcher.find()) {
-                    matches++;
-
-                    for (int i=0; i <= matcher.groupCount(); i++) {
-                        additionalAttrs.put("$" + i, matcher.group(i));
-                    }
-
-                    String replacement = replacementValueProperty.evaluateAttributeExpressions(flowFile, additionalAttrs, escapeBackRefDecorator).getValue();
-                    replacement = escapeLiteralBackReferences(replacement, numCapturingGroups);
-                    String replacementFinal = normalizeReplacementString(replacement);
-
-                    matcher.appendReplacement(sb, replacementFinal);
+                if (!matcher.find()) {
+                    return flowFile;
                 }
 
-                if (matches > 0) {
-                    matcher.appendTail(sb);
+                final PropertyValue replacementValueProperty = context.getProperty(REPLACEMENT_VALUE);
 
-                    final String updatedValue = sb.toString();
-                    updatedFlowFile = session.write(flowFile, new OutputStreamCallback() {
-                        @Override
-                        public void process(final OutputStream out) throws IOException {
-                            out.write(updatedValue.getBytes(charset));
+                // write each replacement as it is made rather than building the whole updated content first
+                updatedFlowFile = session.write(flowFile, new OutputStreamCallback() {
+                    @Override
+                    public void process(final OutputStream out) throws IOException {
+                        try (final Writer writer = new BufferedWriter(new OutputStreamWriter(out, charset))) {
+                            final StringBuffer sb = new StringBuffer();
+                            int lastEnd = 0;
+                            do {
+                                for (int i = 0; i <= matcher.groupCount(); i++) {
+                                    additionalAttrs.put("$" + i, matcher.group(i));
+                                }
+
+                                String replacement = replacementValueProperty.evaluateAttributeExpressions(flowFile, additionalAttrs, escapeBackRefDecorator).getValue();
+                                replacement = escapeLiteralBackReferences(replacement, numCapturingGroups);
+                                String replacementFinal = normalizeReplacementString(replacement);
+
+                                sb.setLength(0);
+                                matcher.appendReplacement(sb, replacementFinal);
+                                writer.append(sb);
+                                lastEnd = matcher.end();
+                            } while (matcher.find());
+
+                            writer.write(contentString, lastEnd, contentString.length() - lastEnd);
                         }
-                    });
-                } else {
-                    return flowFile;
-                }
+                    }
+                });
 
             } else {
                 final Matcher matcher = searchPattern.matcher("");
@@ -626,12 +631,6 @@ public class ReplaceText extends AbstractProcessor {
     }
 
     private class LiteralReplace implements ReplacementStrategyExecutor {
-        private final byte[] buffer;
-
-        public LiteralReplace(final byte[] buffer) {
-            this.buffer = buffer;
-        }
-
         @Override
         public FlowFile replace(FlowFile flowFile, final ProcessSession session, final ProcessContext context, final String evaluateMode, final Charset charset, final int maxBufferSize) {
 
@@ -639,16 +638,19 @@ public class ReplaceText extends AbstractProcessor {
             final AttributeValueDecorator quotedAttributeDecorator = Pattern::quote;
             final String searchValue = context.getProperty(SEARCH_VALUE).evaluateAttributeExpressions(flowFile, quotedAttributeDecorator).getValue();
 
-            final int flowFileSize = (int) flowFile.getSize();
             if (evaluateMode.equalsIgnoreCase(ENTIRE_TEXT)) {
                 flowFile = session.write(flowFile, new StreamCallback() {
                     @Override
                     public void process(final InputStream in, final OutputStream out) throws IOException {
-                        StreamUtils.fillBuffer(in, buffer, false);
-                        final String contentString = new String(buffer, 0, flowFileSize, charset);
-                        // Interpreting the search and replacement values as char sequences
-                        final String updatedValue = contentString.replace(searchValue, replacementValue);
-                        out.write(updatedValue.getBytes(charset));
+                        // Interpreting the search and replacement values as char sequences, looking for their encoding when equivalent
+                        if (StreamingLiteralReplacer.isByteReplaceable(charset, searchValue)) {
+                            StreamingLiteralReplacer.replace(in, out, searchValue.getBytes(charset), replacementValue.getBytes(charset));
+                        } else {
+                            try (final Reader reader = new InputStreamReader(in, charset);
+                                 final Writer writer = new BufferedWriter(new OutputStreamWriter(out, charset))) {
+                                StreamingLiteralReplacer.replace(reader, writer, searchValue, replacementValue);
+                            }
+                        }
                     }
                 });
             } else {
@@ -680,7 +682,7 @@ public class ReplaceText extends AbstractProcessor {
 
         @Override
         public boolean isAllDataBufferedForEntireText() {
-            return true;
+            return false;
         }
     }
 
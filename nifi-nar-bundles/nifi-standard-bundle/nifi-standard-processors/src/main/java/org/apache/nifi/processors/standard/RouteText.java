@@ -50,6 +50,7 @@ import org.apache.nifi.processor.Relationship;
 import org.apache.nifi.processor.io.InputStreamCallback;
 import org.apache.nifi.processor.io.OutputStreamCallback;
 import org.apache.nifi.processor.util.StandardValidators;
+import org.apache.nifi.processors.standard.util.AhoCorasickMatcher;
 import org.apache.nifi.stream.io.util.LineDemarcator;
 
 import java.io.IOException;
@@ -228,6 +229,71 @@ public class RouteText extends AbstractProcessor {
                 r -> ignoreCase ? Pattern.compile(r, Pattern.CASE_INSENSITIVE) : Pattern.compile(r));
     }
 
+    /**
+     * Below these numbers of literal rules, looking for each literal on its own is faster than looking for all of them at once.
+     * Ignoring case, each literal on its own requires folding the case of the line, hence the lower number.
+     */
+    private static final int MIN_LITERALS_FOR_MULTI_MATCHING = 8;
+    private static final int MIN_IGNORE_CASE_LITERALS_FOR_MULTI_MATCHING = 2;
+
+    /**
+     * The literal rules last looked for all at once, reused as long as the values of the rules do not change.
+     */
+    private volatile LiteralRules cachedLiteralRules = null;
+
+    private LiteralRules getLiteralRules(final List<Map.Entry<Relationship, Object>> comparisons, final String matchStrategy, final boolean ignoreCase) {
+        final List<String> literals = new ArrayList<>(comparisons.size());
+        int literalCount = 0;
+        for (final Map.Entry<Relationship, Object> comparison : comparisons) {
+            final String literal = getLiteral(comparison.getValue(), matchStrategy, ignoreCase);
+            literals.add(literal);
+            if (literal != null) {
+                literalCount++;
+            }
+        }
+
+        if (literalCount < (ignoreCase ? MIN_IGNORE_CASE_LITERALS_FOR_MULTI_MATCHING : MIN_LITERALS_FOR_MULTI_MATCHING)) {
+            return null;
+        }
+
+        final LiteralRules cached = cachedLiteralRules;
+        if (cached != null && cached.ignoreCase == ignoreCase && cached.literals.equals(literals)) {
+            return cached;
+        }
+
+        final LiteralRules literalRules = new LiteralRules(literals, ignoreCase);
+        cachedLiteralRules = literalRules;
+        return literalRules;
+    }
+
+    /**
+     * Returns the string a line has to contain in order to match the given comparison, or <code>null</code> if matching the comparison
+     * requires more than containing a string. A regular expression without any special character is such a string, unless ignoring case
+     * as regular expressions only ignore the case of US-ASCII characters.
+     */
+    private static String getLiteral(final Object comparison, final String matchStrategy, final boolean ignoreCase) {
+        switch (matchStrategy) {
+            case containsValue:
+                return (String) comparison;
+            case containsRegularExpressionValue: {
+                if (ignoreCase) {
+                    return null;
+                }
+
+                final String regex = ((Pattern) comparison).pattern();
+                for (int i = 0; i < regex.length(); i++) {
+                    final char c = regex.charAt(i);
+                    if (!Character.isLetterOrDigit(c) && " ,:;/_@#%&'\"=<>!~`-".indexOf(c) < 0) {
+                        return null;
+                    }
+                }
+                return regex;
+            }
+            default:
+                return null;
+        }
+    }
+
     @Override
     protected void init(final ProcessorInitializationContext context) {
         final Set<Relationship> set = new HashSet<>();
@@ -411,6 +477,10 @@ public class RouteText extends AbstractProcessor {
             }
         }
 
+        // Look for the literals of all the rules in a single pass over each line rather than one after the other
+        final List<Map.Entry<Relationship, Object>> comparisons = new ArrayList<>(propValueMap.entrySet());
+        final LiteralRules literalRules = getLiteralRules(comparisons, matchStrategy, ignoreCase);
+
         final Map<Relationship, Map<Group, FlowFile>> flowFileMap = new HashMap<>();
         final Pattern groupPattern = groupingRegex;
 
@@ -451,9 +521,18 @@ public class RouteText extends AbstractProcessor {
                         variables.put("line", line);
                         variables.put("lineNo", String.valueOf(++lineCount));
 
+                        final boolean[] literalsInLine = literalRules == null ? null : literalRules.matcher.match(matchLine);
+
                         int propertiesThatMatchedLine = 0;
-                        for (final Map.Entry<Relationship, Object> entry : propValueMap.entrySet()) {
-                            boolean lineMatchesProperty = lineMatches(matchLine, entry.getValue(), matchStrategy, ignoreCase, originalFlowFile, variables);
+                        for (int i = 0; i < comparisons.size(); i++) {
+                            final Map.Entry<Relationship, Object> entry = comparisons.get(i);
+                            final boolean lineMatchesProperty;
+                            if (literalsInLine != null && literalRules.patternIndexes[i] >= 0) {
+                                lineMatchesProperty = literalsInLine[literalRules.patternIndexes[i]];
+                            } else {
+                                lineMatchesProperty = lineMatches(matchLine, entry.getValue(), matchStrategy, ignoreCase, originalFlowFile, variables);
+                            }
+
                             if (lineMatchesProperty) {
                                 propertiesThatMatchedLine++;
                             }
@@ -570,19 +649,19 @@ public class RouteText extends AbstractProcessor {
         switch (matchingStrategy) {
             case startsWithValue:
                 if (ignoreCase) {
-                    return line.toLowerCase().startsWith(((String) comparison).toLowerCase());
+                    return AhoCorasickMatcher.foldCase(line).startsWith(AhoCorasickMatcher.foldCase((String) comparison));
                 } else {
                     return line.startsWith((String) comparison);
                 }
             case endsWithValue:
                 if (ignoreCase) {
-                    return line.toLowerCase().endsWith(((String) comparison).toLowerCase());
+                    return AhoCorasickMatcher.foldCase(line).endsWith(AhoCorasickMatcher.foldCase((String) comparison));
                 } else {
                     return line.endsWith((String) comparison);
                 }
             case containsValue:
                 if (ignoreCase) {
-                    return line.toLowerCase().contains(((String) comparison).toLowerCase());
+                    return AhoCorasickMatcher.foldCase(line).contains(AhoCorasickMatcher.foldCase((String) comparison));
                 } else {
                     return line.contains((String) comparison);
                 }
@@ -606,6 +685,34 @@ public class RouteText extends AbstractProcessor {
     }
 
 
+    private static class LiteralRules {
+        // for each rule, the literal a line has to contain to match it, or null if the rule is not a literal
+        private final List<String> literals;
+        private final boolean ignoreCase;
+        private final AhoCorasickMatcher matcher;
+        // for each rule, the index of its literal in the matcher, or -1 if the rule is not a literal
+        private final int[] patternIndexes;
+
+        LiteralRules(final List<String> literals, final boolean ignoreCase) {
+            this.literals = literals;
+            this.ignoreCase = ignoreCase;
+            this.patternIndexes = new int[literals.size()];
+
+            final List<String> patterns = new ArrayList<>();
+            for (int i = 0; i < literals.size(); i++) {
+                final String literal = literals.get(i);
+                if (literal == null) {
+                    patternIndexes[i] = -1;
+                } else {
+                    patternIndexes[i] = patterns.size();
+                    patterns.add(literal);
+                }
+            }
+            this.matcher = new AhoCorasickMatcher(patterns, ignoreCase);
+        }
+    }
+
+
     private static class Group {
         private final List<String> capturedValues;
 
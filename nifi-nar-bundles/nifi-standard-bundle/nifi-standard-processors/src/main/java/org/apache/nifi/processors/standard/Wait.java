@@ -92,7 +92,7 @@ import static org.apache.nifi.processor.FlowFileFilter.FlowFileFilterResult.REJE
         + "each count value in the signal is copied.")
 })
 @SeeAlso(classNames = {"org.apache.nifi.distributed.cache.client.DistributedMapCacheClientService", "org.apache.nifi.distributed.cache.server.map.DistributedMapCacheServer",
-        "org.apache.nifi.processors.standard.Notify"})
+        "org.apache.nifi.distributed.cache.server.map.LocalMapCacheClientService", "org.apache.nifi.processors.standard.Notify"})
 public class Wait extends AbstractProcessor {
 
     public static final String WAIT_START_TIMESTAMP = "wait.start.timestamp";
@@ -101,7 +101,9 @@ public class Wait extends AbstractProcessor {
     public static final PropertyDescriptor DISTRIBUTED_CACHE_SERVICE = new PropertyDescriptor.Builder()
             .name("distributed-cache-service")
             .displayName("Distributed Cache Service")
-            .description("The Controller Service that is used to check for release signals from a corresponding Notify processor")
+            .description("The Controller Service that is used to check for release signals from a corresponding Notify processor. "
+                    + "When the Wait and Notify processors run on a single node, a LocalMapCacheClientService saves a round trip to a "
+                    + "DistributedMapCacheServer for every check.")
             .required(true)
             .identifiesControllerService(AtomicDistributedMapCacheClient.class)
             .build();
@@ -32,6 +32,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -51,6 +53,8 @@ public class RecordBinManager {
 
     private final AtomicLong maxBinAgeNanos = new AtomicLong(Long.MAX_VALUE);
     private final Map<String, List<RecordBin>> groupBinMap = new HashMap<>(); // guarded by lock
+    // the group of each bin, in the order in which the bins were created, so that the oldest ones are found without scanning every bin
+    private final Map<RecordBin, String> binsByAge = new LinkedHashMap<>(); // guarded by lock
     private final Lock lock = new ReentrantLock();
 
     private final AtomicInteger binCount = new AtomicInteger(0);
@@ -76,6 +80,7 @@ public class RecordBinManager {
                 }
             }
             groupBinMap.clear();
+            binsByAge.clear();
             binCount.set(0);
         } finally {
             lock.unlock();
@@ -169,6 +174,7 @@ public class RecordBinManager {
                 // track of a Bin. If we don't lose this, we could completely lose a Bin.
                 final List<RecordBin> bins = groupBinMap.computeIfAbsent(groupIdentifier, grpId -> new CopyOnWriteArrayList<>());
                 bins.add(bin);
+                binsByAge.put(bin, groupIdentifier);
             } finally {
                 lock.unlock();
             }
@@ -207,26 +213,18 @@ public class RecordBinManager {
 
 
     public void completeOldestBin() throws IOException {
-        RecordBin oldestBin = null;
+        final RecordBin oldestBin;
 
         lock.lock();
         try {
-            String oldestBinGroup = null;
-
-            for (final Map.Entry<String, List<RecordBin>> group : groupBinMap.entrySet()) {
-                for (final RecordBin bin : group.getValue()) {
-                    if (oldestBin == null || bin.isOlderThan(oldestBin)) {
-                        oldestBin = bin;
-                        oldestBinGroup = group.getKey();
-                    }
-                }
-            }
-
-            if (oldestBin == null) {
+            final Iterator<Map.Entry<RecordBin, String>> binIterator = binsByAge.entrySet().iterator();
+            if (!binIterator.hasNext()) {
                 return;
             }
 
-            removeBins(oldestBinGroup, Collections.singletonList(oldestBin));
+            final Map.Entry<RecordBin, String> oldest = binIterator.next();
+            oldestBin = oldest.getKey();
+            removeBins(oldest.getValue(), Collections.singletonList(oldestBin));
         } finally {
             lock.unlock();
         }
@@ -238,7 +236,24 @@ public class RecordBinManager {
 
     public int completeExpiredBins() throws IOException {
         final long maxNanos = maxBinAgeNanos.get();
-        return handleCompletedBins(bin -> bin.isOlderThan(maxNanos, TimeUnit.NANOSECONDS), "Bin has reached Max Bin Age");
+        final Map<String, List<RecordBin>> expiredBinMap = new HashMap<>();
+
+        lock.lock();
+        try {
+            // the bins are indexed in order of creation, so the expired ones come first
+            for (final Map.Entry<RecordBin, String> entry : binsByAge.entrySet()) {
+                final RecordBin bin = entry.getKey();
+                if (!bin.isOlderThan(maxNanos, TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+
+                expiredBinMap.computeIfAbsent(entry.getValue(), ignore -> new ArrayList<>()).add(bin);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        return completeBins(expiredBinMap, "Bin has reached Max Bin Age");
     }
 
     public int completeFullEnoughBins() throws IOException {
@@ -265,6 +280,10 @@ public class RecordBinManager {
             lock.unlock();
         }
 
+        return completeBins(completedBinMap, completionReason);
+    }
+
+    private int completeBins(final Map<String, List<RecordBin>> completedBinMap, final String completionReason) throws IOException {
         int completed = 0;
         for (final Map.Entry<String, List<RecordBin>> entry : completedBinMap.entrySet()) {
             final String key = entry.getKey();
@@ -295,6 +314,7 @@ public class RecordBinManager {
                 // update our binCount to keep track of this.
                 final int removedCount = initialSize - list.size();
                 binCount.addAndGet(-removedCount);
+                bins.forEach(binsByAge::remove);
 
                 if (list.isEmpty()) {
                     groupBinMap.remove(key);
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.sql;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * One of the queries a select query is split into, each selecting the rows whose value of a given column is within a contiguous range,
+ * so that they can be run concurrently. The select query is used as a derived table, and rows with a null value in the column belong to
+ * the first partition, so the partitions together select the same rows as the select query.
+ */
+public class QueryPartition {
+
+    private final String query;
+    private final List<Object> parameters;
+
+    private QueryPartition(final String query, final List<Object> parameters) {
+        this.query = query;
+        this.parameters = parameters;
+    }
+
+    /**
+     * @return the SQL query selecting the rows of the partition
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * @return the values of the parameters of the query which bound the partition, to be set after the parameters of the select query
+     */
+    public List<Object> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Returns a query selecting the minimum and maximum values of the given column in the rows selected by the select query.
+     *
+     * @param selectQuery the select query to split
+     * @param column the column by which the select query is split
+     * @return the query to run to get the values to split the select query with
+     */
+    public static String getBoundsQuery(final String selectQuery, final String column) {
+        return "SELECT MIN(" + column + "), MAX(" + column + ") FROM (" + selectQuery + ") nifi_partition_bounds";
+    }
+
+    /**
+     * Splits the select query into at most the given number of partitions of equal ranges of values of the given column.
+     * Fewer partitions are returned when the range of values is too small, and only the select query itself if the column
+     * only has null values.
+     *
+     * @param selectQuery the select query to split
+     * @param column the column by which the select query is split
+     * @param min the minimum value of the column, as returned by the bounds query
+     * @param max the maximum value of the column, as returned by the bounds query
+     * @param maxPartitions the maximum number of partitions
+     * @return the partitions of the select query
+     * @throws IllegalArgumentException if the values of the column are neither numbers nor dates
+     */
+    public static List<QueryPartition> split(final String selectQuery, final String column, final Object min, final Object max, final int maxPartitions) {
+        final List<Object> splitPoints = getSplitPoints(min, max, maxPartitions);
+        if (splitPoints.isEmpty()) {
+            return Collections.singletonList(new QueryPartition(selectQuery, Collections.emptyList()));
+        }
+
+        final String partitionQuery = "SELECT * FROM (" + selectQuery + ") nifi_partition WHERE ";
+        final List<QueryPartition> partitions = new ArrayList<>(splitPoints.size() + 1);
+        partitions.add(new QueryPartition(partitionQuery + column + " < ? OR " + column + " IS NULL", Collections.singletonList(splitPoints.get(0))));
+        for (int i = 1; i < splitPoints.size(); i++) {
+            final List<Object> parameters = new ArrayList<>(2);
+            parameters.add(splitPoints.get(i - 1));
+            parameters.add(splitPoints.get(i));
+            partitions.add(new QueryPartition(partitionQuery + column + " >= ? AND " + column + " < ?", parameters));
+        }
+        partitions.add(new QueryPartition(partitionQuery + column + " >= ?", Collections.singletonList(splitPoints.get(splitPoints.size() - 1))));
+        return partitions;
+    }
+
+    /*
+     * Returns the values strictly between min and max separating the partitions, in increasing order.
+     */
+    private static List<Object> getSplitPoints(final Object min, final Object max, final int maxPartitions) {
+        if (min == null || max == null || maxPartitions < 2) {
+            return Collections.emptyList();
+        }
+
+        final List<Object> splitPoints = new ArrayList<>(maxPartitions - 1);
+        if (min instanceof Date && max instanceof Date) {
+            final BigDecimal low = BigDecimal.valueOf(((Date) min).getTime());
+            final BigDecimal high = BigDecimal.valueOf(((Date) max).getTime());
+            for (final BigDecimal splitPoint : getSplitPoints(low, high, true, maxPartitions)) {
+                splitPoints.add(new Timestamp(splitPoint.longValue()));
+            }
+        } else if (min instanceof Number && max instanceof Number) {
+            final BigDecimal low = toBigDecimal((Number) min);
+            final BigDecimal high = toBigDecimal((Number) max);
+            final boolean integral = isIntegral(low) && isIntegral(high);
+            for (final BigDecimal splitPoint : getSplitPoints(low, high, integral, maxPartitions)) {
+                // bind integral values as such, as comparing an integer column with a decimal value might not use its index
+                splitPoints.add(integral && splitPoint.toBigInteger().bitLength() < 64 ? (Object) splitPoint.longValue() : splitPoint);
+            }
+        } else {
+            throw new IllegalArgumentException("Cannot partition by values of type " + min.getClass().getName() + ", the column must be numeric, a date or a timestamp");
+        }
+        return splitPoints;
+    }
+
+    private static List<BigDecimal> getSplitPoints(final BigDecimal low, final BigDecimal high, final boolean integral, final int maxPartitions) {
+        final List<BigDecimal> splitPoints = new ArrayList<>(maxPartitions - 1);
+        // integral ranges include both bounds, so that each distinct value can get its own partition
+        final BigDecimal range = integral ? high.subtract(low).add(BigDecimal.ONE) : high.subtract(low);
+        final BigDecimal partitions = BigDecimal.valueOf(maxPartitions);
+
+        BigDecimal previous = low;
+        for (int i = 1; i < maxPartitions; i++) {
+            final BigDecimal offset = integral
+                    ? range.multiply(BigDecimal.valueOf(i)).divide(partitions, 0, RoundingMode.FLOOR)
+                    : range.multiply(BigDecimal.valueOf(i)).divide(partitions, MathContext.DECIMAL64);
+            final BigDecimal splitPoint = low.add(offset);
+
+            // small ranges have fewer distinct split points than partitions
+            if (splitPoint.compareTo(previous) > 0 && splitPoint.compareTo(high) <= 0) {
+                splitPoints.add(splitPoint);
+                previous = splitPoint;
+            }
+        }
+        return splitPoints;
+    }
+
+    private static BigDecimal toBigDecimal(final Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        } else if (number instanceof BigInteger) {
+            return new BigDecimal((BigInteger) number);
+        } else if (number instanceof Double || number instanceof Float) {
+            return new BigDecimal(number.toString());
+        } else {
+            return BigDecimal.valueOf(number.longValue());
+        }
+    }
+
+    private static boolean isIntegral(final BigDecimal number) {
+        return number.signum() == 0 || number.scale() <= 0 || number.stripTrailingZeros().scale() <= 0;
+    }
+}
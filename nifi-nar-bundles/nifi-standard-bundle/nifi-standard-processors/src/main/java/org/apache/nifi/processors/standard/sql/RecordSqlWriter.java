@@ -54,6 +54,8 @@ public class RecordSqlWriter implements SqlWriter {
     private ResultSetRecordSet fullRecordSet;
     private RecordSchema writeSchema;
     private String mimeType;
+    // the records written since the counters were last updated
+    private long recordsWritten;
 
     public RecordSqlWriter(RecordSetWriterFactory recordSetWriterFactory, AvroConversionOptions options, int maxRowsPerFlowFile, Map<String, String> originalAttributes) {
         this.recordSetWriterFactory = recordSetWriterFactory;
@@ -80,6 +82,7 @@ public class RecordSqlWriter implements SqlWriter {
         }
         try (final RecordSetWriter resultSetWriter = recordSetWriterFactory.createWriter(logger, writeSchema, outputStream, Collections.emptyMap())) {
             writeResultRef.set(resultSetWriter.write(recordSet));
+            recordsWritten += writeResultRef.get().getRecordCount();
             if (mimeType == null) {
                 mimeType = resultSetWriter.getMimeType();
             }
@@ -110,7 +113,8 @@ public class RecordSqlWriter implements SqlWriter {
     public void updateCounters(ProcessSession session) {
         final WriteResult result = writeResultRef.get();
         if (result != null) {
-            session.adjustCounter("Records Written", result.getRecordCount(), false);
+            session.adjustCounter("Records Written", recordsWritten, false);
+            recordsWritten = 0;
         }
     }
 
@@ -55,7 +55,8 @@ public interface SqlWriter {
     }
 
     /**
-     * Updates any session counters as a result of processing result sets. The default implementation is empty, no counters will be updated.
+     * Updates any session counters as a result of processing the result sets written since the counters were last updated. The default implementation
+     * is empty, no counters will be updated.
      * @param session the session upon which to update counters
      */
     default void updateCounters(ProcessSession session) {
@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Finds which of a set of strings occur in a text in a single pass over the text, whatever the number of strings, using the
+ * Aho-Corasick algorithm. This class is immutable and thread safe once constructed.
+ */
+public class AhoCorasickMatcher {
+    private static final int ROOT = 0;
+    private static final int ASCII_SIZE = 128;
+
+    private final int patternCount;
+    private final boolean ignoreCase;
+
+    // for each state, the characters leading to another state, sorted, and the states they lead to
+    private final char[][] transitionChars;
+    private final int[][] transitionStates;
+    private final int[] failureStates;
+    // for ASCII characters, the state following each state, failures resolved, indexed by state * ASCII_SIZE + character
+    private final int[] asciiStates;
+    // for each state, the patterns ending with the characters leading to it
+    private final int[][] matchedPatterns;
+    private final int[] emptyPatterns;
+
+    /**
+     * @param patterns the strings to look for
+     * @param ignoreCase whether the strings should be matched regardless of the case of their characters
+     */
+    public AhoCorasickMatcher(final List<String> patterns, final boolean ignoreCase) {
+        this.patternCount = patterns.size();
+        this.ignoreCase = ignoreCase;
+
+        final List<TreeMap<Character, Integer>> transitions = new ArrayList<>();
+        final List<List<Integer>> patternsByState = new ArrayList<>();
+        transitions.add(new TreeMap<>());
+        patternsByState.add(new ArrayList<>());
+
+        final List<Integer> empty = new ArrayList<>();
+        for (int patternIndex = 0; patternIndex < patterns.size(); patternIndex++) {
+            final String pattern = patterns.get(patternIndex);
+            if (pattern.isEmpty()) {
+                empty.add(patternIndex);
+                continue;
+            }
+
+            int state = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                final char c = normalize(pattern.charAt(i));
+                Integer next = transitions.get(state).get(c);
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.add(new TreeMap<>());
+                    patternsByState.add(new ArrayList<>());
+                    transitions.get(state).put(c, next);
+                }
+                state = next;
+            }
+            patternsByState.get(state).add(patternIndex);
+        }
+
+        final int stateCount = transitions.size();
+        transitionChars = new char[stateCount][];
+        transitionStates = new int[stateCount][];
+        failureStates = new int[stateCount];
+        matchedPatterns = new int[stateCount][];
+        asciiStates = new int[stateCount * ASCII_SIZE];
+        emptyPatterns = empty.stream().mapToInt(Integer::intValue).toArray();
+
+        for (int state = 0; state < stateCount; state++) {
+            final TreeMap<Character, Integer> stateTransitions = transitions.get(state);
+            transitionChars[state] = new char[stateTransitions.size()];
+            transitionStates[state] = new int[stateTransitions.size()];
+
+            int i = 0;
+            for (final Map.Entry<Character, Integer> transition : stateTransitions.entrySet()) {
+                transitionChars[state][i] = transition.getKey();
+                transitionStates[state][i] = transition.getValue();
+                i++;
+            }
+        }
+
+        // breadth first, so that the failure state of each state, being shallower, is complete when the state is reached
+        final Queue<Integer> queue = new ArrayDeque<>();
+        matchedPatterns[ROOT] = toArray(patternsByState.get(ROOT));
+        for (char c = 0; c < ASCII_SIZE; c++) {
+            final int next = transition(ROOT, normalize(c));
+            asciiStates[c] = next < 0 ? ROOT : next;
+        }
+        for (final int child : transitionStates[ROOT]) {
+            failureStates[child] = ROOT;
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            final int state = queue.poll();
+
+            final List<Integer> statePatterns = patternsByState.get(state);
+            final int[] failurePatterns = matchedPatterns[failureStates[state]];
+            final int[] allPatterns = Arrays.copyOf(toArray(statePatterns), statePatterns.size() + failurePatterns.length);
+            System.arraycopy(failurePatterns, 0, allPatterns, statePatterns.size(), failurePatterns.length);
+            matchedPatterns[state] = allPatterns;
+
+            for (char c = 0; c < ASCII_SIZE; c++) {
+                final int next = transition(state, normalize(c));
+                asciiStates[state * ASCII_SIZE + c] = next < 0 ? asciiStates[failureStates[state] * ASCII_SIZE + c] : next;
+            }
+
+            for (int i = 0; i < transitionChars[state].length; i++) {
+                final char c = transitionChars[state][i];
+                final int child = transitionStates[state][i];
+                failureStates[child] = nextState(failureStates[state], c);
+                queue.add(child);
+            }
+        }
+    }
+
+    private static int[] toArray(final List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private char normalize(final char c) {
+        return ignoreCase ? foldCase(c) : c;
+    }
+
+    /**
+     * Folds the case of a character the way this matcher does when ignoring case. Two characters fold to the same character if and only if
+     * {@link String#equalsIgnoreCase(String)} considers them equal, whatever the default locale.
+     *
+     * @param c the character to fold
+     * @return the folded character
+     */
+    public static char foldCase(final char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * Folds the case of each character of a string, as {@link #foldCase(char)} does. Unlike {@link String#toLowerCase()}, the result
+     * neither depends on the default locale nor on the characters around each character, and is as long as the string.
+     *
+     * @param value the string to fold
+     * @return the folded string
+     */
+    public static String foldCase(final String value) {
+        final int length = value.length();
+        int i = 0;
+        while (i < length && foldCase(value.charAt(i)) == value.charAt(i)) {
+            i++;
+        }
+        if (i == length) {
+            return value;
+        }
+
+        final char[] folded = value.toCharArray();
+        for (; i < length; i++) {
+            folded[i] = foldCase(folded[i]);
+        }
+        return new String(folded);
+    }
+
+    private int nextState(final int state, final char c) {
+        int current = state;
+        int next;
+        while ((next = transition(current, c)) < 0 && current != ROOT) {
+            current = failureStates[current];
+        }
+        return next < 0 ? ROOT : next;
+    }
+
+    private int transition(final int state, final char c) {
+        final int index = Arrays.binarySearch(transitionChars[state], c);
+        return index < 0 ? -1 : transitionStates[state][index];
+    }
+
+    /**
+     * @return the number of strings this matcher looks for
+     */
+    public int getPatternCount() {
+        return patternCount;
+    }
+
+    /**
+     * Determines which of the strings occur in the given text
+     *
+     * @param text the text to search
+     * @return for each string, in the order in which they were given, whether it occurs in the text
+     */
+    public boolean[] match(final CharSequence text) {
+        final boolean[] matched = new boolean[patternCount];
+        int unmatched = patternCount;
+
+        for (final int pattern : emptyPatterns) {
+            matched[pattern] = true;
+            unmatched--;
+        }
+
+        int state = ROOT;
+        final int length = text.length();
+        for (int i = 0; i < length && unmatched > 0; i++) {
+            final char c = text.charAt(i);
+            state = c < ASCII_SIZE ? asciiStates[state * ASCII_SIZE + c] : nextState(state, normalize(c));
+
+            final int[] statePatterns = matchedPatterns[state];
+            if (statePatterns.length == 0) {
+                continue;
+            }
+
+            for (final int pattern : statePatterns) {
+                if (!matched[pattern]) {
+                    matched[pattern] = true;
+                    unmatched--;
+                }
+            }
+        }
+
+        return matched;
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.util;
+
+import org.apache.nifi.processor.DataUnit;
+import org.apache.nifi.rocksdb.RocksDBMetronome;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A persistent, node-local index of the content of the directories listed by ListFile. For each directory, the index holds the
+ * last modified time of the directory along with the name, type, size, last modified time, readability and visibility of each of its entries, so that a
+ * directory whose last modified time did not change since it was indexed can be listed without reading it again, nor retrieving
+ * the attributes of the files within it.
+ *
+ * The index is a cache: losing it, or any part of it, only means that the directories are read again.
+ */
+public class DirectoryListingIndex implements Closeable {
+    private static final int ENCODING_VERSION = 2;
+
+    private final RocksDBMetronome db;
+
+    public DirectoryListingIndex(final Path storagePath) throws IOException {
+        db = new RocksDBMetronome.Builder()
+            .setStoragePath(storagePath)
+            .setParallelThreads(1)
+            .setWriteBufferSize((long) DataUnit.MB.toB(16))
+            .setPeriodicSyncEnabled(false)
+            .setUseFsync(false)
+            .build();
+        db.initialize();
+    }
+
+    /**
+     * @param directory the absolute path of the directory
+     * @return the indexed listing of the given directory, or <code>null</code> if the directory has not been indexed
+     * @throws IOException if unable to read from the index
+     */
+    public DirectoryListing getListing(final Path directory) throws IOException {
+        final byte[] value;
+        try {
+            value = db.get(getKey(directory));
+        } catch (final RocksDBException e) {
+            throw new IOException("Failed to retrieve the indexed listing of " + directory, e);
+        }
+
+        return value == null ? null : decode(value);
+    }
+
+    /**
+     * Stores the listing of the given directory, replacing any listing previously indexed for it
+     *
+     * @param directory the absolute path of the directory
+     * @param listing the listing of the directory
+     * @throws IOException if unable to write to the index
+     */
+    public void putListing(final Path directory, final DirectoryListing listing) throws IOException {
+        try {
+            db.put(getKey(directory), encode(listing));
+        } catch (final RocksDBException e) {
+            throw new IOException("Failed to index the listing of " + directory, e);
+        }
+    }
+
+    /**
+     * Removes the listing of the given directory along with the listings of all of the directories below it
+     *
+     * @param directory the absolute path of the directory
+     * @throws IOException if unable to write to the index
+     */
+    public void removeListings(final Path directory) throws IOException {
+        final byte[] key = getKey(directory);
+        final String directoryName = directory.toString();
+        final String childPrefixName = directoryName.endsWith(File.separator) ? directoryName : directoryName + File.separator;
+        final byte[] childPrefix = childPrefixName.getBytes(StandardCharsets.UTF_8);
+
+        try {
+            db.delete(key);
+
+            final List<byte[]> childKeys = new ArrayList<>();
+            try (final RocksIterator iterator = db.getIterator()) {
+                for (iterator.seek(childPrefix); iterator.isValid() && startsWith(iterator.key(), childPrefix); iterator.next()) {
+                    childKeys.add(iterator.key());
+                }
+            }
+
+            for (final byte[] childKey : childKeys) {
+                db.delete(childKey);
+            }
+        } catch (final RocksDBException e) {
+            throw new IOException("Failed to remove the indexed listings of " + directory, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        db.close();
+    }
+
+    private static byte[] getKey(final Path directory) {
+        return directory.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean startsWith(final byte[] value, final byte[] prefix) {
+        if (value.length < prefix.length) {
+            return false;
+        }
+
+        for (int i = 0; i < prefix.length; i++) {
+            if (value[i] != prefix[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static byte[] encode(final DirectoryListing listing) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(baos)) {
+            out.writeInt(ENCODING_VERSION);
+            out.writeLong(listing.getLastModifiedTime());
+            out.writeLong(listing.getListingTime());
+            out.writeInt(listing.getEntries().size());
+
+            for (final Entry entry : listing.getEntries()) {
+                out.writeUTF(entry.getName());
+                out.writeBoolean(entry.isDirectory());
+                out.writeLong(entry.getLastModifiedTime());
+                out.writeLong(entry.getSize());
+                out.writeBoolean(entry.isReadable());
+                out.writeBoolean(entry.isHidden());
+            }
+        }
+
+        return baos.toByteArray();
+    }
+
+    private static DirectoryListing decode(final byte[] value) throws IOException {
+        try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(value))) {
+            final int version = in.readInt();
+            if (version != ENCODING_VERSION) {
+                // listings indexed by another version are read from the directory again
+                return null;
+            }
+
+            final long lastModifiedTime = in.readLong();
+            final long listingTime = in.readLong();
+            final int entryCount = in.readInt();
+
+            final List<Entry> entries = new ArrayList<>(entryCount);
+            for (int i = 0; i < entryCount; i++) {
+                entries.add(new Entry(in.readUTF(), in.readBoolean(), in.readLong(), in.readLong(), in.readBoolean(), in.readBoolean()));
+            }
+
+            return new DirectoryListing(lastModifiedTime, listingTime, entries);
+        }
+    }
+
+    /**
+     * The content of a directory at the time it was listed
+     */
+    public static class DirectoryListing {
+        private final long lastModifiedTime;
+        private final long listingTime;
+        private final List<Entry> entries;
+
+        public DirectoryListing(final long lastModifiedTime, final long listingTime, final List<Entry> entries) {
+            this.lastModifiedTime = lastModifiedTime;
+            this.listingTime = listingTime;
+            this.entries = Collections.unmodifiableList(entries);
+        }
+
+        /**
+         * @return the last modified time of the directory when it was listed
+         */
+        public long getLastModifiedTime() {
+            return lastModifiedTime;
+        }
+
+        /**
+         * @return the time at which the listing of the directory started
+         */
+        public long getListingTime() {
+            return listingTime;
+        }
+
+        public List<Entry> getEntries() {
+            return entries;
+        }
+    }
+
+    /**
+     * A file or directory within a listed directory
+     */
+    public static class Entry {
+        private final String name;
+        private final boolean directory;
+        private final long lastModifiedTime;
+        private final long size;
+        private final boolean readable;
+        private final boolean hidden;
+
+        public Entry(final String name, final boolean directory, final long lastModifiedTime, final long size, final boolean readable, final boolean hidden) {
+            this.name = name;
+            this.directory = directory;
+            this.lastModifiedTime = lastModifiedTime;
+            this.size = size;
+            this.readable = readable;
+            this.hidden = hidden;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isDirectory() {
+            return directory;
+        }
+
+        public long getLastModifiedTime() {
+            return lastModifiedTime;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public boolean isReadable() {
+            return readable;
+        }
+
+        public boolean isHidden() {
+            return hidden;
+        }
+    }
+}
@@ -0,0 +1,427 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.util;
+
+import org.apache.nifi.logging.ComponentLog;
+import org.apache.nifi.processors.standard.util.DirectoryListingIndex.DirectoryListing;
+import org.apache.nifi.processors.standard.util.DirectoryListingIndex.Entry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.DosFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Walks a directory tree with a pool of threads, each directory being listed by a separate task, and following symbolic links
+ * the same way as {@link Files#walkFileTree(Path, Set, int, java.nio.file.FileVisitor)} does with {@link java.nio.file.FileVisitOption#FOLLOW_LINKS}.
+ *
+ * When given a {@link DirectoryListingIndex}, a directory whose last modified time did not change since it was indexed is not read again:
+ * its files are reported with their indexed attributes, and only its subdirectories are checked for modifications. As the last modified
+ * time of a directory only changes when entries are added to, removed from or renamed within it, the files written in place after they
+ * have been indexed are not reported with their new size and last modified time, until their directory is modified.
+ *
+ * Whether a file is readable and whether it is hidden are derived from the attributes retrieved when listing its directory, so that
+ * the file system is not queried again for each file. The file system is only asked whether a file is readable when its POSIX
+ * permissions do not tell, such as when only its group may read it, or when the file system does not support POSIX permissions.
+ */
+public class ParallelDirectoryWalker implements Closeable {
+    // a directory listed shortly after it was modified may have been modified again within the precision of the
+    // file system timestamps (or the clock skew with a remote file system), so its indexed listing is not trusted
+    private static final long MODIFIED_TIME_PRECISION_MILLIS = 2000L;
+
+    private final ForkJoinPool pool;
+    private final DirectoryListingIndex index;
+    private final ComponentLog logger;
+    private final BooleanSupplier cancelled;
+    private final Class<? extends BasicFileAttributes> attributesType;
+    private final UserPrincipal user;
+
+    /**
+     * @param parallelism the number of threads listing directories
+     * @param index the index of the directory listings, or <code>null</code> to read every directory
+     * @param logger the logger
+     * @param cancelled indicates whether the walk should be abandoned, in which case a {@link CancellationException} is thrown
+     */
+    public ParallelDirectoryWalker(final int parallelism, final DirectoryListingIndex index, final ComponentLog logger, final BooleanSupplier cancelled) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.index = index;
+        this.logger = logger;
+        this.cancelled = cancelled;
+
+        // the POSIX and DOS attributes of a file are retrieved at once, along with its basic attributes
+        final Set<String> views = FileSystems.getDefault().supportedFileAttributeViews();
+        if (views.contains("posix")) {
+            attributesType = PosixFileAttributes.class;
+        } else if (views.contains("dos")) {
+            attributesType = DosFileAttributes.class;
+        } else {
+            attributesType = BasicFileAttributes.class;
+        }
+        user = attributesType == PosixFileAttributes.class ? lookupUser() : null;
+    }
+
+    private UserPrincipal lookupUser() {
+        try {
+            return FileSystems.getDefault().getUserPrincipalLookupService().lookupPrincipalByName(System.getProperty("user.name"));
+        } catch (final IOException e) {
+            logger.debug("Unable to look up the current user, the file system will be asked whether each file is readable", e);
+            return null;
+        }
+    }
+
+    /**
+     * Lists the files within the given directory
+     *
+     * @param basePath the directory to list
+     * @param recurse whether the files within the subdirectories of the given directory should be listed as well
+     * @return each file, with its path resolved against the given directory
+     * @throws IOException if unable to list a directory, or to access the index
+     */
+    public List<ListedFile> walk(final Path basePath, final boolean recurse) throws IOException {
+        final BasicFileAttributes attributes = Files.readAttributes(basePath, BasicFileAttributes.class);
+        final Queue<ListedFile> files = new ConcurrentLinkedQueue<>();
+
+        try {
+            pool.invoke(new DirectoryTask(basePath, attributes, recurse, Collections.emptySet(), files));
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        return new ArrayList<>(files);
+    }
+
+    @Override
+    public void close() throws IOException {
+        pool.shutdownNow();
+
+        if (index != null) {
+            index.close();
+        }
+    }
+
+    private BasicFileAttributes readAttributes(final Path path) throws IOException {
+        try {
+            return Files.readAttributes(path, attributesType);
+        } catch (final AccessDeniedException e) {
+            logger.debug("The following file is not readable: {}", new Object[] {path.toString()});
+            return null;
+        } catch (final NoSuchFileException e) {
+            try {
+                // a broken symbolic link is reported as is
+                return Files.readAttributes(path, attributesType, LinkOption.NOFOLLOW_LINKS);
+            } catch (final NoSuchFileException nsfe) {
+                // removed since the directory was listed
+                return null;
+            }
+        }
+    }
+
+    private boolean isReadable(final Path path, final BasicFileAttributes attributes) {
+        if (attributes.isSymbolicLink()) {
+            // the attributes of the link itself are only retrieved when its target does not exist
+            return false;
+        }
+
+        if (attributes instanceof PosixFileAttributes) {
+            final PosixFileAttributes posixAttributes = (PosixFileAttributes) attributes;
+            final Set<PosixFilePermission> permissions = posixAttributes.permissions();
+            final boolean permitted = user != null && user.equals(posixAttributes.owner())
+                ? permissions.contains(PosixFilePermission.OWNER_READ)
+                : permissions.contains(PosixFilePermission.GROUP_READ) && permissions.contains(PosixFilePermission.OTHERS_READ);
+            if (permitted) {
+                return true;
+            }
+        }
+
+        // the permissions may still be granted through a group, or to a privileged user
+        return Files.isReadable(path);
+    }
+
+    private static boolean isHidden(final String name, final BasicFileAttributes attributes) {
+        // consistent with File.isHidden()
+        if (attributes instanceof DosFileAttributes) {
+            return ((DosFileAttributes) attributes).isHidden();
+        }
+
+        return name.startsWith(".");
+    }
+
+    private class DirectoryTask extends RecursiveAction {
+        private final Path directory;
+        private final BasicFileAttributes attributes;
+        private final boolean recurse;
+        private final Set<Object> ancestorKeys;
+        private final Queue<ListedFile> files;
+
+        DirectoryTask(final Path directory, final BasicFileAttributes attributes, final boolean recurse, final Set<Object> ancestorKeys,
+                      final Queue<ListedFile> files) {
+            this.directory = directory;
+            this.attributes = attributes;
+            this.recurse = recurse;
+            this.ancestorKeys = ancestorKeys;
+            this.files = files;
+        }
+
+        @Override
+        protected void compute() {
+            if (cancelled.getAsBoolean()) {
+                throw new CancellationException();
+            }
+
+            final Object fileKey = attributes.fileKey();
+            if (fileKey != null && ancestorKeys.contains(fileKey)) {
+                logger.warn("Not listing {} again as it is linked to one of its parent directories", new Object[] {directory.toString()});
+                return;
+            }
+
+            if (!Files.isReadable(directory)) {
+                logger.debug("The following directory is not readable: {}", new Object[] {directory.toString()});
+                return;
+            }
+
+            final List<DirectoryTask> subdirectoryTasks = new ArrayList<>();
+            try {
+                final Set<Object> childAncestorKeys;
+                if (fileKey == null) {
+                    childAncestorKeys = ancestorKeys;
+                } else {
+                    childAncestorKeys = new HashSet<>(ancestorKeys);
+                    childAncestorKeys.add(fileKey);
+                }
+
+                for (final ListedFile child : listChildren()) {
+                    final Path path = child.getPath();
+                    BasicFileAttributes childAttributes = child.getAttributes();
+
+                    if (childAttributes == null) {
+                        // indexed subdirectory, its last modified time needs to be checked
+                        if (!recurse) {
+                            continue;
+                        }
+
+                        childAttributes = readAttributes(path);
+                        if (childAttributes == null) {
+                            continue;
+                        }
+                    }
+
+                    if (!childAttributes.isDirectory()) {
+                        files.add(child);
+                    } else if (recurse) {
+                        subdirectoryTasks.add(new DirectoryTask(path, childAttributes, true, childAncestorKeys, files));
+                    }
+                }
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to list " + directory, e);
+            }
+
+            invokeAll(subdirectoryTasks);
+        }
+
+        /**
+         * @return each entry of the directory, whose attributes are null for the subdirectories whose indexed listing is used
+         */
+        private List<ListedFile> listChildren() throws IOException {
+            final Path indexKey = directory.toAbsolutePath();
+            final long lastModifiedTime = attributes.lastModifiedTime().toMillis();
+            final DirectoryListing indexedListing = index == null ? null : index.getListing(indexKey);
+
+            if (indexedListing != null && indexedListing.getLastModifiedTime() == lastModifiedTime
+                    && indexedListing.getListingTime() - lastModifiedTime > MODIFIED_TIME_PRECISION_MILLIS) {
+                final List<ListedFile> children = new ArrayList<>(indexedListing.getEntries().size());
+                for (final Entry entry : indexedListing.getEntries()) {
+                    final BasicFileAttributes childAttributes = entry.isDirectory() ? null : new IndexedFileAttributes(entry);
+                    children.add(new ListedFile(directory.resolve(entry.getName()), childAttributes, entry.isReadable(), entry.isHidden(), 0L));
+                }
+
+                return children;
+            }
+
+            final long listingTime = System.currentTimeMillis();
+            final List<ListedFile> children = new ArrayList<>();
+            final List<Entry> entries = new ArrayList<>();
+
+            try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                long retrievalStart = System.nanoTime();
+                for (final Path path : stream) {
+                    final BasicFileAttributes childAttributes = readAttributes(path);
+                    if (childAttributes == null) {
+                        retrievalStart = System.nanoTime();
+                        continue;
+                    }
+
+                    final String name = path.getFileName().toString();
+                    final boolean isDirectory = childAttributes.isDirectory();
+                    final boolean readable = !isDirectory && isReadable(path, childAttributes);
+                    final boolean hidden = isHidden(name, childAttributes);
+
+                    final long now = System.nanoTime();
+                    children.add(new ListedFile(path, childAttributes, readable, hidden, TimeUnit.NANOSECONDS.toMillis(now - retrievalStart)));
+                    entries.add(new Entry(name, isDirectory, childAttributes.lastModifiedTime().toMillis(), childAttributes.size(), readable, hidden));
+                    retrievalStart = now;
+                }
+            } catch (final AccessDeniedException e) {
+                logger.debug("The following directory is not readable: {}", new Object[] {directory.toString()});
+                return Collections.emptyList();
+            }
+
+            if (index != null) {
+                if (indexedListing != null) {
+                    final Set<String> names = new HashSet<>();
+                    entries.forEach(entry -> names.add(entry.getName()));
+
+                    for (final Entry entry : indexedListing.getEntries()) {
+                        if (entry.isDirectory() && !names.contains(entry.getName())) {
+                            index.removeListings(indexKey.resolve(entry.getName()));
+                        }
+                    }
+                }
+
+                index.putListing(indexKey, new DirectoryListing(lastModifiedTime, listingTime, entries));
+            }
+
+            return children;
+        }
+    }
+
+    /**
+     * A file found within the walked directories
+     */
+    public static class ListedFile {
+        private final Path path;
+        private final BasicFileAttributes attributes;
+        private final boolean readable;
+        private final boolean hidden;
+        private final long retrievalMillis;
+
+        ListedFile(final Path path, final BasicFileAttributes attributes, final boolean readable, final boolean hidden, final long retrievalMillis) {
+            this.path = path;
+            this.attributes = attributes;
+            this.readable = readable;
+            this.hidden = hidden;
+            this.retrievalMillis = retrievalMillis;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        /**
+         * @return the attributes of the file, of which only the size, last modified time and type are available when they were indexed
+         */
+        public BasicFileAttributes getAttributes() {
+            return attributes;
+        }
+
+        public boolean isReadable() {
+            return readable;
+        }
+
+        public boolean isHidden() {
+            return hidden;
+        }
+
+        /**
+         * @return the number of milliseconds it took to retrieve the file and its attributes from the file system, or 0 if they were indexed
+         */
+        public long getRetrievalMillis() {
+            return retrievalMillis;
+        }
+    }
+
+    /**
+     * The attributes of a file as indexed when its directory was last listed. The creation and last access times are not indexed.
+     */
+    private static class IndexedFileAttributes implements BasicFileAttributes {
+        private final FileTime lastModifiedTime;
+        private final long size;
+
+        IndexedFileAttributes(final Entry entry) {
+            this.lastModifiedTime = FileTime.fromMillis(entry.getLastModifiedTime());
+            this.size = entry.getSize();
+        }
+
+        @Override
+        public FileTime lastModifiedTime() {
+            return lastModifiedTime;
+        }
+
+        @Override
+        public FileTime lastAccessTime() {
+            throw new UnsupportedOperationException("The last access time of a file is not indexed");
+        }
+
+        @Override
+        public FileTime creationTime() {
+            throw new UnsupportedOperationException("The creation time of a file is not indexed");
+        }
+
+        @Override
+        public boolean isRegularFile() {
+            return true;
+        }
+
+        @Override
+        public boolean isDirectory() {
+            return false;
+        }
+
+        @Override
+        public boolean isSymbolicLink() {
+            return false;
+        }
+
+        @Override
+        public boolean isOther() {
+            return false;
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public Object fileKey() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Replaces all the occurrences of a string in a stream, as {@link String#replace(CharSequence, CharSequence)} does, without holding more
+ * of the stream in memory than a buffer of a few kilobytes, or twice the length of the string if longer.
+ */
+public class StreamingLiteralReplacer {
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Determines whether looking for the encoded string among the encoded text is the same as looking for the string among the text, which
+     * holds for single byte character sets, and for UTF-8 as no character is encoded as a part of the encoding of another one.
+     *
+     * @param charset the character set the text is encoded with
+     * @param search the string to look for
+     * @return <code>true</code> if {@link #replace(InputStream, OutputStream, byte[], byte[])} can be used with the encoded strings
+     */
+    public static boolean isByteReplaceable(final Charset charset, final String search) {
+        if (search.isEmpty()) {
+            return false;
+        }
+
+        if (!charset.equals(StandardCharsets.UTF_8) && !charset.equals(StandardCharsets.US_ASCII) && !charset.equals(StandardCharsets.ISO_8859_1)) {
+            return false;
+        }
+
+        // a string with characters the character set cannot encode is never found in the decoded text, while its encoding might be
+        return new String(search.getBytes(charset), charset).equals(search);
+    }
+
+    /**
+     * Copies the given input to the given output, replacing the occurrences of the encoded string to look for with the encoded replacement
+     *
+     * @param in the encoded text
+     * @param out where to write the encoded text once replaced
+     * @param search the encoded string to look for, not empty
+     * @param replacement the encoded replacement
+     * @return the number of replaced occurrences
+     * @throws IOException if unable to read from the input or write to the output
+     */
+    public static long replace(final InputStream in, final OutputStream out, final byte[] search, final byte[] replacement) throws IOException {
+        final int searchLength = search.length;
+        final byte first = search[0];
+        final byte[] buffer = new byte[Math.max(BUFFER_SIZE, 2 * searchLength)];
+
+        long replaced = 0L;
+        int end = 0;
+        while (true) {
+            final int read = in.read(buffer, end, buffer.length - end);
+            if (read > 0) {
+                end += read;
+            }
+
+            int written = 0;
+            int index = 0;
+            while (index + searchLength <= end) {
+                if (buffer[index] == first && regionMatches(buffer, index, search)) {
+                    out.write(buffer, written, index - written);
+                    out.write(replacement);
+                    replaced++;
+                    index += searchLength;
+                    written = index;
+                } else {
+                    index++;
+                }
+            }
+
+            if (read < 0) {
+                out.write(buffer, written, end - written);
+                return replaced;
+            }
+
+            // the bytes from the index on might be the beginning of an occurrence, keep them for the next read
+            out.write(buffer, written, index - written);
+            System.arraycopy(buffer, index, buffer, 0, end - index);
+            end -= index;
+        }
+    }
+
+    private static boolean regionMatches(final byte[] buffer, final int offset, final byte[] search) {
+        for (int i = 1; i < search.length; i++) {
+            if (buffer[offset + i] != search[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies the given input to the given output, replacing the occurrences of the string to look for with the replacement
+     *
+     * @param in the text
+     * @param out where to write the text once replaced
+     * @param search the string to look for. When empty, the replacement is inserted before each character and at the end of the text.
+     * @param replacement the replacement
+     * @return the number of replaced occurrences
+     * @throws IOException if unable to read from the input or write to the output
+     */
+    public static long replace(final Reader in, final Writer out, final String search, final String replacement) throws IOException {
+        final int searchLength = search.length();
+        final char[] buffer = new char[Math.max(BUFFER_SIZE, 2 * searchLength)];
+
+        long replaced = 0L;
+        int end = 0;
+        while (true) {
+            final int read = in.read(buffer, end, buffer.length - end);
+            if (read > 0) {
+                end += read;
+            }
+
+            int written = 0;
+            int index = 0;
+            if (searchLength == 0) {
+                for (; index < end; index++) {
+                    out.write(replacement);
+                    out.write(buffer[index]);
+                    replaced++;
+                }
+                written = end;
+            } else {
+                final char first = search.charAt(0);
+                while (index + searchLength <= end) {
+                    if (buffer[index] == first && regionMatches(buffer, index, search)) {
+                        out.write(buffer, written, index - written);
+                        out.write(replacement);
+                        replaced++;
+                        index += searchLength;
+                        written = index;
+                    } else {
+                        index++;
+                    }
+                }
+            }
+
+            if (read < 0) {
+                out.write(buffer, written, end - written);
+                if (searchLength == 0) {
+                    out.write(replacement);
+                    replaced++;
+                }
+                return replaced;
+            }
+
+            out.write(buffer, written, index - written);
+            System.arraycopy(buffer, index, buffer, 0, end - index);
+            end -= index;
+        }
+    }
+
+    private static boolean regionMatches(final char[] buffer, final int offset, final String search) {
+        for (int i = 1; i < search.length(); i++) {
+            if (buffer[offset + i] != search.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
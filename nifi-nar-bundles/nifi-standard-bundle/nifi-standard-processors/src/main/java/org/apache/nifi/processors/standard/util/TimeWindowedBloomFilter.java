@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.util;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import com.google.common.hash.Funnels;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * <p>
+ * A Bloom filter that forgets the values added to it once they are older than a given age, and that grows as values are added to it.
+ * </p>
+ *
+ * <p>
+ * Values are added to the newest of a list of segments, each of them a Bloom filter sized for the expected number of values. A new segment
+ * is started whenever the newest one holds the expected number of values, so that the false positive rate of each segment does not exceed
+ * the given one, or once the newest one is older than a fraction of the maximum age. A segment is dropped once the last value added to it is
+ * older than the maximum age, thus values are remembered for at least the maximum age and for at most the maximum age plus one fraction
+ * of it.
+ * </p>
+ *
+ * <p>
+ * As every segment is looked at, the false positive rate of the filter is at most the false positive rate of a segment times the number of
+ * segments. This class is thread safe.
+ * </p>
+ */
+public class TimeWindowedBloomFilter {
+    static final int SEGMENTS_PER_AGE = 4;
+
+    private static final int ENCODING_VERSION = 1;
+    private static final Funnel<CharSequence> FUNNEL = Funnels.stringFunnel(StandardCharsets.UTF_8);
+
+    private final int expectedValuesPerSegment;
+    private final double falsePositiveRate;
+    private final long maxAgeMillis;
+    private final List<Segment> segments = new ArrayList<>();
+
+    /**
+     * @param expectedValuesPerSegment the number of values each segment is sized for
+     * @param falsePositiveRate the probability for each segment to report a value it does not hold
+     * @param maxAgeMillis the age after which values are forgotten, or a value lower than or equal to 0 to never forget them
+     */
+    public TimeWindowedBloomFilter(final int expectedValuesPerSegment, final double falsePositiveRate, final long maxAgeMillis) {
+        this.expectedValuesPerSegment = expectedValuesPerSegment;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    /**
+     * Adds the given value to the filter, unless it might have been added before
+     *
+     * @param value the value to add
+     * @param nowMillis the current time
+     * @return <code>true</code> if the value might have been added before, <code>false</code> if it definitely was not and has now been added
+     */
+    public synchronized boolean mightContainOrPut(final String value, final long nowMillis) {
+        expireSegments(nowMillis);
+
+        for (final Segment segment : segments) {
+            if (segment.filter.mightContain(value)) {
+                return true;
+            }
+        }
+
+        final Segment newest = getWritableSegment(nowMillis);
+        newest.filter.put(value);
+        newest.valueCount++;
+        newest.lastPutMillis = nowMillis;
+        return false;
+    }
+
+    /**
+     * @return the number of segments currently making up the filter
+     */
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    private void expireSegments(final long nowMillis) {
+        if (maxAgeMillis <= 0) {
+            return;
+        }
+
+        final Iterator<Segment> itr = segments.iterator();
+        while (itr.hasNext()) {
+            if (nowMillis - itr.next().lastPutMillis >= maxAgeMillis) {
+                itr.remove();
+            }
+        }
+    }
+
+    private Segment getWritableSegment(final long nowMillis) {
+        if (!segments.isEmpty()) {
+            final Segment newest = segments.get(segments.size() - 1);
+            final boolean full = newest.valueCount >= expectedValuesPerSegment;
+            final boolean old = maxAgeMillis > 0 && nowMillis - newest.createdMillis >= maxAgeMillis / SEGMENTS_PER_AGE;
+            if (!full && !old) {
+                return newest;
+            }
+        }
+
+        final Segment segment = new Segment(BloomFilter.create(FUNNEL, expectedValuesPerSegment, falsePositiveRate), nowMillis, nowMillis, 0);
+        segments.add(segment);
+        return segment;
+    }
+
+    /**
+     * Writes the content of the filter so that it can be restored with {@link #readFrom(InputStream)}. The given stream is not closed.
+     *
+     * @param out the stream to write to
+     * @throws IOException if unable to write to the stream
+     */
+    public synchronized void writeTo(final OutputStream out) throws IOException {
+        final DataOutputStream dataOut = new DataOutputStream(out);
+        dataOut.writeInt(ENCODING_VERSION);
+        dataOut.writeInt(expectedValuesPerSegment);
+        dataOut.writeDouble(falsePositiveRate);
+        dataOut.writeInt(segments.size());
+        for (final Segment segment : segments) {
+            dataOut.writeLong(segment.createdMillis);
+            dataOut.writeLong(segment.lastPutMillis);
+            dataOut.writeInt(segment.valueCount);
+            segment.filter.writeTo(dataOut);
+        }
+        dataOut.flush();
+    }
+
+    /**
+     * Replaces the content of the filter with the content written by {@link #writeTo(OutputStream)}, provided it was written by a filter
+     * with the same expected number of values per segment and false positive rate. The given stream is not closed.
+     *
+     * @param in the stream to read from
+     * @return <code>true</code> if the content was restored, <code>false</code> if it was written by a filter configured differently
+     * @throws IOException if unable to read from the stream, or if the content is not a filter
+     */
+    public synchronized boolean readFrom(final InputStream in) throws IOException {
+        final DataInputStream dataIn = new DataInputStream(in);
+        final int version = dataIn.readInt();
+        if (version != ENCODING_VERSION) {
+            throw new IOException("Unsupported Bloom filter encoding version " + version);
+        }
+
+        if (dataIn.readInt() != expectedValuesPerSegment || dataIn.readDouble() != falsePositiveRate) {
+            return false;
+        }
+
+        final int segmentCount = dataIn.readInt();
+        final List<Segment> restored = new ArrayList<>(segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            final long createdMillis = dataIn.readLong();
+            final long lastPutMillis = dataIn.readLong();
+            final int valueCount = dataIn.readInt();
+            restored.add(new Segment(BloomFilter.readFrom(dataIn, FUNNEL), createdMillis, lastPutMillis, valueCount));
+        }
+
+        segments.clear();
+        segments.addAll(restored);
+        return true;
+    }
+
+    private static class Segment {
+        private final BloomFilter<CharSequence> filter;
+        private final long createdMillis;
+        private long lastPutMillis;
+        private int valueCount;
+
+        Segment(final BloomFilter<CharSequence> filter, final long createdMillis, final long lastPutMillis, final int valueCount) {
+            this.filter = filter;
+            this.createdMillis = createdMillis;
+            this.lastPutMillis = lastPutMillis;
+            this.valueCount = valueCount;
+        }
+    }
+}
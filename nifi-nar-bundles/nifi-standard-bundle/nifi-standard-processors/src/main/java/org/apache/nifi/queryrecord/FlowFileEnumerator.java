@@ -96,8 +96,10 @@ public class FlowFileEnumerator implements Enumerator<Object> {
             return null;
         }
 
-        final Object[] row = record.getValues();
+        return filterColumns(record.getValues(), fields);
+    }
 
+    static Object filterColumns(final Object[] row, final int[] fields) {
         // If we want no fields or if the row is null, just return null
         if (fields == null || row == null) {
             return row;
@@ -120,7 +122,7 @@ public class FlowFileEnumerator implements Enumerator<Object> {
         return filtered;
     }
 
-    private Object cast(Object o) {
+    private static Object cast(Object o) {
         if (o == null) {
             return null;
         } else if (o.getClass().isArray()) {
@@ -63,6 +63,7 @@ public class FlowFileTable extends AbstractTable implements QueryableTable, Tran
     private volatile ProcessSession session;
     private volatile FlowFile flowFile;
     private volatile int maxRecordsRead;
+    private volatile RecordBatch recordBatch;
 
     private final Set<FlowFileEnumerator> enumerators = new HashSet<>();
 
@@ -78,8 +79,17 @@ public class FlowFileTable extends AbstractTable implements QueryableTable, Tran
     }
 
     public void setFlowFile(final ProcessSession session, final FlowFile flowFile) {
+        setFlowFile(session, flowFile, null);
+    }
+
+    /**
+     * Sets the FlowFile to query. If a batch holding the records of the FlowFile is given, the queries enumerate
+     * the records of the batch instead of reading the FlowFile.
+     */
+    public void setFlowFile(final ProcessSession session, final FlowFile flowFile, final RecordBatch recordBatch) {
         this.session = session;
         this.flowFile = flowFile;
+        this.recordBatch = recordBatch;
         this.maxRecordsRead = 0;
     }
 
@@ -90,6 +100,8 @@ public class FlowFileTable extends AbstractTable implements QueryableTable, Tran
     }
 
     public void close() {
+        recordBatch = null;
+
         synchronized (enumerators) {
             for (final FlowFileEnumerator enumerator : enumerators) {
                 enumerator.close();
@@ -108,6 +120,19 @@ public class FlowFileTable extends AbstractTable implements QueryableTable, Tran
             @Override
             @SuppressWarnings({"unchecked", "rawtypes"})
             public Enumerator<Object> enumerator() {
+                final RecordBatch batch = recordBatch;
+                if (batch != null) {
+                    return new RecordBatchEnumerator(batch, fields) {
+                        @Override
+                        protected void onFinish() {
+                            final int recordCount = getRecordsRead();
+                            if (recordCount > maxRecordsRead) {
+                                maxRecordsRead = recordCount;
+                            }
+                        }
+                    };
+                }
+
                 final FlowFileEnumerator flowFileEnumerator = new FlowFileEnumerator(session, flowFile, logger, recordReaderFactory, fields) {
                     @Override
                     protected void onFinish() {
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.queryrecord;
+
+import org.apache.nifi.flowfile.FlowFile;
+import org.apache.nifi.logging.ComponentLog;
+import org.apache.nifi.processor.ProcessSession;
+import org.apache.nifi.schema.access.SchemaNotFoundException;
+import org.apache.nifi.serialization.MalformedRecordException;
+import org.apache.nifi.serialization.RecordReader;
+import org.apache.nifi.serialization.RecordReaderFactory;
+import org.apache.nifi.serialization.record.Record;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The records of a FlowFile, parsed once and kept in memory so that several queries over the same FlowFile
+ * can enumerate them without each reading and parsing the FlowFile's content again.
+ */
+public class RecordBatch {
+    private final List<Object[]> rows;
+
+    private RecordBatch(final List<Object[]> rows) {
+        this.rows = rows;
+    }
+
+    /**
+     * Reads the records of the given FlowFile into a batch, unless it has more than the given number of records.
+     *
+     * @return the batch, or <code>null</code> if the FlowFile has more than <code>maxRecords</code> records
+     */
+    public static RecordBatch read(final ProcessSession session, final FlowFile flowFile, final RecordReaderFactory recordReaderFactory, final int maxRecords,
+                                   final ComponentLog logger) throws IOException, MalformedRecordException, SchemaNotFoundException {
+
+        final List<Object[]> rows = new ArrayList<>();
+        try (final InputStream in = session.read(flowFile);
+             final RecordReader reader = recordReaderFactory.createRecordReader(flowFile, in, logger)) {
+
+            Record record;
+            while ((record = reader.nextRecord()) != null) {
+                if (rows.size() >= maxRecords) {
+                    return null;
+                }
+
+                rows.add(record.getValues());
+            }
+        }
+
+        return new RecordBatch(rows);
+    }
+
+    public int getRecordCount() {
+        return rows.size();
+    }
+
+    Object[] getRow(final int index) {
+        return rows.get(index);
+    }
+}
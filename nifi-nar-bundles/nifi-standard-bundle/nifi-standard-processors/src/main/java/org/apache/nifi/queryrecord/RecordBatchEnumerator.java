@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.queryrecord;
+
+import org.apache.calcite.linq4j.Enumerator;
+
+/**
+ * Enumerates the rows of a {@link RecordBatch}, the same way as {@link FlowFileEnumerator} enumerates the records of a FlowFile.
+ */
+public class RecordBatchEnumerator implements Enumerator<Object> {
+    private final RecordBatch batch;
+    private final int[] fields;
+
+    private int recordsRead = 0;
+    private boolean finished = false;
+    private Object currentRow;
+
+    public RecordBatchEnumerator(final RecordBatch batch, final int[] fields) {
+        this.batch = batch;
+        this.fields = fields;
+    }
+
+    @Override
+    public Object current() {
+        return currentRow;
+    }
+
+    @Override
+    public boolean moveNext() {
+        currentRow = null;
+        if (recordsRead >= batch.getRecordCount()) {
+            if (!finished) {
+                finished = true;
+                onFinish();
+            }
+
+            return false;
+        }
+
+        currentRow = FlowFileEnumerator.filterColumns(batch.getRow(recordsRead), fields);
+        recordsRead++;
+        return true;
+    }
+
+    protected int getRecordsRead() {
+        return recordsRead;
+    }
+
+    protected void onFinish() {
+    }
+
+    @Override
+    public void reset() {
+        recordsRead = 0;
+        finished = false;
+        currentRow = null;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -874,6 +874,87 @@ class TestPutDatabaseRecord {
         verify(spyStmt.get(), times(1)).executeBatch()
     }
 
+    @Test
+    void testInsertWithRowsPerInsert() throws InitializationException, ProcessException, SQLException, IOException {
+        recreateTable("PERSONS", createPersons)
+        final MockRecordParser parser = new MockRecordParser()
+        runner.addControllerService("parser", parser)
+        runner.enableControllerService(parser)
+
+        parser.addSchemaField("id", RecordFieldType.INT)
+        parser.addSchemaField("name", RecordFieldType.STRING)
+        parser.addSchemaField("code", RecordFieldType.INT)
+
+        (1..11).each {
+            parser.addRecord(it, it == 5 ? null : "rec$it".toString(), 100 + it)
+        }
+
+        runner.setProperty(PutDatabaseRecord.RECORD_READER_FACTORY, 'parser')
+        runner.setProperty(PutDatabaseRecord.STATEMENT_TYPE, PutDatabaseRecord.INSERT_TYPE)
+        runner.setProperty(PutDatabaseRecord.TABLE_NAME, 'PERSONS')
+        runner.setProperty(PutDatabaseRecord.ROWS_PER_INSERT, "4")
+
+        runner.enqueue(new byte[0])
+        runner.run()
+
+        runner.assertTransferCount(PutDatabaseRecord.REL_SUCCESS, 1)
+
+        final Connection conn = dbcp.getConnection()
+        final Statement stmt = conn.createStatement()
+        final ResultSet rs = stmt.executeQuery('SELECT * FROM PERSONS ORDER BY id')
+        (1..11).each {
+            assertTrue(rs.next())
+            assertEquals(it, rs.getInt(1))
+            assertEquals(it == 5 ? null : "rec$it".toString(), rs.getString(2))
+            assertEquals(100 + it, rs.getInt(3))
+        }
+        assertFalse(rs.next())
+
+        stmt.close()
+        conn.close()
+    }
+
+    @Test
+    void testInsertWithRowsPerInsertBatchUpdateException() throws InitializationException, ProcessException, SQLException, IOException {
+        recreateTable("PERSONS", createPersons)
+        final MockRecordParser parser = new MockRecordParser()
+        runner.addControllerService("parser", parser)
+        runner.enableControllerService(parser)
+
+        parser.addSchemaField("id", RecordFieldType.INT)
+        parser.addSchemaField("name", RecordFieldType.STRING)
+        parser.addSchemaField("code", RecordFieldType.INT)
+
+        parser.addRecord(1, 'rec1', 101)
+        parser.addRecord(2, 'rec2', 102)
+        parser.addRecord(3, 'rec3', 1000)
+        parser.addRecord(4, 'rec4', 104)
+        parser.addRecord(5, 'rec5', 105)
+
+        runner.setProperty(PutDatabaseRecord.RECORD_READER_FACTORY, 'parser')
+        runner.setProperty(PutDatabaseRecord.STATEMENT_TYPE, PutDatabaseRecord.INSERT_TYPE)
+        runner.setProperty(PutDatabaseRecord.TABLE_NAME, 'PERSONS')
+        runner.setProperty(PutDatabaseRecord.ROWS_PER_INSERT, "2")
+
+        runner.enqueue(new byte[0])
+        runner.run()
+
+        runner.assertTransferCount(PutDatabaseRecord.REL_SUCCESS, 0)
+        runner.assertTransferCount(PutDatabaseRecord.REL_FAILURE, 0)
+        runner.assertTransferCount(PutDatabaseRecord.REL_RETRY, 1)
+
+        // Transaction should be rolled back and table should remain empty.
+        assertEquals(0, getTableSize())
+    }
+
+    @Test
+    void testGenerateMultiRowInsert() throws Exception {
+        final PutDatabaseRecord.SqlAndIncludedColumns insert = new PutDatabaseRecord.SqlAndIncludedColumns('INSERT INTO PERSONS (id, name) VALUES (?,?)', [0, 2])
+
+        assertEquals('INSERT INTO PERSONS (id, name) VALUES (?,?)', PutDatabaseRecord.generateMultiRowInsert(insert, 1))
+        assertEquals('INSERT INTO PERSONS (id, name) VALUES (?,?), (?,?), (?,?)', PutDatabaseRecord.generateMultiRowInsert(insert, 3))
+    }
+
     private Supplier<PreparedStatement> createPreparedStatementSpy() {
         PreparedStatement spyStmt
         doAnswer({ inv ->
@@ -285,4 +285,64 @@ public class TestCompressContent {
         flowFile.assertContentEquals(Paths.get("src/test/resources/CompressedData/SampleFile.txt"));
         flowFile.assertAttributeEquals("filename", "SampleFile.txt");
     }
+
+    @Test
+    public void testZstdRoundTrip() throws Exception {
+        final TestRunner compressRunner = TestRunners.newTestRunner(CompressContent.class);
+        compressRunner.setProperty(CompressContent.MODE, CompressContent.MODE_COMPRESS);
+        compressRunner.setProperty(CompressContent.COMPRESSION_FORMAT, CompressContent.COMPRESSION_FORMAT_ZSTD);
+        compressRunner.setProperty(CompressContent.ZSTD_WORKER_THREADS, "2");
+        compressRunner.setProperty(CompressContent.UPDATE_FILENAME, "true");
+
+        compressRunner.enqueue(Paths.get("src/test/resources/CompressedData/SampleFile.txt"));
+        compressRunner.run();
+
+        compressRunner.assertAllFlowFilesTransferred(CompressContent.REL_SUCCESS, 1);
+        MockFlowFile flowFile = compressRunner.getFlowFilesForRelationship(CompressContent.REL_SUCCESS).get(0);
+        flowFile.assertAttributeEquals(CoreAttributes.MIME_TYPE.key(), "application/zstd");
+        flowFile.assertAttributeEquals("filename", "SampleFile.txt.zst");
+
+        final TestRunner decompressRunner = TestRunners.newTestRunner(CompressContent.class);
+        decompressRunner.setProperty(CompressContent.MODE, CompressContent.MODE_DECOMPRESS);
+        decompressRunner.setProperty(CompressContent.COMPRESSION_FORMAT, CompressContent.COMPRESSION_FORMAT_ATTRIBUTE);
+        decompressRunner.setProperty(CompressContent.UPDATE_FILENAME, "true");
+
+        decompressRunner.enqueue(flowFile);
+        decompressRunner.run();
+
+        decompressRunner.assertAllFlowFilesTransferred(CompressContent.REL_SUCCESS, 1);
+        flowFile = decompressRunner.getFlowFilesForRelationship(CompressContent.REL_SUCCESS).get(0);
+        flowFile.assertContentEquals(Paths.get("src/test/resources/CompressedData/SampleFile.txt"));
+        flowFile.assertAttributeEquals("filename", "SampleFile.txt");
+    }
+
+    @Test
+    public void testZstdRoundTripWithDictionary() throws Exception {
+        // any content can be used as a raw dictionary
+        final String dictionary = "src/test/resources/CompressedData/SampleFile.txt";
+
+        final TestRunner compressRunner = TestRunners.newTestRunner(CompressContent.class);
+        compressRunner.setProperty(CompressContent.MODE, CompressContent.MODE_COMPRESS);
+        compressRunner.setProperty(CompressContent.COMPRESSION_FORMAT, CompressContent.COMPRESSION_FORMAT_ZSTD);
+        compressRunner.setProperty(CompressContent.ZSTD_DICTIONARY, dictionary);
+
+        compressRunner.enqueue(Paths.get("src/test/resources/CompressedData/SampleFile.txt"));
+        compressRunner.run();
+
+        compressRunner.assertAllFlowFilesTransferred(CompressContent.REL_SUCCESS, 1);
+        final MockFlowFile compressed = compressRunner.getFlowFilesForRelationship(CompressContent.REL_SUCCESS).get(0);
+        assertTrue(compressed.getSize() < 100);
+
+        final TestRunner decompressRunner = TestRunners.newTestRunner(CompressContent.class);
+        decompressRunner.setProperty(CompressContent.MODE, CompressContent.MODE_DECOMPRESS);
+        decompressRunner.setProperty(CompressContent.COMPRESSION_FORMAT, CompressContent.COMPRESSION_FORMAT_ZSTD);
+        decompressRunner.setProperty(CompressContent.ZSTD_DICTIONARY, dictionary);
+
+        decompressRunner.enqueue(compressed);
+        decompressRunner.run();
+
+        decompressRunner.assertAllFlowFilesTransferred(CompressContent.REL_SUCCESS, 1);
+        decompressRunner.getFlowFilesForRelationship(CompressContent.REL_SUCCESS).get(0)
+            .assertContentEquals(Paths.get("src/test/resources/CompressedData/SampleFile.txt"));
+    }
 }
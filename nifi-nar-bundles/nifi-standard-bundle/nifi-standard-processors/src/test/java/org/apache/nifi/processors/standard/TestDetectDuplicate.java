@@ -16,6 +16,7 @@
  */
 package org.apache.nifi.processors.standard;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -35,7 +36,9 @@ import org.apache.nifi.util.MockControllerServiceInitializationContext;
 import org.apache.nifi.util.MockComponentLog;
 import org.apache.nifi.util.TestRunner;
 import org.apache.nifi.util.TestRunners;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class TestDetectDuplicate {
 
@@ -47,6 +50,9 @@ public class TestDetectDuplicate {
         System.setProperty("org.slf4j.simpleLogger.log.nifi.processors.standard.TestDetectDuplicate", "debug");
     }
 
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
     @Test
     public void testDuplicate() throws InitializationException {
         final TestRunner runner = TestRunners.newTestRunner(DetectDuplicate.class);
@@ -176,6 +182,67 @@ public class TestDetectDuplicate {
         runner.assertTransferCount(DetectDuplicate.REL_FAILURE, 0);
     }
 
+    @Test
+    public void testDistributedCacheServiceRequired() {
+        final TestRunner runner = TestRunners.newTestRunner(DetectDuplicate.class);
+        runner.assertNotValid();
+
+        runner.setProperty(DetectDuplicate.DETECTION_STRATEGY, DetectDuplicate.LOCAL_BLOOM_FILTER);
+        runner.assertValid();
+
+        runner.setProperty(DetectDuplicate.CACHE_IDENTIFIER, "false");
+        runner.assertNotValid();
+    }
+
+    @Test
+    public void testDuplicateLocalFilter() {
+        final TestRunner runner = TestRunners.newTestRunner(DetectDuplicate.class);
+        runner.setProperty(DetectDuplicate.DETECTION_STRATEGY, DetectDuplicate.LOCAL_BLOOM_FILTER);
+        runner.setProperty(DetectDuplicate.FLOWFILE_DESCRIPTION, "The original flow file");
+        runner.setProperty(DetectDuplicate.AGE_OFF_DURATION, "48 hours");
+
+        final Map<String, String> props = new HashMap<>();
+        props.put("hash.value", "1000");
+        runner.enqueue(new byte[]{}, props);
+        runner.enqueue(new byte[]{}, props);
+        props.put("hash.value", "2000");
+        runner.enqueue(new byte[]{}, props);
+
+        runner.run(3);
+        runner.assertTransferCount(DetectDuplicate.REL_NON_DUPLICATE, 2);
+        runner.assertTransferCount(DetectDuplicate.REL_DUPLICATE, 1);
+        runner.assertTransferCount(DetectDuplicate.REL_FAILURE, 0);
+        runner.getFlowFilesForRelationship(DetectDuplicate.REL_DUPLICATE).get(0).assertAttributeEquals("hash.value", "1000");
+        runner.getFlowFilesForRelationship(DetectDuplicate.REL_DUPLICATE).get(0).assertAttributeNotExists(DetectDuplicate.ORIGINAL_DESCRIPTION_ATTRIBUTE_NAME);
+    }
+
+    @Test
+    public void testLocalFilterRestoredFromDirectory() throws IOException {
+        final File directory = tempFolder.newFolder();
+        final TestRunner runner = TestRunners.newTestRunner(DetectDuplicate.class);
+        runner.setProperty(DetectDuplicate.DETECTION_STRATEGY, DetectDuplicate.LOCAL_BLOOM_FILTER);
+        runner.setProperty(DetectDuplicate.LOCAL_FILTER_DIRECTORY, directory.getAbsolutePath());
+
+        final Map<String, String> props = new HashMap<>();
+        props.put("hash.value", "1000");
+        runner.enqueue(new byte[]{}, props);
+        runner.run();
+        runner.assertAllFlowFilesTransferred(DetectDuplicate.REL_NON_DUPLICATE, 1);
+        runner.clearTransferState();
+
+        // the filter is saved when the processor is stopped at the end of the run, and restored when it is started again
+        runner.enqueue(new byte[]{}, props);
+        runner.run();
+        runner.assertAllFlowFilesTransferred(DetectDuplicate.REL_DUPLICATE, 1);
+        runner.clearTransferState();
+
+        // a filter saved with a different configuration is not restored
+        runner.setProperty(DetectDuplicate.LOCAL_FILTER_FALSE_POSITIVE_RATE, "0.01");
+        runner.enqueue(new byte[]{}, props);
+        runner.run();
+        runner.assertAllFlowFilesTransferred(DetectDuplicate.REL_NON_DUPLICATE, 1);
+    }
+
     static final class DistributedMapCacheClientImpl extends AbstractControllerService implements DistributedMapCacheClient {
 
         boolean exists = false;
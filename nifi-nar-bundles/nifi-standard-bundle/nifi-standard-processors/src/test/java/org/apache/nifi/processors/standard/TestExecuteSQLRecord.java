@@ -330,6 +330,140 @@ public class TestExecuteSQLRecord {
         lastFlowFile.assertAttributeEquals(AbstractExecuteSQL.RESULTSET_INDEX, "0");
     }
 
+    @Test
+    public void testPartitionColumn() throws Exception {
+        // remove previous test database, if any
+        final File dbLocation = new File(DB_LOCATION);
+        dbLocation.delete();
+
+        // load test data to database
+        final Connection con = ((DBCPService) runner.getControllerService("dbcp")).getConnection();
+        Statement stmt = con.createStatement();
+
+        try {
+            stmt.execute("drop table TEST_NULL_INT");
+        } catch (final SQLException sqle) {
+        }
+
+        stmt.execute("create table TEST_NULL_INT (id integer not null, val1 integer, val2 integer, constraint my_pk primary key (id))");
+
+        for (int i = 0; i < 1000; i++) {
+            stmt.execute("insert into TEST_NULL_INT (id, val1, val2) VALUES (" + i + ", " + (i % 10 == 0 ? "null" : String.valueOf(i)) + ", 1)");
+        }
+
+        runner.setIncomingConnection(false);
+        runner.setProperty(AbstractExecuteSQL.SQL_SELECT_QUERY, "SELECT * FROM TEST_NULL_INT");
+        runner.setProperty(AbstractExecuteSQL.PARTITION_COLUMN, "val1");
+        runner.setProperty(AbstractExecuteSQL.PARTITION_COUNT, "4");
+        MockRecordWriter recordWriter = new MockRecordWriter(null, true, -1);
+        runner.addControllerService("writer", recordWriter);
+        runner.setProperty(ExecuteSQLRecord.RECORD_WRITER_FACTORY, "writer");
+        runner.enableControllerService(recordWriter);
+        runner.run();
+
+        runner.assertAllFlowFilesTransferred(AbstractExecuteSQL.REL_SUCCESS, 4);
+        runner.assertAllFlowFilesContainAttribute(AbstractExecuteSQL.REL_SUCCESS, FragmentAttributes.FRAGMENT_ID.key());
+
+        final List<MockFlowFile> flowFiles = runner.getFlowFilesForRelationship(AbstractExecuteSQL.REL_SUCCESS);
+        long rowCount = 0;
+        for (int i = 0; i < flowFiles.size(); i++) {
+            final MockFlowFile flowFile = flowFiles.get(i);
+            flowFile.assertAttributeEquals(FragmentAttributes.FRAGMENT_ID.key(), flowFiles.get(0).getAttribute(FragmentAttributes.FRAGMENT_ID.key()));
+            flowFile.assertAttributeEquals(FragmentAttributes.FRAGMENT_INDEX.key(), String.valueOf(i));
+            flowFile.assertAttributeEquals(FragmentAttributes.FRAGMENT_COUNT.key(), "4");
+            rowCount += Long.parseLong(flowFile.getAttribute(AbstractExecuteSQL.RESULT_ROW_COUNT));
+        }
+        // rows with a null value are in the first partition
+        assertEquals(1000, rowCount);
+        flowFiles.get(0).assertAttributeEquals(AbstractExecuteSQL.RESULT_ROW_COUNT, "325");
+        flowFiles.get(3).assertAttributeEquals(AbstractExecuteSQL.RESULT_ROW_COUNT, "225");
+    }
+
+    @Test
+    public void testPartitionColumnWithMaxRowsPerFlowFile() throws Exception {
+        // remove previous test database, if any
+        final File dbLocation = new File(DB_LOCATION);
+        dbLocation.delete();
+
+        // load test data to database
+        final Connection con = ((DBCPService) runner.getControllerService("dbcp")).getConnection();
+        Statement stmt = con.createStatement();
+
+        try {
+            stmt.execute("drop table TEST_NULL_INT");
+        } catch (final SQLException sqle) {
+        }
+
+        stmt.execute("create table TEST_NULL_INT (id integer not null, val1 integer, val2 integer, constraint my_pk primary key (id))");
+
+        for (int i = 0; i < 1000; i++) {
+            stmt.execute("insert into TEST_NULL_INT (id, val1, val2) VALUES (" + i + ", " + i + ", 1)");
+        }
+
+        runner.setIncomingConnection(false);
+        runner.setProperty(AbstractExecuteSQL.SQL_SELECT_QUERY, "SELECT * FROM TEST_NULL_INT");
+        runner.setProperty(AbstractExecuteSQL.PARTITION_COLUMN, "val1");
+        runner.setProperty(AbstractExecuteSQL.PARTITION_COUNT, "4");
+        runner.setProperty(AbstractExecuteSQL.MAX_ROWS_PER_FLOW_FILE, "100");
+        MockRecordWriter recordWriter = new MockRecordWriter(null, true, -1);
+        runner.addControllerService("writer", recordWriter);
+        runner.setProperty(ExecuteSQLRecord.RECORD_WRITER_FACTORY, "writer");
+        runner.enableControllerService(recordWriter);
+        runner.run();
+
+        final List<MockFlowFile> flowFiles = runner.getFlowFilesForRelationship(AbstractExecuteSQL.REL_SUCCESS);
+        runner.assertAllFlowFilesTransferred(AbstractExecuteSQL.REL_SUCCESS, flowFiles.size());
+        long rowCount = 0;
+        for (int i = 0; i < flowFiles.size(); i++) {
+            final MockFlowFile flowFile = flowFiles.get(i);
+            flowFile.assertAttributeEquals(FragmentAttributes.FRAGMENT_INDEX.key(), String.valueOf(i));
+            flowFile.assertAttributeEquals(FragmentAttributes.FRAGMENT_COUNT.key(), String.valueOf(flowFiles.size()));
+            flowFile.assertAttributeEquals("record.count", flowFile.getAttribute(AbstractExecuteSQL.RESULT_ROW_COUNT));
+            assertTrue(Long.parseLong(flowFile.getAttribute(AbstractExecuteSQL.RESULT_ROW_COUNT)) <= 100);
+            rowCount += Long.parseLong(flowFile.getAttribute(AbstractExecuteSQL.RESULT_ROW_COUNT));
+        }
+        assertEquals(1000, rowCount);
+        // the records of every fragment are counted, although each partition is fetched before its fragments are transferred
+        assertEquals(Long.valueOf(1000), runner.getCounterValue("Records Written"));
+    }
+
+    @Test
+    public void testPartitionColumnWithSmallRange() throws Exception {
+        // remove previous test database, if any
+        final File dbLocation = new File(DB_LOCATION);
+        dbLocation.delete();
+
+        // load test data to database
+        final Connection con = ((DBCPService) runner.getControllerService("dbcp")).getConnection();
+        Statement stmt = con.createStatement();
+
+        try {
+            stmt.execute("drop table TEST_NULL_INT");
+        } catch (final SQLException sqle) {
+        }
+
+        stmt.execute("create table TEST_NULL_INT (id integer not null, val1 integer, val2 integer, constraint my_pk primary key (id))");
+
+        for (int i = 0; i < 10; i++) {
+            stmt.execute("insert into TEST_NULL_INT (id, val1, val2) VALUES (" + i + ", 1, " + (i % 2) + ")");
+        }
+
+        runner.setIncomingConnection(false);
+        runner.setProperty(AbstractExecuteSQL.SQL_SELECT_QUERY, "SELECT * FROM TEST_NULL_INT");
+        runner.setProperty(AbstractExecuteSQL.PARTITION_COLUMN, "val2");
+        runner.setProperty(AbstractExecuteSQL.PARTITION_COUNT, "8");
+        MockRecordWriter recordWriter = new MockRecordWriter(null, true, -1);
+        runner.addControllerService("writer", recordWriter);
+        runner.setProperty(ExecuteSQLRecord.RECORD_WRITER_FACTORY, "writer");
+        runner.enableControllerService(recordWriter);
+        runner.run();
+
+        // only two distinct values to split by
+        runner.assertAllFlowFilesTransferred(AbstractExecuteSQL.REL_SUCCESS, 2);
+        runner.getFlowFilesForRelationship(AbstractExecuteSQL.REL_SUCCESS).get(0).assertAttributeEquals(AbstractExecuteSQL.RESULT_ROW_COUNT, "5");
+        runner.getFlowFilesForRelationship(AbstractExecuteSQL.REL_SUCCESS).get(1).assertAttributeEquals(AbstractExecuteSQL.RESULT_ROW_COUNT, "5");
+    }
+
     @Test
     public void testInsertStatementCreatesFlowFile() throws Exception {
         // remove previous test database, if any
@@ -679,6 +679,99 @@ public class TestListFile {
         assertEquals(1, successFiles2.size());
     }
 
+    @Test
+    public void testRecurseWithListingIndex() throws Exception {
+        final long now = getTestModifiedTime();
+        final File indexDir = new File("target/test/listing-index");
+        deleteDirectory(indexDir);
+
+        final File subdir1 = new File(TESTDIR + "/subdir1");
+        assertTrue(subdir1.mkdirs());
+
+        final File subdir2 = new File(TESTDIR + "/subdir1/subdir2");
+        assertTrue(subdir2.mkdirs());
+
+        final File file1 = new File(TESTDIR + "/file1.txt");
+        assertTrue(file1.createNewFile());
+        assertTrue(file1.setLastModified(now));
+
+        final File file2 = new File(TESTDIR + "/subdir1/file2.txt");
+        assertTrue(file2.createNewFile());
+        assertTrue(file2.setLastModified(now));
+
+        final File file3 = new File(TESTDIR + "/subdir1/subdir2/file3.txt");
+        assertTrue(file3.createNewFile());
+        assertTrue(file3.setLastModified(now));
+
+        // the indexed listing of a directory is only used when it was listed well after the directory was last modified
+        final long directoryModifiedTime = now - TimeUnit.MINUTES.toMillis(1);
+        assertTrue(testDir.setLastModified(directoryModifiedTime));
+        assertTrue(subdir1.setLastModified(directoryModifiedTime));
+        assertTrue(subdir2.setLastModified(directoryModifiedTime));
+
+        runner.setProperty(ListFile.DIRECTORY, testDir.getAbsolutePath());
+        runner.setProperty(ListFile.RECURSE, "true");
+        runner.setProperty(ListFile.DIRECTORY_WALKER_THREADS, "4");
+        runner.setProperty(ListFile.LISTING_INDEX_DIRECTORY, indexDir.getAbsolutePath());
+
+        try {
+            runNext();
+            runner.assertAllFlowFilesTransferred(ListFile.REL_SUCCESS, 3);
+
+            // nothing changed, the files are listed from the index
+            runNext();
+            runner.assertAllFlowFilesTransferred(ListFile.REL_SUCCESS, 0);
+
+            // adding a file modifies its directory, which is listed again
+            final File file4 = new File(TESTDIR + "/subdir1/subdir2/file4.txt");
+            assertTrue(file4.createNewFile());
+            assertTrue(file4.setLastModified(getTestModifiedTime()));
+            runNext();
+            runner.assertAllFlowFilesTransferred(ListFile.REL_SUCCESS, 1);
+            runner.getFlowFilesForRelationship(ListFile.REL_SUCCESS).get(0).assertAttributeEquals(CoreAttributes.FILENAME.key(), "file4.txt");
+        } finally {
+            deleteDirectory(indexDir);
+        }
+    }
+
+    @Test
+    public void testFilterHiddenAndUnreadableWithDirectoryWalker() throws Exception {
+        final File file1 = new File(TESTDIR + "/readable.txt");
+        assertTrue(file1.createNewFile());
+
+        final File file2 = new File(TESTDIR + "/unreadable.txt");
+        assertTrue(file2.createNewFile());
+        assertTrue(file2.setReadable(false));
+
+        final File file3 = new File(TESTDIR + "/.hidden.txt");
+        assertTrue(file3.createNewFile());
+        FileStore store = Files.getFileStore(file3.toPath());
+        if (store.supportsFileAttributeView("dos")) {
+            Files.setAttribute(file3.toPath(), "dos:hidden", true);
+        }
+
+        final long now = getTestModifiedTime();
+        assertTrue(file1.setLastModified(now));
+        assertTrue(file2.setLastModified(now));
+        assertTrue(file3.setLastModified(now));
+
+        runner.setProperty(ListFile.DIRECTORY, testDir.getAbsolutePath());
+        runner.setProperty(ListFile.FILE_FILTER, ".*");
+        runner.setProperty(ListFile.DIRECTORY_WALKER_THREADS, "2");
+        runner.setProperty(ListFile.IGNORE_HIDDEN_FILES, "true");
+        runNext();
+
+        final List<MockFlowFile> successFiles1 = runner.getFlowFilesForRelationship(ListFile.REL_SUCCESS);
+        assertEquals(1, successFiles1.size());
+        assertEquals("readable.txt", successFiles1.get(0).getAttribute("filename"));
+
+        runner.setProperty(ListFile.IGNORE_HIDDEN_FILES, "false");
+        runNext();
+
+        final List<MockFlowFile> successFiles2 = runner.getFlowFilesForRelationship(ListFile.REL_SUCCESS);
+        assertEquals(2, successFiles2.size());
+    }
+
     @Test
     public void testReadable() throws Exception {
         final long now = getTestModifiedTime();
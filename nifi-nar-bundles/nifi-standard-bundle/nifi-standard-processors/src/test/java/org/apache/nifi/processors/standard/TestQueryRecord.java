@@ -20,6 +20,7 @@ import org.apache.nifi.controller.AbstractControllerService;
 import org.apache.nifi.logging.ComponentLog;
 import org.apache.nifi.reporting.InitializationException;
 import org.apache.nifi.schema.access.SchemaNotFoundException;
+import org.apache.nifi.serialization.RecordReader;
 import org.apache.nifi.serialization.RecordSetWriter;
 import org.apache.nifi.serialization.RecordSetWriterFactory;
 import org.apache.nifi.serialization.SimpleRecordSchema;
@@ -40,6 +41,7 @@ import org.apache.nifi.util.TestRunners;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.sql.SQLException;
 import java.util.Arrays;
@@ -50,6 +52,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertArrayEquals;
@@ -837,6 +840,48 @@ public class TestQueryRecord {
         out.assertContentEquals("\"NAME\",\"POINTS\"\n\"100\",\"90.75\"\n");
     }
 
+    @Test
+    public void testQueriesShareParsedRecords() throws InitializationException {
+        // the reader is created once to determine the schema, then once for both queries when the records fit within the limit,
+        // otherwise once for every query, plus once for the attempt to share them when they do not fit
+        final String[] sharedRecordLimits = {"10", "0", "2"};
+        final int[] expectedReaderCounts = {2, 3, 4};
+
+        for (int i = 0; i < sharedRecordLimits.length; i++) {
+            final CountingRecordParser parser = new CountingRecordParser();
+            parser.addSchemaField("name", RecordFieldType.STRING);
+            parser.addSchemaField("age", RecordFieldType.INT);
+            parser.addRecord("Tom", 49);
+            parser.addRecord("Jerry", 32);
+            parser.addRecord("Tim", 25);
+
+            final MockRecordWriter writer = new MockRecordWriter("\"name\",\"age\"");
+
+            final TestRunner runner = getRunner();
+            runner.addControllerService("parser", parser);
+            runner.enableControllerService(parser);
+            runner.addControllerService("writer", writer);
+            runner.enableControllerService(writer);
+
+            runner.setProperty("old", "select name, age from FLOWFILE where age > 30");
+            runner.setProperty("young", "select name, age from FLOWFILE where age <= 30");
+            runner.setProperty(QueryRecord.RECORD_READER_FACTORY, "parser");
+            runner.setProperty(QueryRecord.RECORD_WRITER_FACTORY, "writer");
+            runner.setProperty(QueryRecord.SHARED_RECORD_LIMIT, sharedRecordLimits[i]);
+
+            runner.enqueue(new byte[0]);
+            runner.run();
+
+            runner.assertTransferCount("old", 1);
+            runner.assertTransferCount("young", 1);
+            runner.assertTransferCount(QueryRecord.REL_ORIGINAL, 1);
+            runner.getFlowFilesForRelationship("old").get(0).assertContentEquals("\"name\",\"age\"\n\"Tom\",\"49\"\n\"Jerry\",\"32\"\n");
+            runner.getFlowFilesForRelationship("young").get(0).assertContentEquals("\"name\",\"age\"\n\"Tim\",\"25\"\n");
+
+            assertEquals("Readers created with a Shared Record Limit of " + sharedRecordLimits[i], expectedReaderCounts[i], parser.getReaderCount());
+        }
+    }
+
     @Test
     public void testHandlingWithInvalidSchema() throws InitializationException {
         final MockRecordParser parser = new MockRecordParser();
@@ -1040,4 +1085,18 @@ public class TestQueryRecord {
 
     }
 
+    private static class CountingRecordParser extends MockRecordParser {
+        private final AtomicInteger readerCount = new AtomicInteger();
+
+        @Override
+        public RecordReader createRecordReader(final Map<String, String> variables, final InputStream in, final long inputLength, final ComponentLog logger)
+                throws IOException, SchemaNotFoundException {
+            readerCount.incrementAndGet();
+            return super.createRecordReader(variables, in, inputLength, logger);
+        }
+
+        int getReaderCount() {
+            return readerCount.get();
+        }
+    }
 }
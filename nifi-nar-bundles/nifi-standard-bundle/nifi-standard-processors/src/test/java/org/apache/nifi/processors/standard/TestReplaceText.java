@@ -453,6 +453,42 @@ public class TestReplaceText {
         out.assertContentEquals("H[$1]o, World!");
     }
 
+    @Test
+    public void testLiteralLargerThanMaxBufferSize() throws IOException {
+        final TestRunner runner = getRunner();
+        runner.setProperty(ReplaceText.SEARCH_VALUE, "needle");
+        runner.setProperty(ReplaceText.REPLACEMENT_VALUE, "thread");
+        runner.setProperty(ReplaceText.REPLACEMENT_STRATEGY, ReplaceText.LITERAL_REPLACE);
+        runner.setProperty(ReplaceText.MAX_BUFFER_SIZE, "1 KB");
+
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            content.append(i).append(" needle ");
+        }
+        runner.enqueue(content.toString().getBytes(StandardCharsets.UTF_8));
+        runner.run();
+
+        runner.assertAllFlowFilesTransferred(ReplaceText.REL_SUCCESS, 1);
+        final MockFlowFile out = runner.getFlowFilesForRelationship(ReplaceText.REL_SUCCESS).get(0);
+        out.assertContentEquals(content.toString().replace("needle", "thread"));
+    }
+
+    @Test
+    public void testLiteralMultiByteCharacterSet() throws IOException {
+        final TestRunner runner = getRunner();
+        runner.setProperty(ReplaceText.SEARCH_VALUE, "ell");
+        runner.setProperty(ReplaceText.REPLACEMENT_VALUE, "\u00e9");
+        runner.setProperty(ReplaceText.REPLACEMENT_STRATEGY, ReplaceText.LITERAL_REPLACE);
+        runner.setProperty(ReplaceText.CHARACTER_SET, "UTF-16");
+
+        runner.enqueue("Hello, World! Hello".getBytes(StandardCharsets.UTF_16));
+        runner.run();
+
+        runner.assertAllFlowFilesTransferred(ReplaceText.REL_SUCCESS, 1);
+        final MockFlowFile out = runner.getFlowFilesForRelationship(ReplaceText.REL_SUCCESS).get(0);
+        out.assertContentEquals("H\u00e9o, World! H\u00e9o".getBytes(StandardCharsets.UTF_16));
+    }
+
     @Test
     public void testLiteral() throws IOException {
         final TestRunner runner = getRunner();
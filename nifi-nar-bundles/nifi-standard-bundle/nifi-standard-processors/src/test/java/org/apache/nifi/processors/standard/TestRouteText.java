@@ -23,9 +23,13 @@ import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import com.google.common.collect.ImmutableMap;
@@ -376,6 +380,111 @@ public class TestRouteText {
     }
 
 
+    @Test
+    public void testContainsManyRules() throws IOException {
+        final TestRunner runner = TestRunners.newTestRunner(new RouteText());
+        runner.setProperty(RouteText.MATCH_STRATEGY, RouteText.CONTAINS);
+        for (final String word : Arrays.asList("alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf", "hotel", "india", "juliett")) {
+            runner.setProperty(word, word);
+        }
+
+        runner.enqueue("alpha and bravo\ncharlie\nALPHA\nxdeltax and hotelecho\nnothing".getBytes("UTF-8"));
+        runner.run();
+
+        runner.assertTransferCount("alpha", 1);
+        runner.assertTransferCount("bravo", 1);
+        runner.assertTransferCount("charlie", 1);
+        runner.assertTransferCount("delta", 1);
+        runner.assertTransferCount("echo", 1);
+        runner.assertTransferCount("hotel", 1);
+        runner.assertTransferCount("golf", 0);
+        runner.assertTransferCount("unmatched", 1);
+        runner.assertTransferCount("original", 1);
+        runner.getFlowFilesForRelationship("alpha").get(0).assertContentEquals("alpha and bravo\n".getBytes("UTF-8"));
+        runner.getFlowFilesForRelationship("echo").get(0).assertContentEquals("xdeltax and hotelecho\n".getBytes("UTF-8"));
+        runner.getFlowFilesForRelationship("unmatched").get(0).assertContentEquals("ALPHA\nnothing".getBytes("UTF-8"));
+    }
+
+    @Test
+    public void testContainsManyRulesIgnoreCaseAllMatch() throws IOException {
+        final TestRunner runner = TestRunners.newTestRunner(new RouteText());
+        runner.setProperty(RouteText.MATCH_STRATEGY, RouteText.CONTAINS);
+        runner.setProperty(RouteText.ROUTE_STRATEGY, RouteText.ROUTE_TO_MATCHED_WHEN_ALL_PROPERTIES_MATCH);
+        runner.setProperty(RouteText.IGNORE_CASE, "true");
+        runner.setProperty("first", "START");
+        runner.setProperty("second", "Middle");
+        runner.setProperty("third", "end");
+
+        runner.enqueue("start middle end\nstart middle\nEND MIDDLE START".getBytes("UTF-8"));
+        runner.run();
+
+        runner.assertTransferCount("matched", 1);
+        runner.assertTransferCount("unmatched", 1);
+        runner.assertTransferCount("original", 1);
+        runner.getFlowFilesForRelationship("matched").get(0).assertContentEquals("start middle end\nEND MIDDLE START".getBytes("UTF-8"));
+        runner.getFlowFilesForRelationship("unmatched").get(0).assertContentEquals("start middle\n".getBytes("UTF-8"));
+    }
+
+    @Test
+    public void testContainsIgnoreCaseSameWithOneOrManyRules() throws IOException {
+        // dotless i, long s and final sigma: a rule matches the same lines whether it is looked for on its own or along with other rules
+        final String content = "TH\u0131S\n\u017fun\n\u039f\u0394\u039f\u03a3\nnone";
+        final Map<String, String> expectedLines = new LinkedHashMap<>();
+        expectedLines.put("this", "TH\u0131S\n");
+        expectedLines.put("sun", "\u017fun\n");
+        expectedLines.put("greek", "\u039f\u0394\u039f\u03a3\n");
+        final Map<String, String> rules = new LinkedHashMap<>();
+        rules.put("this", "this");
+        rules.put("sun", "SUN");
+        rules.put("greek", "\u03bf\u03b4\u03bf\u03c3");
+
+        final List<List<String>> ruleSets = new ArrayList<>();
+        for (final String rule : rules.keySet()) {
+            ruleSets.add(Collections.singletonList(rule));
+        }
+        ruleSets.add(new ArrayList<>(rules.keySet()));
+
+        for (final List<String> ruleSet : ruleSets) {
+            final TestRunner runner = TestRunners.newTestRunner(new RouteText());
+            runner.setProperty(RouteText.MATCH_STRATEGY, RouteText.CONTAINS);
+            runner.setProperty(RouteText.IGNORE_CASE, "true");
+            for (final String rule : ruleSet) {
+                runner.setProperty(rule, rules.get(rule));
+            }
+
+            runner.enqueue(content.getBytes("UTF-8"));
+            runner.run();
+
+            for (final String rule : ruleSet) {
+                runner.assertTransferCount(rule, 1);
+                runner.getFlowFilesForRelationship(rule).get(0).assertContentEquals(expectedLines.get(rule).getBytes("UTF-8"));
+            }
+        }
+    }
+
+    @Test
+    public void testContainsRegularExpressionManyLiteralRules() throws IOException {
+        final TestRunner runner = TestRunners.newTestRunner(new RouteText());
+        runner.setProperty(RouteText.MATCH_STRATEGY, RouteText.CONTAINS_REGULAR_EXPRESSION);
+        for (final String word : Arrays.asList("alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf", "hotel")) {
+            runner.setProperty(word, word);
+        }
+        runner.setProperty("digits", "\\d+");
+        runner.setProperty("dotted", "a.c");
+
+        runner.enqueue("alpha 42\nabc\na.c\nnothing".getBytes("UTF-8"));
+        runner.run();
+
+        runner.assertTransferCount("alpha", 1);
+        runner.assertTransferCount("digits", 1);
+        runner.assertTransferCount("dotted", 1);
+        runner.assertTransferCount("unmatched", 1);
+        runner.getFlowFilesForRelationship("alpha").get(0).assertContentEquals("alpha 42\n".getBytes("UTF-8"));
+        runner.getFlowFilesForRelationship("digits").get(0).assertContentEquals("alpha 42\n".getBytes("UTF-8"));
+        runner.getFlowFilesForRelationship("dotted").get(0).assertContentEquals("abc\na.c\n".getBytes("UTF-8"));
+        runner.getFlowFilesForRelationship("unmatched").get(0).assertContentEquals("nothing".getBytes("UTF-8"));
+    }
+
     @Test
     public void testSimpleDefaultEquals() throws IOException {
         final TestRunner runner = TestRunners.newTestRunner(new RouteText());
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.sql;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestQueryPartition {
+
+    @Test
+    public void testBoundsQuery() {
+        assertEquals("SELECT MIN(id), MAX(id) FROM (SELECT * FROM t) nifi_partition_bounds", QueryPartition.getBoundsQuery("SELECT * FROM t", "id"));
+    }
+
+    @Test
+    public void testSplitIntegers() {
+        final List<QueryPartition> partitions = QueryPartition.split("SELECT * FROM t", "id", 1, 100, 4);
+        assertEquals(4, partitions.size());
+
+        assertEquals("SELECT * FROM (SELECT * FROM t) nifi_partition WHERE id < ? OR id IS NULL", partitions.get(0).getQuery());
+        assertEquals(Collections.singletonList(26L), partitions.get(0).getParameters());
+        assertEquals("SELECT * FROM (SELECT * FROM t) nifi_partition WHERE id >= ? AND id < ?", partitions.get(1).getQuery());
+        assertEquals(Arrays.asList(26L, 51L), partitions.get(1).getParameters());
+        assertEquals(Arrays.asList(51L, 76L), partitions.get(2).getParameters());
+        assertEquals("SELECT * FROM (SELECT * FROM t) nifi_partition WHERE id >= ?", partitions.get(3).getQuery());
+        assertEquals(Collections.singletonList(76L), partitions.get(3).getParameters());
+    }
+
+    @Test
+    public void testSplitSmallRange() {
+        final List<QueryPartition> partitions = QueryPartition.split("SELECT * FROM t", "id", 5L, 7L, 10);
+        assertEquals(3, partitions.size());
+        assertEquals(Collections.singletonList(6L), partitions.get(0).getParameters());
+        assertEquals(Arrays.asList(6L, 7L), partitions.get(1).getParameters());
+        assertEquals(Collections.singletonList(7L), partitions.get(2).getParameters());
+    }
+
+    @Test
+    public void testSplitSingleValue() {
+        final List<QueryPartition> partitions = QueryPartition.split("SELECT * FROM t", "id", 5, 5, 4);
+        assertEquals(1, partitions.size());
+        assertEquals("SELECT * FROM t", partitions.get(0).getQuery());
+        assertEquals(Collections.emptyList(), partitions.get(0).getParameters());
+    }
+
+    @Test
+    public void testSplitNullValues() {
+        final List<QueryPartition> partitions = QueryPartition.split("SELECT * FROM t", "id", null, null, 4);
+        assertEquals(1, partitions.size());
+        assertEquals("SELECT * FROM t", partitions.get(0).getQuery());
+    }
+
+    @Test
+    public void testSplitDecimals() {
+        final List<QueryPartition> partitions = QueryPartition.split("SELECT * FROM t", "amount", new BigDecimal("0.5"), new BigDecimal("1.5"), 4);
+        assertEquals(4, partitions.size());
+        assertEquals(Collections.singletonList(new BigDecimal("0.75")), partitions.get(0).getParameters());
+        assertEquals(Arrays.asList(new BigDecimal("0.75"), new BigDecimal("1.0")), partitions.get(1).getParameters());
+        assertEquals(Collections.singletonList(new BigDecimal("1.25")), partitions.get(3).getParameters());
+    }
+
+    @Test
+    public void testSplitIntegralDecimals() {
+        final List<QueryPartition> partitions = QueryPartition.split("SELECT * FROM t", "id", new BigDecimal("0"), new BigDecimal("1E+2"), 2);
+        assertEquals(2, partitions.size());
+        assertEquals(Collections.singletonList(50L), partitions.get(0).getParameters());
+    }
+
+    @Test
+    public void testSplitDates() {
+        final List<QueryPartition> partitions = QueryPartition.split("SELECT * FROM t", "created", Date.valueOf("2020-01-01"), Date.valueOf("2020-01-05"), 2);
+        assertEquals(2, partitions.size());
+        assertEquals(Collections.singletonList(new Timestamp(Date.valueOf("2020-01-03").getTime())), partitions.get(0).getParameters());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSplitUnsupportedType() {
+        QueryPartition.split("SELECT * FROM t", "name", "a", "z", 4);
+    }
+}
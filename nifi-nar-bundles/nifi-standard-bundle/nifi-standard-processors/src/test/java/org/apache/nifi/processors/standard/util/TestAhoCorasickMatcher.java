@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.util;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class TestAhoCorasickMatcher {
+
+    @Test
+    public void testOverlappingPatterns() {
+        final AhoCorasickMatcher matcher = new AhoCorasickMatcher(Arrays.asList("he", "she", "his", "hers"), false);
+
+        assertArrayEquals(new boolean[] {true, true, false, false}, matcher.match("ushe"));
+        assertArrayEquals(new boolean[] {true, true, false, true}, matcher.match("ushers"));
+        assertArrayEquals(new boolean[] {false, false, true, false}, matcher.match("this"));
+        assertArrayEquals(new boolean[] {false, false, false, false}, matcher.match("HERS"));
+        assertArrayEquals(new boolean[] {false, false, false, false}, matcher.match(""));
+    }
+
+    @Test
+    public void testIgnoreCase() {
+        final AhoCorasickMatcher matcher = new AhoCorasickMatcher(Arrays.asList("Hello", "wORLD", "\u00e9t\u00e9"), true);
+
+        assertArrayEquals(new boolean[] {true, true, false}, matcher.match("HELLO world"));
+        assertArrayEquals(new boolean[] {false, false, true}, matcher.match("\u00c9T\u00c9"));
+    }
+
+    @Test
+    public void testIgnoreCaseRegardlessOfLocale() {
+        // dotless i, long s and final sigma, which lower casing a whole string handles differently depending on the locale and context
+        final List<String> patterns = Arrays.asList("this", "sun", "\u03bf\u03b4\u03bf\u03c3");
+        final AhoCorasickMatcher matcher = new AhoCorasickMatcher(patterns, true);
+
+        for (final String text : Arrays.asList("TH\u0131S", "\u017fun", "\u039f\u0394\u039f\u03a3", "\u03bf\u03b4\u03bf\u03c2", "none")) {
+            final boolean[] matched = matcher.match(text);
+            for (int i = 0; i < patterns.size(); i++) {
+                assertEquals(text + " / " + patterns.get(i), AhoCorasickMatcher.foldCase(text).contains(AhoCorasickMatcher.foldCase(patterns.get(i))), matched[i]);
+            }
+        }
+
+        assertArrayEquals(new boolean[] {true, false, false}, matcher.match("TH\u0131S"));
+        assertArrayEquals(new boolean[] {false, true, false}, matcher.match("\u017fun"));
+        assertArrayEquals(new boolean[] {false, false, true}, matcher.match("\u03bf\u03b4\u03bf\u03c2"));
+    }
+
+    @Test
+    public void testEmptyAndDuplicatePatterns() {
+        final AhoCorasickMatcher matcher = new AhoCorasickMatcher(Arrays.asList("", "abc", "abc", "bcd"), false);
+
+        assertEquals(4, matcher.getPatternCount());
+        assertArrayEquals(new boolean[] {true, false, false, false}, matcher.match(""));
+        assertArrayEquals(new boolean[] {true, true, true, false}, matcher.match("xabcx"));
+        assertArrayEquals(new boolean[] {true, true, true, true}, matcher.match("abcd"));
+    }
+
+    @Test
+    public void testNoPatterns() {
+        final AhoCorasickMatcher matcher = new AhoCorasickMatcher(Collections.emptyList(), false);
+
+        assertEquals(0, matcher.match("anything").length);
+    }
+
+    @Test
+    public void testSameAsContains() {
+        final Random random = new Random(42L);
+        final List<String> patterns = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            patterns.add(randomString(random, 1 + random.nextInt(4), "abcAB\u00e9"));
+        }
+
+        for (final boolean ignoreCase : new boolean[] {false, true}) {
+            final AhoCorasickMatcher matcher = new AhoCorasickMatcher(patterns, ignoreCase);
+            for (int i = 0; i < 1000; i++) {
+                final String text = randomString(random, random.nextInt(40), "abcAB\u00e9\u00c9");
+                final boolean[] matched = matcher.match(text);
+                for (int j = 0; j < patterns.size(); j++) {
+                    final boolean expected = ignoreCase ? text.toLowerCase().contains(patterns.get(j).toLowerCase()) : text.contains(patterns.get(j));
+                    assertEquals(patterns.get(j) + " in " + text, expected, matched[j]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compares looking for all the patterns at once with looking for each of them in turn, as RouteText does without the matcher.
+     */
+    @Test
+    @Ignore("Intended only for manual performance testing")
+    public void testPerformance() {
+        final Random random = new Random(1L);
+        final List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            lines.add(randomString(random, 120, "abcdefghijklmnopqrstuvwxyz"));
+        }
+
+        for (final int patternCount : new int[] {1, 2, 4, 8, 32, 128}) {
+            final List<String> patterns = new ArrayList<>();
+            for (int i = 0; i < patternCount; i++) {
+                patterns.add(randomString(random, 5, "abcdefghijklmnopqrstuvwxyz"));
+            }
+
+            for (final boolean ignoreCase : new boolean[] {false, true}) {
+                final AhoCorasickMatcher matcher = new AhoCorasickMatcher(patterns, ignoreCase);
+
+                long start = System.nanoTime();
+                for (final String line : lines) {
+                    matcher.match(line);
+                }
+                final long matcherNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (final String line : lines) {
+                    for (final String pattern : patterns) {
+                        if (ignoreCase) {
+                            line.toLowerCase().contains(pattern.toLowerCase());
+                        } else {
+                            line.contains(pattern);
+                        }
+                    }
+                }
+                final long containsNanos = System.nanoTime() - start;
+
+                System.out.println(patternCount + " patterns, ignore case " + ignoreCase + ": matcher " + matcherNanos / 1_000_000 + " millis, contains "
+                    + containsNanos / 1_000_000 + " millis");
+            }
+        }
+    }
+
+    private static String randomString(final Random random, final int length, final String alphabet) {
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
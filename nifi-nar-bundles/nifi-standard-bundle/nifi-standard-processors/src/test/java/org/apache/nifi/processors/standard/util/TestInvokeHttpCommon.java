@@ -1473,6 +1473,83 @@ public abstract class TestInvokeHttpCommon {
         runner.assertPenalizeCount(0);
     }
 
+    @Test
+    public void testMaxInFlightRequests() throws Exception {
+        addHandler(new GetOrHeadHandler());
+
+        runner.setProperty(InvokeHTTP.PROP_URL, url + "/status/${status}");
+        runner.setProperty(InvokeHTTP.PROP_MAX_IN_FLIGHT_REQUESTS, "4");
+
+        final String[] statuses = {"200", "500", "200", "404", "200"};
+        for (final String status : statuses) {
+            final Map<String, String> attributes = new HashMap<>();
+            attributes.put("status", status);
+            runner.enqueue("Hello".getBytes("UTF-8"), attributes);
+        }
+
+        // only the first four FlowFiles are processed by the first task
+        runner.run();
+
+        runner.assertQueueNotEmpty();
+        runner.assertTransferCount(InvokeHTTP.REL_SUCCESS_REQ, 2);
+        runner.assertTransferCount(InvokeHTTP.REL_RESPONSE, 2);
+        runner.assertTransferCount(InvokeHTTP.REL_RETRY, 1);
+        runner.assertTransferCount(InvokeHTTP.REL_NO_RETRY, 1);
+        runner.assertTransferCount(InvokeHTTP.REL_FAILURE, 0);
+
+        runner.getFlowFilesForRelationship(InvokeHTTP.REL_RETRY).get(0).assertAttributeEquals(InvokeHTTP.RESPONSE_BODY, "/status/500");
+        runner.getFlowFilesForRelationship(InvokeHTTP.REL_NO_RETRY).get(0).assertAttributeEquals(InvokeHTTP.RESPONSE_BODY, "/status/404");
+
+        runner.run();
+
+        runner.assertQueueEmpty();
+        runner.assertTransferCount(InvokeHTTP.REL_SUCCESS_REQ, 3);
+        runner.assertTransferCount(InvokeHTTP.REL_RESPONSE, 3);
+
+        // every response belongs to the transaction of its request
+        final List<MockFlowFile> requests = runner.getFlowFilesForRelationship(InvokeHTTP.REL_SUCCESS_REQ);
+        final List<MockFlowFile> responses = runner.getFlowFilesForRelationship(InvokeHTTP.REL_RESPONSE);
+        for (int i = 0; i < responses.size(); i++) {
+            final MockFlowFile response = responses.get(i);
+            response.assertContentEquals("/status/200".getBytes("UTF-8"));
+            response.assertAttributeEquals(InvokeHTTP.STATUS_CODE, "200");
+            response.assertAttributeEquals(InvokeHTTP.TRANSACTION_ID, requests.get(i).getAttribute(InvokeHTTP.TRANSACTION_ID));
+        }
+    }
+
+    @Test
+    public void testMaxInFlightRequestsPost() throws Exception {
+        addHandler(new MutativeMethodHandler(MutativeMethod.POST));
+
+        runner.setProperty(InvokeHTTP.PROP_METHOD, "POST");
+        runner.setProperty(InvokeHTTP.PROP_URL, "${url}");
+        runner.setProperty(InvokeHTTP.PROP_MAX_IN_FLIGHT_REQUESTS, "3");
+
+        final String[] urls = {url + "/post", "not a url", url + "/post"};
+        for (final String requestUrl : urls) {
+            final Map<String, String> attributes = new HashMap<>();
+            attributes.put(CoreAttributes.MIME_TYPE.key(), "application/plain-text");
+            attributes.put("url", requestUrl);
+            runner.enqueue("Hello".getBytes("UTF-8"), attributes);
+        }
+
+        runner.run();
+
+        runner.assertQueueEmpty();
+        runner.assertTransferCount(InvokeHTTP.REL_SUCCESS_REQ, 2);
+        runner.assertTransferCount(InvokeHTTP.REL_RESPONSE, 2);
+        runner.assertTransferCount(InvokeHTTP.REL_RETRY, 0);
+        runner.assertTransferCount(InvokeHTTP.REL_NO_RETRY, 0);
+        runner.assertTransferCount(InvokeHTTP.REL_FAILURE, 1);
+        runner.assertPenalizeCount(1);
+
+        runner.getFlowFilesForRelationship(InvokeHTTP.REL_FAILURE).get(0).assertAttributeEquals("url", "not a url");
+        for (final MockFlowFile request : runner.getFlowFilesForRelationship(InvokeHTTP.REL_SUCCESS_REQ)) {
+            request.assertContentEquals("Hello".getBytes("UTF-8"));
+            request.assertAttributeEquals(InvokeHTTP.STATUS_CODE, "200");
+        }
+    }
+
 
     public static void createFlowFiles(final TestRunner testRunner) throws UnsupportedEncodingException {
         final Map<String, String> attributes = new HashMap<>();
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.util;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestStreamingLiteralReplacer {
+
+    @Test
+    public void testIsByteReplaceable() {
+        assertTrue(StreamingLiteralReplacer.isByteReplaceable(StandardCharsets.UTF_8, "caf\u00e9"));
+        assertTrue(StreamingLiteralReplacer.isByteReplaceable(StandardCharsets.ISO_8859_1, "caf\u00e9"));
+        assertFalse(StreamingLiteralReplacer.isByteReplaceable(StandardCharsets.US_ASCII, "caf\u00e9"));
+        assertFalse(StreamingLiteralReplacer.isByteReplaceable(StandardCharsets.UTF_16, "cafe"));
+        assertFalse(StreamingLiteralReplacer.isByteReplaceable(StandardCharsets.UTF_8, ""));
+    }
+
+    @Test
+    public void testSameAsStringReplace() throws IOException {
+        final Random random = new Random(7L);
+        for (int i = 0; i < 200; i++) {
+            final String text = randomString(random, random.nextInt(40000), "ab\u00e9");
+            final String search = randomString(random, 1 + random.nextInt(i % 2 == 0 ? 4 : 10000), "ab\u00e9");
+            final String replacement = randomString(random, random.nextInt(5), "xy");
+            final String expected = text.replace(search, replacement);
+
+            final ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+            StreamingLiteralReplacer.replace(new TrickleInputStream(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), random), bytesOut,
+                    search.getBytes(StandardCharsets.UTF_8), replacement.getBytes(StandardCharsets.UTF_8));
+            assertEquals(expected, new String(bytesOut.toByteArray(), StandardCharsets.UTF_8));
+
+            final StringWriter charsOut = new StringWriter();
+            StreamingLiteralReplacer.replace(new StringReader(text), charsOut, search, replacement);
+            assertEquals(expected, charsOut.toString());
+        }
+    }
+
+    @Test
+    public void testEmptySearch() throws IOException {
+        final StringWriter out = new StringWriter();
+        assertEquals(4L, StreamingLiteralReplacer.replace(new StringReader("abc"), out, "", "-"));
+        assertEquals("abc".replace("", "-"), out.toString());
+    }
+
+    @Test
+    public void testReplacementCount() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(2L, StreamingLiteralReplacer.replace(new ByteArrayInputStream("aaaaa".getBytes(StandardCharsets.UTF_8)), out,
+                "aa".getBytes(StandardCharsets.UTF_8), "b".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("bba", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private static String randomString(final Random random, final int length, final String alphabet) {
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Returns fewer bytes than asked for, as streams may
+     */
+    private static class TrickleInputStream extends FilterInputStream {
+        private final Random random;
+
+        TrickleInputStream(final InputStream in, final Random random) {
+            super(in);
+            this.random = random;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            return super.read(b, off, Math.min(len, 1 + random.nextInt(5000)));
+        }
+    }
+}
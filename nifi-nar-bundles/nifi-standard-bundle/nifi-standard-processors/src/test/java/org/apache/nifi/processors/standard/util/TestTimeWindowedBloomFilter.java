@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.processors.standard.util;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestTimeWindowedBloomFilter {
+
+    @Test
+    public void testMightContainOrPut() {
+        final TimeWindowedBloomFilter filter = new TimeWindowedBloomFilter(1000, 0.001, 0L);
+
+        assertFalse(filter.mightContainOrPut("a", 0L));
+        assertFalse(filter.mightContainOrPut("b", 0L));
+        assertTrue(filter.mightContainOrPut("a", 0L));
+        assertTrue(filter.mightContainOrPut("b", Long.MAX_VALUE));
+        assertEquals(1, filter.getSegmentCount());
+    }
+
+    @Test
+    public void testSegmentAddedWhenFull() {
+        final TimeWindowedBloomFilter filter = new TimeWindowedBloomFilter(10, 0.001, 0L);
+
+        for (int i = 0; i < 25; i++) {
+            assertFalse(filter.mightContainOrPut("value-" + i, 0L));
+        }
+        assertEquals(3, filter.getSegmentCount());
+
+        for (int i = 0; i < 25; i++) {
+            assertTrue(filter.mightContainOrPut("value-" + i, 0L));
+        }
+    }
+
+    @Test
+    public void testAgeOff() {
+        final TimeWindowedBloomFilter filter = new TimeWindowedBloomFilter(1000, 0.001, 4000L);
+
+        assertFalse(filter.mightContainOrPut("a", 0L));
+        assertFalse(filter.mightContainOrPut("b", 1500L));
+        assertEquals(2, filter.getSegmentCount());
+
+        assertTrue(filter.mightContainOrPut("a", 3999L));
+        assertTrue(filter.mightContainOrPut("b", 3999L));
+
+        // the segment holding "a" is dropped, while "b" is remembered for at least the maximum age
+        assertFalse(filter.mightContainOrPut("a", 4000L));
+        assertTrue(filter.mightContainOrPut("b", 5499L));
+        assertFalse(filter.mightContainOrPut("b", 5500L));
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        final TimeWindowedBloomFilter filter = new TimeWindowedBloomFilter(10, 0.001, 0L);
+        for (int i = 0; i < 15; i++) {
+            filter.mightContainOrPut("value-" + i, 0L);
+        }
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        filter.writeTo(out);
+
+        final TimeWindowedBloomFilter restored = new TimeWindowedBloomFilter(10, 0.001, 0L);
+        assertTrue(restored.readFrom(new ByteArrayInputStream(out.toByteArray())));
+        assertEquals(2, restored.getSegmentCount());
+        for (int i = 0; i < 15; i++) {
+            assertTrue(restored.mightContainOrPut("value-" + i, 0L));
+        }
+
+        final TimeWindowedBloomFilter differentRate = new TimeWindowedBloomFilter(10, 0.01, 0L);
+        assertFalse(differentRate.readFrom(new ByteArrayInputStream(out.toByteArray())));
+        assertEquals(0, differentRate.getSegmentCount());
+    }
+}
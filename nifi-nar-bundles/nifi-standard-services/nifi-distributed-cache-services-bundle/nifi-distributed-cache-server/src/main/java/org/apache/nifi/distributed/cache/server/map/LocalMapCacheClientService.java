@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.distributed.cache.server.map;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.nifi.annotation.documentation.CapabilityDescription;
+import org.apache.nifi.annotation.documentation.SeeAlso;
+import org.apache.nifi.annotation.documentation.Tags;
+import org.apache.nifi.annotation.lifecycle.OnDisabled;
+import org.apache.nifi.annotation.lifecycle.OnEnabled;
+import org.apache.nifi.components.PropertyDescriptor;
+import org.apache.nifi.controller.AbstractControllerService;
+import org.apache.nifi.controller.ConfigurationContext;
+import org.apache.nifi.distributed.cache.client.AtomicCacheEntry;
+import org.apache.nifi.distributed.cache.client.AtomicDistributedMapCacheClient;
+import org.apache.nifi.distributed.cache.client.Deserializer;
+import org.apache.nifi.distributed.cache.client.Serializer;
+import org.apache.nifi.distributed.cache.server.DistributedCacheServer;
+import org.apache.nifi.distributed.cache.server.EvictionPolicy;
+
+@Tags({"cache", "state", "map", "local", "key/value"})
+@CapabilityDescription("Provides a map (key/value) cache that is held in the memory of this node, and optionally persisted to disk, "
+        + "without going through a DistributedMapCacheServer. As every operation is a local method call rather than a round trip over a socket, "
+        + "this is well suited to components that coordinate heavily through a cache, such as Wait and Notify, when they all run on a single node. "
+        + "Entries are not shared between the nodes of a cluster.")
+@SeeAlso(classNames = {"org.apache.nifi.distributed.cache.server.map.DistributedMapCacheServer", "org.apache.nifi.distributed.cache.client.DistributedMapCacheClientService"})
+public class LocalMapCacheClientService extends AbstractControllerService implements AtomicDistributedMapCacheClient<Long> {
+
+    private static final byte[] EMPTY_VALUE = new byte[0];
+
+    private volatile MapCache cache;
+
+    @Override
+    protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
+        final List<PropertyDescriptor> properties = new ArrayList<>();
+        properties.add(DistributedCacheServer.MAX_CACHE_ENTRIES);
+        properties.add(DistributedCacheServer.EVICTION_POLICY);
+        properties.add(DistributedCacheServer.PERSISTENCE_PATH);
+        return properties;
+    }
+
+    @OnEnabled
+    public void onEnabled(final ConfigurationContext context) throws IOException {
+        final int maxSize = context.getProperty(DistributedCacheServer.MAX_CACHE_ENTRIES).asInteger();
+        final String evictionPolicyName = context.getProperty(DistributedCacheServer.EVICTION_POLICY).getValue();
+        final String persistencePath = context.getProperty(DistributedCacheServer.PERSISTENCE_PATH).getValue();
+
+        final EvictionPolicy evictionPolicy;
+        switch (evictionPolicyName) {
+            case DistributedCacheServer.EVICTION_STRATEGY_FIFO:
+                evictionPolicy = EvictionPolicy.FIFO;
+                break;
+            case DistributedCacheServer.EVICTION_STRATEGY_LFU:
+                evictionPolicy = EvictionPolicy.LFU;
+                break;
+            case DistributedCacheServer.EVICTION_STRATEGY_LRU:
+                evictionPolicy = EvictionPolicy.LRU;
+                break;
+            default:
+                throw new IllegalArgumentException("Illegal Eviction Policy: " + evictionPolicyName);
+        }
+
+        final MapCache simpleCache = new SimpleMapCache(getIdentifier(), maxSize, evictionPolicy);
+        if (persistencePath == null) {
+            cache = simpleCache;
+        } else {
+            final PersistentMapCache persistentCache = new PersistentMapCache(getIdentifier(), new File(persistencePath), simpleCache);
+            persistentCache.restore();
+            cache = persistentCache;
+        }
+    }
+
+    @OnDisabled
+    public void onDisabled() throws IOException {
+        if (cache != null) {
+            cache.shutdown();
+        }
+        cache = null;
+    }
+
+    @Override
+    public <K, V> boolean putIfAbsent(final K key, final V value, final Serializer<K> keySerializer, final Serializer<V> valueSerializer) throws IOException {
+        return getCache().putIfAbsent(serialize(key, keySerializer), serialize(value, valueSerializer)).isSuccessful();
+    }
+
+    @Override
+    public <K, V> V getAndPutIfAbsent(final K key, final V value, final Serializer<K> keySerializer, final Serializer<V> valueSerializer,
+                                      final Deserializer<V> valueDeserializer) throws IOException {
+        final MapPutResult result = getCache().putIfAbsent(serialize(key, keySerializer), serialize(value, valueSerializer));
+        return result.isSuccessful() ? deserialize(null, valueDeserializer) : deserialize(result.getExisting().getValue(), valueDeserializer);
+    }
+
+    @Override
+    public <K> boolean containsKey(final K key, final Serializer<K> keySerializer) throws IOException {
+        return getCache().containsKey(serialize(key, keySerializer));
+    }
+
+    @Override
+    public <K, V> void put(final K key, final V value, final Serializer<K> keySerializer, final Serializer<V> valueSerializer) throws IOException {
+        getCache().put(serialize(key, keySerializer), serialize(value, valueSerializer));
+    }
+
+    @Override
+    public <K, V> V get(final K key, final Serializer<K> keySerializer, final Deserializer<V> valueDeserializer) throws IOException {
+        return deserialize(getCache().get(serialize(key, keySerializer)), valueDeserializer);
+    }
+
+    @Override
+    public <K, V> Map<K, V> subMap(final Set<K> keys, final Serializer<K> keySerializer, final Deserializer<V> valueDeserializer) throws IOException {
+        if (keys == null) {
+            return null;
+        }
+
+        final List<ByteBuffer> serializedKeys = new ArrayList<>(keys.size());
+        final Map<ByteBuffer, K> keysBySerializedKey = new HashMap<>(keys.size());
+        for (final K key : keys) {
+            final ByteBuffer serializedKey = serialize(key, keySerializer);
+            serializedKeys.add(serializedKey);
+            keysBySerializedKey.put(serializedKey, key);
+        }
+
+        final Map<K, V> results = new HashMap<>(keys.size());
+        for (final Map.Entry<ByteBuffer, ByteBuffer> entry : getCache().subMap(serializedKeys).entrySet()) {
+            results.put(keysBySerializedKey.get(entry.getKey()), deserialize(entry.getValue(), valueDeserializer));
+        }
+        return results;
+    }
+
+    @Override
+    public void close() throws IOException {
+    }
+
+    @Override
+    public <K> boolean remove(final K key, final Serializer<K> serializer) throws IOException {
+        return getCache().remove(serialize(key, serializer)) != null;
+    }
+
+    @Override
+    public <K, V> V removeAndGet(final K key, final Serializer<K> keySerializer, final Deserializer<V> valueDeserializer) throws IOException {
+        return deserialize(getCache().remove(serialize(key, keySerializer)), valueDeserializer);
+    }
+
+    @Override
+    public long removeByPattern(final String regex) throws IOException {
+        return getCache().removeByPattern(regex).size();
+    }
+
+    @Override
+    public <K, V> Map<K, V> removeByPatternAndGet(final String regex, final Deserializer<K> keyDeserializer, final Deserializer<V> valueDeserializer) throws IOException {
+        final Map<ByteBuffer, ByteBuffer> removed = getCache().removeByPattern(regex);
+        final Map<K, V> results = new HashMap<>(removed.size());
+        for (final Map.Entry<ByteBuffer, ByteBuffer> entry : removed.entrySet()) {
+            results.put(deserialize(entry.getKey(), keyDeserializer), deserialize(entry.getValue(), valueDeserializer));
+        }
+        return results;
+    }
+
+    @Override
+    public <K> Set<K> keySet(final Deserializer<K> keyDeserializer) throws IOException {
+        final Set<K> results = new HashSet<>();
+        for (final ByteBuffer key : getCache().keySet()) {
+            results.add(deserialize(key, keyDeserializer));
+        }
+        return results;
+    }
+
+    @Override
+    public <K, V> AtomicCacheEntry<K, V, Long> fetch(final K key, final Serializer<K> keySerializer, final Deserializer<V> valueDeserializer) throws IOException {
+        final MapCacheRecord record = getCache().fetch(serialize(key, keySerializer));
+        if (record == null) {
+            return null;
+        }
+        return new AtomicCacheEntry<>(key, deserialize(record.getValue(), valueDeserializer), record.getRevision());
+    }
+
+    @Override
+    public <K, V> boolean replace(final AtomicCacheEntry<K, V, Long> entry, final Serializer<K> keySerializer, final Serializer<V> valueSerializer) throws IOException {
+        final MapCacheRecord record = new MapCacheRecord(serialize(entry.getKey(), keySerializer), serialize(entry.getValue(), valueSerializer), entry.getRevision().orElse(0L));
+        return getCache().replace(record).isSuccessful();
+    }
+
+    private MapCache getCache() throws IOException {
+        final MapCache mapCache = cache;
+        if (mapCache == null) {
+            throw new IOException(this + " is not enabled");
+        }
+        return mapCache;
+    }
+
+    private static <T> ByteBuffer serialize(final T value, final Serializer<T> serializer) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        serializer.serialize(value, baos);
+        return ByteBuffer.wrap(baos.toByteArray());
+    }
+
+    /*
+     * Missing values are deserialized from an empty array, as they would be when read from a DistributedMapCacheServer.
+     */
+    private static <T> T deserialize(final ByteBuffer value, final Deserializer<T> deserializer) throws IOException {
+        return deserializer.deserialize(value == null ? EMPTY_VALUE : value.array());
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.distributed.cache.server.map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.nifi.distributed.cache.client.AtomicCacheEntry;
+import org.apache.nifi.distributed.cache.client.Deserializer;
+import org.apache.nifi.distributed.cache.client.Serializer;
+import org.apache.nifi.distributed.cache.server.DistributedCacheServer;
+import org.apache.nifi.processor.Processor;
+import org.apache.nifi.util.TestRunner;
+import org.apache.nifi.util.TestRunners;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class TestLocalMapCacheClientService {
+
+    private final Serializer<String> serializer = (value, output) -> output.write(value.getBytes(StandardCharsets.UTF_8));
+    private final Deserializer<String> deserializer = input -> input.length == 0 ? null : new String(input, StandardCharsets.UTF_8);
+
+    private TestRunner runner;
+    private LocalMapCacheClientService client;
+
+    @Before
+    public void setup() throws Exception {
+        runner = TestRunners.newTestRunner(Mockito.mock(Processor.class));
+        client = new LocalMapCacheClientService();
+        runner.addControllerService("client", client);
+    }
+
+    @Test
+    public void testMapOperations() throws Exception {
+        runner.enableControllerService(client);
+
+        assertTrue(client.putIfAbsent("test", "1", serializer, serializer));
+        assertFalse(client.putIfAbsent("test", "2", serializer, serializer));
+        assertEquals("1", client.getAndPutIfAbsent("test", "2", serializer, serializer, deserializer));
+        assertNull(client.getAndPutIfAbsent("test2", "2", serializer, serializer, deserializer));
+        assertTrue(client.containsKey("test2", serializer));
+
+        client.put("test", "3", serializer, serializer);
+        assertEquals("3", client.get("test", serializer, deserializer));
+        assertNull(client.get("missing", serializer, deserializer));
+
+        final Map<String, String> subMap = client.subMap(new HashSet<>(Arrays.asList("test", "test2", "missing")), serializer, deserializer);
+        assertEquals(3, subMap.size());
+        assertEquals("3", subMap.get("test"));
+        assertEquals("2", subMap.get("test2"));
+        assertNull(subMap.get("missing"));
+        assertEquals(new HashSet<>(Arrays.asList("test", "test2")), client.keySet(deserializer));
+
+        assertEquals("2", client.removeAndGet("test2", serializer, deserializer));
+        assertFalse(client.remove("test2", serializer));
+        assertTrue(client.remove("test", serializer));
+
+        client.put("test.1", "1", serializer, serializer);
+        client.put("test.2", "2", serializer, serializer);
+        client.put("test3", "3", serializer, serializer);
+        assertEquals(1L, client.removeByPattern("test\\.1"));
+        final Map<String, String> removed = client.removeByPatternAndGet("test\\..*", deserializer, deserializer);
+        assertEquals(1, removed.size());
+        assertEquals("2", removed.get("test.2"));
+        assertTrue(client.containsKey("test3", serializer));
+    }
+
+    @Test
+    public void testOptimisticLock() throws Exception {
+        runner.enableControllerService(client);
+
+        final String key = "test-optimistic-lock";
+        assertNull(client.fetch(key, serializer, deserializer));
+
+        client.put(key, "value-0", serializer, serializer);
+        final AtomicCacheEntry<String, String, Long> entry1 = client.fetch(key, serializer, deserializer);
+        final AtomicCacheEntry<String, String, Long> entry2 = client.fetch(key, serializer, deserializer);
+        assertEquals(Long.valueOf(0), entry1.getRevision().orElse(-1L));
+
+        entry1.setValue("value-1");
+        assertTrue(client.replace(entry1, serializer, serializer));
+        entry2.setValue("value-2");
+        assertFalse(client.replace(entry2, serializer, serializer));
+
+        final AtomicCacheEntry<String, String, Long> entry = client.fetch(key, serializer, deserializer);
+        assertEquals("value-1", entry.getValue());
+        assertEquals(Long.valueOf(1), entry.getRevision().orElse(-1L));
+
+        // replacing an entry that does not exist yet creates it
+        assertTrue(client.replace(new AtomicCacheEntry<>("new-key", "value", null), serializer, serializer));
+        assertEquals("value", client.get("new-key", serializer, deserializer));
+    }
+
+    @Test
+    public void testPersistence() throws Exception {
+        final File dataFile = new File("target/local-cache-data-" + UUID.randomUUID());
+
+        runner.setProperty(client, DistributedCacheServer.PERSISTENCE_PATH, dataFile.getAbsolutePath());
+        runner.enableControllerService(client);
+        client.put("test", "1", serializer, serializer);
+        client.put("test2", "2", serializer, serializer);
+        client.remove("test2", serializer);
+        runner.disableControllerService(client);
+
+        runner.enableControllerService(client);
+        assertEquals("1", client.get("test", serializer, deserializer));
+        assertFalse(client.containsKey("test2", serializer));
+        runner.disableControllerService(client);
+    }
+
+    @Test(expected = IOException.class)
+    public void testNotEnabled() throws Exception {
+        client.get("test", serializer, deserializer);
+    }
+}
@@ -20,14 +20,12 @@ package org.apache.nifi.avro;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.nifi.serialization.MalformedRecordException;
 import org.apache.nifi.serialization.RecordReader;
-import org.apache.nifi.serialization.record.MapRecord;
 import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordSchema;
 
 import com.google.common.base.Throwables;
 
 import java.io.IOException;
-import java.util.Map;
 
 public abstract class AvroRecordReader implements RecordReader {
 
@@ -42,8 +40,7 @@ public abstract class AvroRecordReader implements RecordReader {
             }
 
             final RecordSchema schema = getSchema();
-            final Map<String, Object> values = AvroTypeUtil.convertAvroRecordToMap(record, schema);
-            return new MapRecord(schema, values);
+            return AvroTypeUtil.convertAvroRecordToRecord(record, schema);
         } catch (IOException e) {
             throw e;
         } catch (MalformedRecordException e) {
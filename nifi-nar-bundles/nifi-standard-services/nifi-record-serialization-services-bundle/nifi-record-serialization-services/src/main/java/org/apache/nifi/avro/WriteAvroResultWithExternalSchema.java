@@ -32,13 +32,14 @@ import org.apache.nifi.serialization.record.RecordSchema;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 
 public class WriteAvroResultWithExternalSchema extends AbstractRecordSetWriter {
     private final SchemaAccessWriter schemaAccessWriter;
     private final RecordSchema recordSchema;
-    private final Schema avroSchema;
+    private final RecordToAvroConverter converter;
     private final BinaryEncoder encoder;
     private final OutputStream buffered;
     private final DatumWriter<GenericRecord> datumWriter;
@@ -49,7 +50,7 @@ public class WriteAvroResultWithExternalSchema extends AbstractRecordSetWriter {
         super(out);
         this.recordSchema = recordSchema;
         this.schemaAccessWriter = schemaAccessWriter;
-        this.avroSchema = avroSchema;
+        this.converter = new RecordToAvroConverter(avroSchema, StandardCharsets.UTF_8);
         this.buffered = new BufferedOutputStream(out);
         this.recycleQueue = recycleQueue;
 
@@ -84,7 +85,7 @@ public class WriteAvroResultWithExternalSchema extends AbstractRecordSetWriter {
             schemaAccessWriter.writeHeader(recordSchema, getOutputStream());
         }
 
-        final GenericRecord rec = AvroTypeUtil.createAvroRecord(record, avroSchema);
+        final GenericRecord rec = converter.convert(record);
         datumWriter.write(rec, encoder);
         return schemaAccessWriter.getAttributes(recordSchema);
     }
@@ -19,6 +19,7 @@ package org.apache.nifi.avro;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Map;
 
@@ -33,11 +34,11 @@ import org.apache.nifi.serialization.record.Record;
 public class WriteAvroResultWithSchema extends AbstractRecordSetWriter {
 
     private final DataFileWriter<GenericRecord> dataFileWriter;
-    private final Schema schema;
+    private final RecordToAvroConverter converter;
 
     public WriteAvroResultWithSchema(final Schema schema, final OutputStream out, final CodecFactory codec) throws IOException {
         super(out);
-        this.schema = schema;
+        this.converter = new RecordToAvroConverter(schema, StandardCharsets.UTF_8);
 
         final GenericDatumWriter<GenericRecord> datumWriter = new GenericDatumWriter<>(schema);
         dataFileWriter = new DataFileWriter<>(datumWriter);
@@ -57,7 +58,7 @@ public class WriteAvroResultWithSchema extends AbstractRecordSetWriter {
 
     @Override
     public Map<String, String> writeRecord(final Record record) throws IOException {
-        final GenericRecord rec = AvroTypeUtil.createAvroRecord(record, schema);
+        final GenericRecord rec = converter.convert(record);
         dataFileWriter.append(rec);
         return Collections.emptyMap();
     }
@@ -20,6 +20,7 @@ package org.apache.nifi.csv;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.nifi.annotation.documentation.CapabilityDescription;
 import org.apache.nifi.annotation.documentation.Tags;
+import org.apache.nifi.annotation.lifecycle.OnDisabled;
 import org.apache.nifi.annotation.lifecycle.OnEnabled;
 import org.apache.nifi.components.AllowableValue;
 import org.apache.nifi.components.PropertyDescriptor;
@@ -27,10 +28,10 @@ import org.apache.nifi.context.PropertyContext;
 import org.apache.nifi.controller.ConfigurationContext;
 import org.apache.nifi.expression.ExpressionLanguageScope;
 import org.apache.nifi.logging.ComponentLog;
+import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.schema.access.SchemaAccessStrategy;
 import org.apache.nifi.schema.access.SchemaAccessUtils;
 import org.apache.nifi.schema.access.SchemaNotFoundException;
-import org.apache.nifi.schema.inference.InferSchemaAccessStrategy;
 import org.apache.nifi.schema.inference.RecordSourceFactory;
 import org.apache.nifi.schema.inference.SchemaInferenceEngine;
 import org.apache.nifi.schema.inference.SchemaInferenceUtil;
@@ -49,6 +50,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 @Tags({"csv", "parse", "record", "row", "reader", "delimited", "comma", "separated", "values"})
 @CapabilityDescription("Parses CSV-formatted data, returning each row in the CSV file as a separate record. "
@@ -79,6 +81,19 @@ public class CSVReader extends SchemaRegistryService implements RecordReaderFact
             .required(true)
             .build();
 
+    public static final PropertyDescriptor CONVERSION_THREADS = new PropertyDescriptor.Builder()
+            .name("csv-reader-conversion-threads")
+            .displayName("Conversion Threads")
+            .description("The number of threads used to convert the parsed CSV rows into records. The rows of a FlowFile are always parsed in order by the thread "
+                    + "reading the FlowFile, and with a single Conversion Thread that thread also converts them. With more threads, batches of rows are converted "
+                    + "concurrently while the records are still returned in their original order, which speeds up reading large FlowFiles at the expense of "
+                    + "buffering a few batches of records in memory. The threads are shared by all the FlowFiles read with this Controller Service.")
+            .expressionLanguageSupported(ExpressionLanguageScope.NONE)
+            .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+            .defaultValue("1")
+            .required(true)
+            .build();
+
     private volatile ConfigurationContext context;
 
     private volatile String csvParser;
@@ -88,6 +103,7 @@ public class CSVReader extends SchemaRegistryService implements RecordReaderFact
     private volatile boolean firstLineIsHeader;
     private volatile boolean ignoreHeader;
     private volatile String charSet;
+    private volatile ForkJoinPool conversionPool;
 
     // it will be initialized only if there are no dynamic csv formatting properties
     private volatile CSVFormat csvFormat;
@@ -95,7 +111,10 @@ public class CSVReader extends SchemaRegistryService implements RecordReaderFact
     @Override
     protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
         final List<PropertyDescriptor> properties = new ArrayList<>(super.getSupportedPropertyDescriptors());
+        properties.add(SchemaInferenceUtil.INFERENCE_MAX_RECORDS);
+        properties.add(SchemaInferenceUtil.INFERENCE_MAX_BYTES);
         properties.add(CSV_PARSER);
+        properties.add(CONVERSION_THREADS);
         properties.add(DateTimeUtils.DATE_FORMAT);
         properties.add(DateTimeUtils.TIME_FORMAT);
         properties.add(DateTimeUtils.TIMESTAMP_FORMAT);
@@ -124,6 +143,9 @@ public class CSVReader extends SchemaRegistryService implements RecordReaderFact
         this.ignoreHeader = context.getProperty(CSVUtils.IGNORE_CSV_HEADER).asBoolean();
         this.charSet = context.getProperty(CSVUtils.CHARSET).getValue();
 
+        final int conversionThreads = context.getProperty(CONVERSION_THREADS).asInteger();
+        this.conversionPool = conversionThreads > 1 ? new ForkJoinPool(conversionThreads) : null;
+
         // Ensure that if we are deriving schema from header that we always treat the first line as a header,
         // regardless of the 'First Line is Header' property
         final String accessStrategy = context.getProperty(SchemaAccessUtils.SCHEMA_ACCESS_STRATEGY).getValue();
@@ -138,6 +160,14 @@ public class CSVReader extends SchemaRegistryService implements RecordReaderFact
         }
     }
 
+    @OnDisabled
+    public void shutdownConversionPool() {
+        if (conversionPool != null) {
+            conversionPool.shutdown();
+            conversionPool = null;
+        }
+    }
+
     @Override
     public RecordReader createRecordReader(final Map<String, String> variables, final InputStream in, final long inputLength, final ComponentLog logger) throws IOException, SchemaNotFoundException {
         // Use Mark/Reset of a BufferedInputStream in case we read from the Input Stream for the header.
@@ -153,9 +183,9 @@ public class CSVReader extends SchemaRegistryService implements RecordReaderFact
         }
 
         if(APACHE_COMMONS_CSV.getValue().equals(csvParser)) {
-            return new CSVRecordReader(in, logger, schema, csvFormat, firstLineIsHeader, ignoreHeader, dateFormat, timeFormat, timestampFormat, charSet);
+            return new CSVRecordReader(in, logger, schema, csvFormat, firstLineIsHeader, ignoreHeader, dateFormat, timeFormat, timestampFormat, charSet, conversionPool);
         } else if(JACKSON_CSV.getValue().equals(csvParser)) {
-            return new JacksonCSVRecordReader(in, logger, schema, csvFormat, firstLineIsHeader, ignoreHeader, dateFormat, timeFormat, timestampFormat, charSet);
+            return new JacksonCSVRecordReader(in, logger, schema, csvFormat, firstLineIsHeader, ignoreHeader, dateFormat, timeFormat, timestampFormat, charSet, conversionPool);
         } else {
             throw new IOException("Parser not supported");
         }
@@ -168,7 +198,7 @@ public class CSVReader extends SchemaRegistryService implements RecordReaderFact
         } else if (allowableValue.equalsIgnoreCase(SchemaInferenceUtil.INFER_SCHEMA.getValue())) {
             final RecordSourceFactory<CSVRecordAndFieldNames> sourceFactory = (variables, in) -> new CSVRecordSource(in, context, variables);
             final SchemaInferenceEngine<CSVRecordAndFieldNames> inference = new CSVSchemaInference(new TimeValueInference(dateFormat, timeFormat, timestampFormat));
-            return new InferSchemaAccessStrategy<>(sourceFactory, inference, getLogger());
+            return SchemaInferenceUtil.createInferenceStrategy(context, getLogger(), sourceFactory, inference);
         }
 
         return super.getSchemaAccessStrategy(allowableValue, schemaRegistry, context);
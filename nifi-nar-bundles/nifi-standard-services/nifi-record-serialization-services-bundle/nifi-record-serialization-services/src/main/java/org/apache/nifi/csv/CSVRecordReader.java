@@ -22,12 +22,12 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
@@ -35,8 +35,8 @@ import org.apache.commons.csv.CSVRecord;
 import org.apache.commons.io.input.BOMInputStream;
 import org.apache.nifi.logging.ComponentLog;
 import org.apache.nifi.serialization.MalformedRecordException;
+import org.apache.nifi.serialization.record.ArrayRecord;
 import org.apache.nifi.serialization.record.DataType;
-import org.apache.nifi.serialization.record.MapRecord;
 import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordField;
 import org.apache.nifi.serialization.record.RecordFieldType;
@@ -47,11 +47,21 @@ import com.google.common.base.Throwables;
 
 public class CSVRecordReader extends AbstractCSVRecordReader {
     private final CSVParser csvParser;
+    private final ParallelRowConverter<CSVRecord> parallelConverter;
 
     private List<RecordField> recordFields;
 
     public CSVRecordReader(final InputStream in, final ComponentLog logger, final RecordSchema schema, final CSVFormat csvFormat, final boolean hasHeader, final boolean ignoreHeader,
                            final String dateFormat, final String timeFormat, final String timestampFormat, final String encoding) throws IOException {
+        this(in, logger, schema, csvFormat, hasHeader, ignoreHeader, dateFormat, timeFormat, timestampFormat, encoding, null);
+    }
+
+    /**
+     * @param conversionPool if not null, the parsed rows are converted into records on this pool while the rows are still parsed in order by
+     *            the thread reading the records
+     */
+    public CSVRecordReader(final InputStream in, final ComponentLog logger, final RecordSchema schema, final CSVFormat csvFormat, final boolean hasHeader, final boolean ignoreHeader,
+                           final String dateFormat, final String timeFormat, final String timestampFormat, final String encoding, final ForkJoinPool conversionPool) throws IOException {
         super(logger, schema, hasHeader, ignoreHeader, dateFormat, timeFormat, timestampFormat);
 
         final Reader reader = new InputStreamReader(new BOMInputStream(in), encoding);
@@ -70,58 +80,76 @@ public class CSVRecordReader extends AbstractCSVRecordReader {
         }
 
         csvParser = new CSVParser(reader, withHeader);
+        parallelConverter = conversionPool == null ? null : new ParallelRowConverter<>(conversionPool, this::nextCsvRecord, this::convertRecord);
     }
 
     @Override
     public Record nextRecord(final boolean coerceTypes, final boolean dropUnknownFields) throws IOException, MalformedRecordException {
 
         try {
-            final RecordSchema schema = getSchema();
-
-            final List<RecordField> recordFields = getRecordFields();
-            final int numFieldNames = recordFields.size();
-            for (final CSVRecord csvRecord : csvParser) {
-                final Map<String, Object> values = new LinkedHashMap<>(recordFields.size() * 2);
-                for (int i = 0; i < csvRecord.size(); i++) {
-                    final String rawValue = csvRecord.get(i);
-
-                    final String rawFieldName;
-                    final DataType dataType;
-                    if (i >= numFieldNames) {
-                        if (!dropUnknownFields) {
-                            values.put("unknown_field_index_" + i, rawValue);
-                        }
-
-                        continue;
-                    } else {
-                        final RecordField recordField = recordFields.get(i);
-                        rawFieldName = recordField.getFieldName();
-                        dataType = recordField.getDataType();
-                    }
-
-
-                    final Object value;
-                    if (coerceTypes) {
-                        value = convert(rawValue, dataType, rawFieldName);
-                    } else {
-                        // The CSV Reader is going to return all fields as Strings, because CSV doesn't have any way to
-                        // dictate a field type. As a result, we will use the schema that we have to attempt to convert
-                        // the value into the desired type if it's a simple type.
-                        value = convertSimpleIfPossible(rawValue, dataType, rawFieldName);
-                    }
-
-                    values.put(rawFieldName, value);
-                }
-
-                return new MapRecord(schema, values, coerceTypes, dropUnknownFields);
+            if (parallelConverter != null) {
+                return parallelConverter.nextRecord(coerceTypes, dropUnknownFields);
             }
+
+            final CSVRecord csvRecord = nextCsvRecord();
+            return csvRecord == null ? null : convertRecord(csvRecord, coerceTypes, dropUnknownFields);
         } catch (Exception e) {
             throw new MalformedRecordException("Error while getting next record. Root cause: " +  Throwables.getRootCause(e), e);
         }
+    }
+
+    private CSVRecord nextCsvRecord() {
+        // resolve the fields before handing over the row, as the rows might be converted concurrently
+        getRecordFields();
+
+        for (final CSVRecord csvRecord : csvParser) {
+            return csvRecord;
+        }
 
         return null;
     }
 
+    private Record convertRecord(final CSVRecord csvRecord, final boolean coerceTypes, final boolean dropUnknownFields) {
+        final RecordSchema schema = getSchema();
+
+        final List<RecordField> recordFields = getRecordFields();
+        final int numFieldNames = recordFields.size();
+
+        final ArrayRecord.Builder recordBuilder = ArrayRecord.builder(schema, coerceTypes, dropUnknownFields);
+        for (int i = 0; i < csvRecord.size(); i++) {
+            final String rawValue = csvRecord.get(i);
+
+            final String rawFieldName;
+            final DataType dataType;
+            if (i >= numFieldNames) {
+                if (!dropUnknownFields) {
+                    recordBuilder.setValue("unknown_field_index_" + i, rawValue);
+                }
+
+                continue;
+            } else {
+                final RecordField recordField = recordFields.get(i);
+                rawFieldName = recordField.getFieldName();
+                dataType = recordField.getDataType();
+            }
+
+
+            final Object value;
+            if (coerceTypes) {
+                value = convert(rawValue, dataType, rawFieldName);
+            } else {
+                // The CSV Reader is going to return all fields as Strings, because CSV doesn't have any way to
+                // dictate a field type. As a result, we will use the schema that we have to attempt to convert
+                // the value into the desired type if it's a simple type.
+                value = convertSimpleIfPossible(rawValue, dataType, rawFieldName);
+            }
+
+            recordBuilder.setValue(rawFieldName, value);
+        }
+
+        return recordBuilder.build();
+    }
+
 
     private List<RecordField> getRecordFields() {
         if (this.recordFields != null) {
@@ -151,6 +179,10 @@ public class CSVRecordReader extends AbstractCSVRecordReader {
 
     @Override
     public void close() throws IOException {
+        if (parallelConverter != null) {
+            parallelConverter.close();
+        }
+
         csvParser.close();
     }
 }
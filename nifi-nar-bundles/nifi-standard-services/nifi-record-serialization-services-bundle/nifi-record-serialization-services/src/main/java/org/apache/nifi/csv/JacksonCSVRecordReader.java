@@ -23,10 +23,9 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.io.input.BOMInputStream;
@@ -34,8 +33,8 @@ import org.apache.commons.lang3.CharUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.nifi.logging.ComponentLog;
 import org.apache.nifi.serialization.MalformedRecordException;
+import org.apache.nifi.serialization.record.ArrayRecord;
 import org.apache.nifi.serialization.record.DataType;
-import org.apache.nifi.serialization.record.MapRecord;
 import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordSchema;
 
@@ -48,12 +47,23 @@ import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 
 public class JacksonCSVRecordReader extends AbstractCSVRecordReader {
     private final MappingIterator<String[]> recordStream;
+    private final ParallelRowConverter<String[]> parallelConverter;
     private List<String> rawFieldNames = null;
 
     private volatile static CsvMapper mapper = new CsvMapper().enable(CsvParser.Feature.WRAP_AS_ARRAY);
 
     public JacksonCSVRecordReader(final InputStream in, final ComponentLog logger, final RecordSchema schema, final CSVFormat csvFormat, final boolean hasHeader, final boolean ignoreHeader,
                                   final String dateFormat, final String timeFormat, final String timestampFormat, final String encoding) throws IOException {
+        this(in, logger, schema, csvFormat, hasHeader, ignoreHeader, dateFormat, timeFormat, timestampFormat, encoding, null);
+    }
+
+    /**
+     * @param conversionPool if not null, the parsed rows are converted into records on this pool while the rows are still parsed in order by
+     *            the thread reading the records
+     */
+    public JacksonCSVRecordReader(final InputStream in, final ComponentLog logger, final RecordSchema schema, final CSVFormat csvFormat, final boolean hasHeader, final boolean ignoreHeader,
+                                  final String dateFormat, final String timeFormat, final String timestampFormat, final String encoding,
+                                  final ForkJoinPool conversionPool) throws IOException {
         super(logger, schema, hasHeader, ignoreHeader, dateFormat, timeFormat, timestampFormat);
 
         final Reader reader = new InputStreamReader(new BOMInputStream(in));
@@ -93,12 +103,20 @@ public class JacksonCSVRecordReader extends AbstractCSVRecordReader {
                 .withFeatures(features.toArray(new CsvParser.Feature[features.size()]));
 
         recordStream = objReader.readValues(reader);
+        parallelConverter = conversionPool == null ? null : new ParallelRowConverter<>(conversionPool, this::nextCsvRecord, this::convertRecord);
     }
 
     @Override
     public Record nextRecord(final boolean coerceTypes, final boolean dropUnknownFields) throws IOException, MalformedRecordException {
-        final RecordSchema schema = getSchema();
+        if (parallelConverter != null) {
+            return parallelConverter.nextRecord(coerceTypes, dropUnknownFields);
+        }
 
+        final String[] csvRecord = nextCsvRecord();
+        return csvRecord == null ? null : convertRecord(csvRecord, coerceTypes, dropUnknownFields);
+    }
+
+    private String[] nextCsvRecord() throws IOException {
         if (recordStream.hasNext()) {
             String[] csvRecord = recordStream.next();
 
@@ -138,41 +156,51 @@ public class JacksonCSVRecordReader extends AbstractCSVRecordReader {
                 return null;
             }
 
-            final Map<String, Object> values = new HashMap<>(rawFieldNames.size() * 2);
-            final int numFieldNames = rawFieldNames.size();
-            for (int i = 0; i < csvRecord.length; i++) {
-                final String rawFieldName = numFieldNames <= i ? "unknown_field_index_" + i : rawFieldNames.get(i);
-                String rawValue = (i >= csvRecord.length) ? null : csvRecord[i];
+            return csvRecord;
+        }
+
+        return null;
+    }
+
+    private Record convertRecord(final String[] csvRecord, final boolean coerceTypes, final boolean dropUnknownFields) {
+        final RecordSchema schema = getSchema();
 
-                final Optional<DataType> dataTypeOption = schema.getDataType(rawFieldName);
+        final ArrayRecord.Builder recordBuilder = ArrayRecord.builder(schema, coerceTypes, dropUnknownFields);
+        final int numFieldNames = rawFieldNames.size();
+        for (int i = 0; i < csvRecord.length; i++) {
+            final String rawFieldName = numFieldNames <= i ? "unknown_field_index_" + i : rawFieldNames.get(i);
+            String rawValue = (i >= csvRecord.length) ? null : csvRecord[i];
 
-                if (!dataTypeOption.isPresent() && dropUnknownFields) {
-                    continue;
-                }
+            final Optional<DataType> dataTypeOption = schema.getDataType(rawFieldName);
 
-                final Object value;
-                if (coerceTypes && dataTypeOption.isPresent()) {
-                    value = convert(rawValue, dataTypeOption.get(), rawFieldName);
-                } else if (dataTypeOption.isPresent()) {
-                    // The CSV Reader is going to return all fields as Strings, because CSV doesn't have any way to
-                    // dictate a field type. As a result, we will use the schema that we have to attempt to convert
-                    // the value into the desired type if it's a simple type.
-                    value = convertSimpleIfPossible(rawValue, dataTypeOption.get(), rawFieldName);
-                } else {
-                    value = rawValue;
-                }
+            if (!dataTypeOption.isPresent() && dropUnknownFields) {
+                continue;
+            }
 
-                values.put(rawFieldName, value);
+            final Object value;
+            if (coerceTypes && dataTypeOption.isPresent()) {
+                value = convert(rawValue, dataTypeOption.get(), rawFieldName);
+            } else if (dataTypeOption.isPresent()) {
+                // The CSV Reader is going to return all fields as Strings, because CSV doesn't have any way to
+                // dictate a field type. As a result, we will use the schema that we have to attempt to convert
+                // the value into the desired type if it's a simple type.
+                value = convertSimpleIfPossible(rawValue, dataTypeOption.get(), rawFieldName);
+            } else {
+                value = rawValue;
             }
 
-            return new MapRecord(schema, values, coerceTypes, dropUnknownFields);
+            recordBuilder.setValue(rawFieldName, value);
         }
 
-        return null;
+        return recordBuilder.build();
     }
 
     @Override
     public void close() throws IOException {
+        if (parallelConverter != null) {
+            parallelConverter.close();
+        }
+
         recordStream.close();
     }
 }
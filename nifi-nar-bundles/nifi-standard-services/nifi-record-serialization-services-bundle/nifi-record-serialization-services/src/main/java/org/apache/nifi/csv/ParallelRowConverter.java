@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.csv;
+
+import org.apache.nifi.serialization.record.Record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Converts the rows parsed by a CSV record reader into Records on a ForkJoinPool. The rows are still parsed in order by the
+ * thread reading the records, which hands them over to the pool in batches and returns the converted Records in their original
+ * order. The number of batches converted ahead of the reader is bounded, and so is the memory used for buffering them.
+ *
+ * @param <T> the type of the parsed rows
+ */
+class ParallelRowConverter<T> implements Closeable {
+    static final int BATCH_SIZE = 500;
+
+    private final ForkJoinPool pool;
+    private final RowSource<T> rowSource;
+    private final RowConverter<T> rowConverter;
+    private final int maxPendingBatches;
+    private final Deque<Batch> pendingBatches = new ArrayDeque<>();
+
+    private Batch currentBatch;
+    private boolean endOfRows = false;
+    private Exception rowFailure;
+
+    ParallelRowConverter(final ForkJoinPool pool, final RowSource<T> rowSource, final RowConverter<T> rowConverter) {
+        this.pool = pool;
+        this.rowSource = rowSource;
+        this.rowConverter = rowConverter;
+        this.maxPendingBatches = pool.getParallelism() * 2;
+    }
+
+    Record nextRecord(final boolean coerceTypes, final boolean dropUnknownFields) throws IOException {
+        while (currentBatch == null || currentBatch.isConsumed()) {
+            submitBatches(coerceTypes, dropUnknownFields);
+
+            currentBatch = pendingBatches.poll();
+            if (currentBatch == null) {
+                // a failure to parse the rows is thrown once the records parsed before it have been returned
+                if (rowFailure != null) {
+                    final Exception failure = rowFailure;
+                    rowFailure = null;
+                    rethrow(failure);
+                }
+
+                return null;
+            }
+        }
+
+        return currentBatch.next(coerceTypes, dropUnknownFields);
+    }
+
+    private void submitBatches(final boolean coerceTypes, final boolean dropUnknownFields) {
+        while (!endOfRows && pendingBatches.size() < maxPendingBatches) {
+            final List<T> rows = new ArrayList<>(BATCH_SIZE);
+
+            try {
+                T row;
+                while (rows.size() < BATCH_SIZE && (row = rowSource.nextRow()) != null) {
+                    rows.add(row);
+                }
+
+                endOfRows = rows.size() < BATCH_SIZE;
+            } catch (final IOException | RuntimeException e) {
+                rowFailure = e;
+                endOfRows = true;
+            }
+
+            if (!rows.isEmpty()) {
+                pendingBatches.add(new Batch(rows, coerceTypes, dropUnknownFields));
+            }
+        }
+    }
+
+    private static void rethrow(final Exception e) throws IOException {
+        if (e instanceof IOException) {
+            throw (IOException) e;
+        }
+
+        throw (RuntimeException) e;
+    }
+
+    @Override
+    public void close() {
+        for (final Batch batch : pendingBatches) {
+            batch.conversion.cancel(false);
+        }
+
+        pendingBatches.clear();
+    }
+
+    /**
+     * Provides the parsed rows, in order.
+     */
+    interface RowSource<T> {
+        /**
+         * @return the next row, or <code>null</code> if there are no more rows
+         */
+        T nextRow() throws IOException;
+    }
+
+    /**
+     * Converts a parsed row into a Record. Conversions of different rows run concurrently.
+     */
+    interface RowConverter<T> {
+        Record convert(T row, boolean coerceTypes, boolean dropUnknownFields);
+    }
+
+    private class Batch {
+        private final List<T> rows;
+        private final boolean coerceTypes;
+        private final boolean dropUnknownFields;
+        private final Future<Object[]> conversion;
+
+        private Object[] results;
+        private int index = 0;
+
+        Batch(final List<T> rows, final boolean coerceTypes, final boolean dropUnknownFields) {
+            this.rows = rows;
+            this.coerceTypes = coerceTypes;
+            this.dropUnknownFields = dropUnknownFields;
+            this.conversion = pool.submit(this::convert);
+        }
+
+        // each result is either the converted Record or the exception thrown while converting the row
+        private Object[] convert() {
+            final Object[] converted = new Object[rows.size()];
+            for (int i = 0; i < converted.length; i++) {
+                try {
+                    converted[i] = rowConverter.convert(rows.get(i), coerceTypes, dropUnknownFields);
+                } catch (final RuntimeException e) {
+                    converted[i] = e;
+                }
+            }
+
+            return converted;
+        }
+
+        boolean isConsumed() {
+            return index >= rows.size();
+        }
+
+        Record next(final boolean coerceTypes, final boolean dropUnknownFields) throws IOException {
+            final int rowIndex = index++;
+
+            // the rows were converted ahead with other options than the ones now requested
+            if (coerceTypes != this.coerceTypes || dropUnknownFields != this.dropUnknownFields) {
+                return rowConverter.convert(rows.get(rowIndex), coerceTypes, dropUnknownFields);
+            }
+
+            final Object result = getResults()[rowIndex];
+            if (result instanceof RuntimeException) {
+                throw (RuntimeException) result;
+            }
+
+            return (Record) result;
+        }
+
+        private Object[] getResults() throws IOException {
+            if (results == null) {
+                try {
+                    results = conversion.get();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting for CSV rows to be converted into records", e);
+                } catch (final ExecutionException e) {
+                    throw new IOException("Failed to convert CSV rows into records", e.getCause());
+                }
+            }
+
+            return results;
+        }
+    }
+}
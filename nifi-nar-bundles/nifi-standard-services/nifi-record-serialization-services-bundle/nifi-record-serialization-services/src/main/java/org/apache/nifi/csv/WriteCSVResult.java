@@ -50,6 +50,13 @@ public class WriteCSVResult extends AbstractRecordSetWriter implements RecordSet
     private boolean headerWritten = false;
     private String[] fieldNames;
 
+    // the fields of the schema along with their formats, resolved once rather than for every record
+    private final RecordField[] recordFields;
+    private final String[] fieldFormats;
+    private final boolean[] numericFields;
+    private boolean[] rawFieldsInSchema;
+    private String[] rawFieldFormats;
+
     public WriteCSVResult(final CSVFormat csvFormat, final RecordSchema recordSchema, final SchemaAccessWriter schemaWriter, final OutputStream out,
         final String dateFormat, final String timeFormat, final String timestampFormat, final boolean includeHeaderLine, final String charSet) throws IOException {
 
@@ -66,6 +73,14 @@ public class WriteCSVResult extends AbstractRecordSetWriter implements RecordSet
         printer = new CSVPrinter(streamWriter, formatWithHeader);
 
         fieldValues = new Object[recordSchema.getFieldCount()];
+
+        recordFields = recordSchema.getFields().toArray(new RecordField[0]);
+        fieldFormats = new String[recordFields.length];
+        numericFields = new boolean[recordFields.length];
+        for (int i = 0; i < recordFields.length; i++) {
+            fieldFormats[i] = getFormat(recordFields[i]);
+            numericFields[i] = isNumeric(recordFields[i].getDataType().getFieldType());
+        }
     }
 
     private String getFormat(final RecordField field) {
@@ -112,6 +127,17 @@ public class WriteCSVResult extends AbstractRecordSetWriter implements RecordSet
         allFields.addAll(recordSchema.getFieldNames());
         allFields.addAll(record.getRawFieldNames());
         fieldNames = allFields.toArray(new String[0]);
+
+        rawFieldsInSchema = new boolean[fieldNames.length];
+        rawFieldFormats = new String[fieldNames.length];
+        for (int i = 0; i < fieldNames.length; i++) {
+            final Optional<RecordField> recordField = recordSchema.getField(fieldNames[i]);
+            if (recordField.isPresent()) {
+                rawFieldsInSchema[i] = true;
+                rawFieldFormats[i] = getFormat(recordField.get());
+            }
+        }
+
         return fieldNames;
     }
 
@@ -141,18 +167,15 @@ public class WriteCSVResult extends AbstractRecordSetWriter implements RecordSet
 
         includeHeaderIfNecessary(record, true);
 
-        int i = 0;
-        for (final RecordField recordField : recordSchema.getFields()) {
-            fieldValues[i++] = getFieldValue(record, recordField);
+        for (int i = 0; i < recordFields.length; i++) {
+            fieldValues[i] = getFieldValue(record, i);
         }
 
         printer.printRecord(fieldValues);
         return schemaWriter.getAttributes(recordSchema);
     }
 
-    private Object getFieldValue(final Record record, final RecordField recordField) {
-        final RecordFieldType fieldType = recordField.getDataType().getFieldType();
-
+    private boolean isNumeric(final RecordFieldType fieldType) {
         switch (fieldType) {
             case BIGINT:
             case BYTE:
@@ -161,14 +184,23 @@ public class WriteCSVResult extends AbstractRecordSetWriter implements RecordSet
             case LONG:
             case INT:
             case SHORT:
-                final Object value = record.getValue(recordField);
-                if (value instanceof Number) {
-                    return value;
-                }
-                break;
+                return true;
+            default:
+                return false;
         }
+    }
 
-        return record.getAsString(recordField, getFormat(recordField));
+    private Object getFieldValue(final Record record, final int fieldIndex) {
+        final RecordField recordField = recordFields[fieldIndex];
+
+        if (numericFields[fieldIndex]) {
+            final Object value = record.getValue(recordField);
+            if (value instanceof Number) {
+                return value;
+            }
+        }
+
+        return record.getAsString(recordField, fieldFormats[fieldIndex]);
     }
 
     @Override
@@ -186,13 +218,11 @@ public class WriteCSVResult extends AbstractRecordSetWriter implements RecordSet
         // schema, we don't have a lot of options here, so we just create a new Object[] in that case.
         final Object[] recordFieldValues = (fieldNames.length == this.fieldValues.length) ? this.fieldValues : new String[fieldNames.length];
 
-        int i = 0;
-        for (final String fieldName : fieldNames) {
-            final Optional<RecordField> recordField = recordSchema.getField(fieldName);
-            if (recordField.isPresent()) {
-                recordFieldValues[i++] = record.getAsString(fieldName, getFormat(recordField.get()));
+        for (int i = 0; i < fieldNames.length; i++) {
+            if (rawFieldsInSchema[i]) {
+                recordFieldValues[i] = record.getAsString(fieldNames[i], rawFieldFormats[i]);
             } else {
-                recordFieldValues[i++] = record.getAsString(fieldName);
+                recordFieldValues[i] = record.getAsString(fieldNames[i]);
             }
         }
 
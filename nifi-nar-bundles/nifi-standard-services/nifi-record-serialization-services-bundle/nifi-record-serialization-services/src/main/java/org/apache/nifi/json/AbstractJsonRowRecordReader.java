@@ -51,7 +51,7 @@ import java.util.function.Supplier;
 public abstract class AbstractJsonRowRecordReader implements RecordReader {
     private final ComponentLog logger;
     private final JsonParser jsonParser;
-    private final JsonNode firstJsonNode;
+    private final boolean firstObjectPresent;
     private final Supplier<DateFormat> LAZY_DATE_FORMAT;
     private final Supplier<DateFormat> LAZY_TIME_FORMAT;
     private final Supplier<DateFormat> LAZY_TIMESTAMP_FORMAT;
@@ -84,11 +84,7 @@ public abstract class AbstractJsonRowRecordReader implements RecordReader {
                 token = jsonParser.nextToken(); // advance to START_OBJECT token
             }
 
-            if (token == JsonToken.START_OBJECT) { // could be END_ARRAY also
-                firstJsonNode = jsonParser.readValueAsTree();
-            } else {
-                firstJsonNode = null;
-            }
+            firstObjectPresent = token == JsonToken.START_OBJECT; // could be END_ARRAY also
         } catch (final JsonParseException e) {
             throw new MalformedRecordException("Could not parse data as JSON", e);
         }
@@ -107,9 +103,19 @@ public abstract class AbstractJsonRowRecordReader implements RecordReader {
     }
 
 
+    protected JsonParser getJsonParser() {
+        return jsonParser;
+    }
+
     @Override
     public Record nextRecord(final boolean coerceTypes, final boolean dropUnknownFields) throws IOException, MalformedRecordException {
-        final JsonNode nextNode = getNextJsonNode();
+        final JsonNode nextNode;
+        try {
+            nextNode = getNextJsonNode();
+        } catch (final JsonParseException e) {
+            throw new MalformedRecordException("Could not parse data as JSON", e);
+        }
+
         if (nextNode == null) {
             return null;
         }
@@ -259,22 +265,31 @@ public abstract class AbstractJsonRowRecordReader implements RecordReader {
 
 
     protected JsonNode getNextJsonNode() throws IOException, MalformedRecordException {
+        return advanceToNextObject() ? jsonParser.readValueAsTree() : null;
+    }
+
+    /**
+     * Advances the parser to the START_OBJECT token of the next record, so that the record can be read from the parser.
+     *
+     * @return <code>true</code> if the parser is positioned at the next record, <code>false</code> if there are no more records
+     */
+    protected boolean advanceToNextObject() throws IOException, MalformedRecordException {
         if (!firstObjectConsumed) {
             firstObjectConsumed = true;
-            return firstJsonNode;
+            return firstObjectPresent;
         }
 
         while (true) {
             final JsonToken token = jsonParser.nextToken();
             if (token == null) {
-                return null;
+                return false;
             }
 
             switch (token) {
                 case END_OBJECT:
                     continue;
                 case START_OBJECT:
-                    return jsonParser.readValueAsTree();
+                    return true;
                 case END_ARRAY:
                 case START_ARRAY:
                     continue;
@@ -48,6 +48,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 
+import static org.apache.nifi.schema.inference.SchemaInferenceUtil.INFERENCE_MAX_BYTES;
+import static org.apache.nifi.schema.inference.SchemaInferenceUtil.INFERENCE_MAX_RECORDS;
 import static org.apache.nifi.schema.inference.SchemaInferenceUtil.INFER_SCHEMA;
 import static org.apache.nifi.schema.inference.SchemaInferenceUtil.SCHEMA_CACHE;
 
@@ -70,6 +72,8 @@ public class JsonTreeReader extends SchemaRegistryService implements RecordReade
     protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
         final List<PropertyDescriptor> properties = new ArrayList<>(super.getSupportedPropertyDescriptors());
         properties.add(SCHEMA_CACHE);
+        properties.add(INFERENCE_MAX_RECORDS);
+        properties.add(INFERENCE_MAX_BYTES);
         properties.add(DateTimeUtils.DATE_FORMAT);
         properties.add(DateTimeUtils.TIME_FORMAT);
         properties.add(DateTimeUtils.TIMESTAMP_FORMAT);
@@ -20,8 +20,8 @@ package org.apache.nifi.json;
 import org.apache.nifi.logging.ComponentLog;
 import org.apache.nifi.serialization.MalformedRecordException;
 import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.ArrayRecord;
 import org.apache.nifi.serialization.record.DataType;
-import org.apache.nifi.serialization.record.MapRecord;
 import org.apache.nifi.serialization.record.Record;
 import org.apache.nifi.serialization.record.RecordField;
 import org.apache.nifi.serialization.record.RecordFieldType;
@@ -32,6 +32,9 @@ import org.apache.nifi.serialization.record.type.MapDataType;
 import org.apache.nifi.serialization.record.type.RecordDataType;
 import org.apache.nifi.serialization.record.util.DataTypeUtils;
 import org.codehaus.jackson.JsonNode;
+import org.codehaus.jackson.JsonParseException;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
 import org.codehaus.jackson.node.ArrayNode;
 
 import java.io.IOException;
@@ -45,6 +48,7 @@ import java.util.function.Supplier;
 
 public class JsonTreeRowRecordReader extends AbstractJsonRowRecordReader {
     private final RecordSchema schema;
+    private RuntimeException conversionFailure;
 
 
     public JsonTreeRowRecordReader(final InputStream in, final ComponentLog logger, final RecordSchema schema,
@@ -53,6 +57,219 @@ public class JsonTreeRowRecordReader extends AbstractJsonRowRecordReader {
         this.schema = schema;
     }
 
+    /**
+     * When the types are coerced, the record is read directly from the JSON tokens into schema-typed values instead of
+     * building a JSON tree of the whole record first. Fields that are not in the schema are skipped when unknown fields are
+     * dropped, and only values that cannot be read as the type of their field fall back to a JSON tree of that value.
+     * As there is no JSON tree to serialize again, such records have no serialized form.
+     */
+    @Override
+    public Record nextRecord(final boolean coerceTypes, final boolean dropUnknownFields) throws IOException, MalformedRecordException {
+        // values that are not coerced keep their raw representation, which is read from the JSON tree
+        if (!coerceTypes) {
+            return super.nextRecord(coerceTypes, dropUnknownFields);
+        }
+
+        try {
+            if (!advanceToNextObject()) {
+                return null;
+            }
+
+            conversionFailure = null;
+
+            final Record record = readRecord(schema, null, dropUnknownFields);
+
+            // conversion failures are only reported after the whole record has been read, so that the next record can still be read
+            if (conversionFailure != null) {
+                throw new MalformedRecordException("Successfully parsed a JSON object from input but failed to convert into a Record object with the given schema",
+                    conversionFailure);
+            }
+
+            return record;
+        } catch (final JsonParseException e) {
+            throw new MalformedRecordException("Could not parse data as JSON", e);
+        }
+    }
+
+    private Record readRecord(final RecordSchema schema, final String fieldNamePrefix, final boolean dropUnknown) throws IOException, MalformedRecordException {
+        final JsonParser parser = getJsonParser();
+        final ArrayRecord.Builder recordBuilder = ArrayRecord.builder(schema, false, dropUnknown);
+        boolean[] setByName = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = parser.getCurrentName();
+            parser.nextToken();
+
+            final int index = schema.getFieldIndex(fieldName);
+            final String fullFieldName = fieldNamePrefix == null ? fieldName : fieldNamePrefix + fieldName;
+
+            if (!dropUnknown) {
+                final Object value = index < 0 ? readRawValue(fieldName) : readField(schema.getField(index).getDataType(), fullFieldName, false);
+                recordBuilder.setValue(fieldName, value);
+                continue;
+            }
+
+            if (index < 0) {
+                parser.skipChildren();
+                continue;
+            }
+
+            // a field given by its name takes precedence over the same field given by an alias
+            final RecordField recordField = schema.getField(index);
+            final boolean alias = !fieldName.equals(recordField.getFieldName());
+            if (alias && setByName != null && setByName[index]) {
+                parser.skipChildren();
+                continue;
+            }
+
+            recordBuilder.setValue(index, readField(recordField.getDataType(), fullFieldName, true));
+
+            if (!alias && !recordField.getAliases().isEmpty()) {
+                if (setByName == null) {
+                    setByName = new boolean[schema.getFieldCount()];
+                }
+
+                setByName[index] = true;
+            }
+        }
+
+        return recordBuilder.build();
+    }
+
+    private Object readField(final DataType desiredType, final String fieldName, final boolean dropUnknown) throws IOException, MalformedRecordException {
+        final JsonParser parser = getJsonParser();
+        final JsonToken token = parser.getCurrentToken();
+
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+
+        switch (desiredType.getFieldType()) {
+            case BOOLEAN:
+            case BYTE:
+            case CHAR:
+            case DOUBLE:
+            case FLOAT:
+            case INT:
+            case LONG:
+            case SHORT:
+            case STRING:
+            case DATE:
+            case TIME:
+            case TIMESTAMP: {
+                if (isScalarValue(token)) {
+                    final Object rawValue = getScalarValue(token);
+
+                    try {
+                        return DataTypeUtils.convertType(rawValue, desiredType, getLazyDateFormat(), getLazyTimeFormat(), getLazyTimestampFormat(), fieldName);
+                    } catch (final RuntimeException e) {
+                        return conversionFailed(e);
+                    }
+                }
+                break;
+            }
+            case MAP: {
+                if (token == JsonToken.START_OBJECT) {
+                    final DataType valueType = ((MapDataType) desiredType).getValueType();
+
+                    final Map<String, Object> map = new HashMap<>();
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        final String childName = parser.getCurrentName();
+                        parser.nextToken();
+
+                        map.put(childName, readField(valueType, fieldName, dropUnknown));
+                    }
+
+                    return map;
+                }
+                break;
+            }
+            case ARRAY: {
+                if (token == JsonToken.START_ARRAY) {
+                    final DataType elementType = ((ArrayDataType) desiredType).getElementType();
+
+                    final List<Object> elements = new ArrayList<>();
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        elements.add(readField(elementType, fieldName, dropUnknown));
+                    }
+
+                    return elements.toArray();
+                }
+                break;
+            }
+            case RECORD: {
+                if (token == JsonToken.START_OBJECT && desiredType instanceof RecordDataType) {
+                    final RecordSchema childSchema = ((RecordDataType) desiredType).getChildSchema();
+                    if (childSchema != null) {
+                        return readRecord(childSchema, fieldName + ".", dropUnknown);
+                    }
+                }
+                break;
+            }
+        }
+
+        // choices, and values that do not match the desired type, are converted the same way as when reading the JSON tree
+        final JsonNode fieldNode = getJsonParser().readValueAsTree();
+        try {
+            return convertField(fieldNode, fieldName, desiredType, dropUnknown);
+        } catch (final RuntimeException e) {
+            return conversionFailed(e);
+        }
+    }
+
+    private Object readRawValue(final String fieldName) throws IOException {
+        final JsonParser parser = getJsonParser();
+        final JsonToken token = parser.getCurrentToken();
+
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+
+        if (isScalarValue(token)) {
+            return getScalarValue(token);
+        }
+
+        return getRawNodeValue(getJsonParser().readValueAsTree(), fieldName);
+    }
+
+    private boolean isScalarValue(final JsonToken token) {
+        switch (token) {
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+            case VALUE_STRING:
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return the value of the current scalar token, the same value as the one of its JSON tree node
+     */
+    private Object getScalarValue(final JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return getJsonParser().getNumberValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            default:
+                return getJsonParser().getText();
+        }
+    }
+
+    private Object conversionFailed(final RuntimeException e) {
+        if (conversionFailure == null) {
+            conversionFailure = e;
+        }
+
+        return null;
+    }
+
 
 
     @Override
@@ -103,10 +320,12 @@ public class JsonTreeRowRecordReader extends AbstractJsonRowRecordReader {
     private Record convertJsonNodeToRecord(final JsonNode jsonNode, final RecordSchema schema, final String fieldNamePrefix,
             final boolean coerceTypes, final boolean dropUnknown) throws IOException, MalformedRecordException {
 
-        final Map<String, Object> values = new HashMap<>(schema.getFieldCount() * 2);
+        final ArrayRecord.Builder recordBuilder = ArrayRecord.builder(schema, false, dropUnknown);
 
         if (dropUnknown) {
-            for (final RecordField recordField : schema.getFields()) {
+            final List<RecordField> recordFields = schema.getFields();
+            for (int i = 0; i < recordFields.size(); i++) {
+                final RecordField recordField = recordFields.get(i);
                 final JsonNode childNode = getChildNode(jsonNode, recordField);
                 if (childNode == null) {
                     continue;
@@ -123,7 +342,7 @@ public class JsonTreeRowRecordReader extends AbstractJsonRowRecordReader {
                     value = getRawNodeValue(childNode, recordField == null ? null : recordField.getDataType(), fieldName);
                 }
 
-                values.put(fieldName, value);
+                recordBuilder.setValue(i, value);
             }
         } else {
             final Iterator<String> fieldNames = jsonNode.getFieldNames();
@@ -142,12 +361,12 @@ public class JsonTreeRowRecordReader extends AbstractJsonRowRecordReader {
                     value = getRawNodeValue(childNode, recordField == null ? null : recordField.getDataType(), fieldName);
                 }
 
-                values.put(fieldName, value);
+                recordBuilder.setValue(fieldName, value);
             }
         }
 
         final Supplier<String> supplier = jsonNode::toString;
-        return new MapRecord(schema, values, SerializedForm.of(supplier, "application/json"), false, dropUnknown);
+        return recordBuilder.build(SerializedForm.of(supplier, "application/json"));
     }
 
 
@@ -44,6 +44,8 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigInteger;
 import java.text.DateFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -61,6 +63,9 @@ public class WriteJsonResult extends AbstractRecordSetWriter implements RecordSe
     private final Supplier<DateFormat> LAZY_TIMESTAMP_FORMAT;
     private String mimeType = "application/json";
 
+    // the writers of the fields of each schema written, bound once per schema instance rather than for every record
+    private final Map<RecordSchema, FieldWriter[]> fieldWriters = new IdentityHashMap<>();
+
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
     public WriteJsonResult(final ComponentLog logger, final RecordSchema recordSchema, final SchemaAccessWriter schemaAccess, final OutputStream out, final boolean prettyPrint,
@@ -182,7 +187,8 @@ public class WriteJsonResult extends AbstractRecordSetWriter implements RecordSe
             startTask.apply(generator);
 
             if (schemaAware) {
-                for (final RecordField field : writeSchema.getFields()) {
+                for (final FieldWriter fieldWriter : getFieldWriters(writeSchema)) {
+                    final RecordField field = fieldWriter.field;
                     final String fieldName = field.getFieldName();
                     final Object value = record.getValue(field);
                     if (value == null) {
@@ -194,9 +200,7 @@ public class WriteJsonResult extends AbstractRecordSetWriter implements RecordSe
                     }
 
                     generator.writeFieldName(fieldName);
-
-                    final DataType dataType = writeSchema.getDataType(fieldName).get();
-                    writeValue(generator, value, fieldName, dataType);
+                    fieldWriter.valueWriter.write(generator, value, fieldName);
                 }
             } else {
                 for (final String fieldName : record.getRawFieldNames()) {
@@ -221,6 +225,80 @@ public class WriteJsonResult extends AbstractRecordSetWriter implements RecordSe
         }
     }
 
+    private FieldWriter[] getFieldWriters(final RecordSchema writeSchema) {
+        FieldWriter[] writers = fieldWriters.get(writeSchema);
+        if (writers == null) {
+            final List<RecordField> fields = writeSchema.getFields();
+            writers = new FieldWriter[fields.size()];
+            for (int i = 0; i < writers.length; i++) {
+                final RecordField field = fields.get(i);
+                writers[i] = new FieldWriter(field, createValueWriter(writeSchema.getDataType(field.getFieldName()).get()));
+            }
+
+            fieldWriters.put(writeSchema, writers);
+        }
+
+        return writers;
+    }
+
+    private ValueWriter createValueWriter(final DataType dataType) {
+        final ValueWriter convertingWriter = (generator, value, fieldName) -> writeValue(generator, value, fieldName, dataType);
+
+        // values that already are of the type of the field are written as they are, without going through the type conversion
+        switch (dataType.getFieldType()) {
+            case STRING:
+                return (generator, value, fieldName) -> {
+                    if (value instanceof String) {
+                        generator.writeString((String) value);
+                    } else {
+                        convertingWriter.write(generator, value, fieldName);
+                    }
+                };
+            case INT:
+                return (generator, value, fieldName) -> {
+                    if (value instanceof Integer) {
+                        generator.writeNumber(((Integer) value).intValue());
+                    } else {
+                        convertingWriter.write(generator, value, fieldName);
+                    }
+                };
+            case LONG:
+                return (generator, value, fieldName) -> {
+                    if (value instanceof Long) {
+                        generator.writeNumber(((Long) value).longValue());
+                    } else {
+                        convertingWriter.write(generator, value, fieldName);
+                    }
+                };
+            case DOUBLE:
+                return (generator, value, fieldName) -> {
+                    if (value instanceof Double) {
+                        generator.writeNumber(((Double) value).doubleValue());
+                    } else {
+                        convertingWriter.write(generator, value, fieldName);
+                    }
+                };
+            case FLOAT:
+                return (generator, value, fieldName) -> {
+                    if (value instanceof Float) {
+                        generator.writeNumber(((Float) value).floatValue());
+                    } else {
+                        convertingWriter.write(generator, value, fieldName);
+                    }
+                };
+            case BOOLEAN:
+                return (generator, value, fieldName) -> {
+                    if (value instanceof Boolean) {
+                        generator.writeBoolean(((Boolean) value).booleanValue());
+                    } else {
+                        convertingWriter.write(generator, value, fieldName);
+                    }
+                };
+            default:
+                return convertingWriter;
+        }
+    }
+
     private boolean isFieldPresent(final RecordField field, final Record record) {
         final Set<String> rawFieldNames = record.getRawFieldNames();
         if (rawFieldNames.contains(field.getFieldName())) {
@@ -446,4 +524,18 @@ public class WriteJsonResult extends AbstractRecordSetWriter implements RecordSe
     private interface GeneratorTask {
         void apply(JsonGenerator generator) throws IOException;
     }
+
+    private interface ValueWriter {
+        void write(JsonGenerator generator, Object value, String fieldName) throws IOException;
+    }
+
+    private static class FieldWriter {
+        private final RecordField field;
+        private final ValueWriter valueWriter;
+
+        FieldWriter(final RecordField field, final ValueWriter valueWriter) {
+            this.field = field;
+            this.valueWriter = valueWriter;
+        }
+    }
 }
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.schema.inference;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.nifi.annotation.documentation.CapabilityDescription;
+import org.apache.nifi.annotation.documentation.SeeAlso;
+import org.apache.nifi.annotation.documentation.Tags;
+import org.apache.nifi.annotation.lifecycle.OnEnabled;
+import org.apache.nifi.components.PropertyDescriptor;
+import org.apache.nifi.components.PropertyDescriptor.Builder;
+import org.apache.nifi.controller.AbstractControllerService;
+import org.apache.nifi.controller.ConfigurationContext;
+import org.apache.nifi.distributed.cache.client.Deserializer;
+import org.apache.nifi.distributed.cache.client.DistributedMapCacheClient;
+import org.apache.nifi.distributed.cache.client.Serializer;
+import org.apache.nifi.serialization.RecordSchemaCacheService;
+import org.apache.nifi.serialization.record.RecordSchema;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.apache.nifi.expression.ExpressionLanguageScope.VARIABLE_REGISTRY;
+import static org.apache.nifi.processor.util.StandardValidators.POSITIVE_INTEGER_VALIDATOR;
+
+@CapabilityDescription("Provides a Schema Cache that stores the schemas in a Distributed Map Cache, so that the schemas cached by one node of a cluster can be used by " +
+    "the other nodes, and outlive restarts of NiFi as far as the Distributed Map Cache does. Recently used schemas are also kept in memory, so that they are only " +
+    "fetched from the Distributed Map Cache once. The schemas are stored as JSON, keeping the field names and data types as they are.")
+@Tags({"record", "schema", "cache", "distributed", "cluster"})
+@SeeAlso(VolatileSchemaCache.class)
+public class DistributedSchemaCache extends AbstractControllerService implements RecordSchemaCacheService {
+
+    private static final String KEY_PREFIX = "nifi.schema.cache.";
+
+    static final PropertyDescriptor DISTRIBUTED_CACHE_SERVICE = new Builder()
+        .name("distributed-map-cache-service")
+        .displayName("Distributed Cache Service")
+        .description("The Distributed Map Cache Client used to store the schemas.")
+        .required(true)
+        .identifiesControllerService(DistributedMapCacheClient.class)
+        .build();
+
+    static final PropertyDescriptor MAX_SIZE = new Builder()
+        .name("max-cache-size")
+        .displayName("Maximum Local Cache Size")
+        .description("The maximum number of Schemas to also keep in memory.")
+        .required(true)
+        .addValidator(POSITIVE_INTEGER_VALIDATOR)
+        .expressionLanguageSupported(VARIABLE_REGISTRY)
+        .defaultValue("100")
+        .build();
+
+    private static final Serializer<String> stringSerializer = (value, out) -> out.write(value.getBytes(StandardCharsets.UTF_8));
+    private static final Deserializer<String> stringDeserializer = input -> input == null || input.length == 0 ? null : new String(input, StandardCharsets.UTF_8);
+
+    private volatile DistributedMapCacheClient distributedCache;
+    private volatile Cache<String, RecordSchema> localCache;
+
+    @Override
+    protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
+        final List<PropertyDescriptor> properties = new ArrayList<>();
+        properties.add(DISTRIBUTED_CACHE_SERVICE);
+        properties.add(MAX_SIZE);
+        return properties;
+    }
+
+    @OnEnabled
+    public void setup(final ConfigurationContext context) {
+        final int maxSize = context.getProperty(MAX_SIZE).evaluateAttributeExpressions().asInteger();
+
+        distributedCache = context.getProperty(DISTRIBUTED_CACHE_SERVICE).asControllerService(DistributedMapCacheClient.class);
+        localCache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .build();
+    }
+
+    @Override
+    public String cacheSchema(final RecordSchema schema) {
+        final String identifier = SchemaIdentifiers.createIdentifier(schema);
+        final RecordSchema localSchema = localCache.getIfPresent(identifier);
+        if (schema.equals(localSchema)) {
+            return identifier;
+        }
+
+        try {
+            final String schemaText = RecordSchemaJson.toJson(schema);
+            final String existingText = distributedCache.getAndPutIfAbsent(KEY_PREFIX + identifier, schemaText, stringSerializer, stringSerializer, stringDeserializer);
+            if (existingText == null || existingText.equals(schemaText)) {
+                getLogger().debug("Successfully cached schema with ID {}", new Object[] {identifier});
+                localCache.put(identifier, schema);
+                return identifier;
+            }
+
+            // Schemas hashed to same value but do not equal one another. Append a randomly generated UUID and add that to the cache.
+            final String updatedIdentifier = identifier + "-" + UUID.randomUUID().toString();
+            distributedCache.put(KEY_PREFIX + updatedIdentifier, schemaText, stringSerializer, stringSerializer);
+            localCache.put(updatedIdentifier, schema);
+
+            getLogger().debug("Schema with ID {} conflicted with new Schema. Resolved by using generated identifier {}", new Object[] {identifier, updatedIdentifier});
+            return updatedIdentifier;
+        } catch (final IOException e) {
+            // the schema is still available to this node, and other nodes fall back to the strategy configured for cache misses
+            getLogger().warn("Failed to store schema with ID {} in the Distributed Map Cache; it will only be cached locally", new Object[] {identifier, e});
+            localCache.put(identifier, schema);
+            return identifier;
+        }
+    }
+
+    @Override
+    public Optional<RecordSchema> getSchema(final String schemaIdentifier) {
+        final RecordSchema localSchema = localCache.getIfPresent(schemaIdentifier);
+        if (localSchema != null) {
+            return Optional.of(localSchema);
+        }
+
+        final String schemaText;
+        try {
+            schemaText = distributedCache.get(KEY_PREFIX + schemaIdentifier, stringSerializer, stringDeserializer);
+        } catch (final IOException e) {
+            getLogger().warn("Failed to fetch schema with ID {} from the Distributed Map Cache", new Object[] {schemaIdentifier, e});
+            return Optional.empty();
+        }
+
+        if (schemaText == null) {
+            return Optional.empty();
+        }
+
+        final RecordSchema schema;
+        try {
+            schema = RecordSchemaJson.fromJson(schemaText);
+        } catch (final IOException e) {
+            getLogger().warn("Failed to parse schema with ID {} fetched from the Distributed Map Cache", new Object[] {schemaIdentifier, e});
+            return Optional.empty();
+        }
+
+        localCache.put(schemaIdentifier, schema);
+        return Optional.of(schema);
+    }
+}
@@ -20,6 +20,7 @@ import org.apache.nifi.logging.ComponentLog;
 import org.apache.nifi.schema.access.SchemaAccessStrategy;
 import org.apache.nifi.schema.access.SchemaField;
 import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.stream.io.ByteCountingInputStream;
 import org.apache.nifi.stream.io.NonCloseableInputStream;
 
 import java.io.IOException;
@@ -32,11 +33,25 @@ public class InferSchemaAccessStrategy<T> implements SchemaAccessStrategy {
     private final RecordSourceFactory<T> recordSourceFactory;
     private final SchemaInferenceEngine<T> schemaInference;
     private final ComponentLog logger;
+    private final int maxRecords;
+    private final long maxBytes;
 
     public InferSchemaAccessStrategy(final RecordSourceFactory<T> recordSourceFactory, final SchemaInferenceEngine<T> schemaInference, final ComponentLog logger) {
+        this(recordSourceFactory, schemaInference, logger, Integer.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param maxRecords the maximum number of records to infer the schema from
+     * @param maxBytes the number of bytes of content after which no more records are used to infer the schema. As the content is read
+     *            in chunks and the record being read when the limit is reached is still used, slightly more than this might be read.
+     */
+    public InferSchemaAccessStrategy(final RecordSourceFactory<T> recordSourceFactory, final SchemaInferenceEngine<T> schemaInference, final ComponentLog logger,
+                                     final int maxRecords, final long maxBytes) {
         this.recordSourceFactory = recordSourceFactory;
         this.schemaInference = schemaInference;
         this.logger = logger;
+        this.maxRecords = maxRecords;
+        this.maxBytes = maxBytes;
     }
 
     @Override
@@ -45,8 +60,9 @@ public class InferSchemaAccessStrategy<T> implements SchemaAccessStrategy {
         // re-read the content regardless of how much data is read.
         contentStream.mark(10_000_000);
         try {
-            final RecordSource<T> recordSource = recordSourceFactory.create(variables, new NonCloseableInputStream(contentStream));
-            final RecordSchema schema = schemaInference.inferSchema(recordSource);
+            final ByteCountingInputStream countingStream = new ByteCountingInputStream(new NonCloseableInputStream(contentStream));
+            final RecordSource<T> recordSource = recordSourceFactory.create(variables, countingStream);
+            final RecordSchema schema = schemaInference.inferSchema(sample(recordSource, countingStream));
 
             logger.debug("Successfully inferred schema {}", new Object[] {schema});
             return schema;
@@ -55,6 +71,27 @@ public class InferSchemaAccessStrategy<T> implements SchemaAccessStrategy {
         }
     }
 
+    private RecordSource<T> sample(final RecordSource<T> recordSource, final ByteCountingInputStream countingStream) {
+        if (maxRecords == Integer.MAX_VALUE && maxBytes == Long.MAX_VALUE) {
+            return recordSource;
+        }
+
+        return new RecordSource<T>() {
+            private int recordCount = 0;
+
+            @Override
+            public T next() throws IOException {
+                if (recordCount >= maxRecords || countingStream.getBytesConsumed() >= maxBytes) {
+                    logger.debug("Inferring schema from the first {} records ({} bytes) of the content", new Object[] {recordCount, countingStream.getBytesConsumed()});
+                    return null;
+                }
+
+                recordCount++;
+                return recordSource.next();
+            }
+        };
+    }
+
     @Override
     public Set<SchemaField> getSuppliedSchemaFields() {
         return EnumSet.noneOf(SchemaField.class);
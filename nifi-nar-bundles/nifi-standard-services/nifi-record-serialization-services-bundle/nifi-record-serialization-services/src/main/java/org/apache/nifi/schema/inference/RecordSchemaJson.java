@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.schema.inference;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.SchemaIdentifier;
+import org.apache.nifi.serialization.record.type.ArrayDataType;
+import org.apache.nifi.serialization.record.type.ChoiceDataType;
+import org.apache.nifi.serialization.record.type.MapDataType;
+import org.apache.nifi.serialization.record.type.RecordDataType;
+import org.apache.nifi.serialization.record.util.DataTypeUtils;
+import org.apache.nifi.serialization.record.util.IllegalTypeConversionException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes a {@link RecordSchema} as JSON and reads it back, keeping the field names, data types and their formats, nullability,
+ * default values and aliases as they are. Unlike the Avro representation of a schema, this does not require the field names to
+ * be valid Avro names, nor the data types to have an Avro counterpart.
+ *
+ * A record schema that contains itself, directly or within one of its fields, is written once and referenced by its depth within
+ * the schemas it is nested in.
+ */
+final class RecordSchemaJson {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private RecordSchemaJson() {
+    }
+
+    static String toJson(final RecordSchema schema) throws IOException {
+        return MAPPER.writeValueAsString(writeSchema(schema, new ArrayList<>()));
+    }
+
+    static RecordSchema fromJson(final String json) throws IOException {
+        try {
+            return readSchema(MAPPER.readTree(json), new ArrayList<>());
+        } catch (final IllegalArgumentException | IllegalTypeConversionException e) {
+            throw new IOException("Invalid schema: " + e.getMessage(), e);
+        }
+    }
+
+    private static ObjectNode writeSchema(final RecordSchema schema, final List<RecordSchema> enclosingSchemas) {
+        final ObjectNode schemaNode = MAPPER.createObjectNode();
+        schema.getSchemaName().ifPresent(name -> schemaNode.put("name", name));
+        schema.getSchemaNamespace().ifPresent(namespace -> schemaNode.put("namespace", namespace));
+
+        enclosingSchemas.add(schema);
+        final ArrayNode fieldsNode = schemaNode.putArray("fields");
+        for (final RecordField field : schema.getFields()) {
+            final ObjectNode fieldNode = fieldsNode.addObject();
+            fieldNode.put("name", field.getFieldName());
+            fieldNode.set("type", writeDataType(field.getDataType(), enclosingSchemas));
+            fieldNode.put("nullable", field.isNullable());
+
+            if (!field.getAliases().isEmpty()) {
+                final ArrayNode aliasesNode = fieldNode.putArray("aliases");
+                field.getAliases().forEach(aliasesNode::add);
+            }
+
+            final Object defaultValue = field.getDefaultValue();
+            if (defaultValue != null) {
+                fieldNode.set("default", MAPPER.valueToTree(defaultValue instanceof byte[] ? toByteList((byte[]) defaultValue) : defaultValue));
+            }
+        }
+        enclosingSchemas.remove(enclosingSchemas.size() - 1);
+
+        return schemaNode;
+    }
+
+    private static ObjectNode writeDataType(final DataType dataType, final List<RecordSchema> enclosingSchemas) {
+        final ObjectNode typeNode = MAPPER.createObjectNode();
+        final RecordFieldType fieldType = dataType.getFieldType();
+        typeNode.put("type", fieldType.name());
+
+        switch (fieldType) {
+            case ARRAY:
+                typeNode.set("elementType", writeDataType(((ArrayDataType) dataType).getElementType(), enclosingSchemas));
+                break;
+            case MAP:
+                typeNode.set("valueType", writeDataType(((MapDataType) dataType).getValueType(), enclosingSchemas));
+                break;
+            case CHOICE:
+                final ArrayNode subTypesNode = typeNode.putArray("subTypes");
+                for (final DataType subType : ((ChoiceDataType) dataType).getPossibleSubTypes()) {
+                    subTypesNode.add(writeDataType(subType, enclosingSchemas));
+                }
+                break;
+            case RECORD:
+                final RecordSchema childSchema = ((RecordDataType) dataType).getChildSchema();
+                final int depth = indexOfIdentical(enclosingSchemas, childSchema);
+                if (depth >= 0) {
+                    typeNode.put("ref", depth);
+                } else if (childSchema != null) {
+                    typeNode.set("schema", writeSchema(childSchema, enclosingSchemas));
+                }
+                break;
+            default:
+                if (dataType.getFormat() != null) {
+                    typeNode.put("format", dataType.getFormat());
+                }
+        }
+
+        return typeNode;
+    }
+
+    private static RecordSchema readSchema(final JsonNode schemaNode, final List<RecordSchema> enclosingSchemas) throws IOException {
+        final SimpleRecordSchema schema = new SimpleRecordSchema(SchemaIdentifier.EMPTY);
+        if (schemaNode.hasNonNull("name")) {
+            schema.setSchemaName(schemaNode.get("name").asText());
+        }
+        if (schemaNode.hasNonNull("namespace")) {
+            schema.setSchemaNamespace(schemaNode.get("namespace").asText());
+        }
+
+        enclosingSchemas.add(schema);
+        final List<RecordField> fields = new ArrayList<>();
+        for (final JsonNode fieldNode : getRequired(schemaNode, "fields")) {
+            final String fieldName = getRequired(fieldNode, "name").asText();
+            final DataType dataType = readDataType(getRequired(fieldNode, "type"), enclosingSchemas);
+            final boolean nullable = fieldNode.path("nullable").asBoolean(true);
+
+            final Set<String> aliases = new LinkedHashSet<>();
+            fieldNode.path("aliases").forEach(aliasNode -> aliases.add(aliasNode.asText()));
+
+            Object defaultValue = null;
+            if (fieldNode.hasNonNull("default")) {
+                defaultValue = DataTypeUtils.convertType(MAPPER.treeToValue(fieldNode.get("default"), Object.class), dataType, fieldName);
+            }
+
+            fields.add(new RecordField(fieldName, dataType, defaultValue, aliases, nullable));
+        }
+        enclosingSchemas.remove(enclosingSchemas.size() - 1);
+
+        schema.setFields(fields);
+        return schema;
+    }
+
+    private static DataType readDataType(final JsonNode typeNode, final List<RecordSchema> enclosingSchemas) throws IOException {
+        final String typeName = getRequired(typeNode, "type").asText();
+        final RecordFieldType fieldType;
+        try {
+            fieldType = RecordFieldType.valueOf(typeName);
+        } catch (final IllegalArgumentException e) {
+            throw new IOException("Unknown data type " + typeName, e);
+        }
+
+        switch (fieldType) {
+            case ARRAY:
+                return RecordFieldType.ARRAY.getArrayDataType(readDataType(getRequired(typeNode, "elementType"), enclosingSchemas));
+            case MAP:
+                return RecordFieldType.MAP.getMapDataType(readDataType(getRequired(typeNode, "valueType"), enclosingSchemas));
+            case CHOICE:
+                final List<DataType> subTypes = new ArrayList<>();
+                for (final JsonNode subTypeNode : getRequired(typeNode, "subTypes")) {
+                    subTypes.add(readDataType(subTypeNode, enclosingSchemas));
+                }
+                return RecordFieldType.CHOICE.getChoiceDataType(subTypes);
+            case RECORD:
+                if (typeNode.has("ref")) {
+                    final int depth = typeNode.get("ref").asInt();
+                    if (depth < 0 || depth >= enclosingSchemas.size()) {
+                        throw new IOException("Invalid reference to enclosing schema " + depth);
+                    }
+                    return RecordFieldType.RECORD.getRecordDataType(enclosingSchemas.get(depth));
+                }
+                return RecordFieldType.RECORD.getRecordDataType(typeNode.has("schema") ? readSchema(typeNode.get("schema"), enclosingSchemas) : null);
+            default:
+                return typeNode.hasNonNull("format") ? fieldType.getDataType(typeNode.get("format").asText()) : fieldType.getDataType();
+        }
+    }
+
+    private static JsonNode getRequired(final JsonNode node, final String name) throws IOException {
+        final JsonNode child = node.get(name);
+        if (child == null || child.isNull()) {
+            throw new IOException("Schema is missing the '" + name + "' element");
+        }
+        return child;
+    }
+
+    private static List<Byte> toByteList(final byte[] bytes) {
+        // written as an array of numbers rather than as Base64 text, so that it is read back as an array of bytes
+        final List<Byte> byteList = new ArrayList<>(bytes.length);
+        for (final byte b : bytes) {
+            byteList.add(b);
+        }
+        return byteList;
+    }
+
+    private static int indexOfIdentical(final List<RecordSchema> schemas, final RecordSchema schema) {
+        for (int i = 0; i < schemas.size(); i++) {
+            if (schemas.get(i) == schema) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
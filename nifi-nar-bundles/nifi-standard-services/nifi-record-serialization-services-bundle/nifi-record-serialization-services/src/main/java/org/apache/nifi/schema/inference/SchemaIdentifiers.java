@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.schema.inference;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.nifi.serialization.record.DataType;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.type.RecordDataType;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+
+/**
+ * Creates the identifiers under which the schema caches store schemas, derived from the content of the schema so that
+ * equal schemas get the same identifier regardless of the node or the cache they are cached on.
+ */
+final class SchemaIdentifiers {
+
+    private SchemaIdentifiers() {
+    }
+
+    static String createIdentifier(final RecordSchema schema) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+
+        final Optional<String> suppliedText = schema.getSchemaText();
+        if (suppliedText.isPresent()) {
+            digest.update(suppliedText.get().getBytes(StandardCharsets.UTF_8));
+        } else {
+            computeHash(schema, digest);
+        }
+
+        final byte[] digestBytes = digest.digest();
+        return Hex.encodeHexString(digestBytes);
+    }
+
+    private static void computeHash(final RecordSchema schema, final MessageDigest digest) {
+        for (final RecordField field : schema.getFields()) {
+            digest.update(field.getFieldName().getBytes(StandardCharsets.UTF_8));
+
+            final DataType dataType = field.getDataType();
+            final RecordFieldType fieldType = dataType.getFieldType();
+            digest.update(fieldType.name().getBytes(StandardCharsets.UTF_8));
+
+            final String format = dataType.getFormat();
+            if (format != null) {
+                digest.update(format.getBytes(StandardCharsets.UTF_8));
+            }
+
+            if (fieldType == RecordFieldType.RECORD) {
+                final RecordSchema childSchema = ((RecordDataType) dataType).getChildSchema();
+                if (childSchema != null) {
+                    computeHash(childSchema, digest);
+                }
+            }
+        }
+    }
+}
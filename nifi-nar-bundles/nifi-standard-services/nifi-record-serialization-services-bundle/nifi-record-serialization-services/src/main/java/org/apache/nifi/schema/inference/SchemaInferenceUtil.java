@@ -21,6 +21,8 @@ import org.apache.nifi.components.PropertyDescriptor;
 import org.apache.nifi.components.PropertyDescriptor.Builder;
 import org.apache.nifi.context.PropertyContext;
 import org.apache.nifi.logging.ComponentLog;
+import org.apache.nifi.processor.DataUnit;
+import org.apache.nifi.processor.util.StandardValidators;
 import org.apache.nifi.schema.access.SchemaAccessStrategy;
 import org.apache.nifi.serialization.RecordSchemaCacheService;
 
@@ -39,12 +41,29 @@ public class SchemaInferenceUtil {
         .identifiesControllerService(RecordSchemaCacheService.class)
         .build();
 
+    public static final PropertyDescriptor INFERENCE_MAX_RECORDS = new Builder()
+        .name("schema-inference-max-records")
+        .displayName("Schema Inference Record Limit")
+        .description("When inferring the schema, the maximum number of records to infer it from. If not populated, every record of the content is used. " +
+            "Limiting the records avoids reading large contents twice, at the risk of not inferring the type of fields that only appear in later records.")
+        .required(false)
+        .addValidator(StandardValidators.POSITIVE_INTEGER_VALIDATOR)
+        .build();
+
+    public static final PropertyDescriptor INFERENCE_MAX_BYTES = new Builder()
+        .name("schema-inference-max-bytes")
+        .displayName("Schema Inference Size Limit")
+        .description("When inferring the schema, the amount of content after which no more records are used to infer it. If not populated, the whole content is used. " +
+            "The record being read when the limit is reached is still used, so slightly more data than configured may be read.")
+        .required(false)
+        .addValidator(StandardValidators.DATA_SIZE_VALIDATOR)
+        .build();
 
     public static <T> SchemaAccessStrategy getSchemaAccessStrategy(final String strategy, final PropertyContext context,  final ComponentLog logger,
                                                                    final RecordSourceFactory<T> recordSourceFactory, final Supplier<SchemaInferenceEngine<T>> inferenceSupplier,
                                                                    final Supplier<SchemaAccessStrategy> defaultSupplier) {
         if (INFER_SCHEMA.getValue().equalsIgnoreCase(strategy)) {
-            final SchemaAccessStrategy inferenceStrategy = new InferSchemaAccessStrategy<>(recordSourceFactory, inferenceSupplier.get(), logger);
+            final SchemaAccessStrategy inferenceStrategy = createInferenceStrategy(context, logger, recordSourceFactory, inferenceSupplier.get());
             final RecordSchemaCacheService schemaCache = context.getProperty(SCHEMA_CACHE).asControllerService(RecordSchemaCacheService.class);
             if (schemaCache == null) {
                 return inferenceStrategy;
@@ -56,4 +75,14 @@ public class SchemaInferenceUtil {
         return defaultSupplier.get();
     }
 
+    public static <T> InferSchemaAccessStrategy<T> createInferenceStrategy(final PropertyContext context, final ComponentLog logger,
+                                                                           final RecordSourceFactory<T> recordSourceFactory, final SchemaInferenceEngine<T> schemaInference) {
+        final Integer maxRecords = context.getProperty(INFERENCE_MAX_RECORDS).asInteger();
+        final Double maxBytes = context.getProperty(INFERENCE_MAX_BYTES).asDataSize(DataUnit.B);
+
+        return new InferSchemaAccessStrategy<>(recordSourceFactory, schemaInference, logger,
+            maxRecords == null ? Integer.MAX_VALUE : maxRecords,
+            maxBytes == null ? Long.MAX_VALUE : maxBytes.longValue());
+    }
+
 }
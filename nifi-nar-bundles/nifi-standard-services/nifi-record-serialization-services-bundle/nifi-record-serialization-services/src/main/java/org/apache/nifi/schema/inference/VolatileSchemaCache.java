@@ -19,7 +19,6 @@ package org.apache.nifi.schema.inference;
 import avro.shaded.com.google.common.annotations.VisibleForTesting;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import org.apache.commons.codec.binary.Hex;
 import org.apache.nifi.annotation.documentation.CapabilityDescription;
 import org.apache.nifi.annotation.documentation.Tags;
 import org.apache.nifi.annotation.lifecycle.OnEnabled;
@@ -28,15 +27,8 @@ import org.apache.nifi.components.PropertyDescriptor.Builder;
 import org.apache.nifi.controller.AbstractControllerService;
 import org.apache.nifi.controller.ConfigurationContext;
 import org.apache.nifi.serialization.RecordSchemaCacheService;
-import org.apache.nifi.serialization.record.DataType;
-import org.apache.nifi.serialization.record.RecordField;
-import org.apache.nifi.serialization.record.RecordFieldType;
 import org.apache.nifi.serialization.record.RecordSchema;
-import org.apache.nifi.serialization.record.type.RecordDataType;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -112,43 +104,6 @@ public class VolatileSchemaCache extends AbstractControllerService implements Re
 
     @VisibleForTesting
     protected String createIdentifier(final RecordSchema schema) {
-        final MessageDigest digest;
-        try {
-            digest = MessageDigest.getInstance("SHA-256");
-        } catch (NoSuchAlgorithmException e) {
-            throw new AssertionError(e);
-        }
-
-        final Optional<String> suppliedText = schema.getSchemaText();
-        if (suppliedText.isPresent()) {
-            digest.update(suppliedText.get().getBytes(StandardCharsets.UTF_8));
-        } else {
-            computeHash(schema, digest);
-        }
-
-        final byte[] digestBytes = digest.digest();
-        return Hex.encodeHexString(digestBytes);
-    }
-
-    private void computeHash(final RecordSchema schema, final MessageDigest digest) {
-        for (final RecordField field : schema.getFields()) {
-            digest.update(field.getFieldName().getBytes(StandardCharsets.UTF_8));
-
-            final DataType dataType = field.getDataType();
-            final RecordFieldType fieldType = dataType.getFieldType();
-            digest.update(fieldType.name().getBytes(StandardCharsets.UTF_8));
-
-            final String format = dataType.getFormat();
-            if (format != null) {
-                digest.update(format.getBytes(StandardCharsets.UTF_8));
-            }
-
-            if (fieldType == RecordFieldType.RECORD) {
-                final RecordSchema childSchema = ((RecordDataType) dataType).getChildSchema();
-                if (childSchema != null) {
-                    computeHash(childSchema, digest);
-                }
-            }
-        }
+        return SchemaIdentifiers.createIdentifier(schema);
     }
 }
@@ -117,6 +117,8 @@ public class XMLReader extends SchemaRegistryService implements RecordReaderFact
     protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
         final List<PropertyDescriptor> properties = new ArrayList<>(super.getSupportedPropertyDescriptors());
         properties.add(SchemaInferenceUtil.SCHEMA_CACHE);
+        properties.add(SchemaInferenceUtil.INFERENCE_MAX_RECORDS);
+        properties.add(SchemaInferenceUtil.INFERENCE_MAX_BYTES);
         properties.add(RECORD_FORMAT);
         properties.add(ATTRIBUTE_PREFIX);
         properties.add(CONTENT_FIELD_NAME);
@@ -47,6 +47,7 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
 import java.util.TimeZone;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
@@ -327,6 +328,49 @@ public class TestCSVRecordReader {
         }
     }
 
+    @Test
+    public void testParallelConversion() throws IOException, MalformedRecordException {
+        final List<RecordField> fields = new ArrayList<>();
+        fields.add(new RecordField("id", RecordFieldType.INT.getDataType()));
+        fields.add(new RecordField("name", RecordFieldType.STRING.getDataType()));
+        final RecordSchema schema = new SimpleRecordSchema(fields);
+
+        final int rowCount = ParallelRowConverter.BATCH_SIZE * 5 + 17;
+        final int invalidRow = ParallelRowConverter.BATCH_SIZE * 2 + 3;
+        final StringBuilder text = new StringBuilder("id,name\n");
+        for (int i = 0; i < rowCount; i++) {
+            text.append(i == invalidRow ? "invalid" : String.valueOf(i)).append(",\"Name ").append(i).append("\"\n");
+        }
+
+        final ForkJoinPool conversionPool = new ForkJoinPool(3);
+        try (final InputStream bais = new ByteArrayInputStream(text.toString().getBytes(StandardCharsets.UTF_8));
+             final CSVRecordReader reader = new CSVRecordReader(bais, Mockito.mock(ComponentLog.class), schema, format, true, false,
+                 RecordFieldType.DATE.getDefaultFormat(), RecordFieldType.TIME.getDefaultFormat(), RecordFieldType.TIMESTAMP.getDefaultFormat(), "UTF-8", conversionPool)) {
+
+            for (int i = 0; i < rowCount; i++) {
+                if (i == invalidRow) {
+                    try {
+                        reader.nextRecord();
+                        Assert.fail("Expected a MalformedRecordException because the id of row " + i + " is not an int");
+                    } catch (final MalformedRecordException expected) {
+                        // expected
+                    }
+
+                    continue;
+                }
+
+                // the options of the conversions done ahead do not apply to this record, which is converted again
+                final Record record = i == 42 ? reader.nextRecord(false, false) : reader.nextRecord();
+                assertEquals(i, record.getValue("id"));
+                assertEquals("Name " + i, record.getValue("name"));
+            }
+
+            assertNull(reader.nextRecord());
+        } finally {
+            conversionPool.shutdown();
+        }
+    }
+
     @Test
     public void testExcelFormat() throws IOException, MalformedRecordException {
         final List<RecordField> fields = new ArrayList<RecordField>();
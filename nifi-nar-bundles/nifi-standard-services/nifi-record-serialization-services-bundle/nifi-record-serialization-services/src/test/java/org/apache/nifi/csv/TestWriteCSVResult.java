@@ -328,6 +328,87 @@ public class TestWriteCSVResult {
     }
 
 
+    @Test
+    public void testNestedTypesAndNulls() throws IOException {
+        final CSVFormat csvFormat = CSVFormat.DEFAULT.withQuoteMode(QuoteMode.MINIMAL).withRecordSeparator("\n");
+        final List<RecordField> addressFields = new ArrayList<>();
+        addressFields.add(new RecordField("street", RecordFieldType.STRING.getDataType()));
+        addressFields.add(new RecordField("zip", RecordFieldType.INT.getDataType()));
+        final RecordSchema addressSchema = new SimpleRecordSchema(addressFields);
+
+        final List<RecordField> fields = new ArrayList<>();
+        fields.add(new RecordField("id", RecordFieldType.INT.getDataType()));
+        fields.add(new RecordField("name", RecordFieldType.STRING.getDataType()));
+        fields.add(new RecordField("balance", RecordFieldType.DOUBLE.getDataType()));
+        fields.add(new RecordField("active", RecordFieldType.BOOLEAN.getDataType()));
+        fields.add(new RecordField("address", RecordFieldType.RECORD.getRecordDataType(addressSchema)));
+        fields.add(new RecordField("tags", RecordFieldType.ARRAY.getArrayDataType(RecordFieldType.STRING.getDataType())));
+        fields.add(new RecordField("attributes", RecordFieldType.MAP.getMapDataType(RecordFieldType.LONG.getDataType())));
+        fields.add(new RecordField("value", RecordFieldType.CHOICE.getChoiceDataType(RecordFieldType.INT.getDataType(), RecordFieldType.STRING.getDataType())));
+        final RecordSchema schema = new SimpleRecordSchema(fields);
+
+        final Map<String, Object> address1 = new LinkedHashMap<>();
+        address1.put("street", "Main");
+        address1.put("zip", 12345);
+        final Map<String, Object> attributes1 = new LinkedHashMap<>();
+        attributes1.put("x", 1L);
+        final Map<String, Object> values1 = new LinkedHashMap<>();
+        values1.put("id", 1);
+        values1.put("name", "John");
+        values1.put("balance", 4.8D);
+        values1.put("active", true);
+        values1.put("address", new MapRecord(addressSchema, address1));
+        values1.put("tags", new Object[] {"a", "b"});
+        values1.put("attributes", attributes1);
+        values1.put("value", 7);
+        final Record record1 = new MapRecord(schema, values1);
+
+        // values that are not of the type of their field are converted, the same as before the writers were bound to the schema
+        final Map<String, Object> address2 = new LinkedHashMap<>();
+        address2.put("street", null);
+        address2.put("zip", "12");
+        final Map<String, Object> attributes2 = new LinkedHashMap<>();
+        attributes2.put("y", null);
+        final Map<String, Object> values2 = new LinkedHashMap<>();
+        values2.put("id", "2");
+        values2.put("name", null);
+        values2.put("balance", 5);
+        values2.put("active", "false");
+        values2.put("address", new MapRecord(addressSchema, address2));
+        values2.put("tags", new Object[] {"c", null});
+        values2.put("attributes", attributes2);
+        values2.put("value", "seven");
+        final Record record2 = new MapRecord(schema, values2);
+
+        final String expected = "id,name,balance,active,address,tags,attributes,value\n"
+            + "1,John,4.8,true,\"MapRecord[{street=Main, zip=12345}]\",\"[a, b]\",{x=1},7\n"
+            + "2,,5,false,\"MapRecord[{street=null, zip=12}]\",\"[c, null]\",{y=null},seven\n";
+
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (final WriteCSVResult writer = new WriteCSVResult(csvFormat, schema, new SchemaNameAsAttribute(), baos,
+            RecordFieldType.DATE.getDefaultFormat(), RecordFieldType.TIME.getDefaultFormat(), RecordFieldType.TIMESTAMP.getDefaultFormat(), true, "UTF-8")) {
+
+            writer.beginRecordSet();
+            writer.write(record1);
+            writer.write(record2);
+            writer.finishRecordSet();
+            writer.flush();
+            assertEquals(expected, baos.toString());
+        }
+
+        baos.reset();
+        try (final WriteCSVResult writer = new WriteCSVResult(csvFormat, schema, new SchemaNameAsAttribute(), baos,
+            RecordFieldType.DATE.getDefaultFormat(), RecordFieldType.TIME.getDefaultFormat(), RecordFieldType.TIMESTAMP.getDefaultFormat(), true, "UTF-8")) {
+
+            writer.beginRecordSet();
+            writer.writeRawRecord(record1);
+            writer.writeRawRecord(record2);
+            writer.finishRecordSet();
+            writer.flush();
+            assertEquals(expected, baos.toString());
+        }
+    }
+
     private DateFormat getDateFormat(final String format) {
         final DateFormat df = new SimpleDateFormat(format);
         df.setTimeZone(TimeZone.getTimeZone("gmt"));
@@ -37,8 +37,10 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -189,6 +191,21 @@ public class TestInferJsonSchemaAccessStrategy {
         assertSame(RecordFieldType.STRING, schema.getDataType("nullValue").get().getFieldType());
     }
 
+    @Test
+    public void testInferenceLimitedToSample() throws IOException {
+        final byte[] content = ("{\"id\": 1}\n{\"id\": 2}\n{\"id\": 3, \"name\": \"third\"}").getBytes(StandardCharsets.UTF_8);
+
+        final InferSchemaAccessStrategy<?> sampledStrategy = new InferSchemaAccessStrategy<>((var, in) -> new JsonRecordSource(in),
+            timestampInference, Mockito.mock(ComponentLog.class), 2, Long.MAX_VALUE);
+        final RecordSchema sampledSchema = sampledStrategy.getSchema(null, new ByteArrayInputStream(content), null);
+        assertEquals(Collections.singletonList("id"), sampledSchema.getFieldNames());
+
+        final InferSchemaAccessStrategy<?> fullStrategy = new InferSchemaAccessStrategy<>((var, in) -> new JsonRecordSource(in),
+            timestampInference, Mockito.mock(ComponentLog.class));
+        final RecordSchema fullSchema = fullStrategy.getSchema(null, new ByteArrayInputStream(content), null);
+        assertEquals(Arrays.asList("id", "name"), fullSchema.getFieldNames());
+    }
+
     private RecordSchema inferSchema(final File file) throws IOException {
         try (final InputStream in = new FileInputStream(file);
              final InputStream bufferedIn = new BufferedInputStream(in)) {
@@ -49,6 +49,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -406,6 +407,46 @@ public class TestJsonTreeRowRecordReader {
     }
 
 
+    @Test
+    public void testCoercedRecordsReadFromTokens() throws IOException, MalformedRecordException {
+        final List<RecordField> fields = new ArrayList<>();
+        fields.add(new RecordField("id", RecordFieldType.INT.getDataType()));
+        fields.add(new RecordField("name", RecordFieldType.STRING.getDataType()));
+        fields.add(new RecordField("account", RecordFieldType.RECORD.getRecordDataType(getAccountSchema())));
+        final RecordSchema schema = new SimpleRecordSchema(fields);
+
+        final String firstJson = "{\"id\":1,\"name\":\"John Doe\",\"extra\":{\"values\":[1,2.5,null]},\"account\":{\"id\":3,\"balance\":1.5}}";
+        final String json = "[" + firstJson + ", {\"id\": \"one\", \"name\": \"Jane Doe\"}, {\"id\": 2, \"name\": \"Jim Doe\"}]";
+
+        try (final InputStream in = new ByteArrayInputStream(json.getBytes("UTF-8"));
+            final JsonTreeRowRecordReader reader = new JsonTreeRowRecordReader(in, Mockito.mock(ComponentLog.class), schema, dateFormat, timeFormat, timestampFormat)) {
+
+            final Record firstRecord = reader.nextRecord(true, true);
+            assertEquals(1, firstRecord.getValue("id"));
+            assertEquals("John Doe", firstRecord.getValue("name"));
+            assertNull(firstRecord.getValue("extra"));
+            assertFalse(firstRecord.getSerializedForm().isPresent());
+
+            final Record accountRecord = (Record) firstRecord.getValue("account");
+            assertEquals(3, accountRecord.getValue("id"));
+            assertEquals(1.5D, accountRecord.getValue("balance"));
+            assertFalse(accountRecord.getSerializedForm().isPresent());
+
+            try {
+                reader.nextRecord(true, true);
+                Assert.fail("Expected a MalformedRecordException because the id cannot be coerced into an int");
+            } catch (final MalformedRecordException expected) {
+                // expected
+            }
+
+            final Record thirdRecord = reader.nextRecord(true, true);
+            assertEquals(2, thirdRecord.getValue("id"));
+            assertEquals("Jim Doe", thirdRecord.getValue("name"));
+
+            assertNull(reader.nextRecord(true, true));
+        }
+    }
+
     @Test
     public void testTimestampCoercedFromString() throws IOException, MalformedRecordException {
         final List<RecordField> recordFields = Collections.singletonList(new RecordField("timestamp", RecordFieldType.TIMESTAMP.getDataType()));
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.nifi.schema.inference;
+
+import org.apache.nifi.components.PropertyDescriptor;
+import org.apache.nifi.controller.AbstractControllerService;
+import org.apache.nifi.distributed.cache.client.Deserializer;
+import org.apache.nifi.distributed.cache.client.DistributedMapCacheClient;
+import org.apache.nifi.distributed.cache.client.Serializer;
+import org.apache.nifi.reporting.InitializationException;
+import org.apache.nifi.serialization.SimpleRecordSchema;
+import org.apache.nifi.serialization.record.RecordField;
+import org.apache.nifi.serialization.record.RecordFieldType;
+import org.apache.nifi.serialization.record.RecordSchema;
+import org.apache.nifi.serialization.record.SchemaIdentifier;
+import org.apache.nifi.serialization.record.type.ArrayDataType;
+import org.apache.nifi.serialization.record.type.RecordDataType;
+import org.apache.nifi.util.NoOpProcessor;
+import org.apache.nifi.util.TestRunner;
+import org.apache.nifi.util.TestRunners;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestDistributedSchemaCache {
+
+    @Test
+    public void testSchemaSharedBetweenCaches() throws InitializationException {
+        final TestRunner runner = TestRunners.newTestRunner(NoOpProcessor.class);
+        final DistributedSchemaCache firstCache = addSchemaCache(runner, "first");
+        final DistributedSchemaCache secondCache = addSchemaCache(runner, "second");
+
+        final List<RecordField> fields = new ArrayList<>();
+        fields.add(new RecordField("name", RecordFieldType.STRING.getDataType()));
+        fields.add(new RecordField("count", RecordFieldType.INT.getDataType()));
+        final RecordSchema schema = new SimpleRecordSchema(fields);
+
+        final String identifier = firstCache.cacheSchema(schema);
+        assertEquals(identifier, secondCache.cacheSchema(new SimpleRecordSchema(fields)));
+
+        final Optional<RecordSchema> cachedSchema = secondCache.getSchema(identifier);
+        assertTrue(cachedSchema.isPresent());
+        assertEquals(schema.getFieldNames(), cachedSchema.get().getFieldNames());
+        assertEquals(schema.getDataTypes(), cachedSchema.get().getDataTypes());
+
+        assertFalse(secondCache.getSchema("unknown").isPresent());
+    }
+
+    @Test
+    public void testDifferentSchemasDifferentIdentifier() throws InitializationException {
+        final TestRunner runner = TestRunners.newTestRunner(NoOpProcessor.class);
+        final DistributedSchemaCache cache = addSchemaCache(runner, "cache");
+
+        final RecordSchema stringSchema = new SimpleRecordSchema(Collections.singletonList(new RecordField("value", RecordFieldType.STRING.getDataType())));
+        final RecordSchema intSchema = new SimpleRecordSchema(Collections.singletonList(new RecordField("value", RecordFieldType.INT.getDataType())));
+
+        assertNotEquals(cache.cacheSchema(stringSchema), cache.cacheSchema(intSchema));
+    }
+
+    @Test
+    public void testSchemaRoundTripIsLossless() throws InitializationException {
+        final TestRunner runner = TestRunners.newTestRunner(NoOpProcessor.class);
+        final DistributedSchemaCache firstCache = addSchemaCache(runner, "first");
+        final DistributedSchemaCache secondCache = addSchemaCache(runner, "second");
+
+        final RecordSchema addressSchema = new SimpleRecordSchema(Arrays.asList(
+            new RecordField("Street Address", RecordFieldType.STRING.getDataType()),
+            new RecordField("zip-code", RecordFieldType.INT.getDataType(), 12345, false)));
+
+        final List<RecordField> fields = new ArrayList<>();
+        fields.add(new RecordField("First Name", RecordFieldType.STRING.getDataType(), new HashSet<>(Arrays.asList("first.name", "1st name"))));
+        fields.add(new RecordField("1st-login", RecordFieldType.TIMESTAMP.getDataType("yyyy/MM/dd HH:mm:ss"), false));
+        fields.add(new RecordField("birth date", RecordFieldType.DATE.getDataType("dd.MM.yyyy")));
+        fields.add(new RecordField("count", RecordFieldType.LONG.getDataType(), 0L));
+        fields.add(new RecordField("ratio", RecordFieldType.FLOAT.getDataType(), 0.5F));
+        fields.add(new RecordField("initial", RecordFieldType.CHAR.getDataType(), 'X'));
+        fields.add(new RecordField("small", RecordFieldType.SHORT.getDataType()));
+        fields.add(new RecordField("tags", RecordFieldType.ARRAY.getArrayDataType(RecordFieldType.STRING.getDataType())));
+        fields.add(new RecordField("scores", RecordFieldType.MAP.getMapDataType(RecordFieldType.DOUBLE.getDataType())));
+        fields.add(new RecordField("id", RecordFieldType.CHOICE.getChoiceDataType(RecordFieldType.INT.getDataType(), RecordFieldType.STRING.getDataType())));
+        fields.add(new RecordField("home address", RecordFieldType.RECORD.getRecordDataType(addressSchema)));
+        fields.add(new RecordField("past addresses", RecordFieldType.ARRAY.getArrayDataType(RecordFieldType.RECORD.getRecordDataType(addressSchema))));
+        fields.add(new RecordField("unknown", RecordFieldType.RECORD.getRecordDataType(null)));
+        final RecordSchema schema = new SimpleRecordSchema(fields);
+
+        final String identifier = firstCache.cacheSchema(schema);
+        final Optional<RecordSchema> cachedSchema = secondCache.getSchema(identifier);
+        assertTrue(cachedSchema.isPresent());
+        assertEquals(schema, cachedSchema.get());
+        assertEquals(schema.getFieldNames(), cachedSchema.get().getFieldNames());
+        assertEquals(identifier, secondCache.cacheSchema(cachedSchema.get()));
+    }
+
+    @Test
+    public void testRecursiveSchemaRoundTrip() throws InitializationException {
+        final TestRunner runner = TestRunners.newTestRunner(NoOpProcessor.class);
+        final DistributedSchemaCache firstCache = addSchemaCache(runner, "first");
+        final DistributedSchemaCache secondCache = addSchemaCache(runner, "second");
+
+        final SimpleRecordSchema schema = new SimpleRecordSchema(SchemaIdentifier.EMPTY);
+        schema.setFields(Arrays.asList(
+            new RecordField("Node Name", RecordFieldType.STRING.getDataType()),
+            new RecordField("children", RecordFieldType.ARRAY.getArrayDataType(RecordFieldType.RECORD.getRecordDataType(schema)))));
+
+        final Optional<RecordSchema> cachedSchema = secondCache.getSchema(firstCache.cacheSchema(schema));
+        assertTrue(cachedSchema.isPresent());
+        assertEquals(schema.getFieldNames(), cachedSchema.get().getFieldNames());
+
+        final ArrayDataType childrenType = (ArrayDataType) cachedSchema.get().getDataType("children").get();
+        assertSame(cachedSchema.get(), ((RecordDataType) childrenType.getElementType()).getChildSchema());
+    }
+
+    private DistributedSchemaCache addSchemaCache(final TestRunner runner, final String identifier) throws InitializationException {
+        if (runner.getControllerService("client") == null) {
+            final DistributedMapCacheClient client = new MapCacheClient();
+            runner.addControllerService("client", client);
+            runner.enableControllerService(client);
+        }
+
+        final DistributedSchemaCache cache = new DistributedSchemaCache();
+        runner.addControllerService(identifier, cache);
+        runner.setProperty(cache, DistributedSchemaCache.DISTRIBUTED_CACHE_SERVICE, "client");
+        runner.enableControllerService(cache);
+        return cache;
+    }
+
+    private static class MapCacheClient extends AbstractControllerService implements DistributedMapCacheClient {
+        private final Map<String, byte[]> values = new HashMap<>();
+
+        @Override
+        protected List<PropertyDescriptor> getSupportedPropertyDescriptors() {
+            return Collections.emptyList();
+        }
+
+        private <T> byte[] serialize(final T value, final Serializer<T> serializer) throws IOException {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            serializer.serialize(value, out);
+            return out.toByteArray();
+        }
+
+        private <K> String toKey(final K key, final Serializer<K> keySerializer) throws IOException {
+            return new String(serialize(key, keySerializer), StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public <K, V> boolean putIfAbsent(final K key, final V value, final Serializer<K> keySerializer, final Serializer<V> valueSerializer) throws IOException {
+            return values.putIfAbsent(toKey(key, keySerializer), serialize(value, valueSerializer)) == null;
+        }
+
+        @Override
+        public <K, V> V getAndPutIfAbsent(final K key, final V value, final Serializer<K> keySerializer, final Serializer<V> valueSerializer,
+                                          final Deserializer<V> valueDeserializer) throws IOException {
+            final byte[] existing = values.putIfAbsent(toKey(key, keySerializer), serialize(value, valueSerializer));
+            return existing == null ? null : valueDeserializer.deserialize(existing);
+        }
+
+        @Override
+        public <K> boolean containsKey(final K key, final Serializer<K> keySerializer) throws IOException {
+            return values.containsKey(toKey(key, keySerializer));
+        }
+
+        @Override
+        public <K, V> void put(final K key, final V value, final Serializer<K> keySerializer, final Serializer<V> valueSerializer) throws IOException {
+            values.put(toKey(key, keySerializer), serialize(value, valueSerializer));
+        }
+
+        @Override
+        public <K, V> V get(final K key, final Serializer<K> keySerializer, final Deserializer<V> valueDeserializer) throws IOException {
+            final byte[] value = values.get(toKey(key, keySerializer));
+            return value == null ? null : valueDeserializer.deserialize(value);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public <K> boolean remove(final K key, final Serializer<K> serializer) throws IOException {
+            return values.remove(toKey(key, serializer)) != null;
+        }
+
+        @Override
+        public long removeByPattern(final String regex) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}